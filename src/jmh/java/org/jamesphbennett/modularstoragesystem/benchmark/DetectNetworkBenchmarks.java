@@ -0,0 +1,65 @@
+package org.jamesphbennett.modularstoragesystem.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jamesphbennett.modularstoragesystem.network.NetworkInfo;
+import org.jamesphbennett.modularstoragesystem.network.NetworkManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network detection from the storage server of synthetic networks, as run on every block place and break
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class DetectNetworkBenchmarks {
+
+    private static final int NETWORKS = 8;
+
+    /**
+     * Drive bays per network, each bay adds two cables
+     */
+    @Param({"1", "16", "60"})
+    public int driveBays;
+
+    private NetworkManager networkManager;
+    private List<Location> storageServers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildTopology(MockServerState state) throws Exception {
+        World world = state.server.addSimpleWorld("jmh-detect");
+        storageServers = SyntheticTopology.build(state.plugin, world, NETWORKS, driveBays);
+        networkManager = state.plugin.getNetworkManager();
+
+        for (Location storageServer : storageServers) {
+            if (networkManager.detectNetwork(storageServer) == null) {
+                throw new IllegalStateException("Synthetic network at " + storageServer + " is not valid");
+            }
+        }
+    }
+
+    @Benchmark
+    public NetworkInfo detectNetwork() {
+        Location storageServer = storageServers.get(next);
+        next = (next + 1) % storageServers.size();
+        return networkManager.detectNetwork(storageServer);
+    }
+}
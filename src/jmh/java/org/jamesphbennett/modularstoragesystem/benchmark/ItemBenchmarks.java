@@ -0,0 +1,76 @@
+package org.jamesphbennett.modularstoragesystem.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jamesphbennett.modularstoragesystem.managers.ItemManager;
+import org.jamesphbennett.modularstoragesystem.storage.StorageManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item hashing and serialization, run for every stack that enters or leaves storage
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ItemBenchmarks {
+
+    /**
+     * plain: a bare stack, named: a stack with a display name and lore
+     */
+    @Param({"plain", "named"})
+    public String item;
+
+    private ItemManager itemManager;
+    private StorageManager storageManager;
+    private ItemStack stack;
+    private String serialized;
+
+    @Setup(Level.Trial)
+    public void setup(MockServerState state) {
+        itemManager = state.plugin.getItemManager();
+        storageManager = state.plugin.getStorageManager();
+
+        stack = new ItemStack(Material.DIAMOND_PICKAXE);
+        if (item.equals("named")) {
+            ItemMeta meta = stack.getItemMeta();
+            meta.displayName(Component.text("Benchmark pickaxe"));
+            meta.lore(List.of(Component.text("First line"), Component.text("Second line")));
+            stack.setItemMeta(meta);
+        }
+        serialized = storageManager.serializeItemStack(stack);
+    }
+
+    @Benchmark
+    public String generateItemHash() {
+        return itemManager.generateItemHash(stack);
+    }
+
+    @Benchmark
+    public String serializeItemStack() {
+        return storageManager.serializeItemStack(stack);
+    }
+
+    @Benchmark
+    public ItemStack deserializeItemStack() {
+        return storageManager.deserializeItemStack(serialized);
+    }
+}
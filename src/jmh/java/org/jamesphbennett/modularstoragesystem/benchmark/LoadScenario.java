@@ -0,0 +1,290 @@
+package org.jamesphbennett.modularstoragesystem.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.metrics.LoadHarness;
+import org.jamesphbennett.modularstoragesystem.network.NetworkInfo;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Headless load run on a MockBukkit server: N networks with M drive bays full of disks, K exporters and importers
+ * per network and P players clicking terminals, driven through the real tick tasks, listeners and GUIs for a fixed
+ * number of ticks and recorded by {@link LoadHarness}. Everything lives in the mock server's temporary world and
+ * database, no real network is touched.
+ * <p>
+ * mvn -Pjmh test-compile exec:exec@load [-Dload.networks=4 -Dload.bays=4 -Dload.exporters=4 -Dload.players=8
+ * -Dload.ticks=1200 -Dload.label=headless]
+ */
+public final class LoadScenario {
+
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final int SLOTS_PER_BAY = 7;
+    private static final int CELLS_PER_DISK = 64;
+    private static final int SEED_STACKS = 32;
+    private static final int PLAYER_INTERVAL_TICKS = 10;
+    private static final int CHURN_INTERVAL_TICKS = 100;
+    private static final int REPORT_TIMEOUT_TICKS = 200;
+    private static final int TERMINAL_RETRIEVE_SLOT = 0;
+    private static final int HOTBAR_OFFSET = 27;
+    private static final Material EXPORTED = Material.IRON_INGOT;
+    private static final Material CARRIED = Material.COBBLESTONE;
+
+    private final ServerMock server;
+    private final ModularStorageSystem plugin;
+    private final World world;
+    private final int networks;
+    private final int driveBays;
+    private final int exporters;
+    private final List<String> networkIds = new ArrayList<>();
+    private final List<PlayerMock> players = new ArrayList<>();
+    private final List<Location[]> automationPairs = new ArrayList<>();
+
+    private LoadScenario(ServerMock server, ModularStorageSystem plugin, int networks, int driveBays, int exporters) {
+        this.server = server;
+        this.plugin = plugin;
+        this.world = server.addSimpleWorld("load");
+        this.networks = networks;
+        this.driveBays = driveBays;
+        this.exporters = exporters;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int networks = Math.max(1, Integer.getInteger("load.networks", 4));
+        // A network allows 128 blocks, leave room for the server, terminal, exporters and importers
+        int driveBays = Math.clamp(Integer.getInteger("load.bays", 4), 1, 60);
+        int exporters = Math.clamp(Integer.getInteger("load.exporters", 4), 0, 30);
+        int players = Math.max(0, Integer.getInteger("load.players", 8));
+        int ticks = Math.max(20, Integer.getInteger("load.ticks", 1200));
+        String label = System.getProperty("load.label", "headless").replaceAll("[^A-Za-z0-9_-]", "_");
+        File report = new File(System.getProperty("load.report", "target/load-result.json"));
+
+        ServerMock server = MockBukkit.mock();
+        try {
+            ModularStorageSystem plugin = MockBukkit.load(ModularStorageSystem.class);
+            LoadScenario scenario = new LoadScenario(server, plugin, networks, driveBays, exporters);
+            scenario.setUp(players);
+            File written = scenario.run(ticks, label);
+
+            File directory = report.getAbsoluteFile().getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IllegalStateException("Failed to create " + directory);
+            }
+            Files.copy(written.toPath(), report.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Load report written to " + report.getAbsolutePath());
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private void setUp(int playerCount) throws Exception {
+        // Setup writes from the server thread on purpose, the run itself is detected like on a live server
+        plugin.getDatabaseManager().getMainThreadIoDetector().disarm();
+        plugin.getConfig().set("database.instrumentation.enabled", true);
+        plugin.saveConfig();
+        plugin.getConfigManager().reloadConfig();
+
+        for (int i = 0; i < playerCount; i++) {
+            PlayerMock player = server.addPlayer();
+            player.setOp(true);
+            player.getInventory().setItem(0, new ItemStack(CARRIED, 64));
+            players.add(player);
+        }
+        UUID owner = players.isEmpty() ? UUID.randomUUID() : players.getFirst().getUniqueId();
+
+        List<Location> storageServers = SyntheticTopology.build(plugin, world, networks, driveBays, exporters);
+        for (Location storageServer : storageServers) {
+            NetworkInfo network = plugin.getNetworkManager().detectNetwork(storageServer);
+            if (network == null || !network.isValid()) {
+                throw new IllegalStateException("Synthetic network at " + storageServer + " is not valid");
+            }
+            plugin.getNetworkManager().registerNetwork(network, owner);
+            networkIds.add(network.getNetworkId());
+            insertDisks(network, owner);
+        }
+
+        for (int n = 0; n < networks; n++) {
+            String networkId = networkIds.get(n);
+            List<ItemStack> seed = new ArrayList<>(SEED_STACKS);
+            for (int i = 0; i < SEED_STACKS; i++) {
+                seed.add(new ItemStack(EXPORTED, 64));
+            }
+            plugin.getStorageManager().storeItems(networkId, seed);
+
+            for (int i = 0; i < exporters; i++) {
+                Location exporter = SyntheticTopology.exporter(world, n, i);
+                Location importer = SyntheticTopology.importer(world, n, i);
+
+                String exporterId = plugin.getExporterManager().createExporter(exporter, networkId);
+                plugin.getExporterManager().updateExporterFilter(exporterId, List.of(new ItemStack(EXPORTED)));
+                plugin.getExporterManager().toggleExporter(exporterId, true);
+
+                // Importers without a filter take everything
+                String importerId = plugin.getImporterManager().createImporter(importer, networkId);
+                plugin.getImporterManager().toggleImporter(importerId, true);
+
+                automationPairs.add(new Location[] {exporter, importer});
+            }
+        }
+
+        for (int p = 0; p < players.size(); p++) {
+            int network = p % networks;
+            plugin.getGUIManager().openTerminalGUI(players.get(p), SyntheticTopology.terminal(world, network), networkIds.get(network));
+        }
+
+        plugin.getDatabaseManager().getMainThreadIoDetector().arm();
+    }
+
+    /**
+     * Fill every drive bay slot with an empty 64k disk, the way inserting disks through the drive bay GUI leaves them
+     */
+    private void insertDisks(NetworkInfo network, UUID owner) throws Exception {
+        plugin.getDatabaseManager().executeTransaction(conn -> {
+            int worldId = plugin.getDatabaseManager().getOrCreateWorldId(conn, world.getName());
+            try (PreparedStatement diskStmt = conn.prepareStatement(
+                    "INSERT INTO storage_disks (disk_id, crafter_uuid, crafter_name, network_id, tier, max_cells) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement slotStmt = conn.prepareStatement(
+                         "INSERT INTO drive_bay_slots (network_id, network_key, world_id, x, y, z, slot_number, disk_id, disk_key) " +
+                                 "VALUES (?, (SELECT network_key FROM networks WHERE network_id = ?), ?, ?, ?, ?, ?, ?, " +
+                                 "(SELECT disk_key FROM storage_disks WHERE disk_id = ?))")) {
+                for (Location driveBay : network.getDriveBays()) {
+                    for (int slot = 0; slot < SLOTS_PER_BAY; slot++) {
+                        String diskId = UUID.randomUUID().toString();
+
+                        diskStmt.setString(1, diskId);
+                        diskStmt.setString(2, owner.toString());
+                        diskStmt.setString(3, "Load");
+                        diskStmt.setString(4, network.getNetworkId());
+                        diskStmt.setString(5, "64k");
+                        diskStmt.setInt(6, CELLS_PER_DISK);
+                        diskStmt.addBatch();
+
+                        slotStmt.setString(1, network.getNetworkId());
+                        slotStmt.setString(2, network.getNetworkId());
+                        slotStmt.setInt(3, worldId);
+                        slotStmt.setInt(4, driveBay.getBlockX());
+                        slotStmt.setInt(5, driveBay.getBlockY());
+                        slotStmt.setInt(6, driveBay.getBlockZ());
+                        slotStmt.setInt(7, slot);
+                        slotStmt.setString(8, diskId);
+                        slotStmt.setString(9, diskId);
+                        slotStmt.addBatch();
+                    }
+                }
+                diskStmt.executeBatch();
+                slotStmt.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Tick at 20 TPS until the recorder has its ticks and the report is written
+     */
+    private File run(int ticks, String label) throws Exception {
+        CompletableFuture<File> result = new LoadHarness(plugin, ticks, label).start();
+
+        for (int tick = 0; !result.isDone(); tick++) {
+            if (tick > ticks + REPORT_TIMEOUT_TICKS) {
+                throw new IllegalStateException("Load report was not written " + REPORT_TIMEOUT_TICKS + " ticks after the run");
+            }
+            long tickStart = System.nanoTime();
+
+            if (tick < ticks) {
+                drive(tick);
+            }
+            server.getScheduler().performOneTick();
+
+            long sleepNanos = TICK_NANOS - (System.nanoTime() - tickStart);
+            if (sleepNanos > 0) {
+                Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+            }
+        }
+        return result.get();
+    }
+
+    private void drive(int tick) {
+        // Players take turns, each alternately storing the stack in their hotbar and taking one back out
+        for (int p = tick % PLAYER_INTERVAL_TICKS; p < players.size(); p += PLAYER_INTERVAL_TICKS) {
+            PlayerMock player = players.get(p);
+            InventoryView view = player.getOpenInventory();
+            if ((tick / PLAYER_INTERVAL_TICKS) % 2 == 0) {
+                player.simulateInventoryClick(view, ClickType.SHIFT_LEFT, view.getTopInventory().getSize() + HOTBAR_OFFSET);
+            } else {
+                player.simulateInventoryClick(view, ClickType.SHIFT_LEFT, TERMINAL_RETRIEVE_SLOT);
+            }
+        }
+
+        // Stands in for a hopper line: whatever the exporter delivered goes on to the importer
+        for (Location[] pair : automationPairs) {
+            Inventory exported = chestBelow(pair[0]).getInventory();
+            Inventory imported = chestBelow(pair[1]).getInventory();
+            for (int slot = 0; slot < exported.getSize(); slot++) {
+                ItemStack stack = exported.getItem(slot);
+                if (stack != null && imported.addItem(stack.clone()).isEmpty()) {
+                    exported.setItem(slot, null);
+                }
+            }
+        }
+
+        // Break the last cable of one network and place it back on the next round
+        if (!players.isEmpty() && tick > 0 && tick % CHURN_INTERVAL_TICKS == 0) {
+            int round = tick / CHURN_INTERVAL_TICKS;
+            Block cable = SyntheticTopology.lastCable(world, (round - 1) / 2 % networks, driveBays, exporters).getBlock();
+            if (round % 2 == 1) {
+                breakBlock(players.getFirst(), cable);
+            } else {
+                placeCable(players.getFirst(), cable);
+            }
+        }
+    }
+
+    private void breakBlock(PlayerMock player, Block block) {
+        BlockBreakEvent event = new BlockBreakEvent(block, player);
+        server.getPluginManager().callEvent(event);
+        if (!event.isCancelled()) {
+            block.setType(Material.AIR);
+        }
+    }
+
+    private void placeCable(PlayerMock player, Block block) {
+        if (block.getType() != Material.AIR) {
+            return;
+        }
+        BlockState replaced = block.getState();
+        block.setType(Material.HEAVY_CORE);
+
+        BlockPlaceEvent event = new BlockPlaceEvent(block, replaced, block.getRelative(BlockFace.NORTH),
+                plugin.getItemManager().createNetworkCable(), player, true, EquipmentSlot.HAND);
+        server.getPluginManager().callEvent(event);
+        if (event.isCancelled()) {
+            block.setType(Material.AIR);
+        }
+    }
+
+    private static Container chestBelow(Location head) {
+        return (Container) head.getBlock().getRelative(BlockFace.DOWN).getState();
+    }
+}
@@ -0,0 +1,34 @@
+package org.jamesphbennett.modularstoragesystem.benchmark;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The plugin enabled on a MockBukkit server, its database lives in the mock's temporary data folder
+ */
+@State(Scope.Benchmark)
+public class MockServerState {
+
+    public ServerMock server;
+    public ModularStorageSystem plugin;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(ModularStorageSystem.class);
+
+        // Benchmarks call into the database from the benchmark thread on purpose
+        plugin.getDatabaseManager().getMainThreadIoDetector().disarm();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        MockBukkit.unmock();
+    }
+}
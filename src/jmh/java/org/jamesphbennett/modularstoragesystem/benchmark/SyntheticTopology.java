@@ -0,0 +1,119 @@
+package org.jamesphbennett.modularstoragesystem.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds storage networks block by block in a mock world and marks their blocks the way placing them does.
+ * Network n sits at x = n * 4: a storage server with a terminal on top, a cable running along z from the server
+ * and a drive bay beside every other cable. Exporters and importers sit on chests on the other side of the cable,
+ * and the last cable touches nothing but the one before it, so it can be broken without splitting the network.
+ */
+public final class SyntheticTopology {
+
+    public static final int BASE_Y = 64;
+
+    private SyntheticTopology() {
+    }
+
+    /**
+     * @return The storage server of every network, in build order
+     */
+    public static List<Location> build(ModularStorageSystem plugin, World world, int networks, int driveBays) throws SQLException {
+        return build(plugin, world, networks, driveBays, 0);
+    }
+
+    /**
+     * @param exporters Exporters per network, each with an importer beside it
+     * @return The storage server of every network, in build order
+     */
+    public static List<Location> build(ModularStorageSystem plugin, World world, int networks, int driveBays, int exporters) throws SQLException {
+        List<Location> storageServers = new ArrayList<>(networks);
+        List<Marker> markers = new ArrayList<>();
+
+        for (int n = 0; n < networks; n++) {
+            int x = n * 4;
+            markers.add(place(world, x, BASE_Y, 0, Material.CHISELED_TUFF, "STORAGE_SERVER"));
+            markers.add(place(world, x, BASE_Y + 1, 0, Material.CRAFTER, "MSS_TERMINAL"));
+            for (int z = 1; z <= cableLength(driveBays, exporters); z++) {
+                markers.add(place(world, x, BASE_Y, z, Material.HEAVY_CORE, "NETWORK_CABLE"));
+            }
+            for (int bay = 0; bay < driveBays; bay++) {
+                markers.add(place(world, x + 1, BASE_Y, bay * 2 + 1, Material.CHISELED_TUFF_BRICKS, "DRIVE_BAY"));
+            }
+            for (int i = 0; i < exporters; i++) {
+                Location exporter = exporter(world, n, i);
+                Location importer = importer(world, n, i);
+                exporter.getBlock().getRelative(BlockFace.DOWN).setType(Material.CHEST);
+                importer.getBlock().getRelative(BlockFace.DOWN).setType(Material.CHEST);
+                markers.add(place(world, exporter.getBlockX(), BASE_Y, exporter.getBlockZ(), Material.PLAYER_HEAD, "EXPORTER"));
+                markers.add(place(world, importer.getBlockX(), BASE_Y, importer.getBlockZ(), Material.PLAYER_HEAD, "IMPORTER"));
+            }
+            storageServers.add(new Location(world, x, BASE_Y, 0));
+        }
+
+        plugin.getDatabaseManager().executeTransaction(conn -> {
+            int worldId = plugin.getDatabaseManager().getOrCreateWorldId(conn, world.getName());
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO custom_block_markers (world_id, x, y, z, block_type) VALUES (?, ?, ?, ?, ?)")) {
+                for (Marker marker : markers) {
+                    stmt.setInt(1, worldId);
+                    stmt.setInt(2, marker.x());
+                    stmt.setInt(3, marker.y());
+                    stmt.setInt(4, marker.z());
+                    stmt.setString(5, marker.blockType());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        });
+
+        return storageServers;
+    }
+
+    public static Location terminal(World world, int network) {
+        return new Location(world, network * 4, BASE_Y + 1, 0);
+    }
+
+    /**
+     * The i-th exporter of a network, floor mounted on the chest it fills
+     */
+    public static Location exporter(World world, int network, int i) {
+        return new Location(world, network * 4 - 1, BASE_Y, i * 2 + 1);
+    }
+
+    /**
+     * The importer beside the i-th exporter, floor mounted on the chest it empties
+     */
+    public static Location importer(World world, int network, int i) {
+        return new Location(world, network * 4 - 1, BASE_Y, i * 2 + 2);
+    }
+
+    public static Location lastCable(World world, int network, int driveBays, int exporters) {
+        return new Location(world, network * 4, BASE_Y, cableLength(driveBays, exporters));
+    }
+
+    private static int cableLength(int driveBays, int exporters) {
+        // Without automation the cable ends beside the last drive bay, as the detection benchmarks expect
+        return exporters == 0 ? driveBays * 2 : Math.max(driveBays, exporters) * 2 + 1;
+    }
+
+    /**
+     * Set a block and return the marker that identifies it as a plugin block
+     */
+    public static Marker place(World world, int x, int y, int z, Material material, String blockType) {
+        world.getBlockAt(x, y, z).setType(material);
+        return new Marker(x, y, z, blockType);
+    }
+
+    public record Marker(int x, int y, int z, String blockType) {
+    }
+}
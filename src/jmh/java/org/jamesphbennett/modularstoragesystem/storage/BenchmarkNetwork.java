@@ -0,0 +1,151 @@
+package org.jamesphbennett.modularstoragesystem.storage;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jamesphbennett.modularstoragesystem.managers.ItemManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Seeds a network of drive bays full of empty disks into a scratch database, and the items to store in it
+ */
+final class BenchmarkNetwork {
+
+    private static final String DISK_TIER = "64k";
+    private static final int SLOTS_PER_BAY = 7;
+    private static final int STACK_AMOUNT = 32;
+
+    private BenchmarkNetwork() {
+    }
+
+    /**
+     * Register a network with its drive bays in world 1 and fill every slot with an empty 64k disk
+     * @return IDs of the seeded disks
+     */
+    static Set<String> seed(Connection conn, String networkId, int disks, int cellsPerDisk) throws SQLException {
+        String ownerUuid = UUID.randomUUID().toString();
+        Set<String> diskIds = new LinkedHashSet<>();
+        int driveBays = (disks + SLOTS_PER_BAY - 1) / SLOTS_PER_BAY;
+
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO worlds (world_id, world_name) VALUES (1, ?)")) {
+                stmt.setString(1, networkId);
+                stmt.executeUpdate();
+            }
+
+            int networkKey;
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO networks (network_id, owner_uuid) VALUES (?, ?)")) {
+                stmt.setString(1, networkId);
+                stmt.setString(2, ownerUuid);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT network_key FROM networks WHERE network_id = ?")) {
+                stmt.setString(1, networkId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    networkKey = rs.getInt(1);
+                }
+            }
+
+            // Connected disks are resolved through the registered drive bays
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO network_blocks (network_key, world_id, x, y, z, block_type) VALUES (?, 1, ?, 0, 0, 'DRIVE_BAY')")) {
+                for (int bay = 0; bay < driveBays; bay++) {
+                    stmt.setInt(1, networkKey);
+                    stmt.setInt(2, bay);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement diskStmt = conn.prepareStatement(
+                    "INSERT INTO storage_disks (disk_id, crafter_uuid, crafter_name, network_id, tier, max_cells) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement slotStmt = conn.prepareStatement(
+                         "INSERT INTO drive_bay_slots (network_id, network_key, world_id, x, y, z, slot_number, disk_id, disk_key) " +
+                                 "VALUES (?, ?, 1, ?, 0, 0, ?, ?, (SELECT disk_key FROM storage_disks WHERE disk_id = ?))")) {
+                for (int i = 0; i < disks; i++) {
+                    String diskId = UUID.randomUUID().toString();
+                    diskIds.add(diskId);
+
+                    diskStmt.setString(1, diskId);
+                    diskStmt.setString(2, ownerUuid);
+                    diskStmt.setString(3, "Benchmark");
+                    diskStmt.setString(4, networkId);
+                    diskStmt.setString(5, DISK_TIER);
+                    diskStmt.setInt(6, cellsPerDisk);
+                    diskStmt.addBatch();
+
+                    slotStmt.setString(1, networkId);
+                    slotStmt.setInt(2, networkKey);
+                    slotStmt.setInt(3, i / SLOTS_PER_BAY);
+                    slotStmt.setInt(4, i % SLOTS_PER_BAY);
+                    slotStmt.setString(5, diskId);
+                    slotStmt.setString(6, diskId);
+                    slotStmt.addBatch();
+                }
+                diskStmt.executeBatch();
+                slotStmt.executeBatch();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        return diskIds;
+    }
+
+    /**
+     * One storable item per type, materials repeat with a display name once they run out
+     */
+    static List<ItemStack> createItems(ItemManager itemManager, int itemTypes) {
+        List<Material> materials = new ArrayList<>();
+        for (Material material : Material.values()) {
+            if (!material.isItem() || material.isAir() || material.name().startsWith("LEGACY_")) {
+                continue;
+            }
+            if (!itemManager.isItemBlacklisted(new ItemStack(material))) {
+                materials.add(material);
+            }
+        }
+
+        List<ItemStack> items = new ArrayList<>(itemTypes);
+        for (int i = 0; i < itemTypes; i++) {
+            Material material = materials.get(i % materials.size());
+            ItemStack item = new ItemStack(material, Math.min(STACK_AMOUNT, material.getMaxStackSize()));
+            if (i >= materials.size()) {
+                ItemMeta meta = item.getItemMeta();
+                meta.displayName(Component.text("Benchmark item " + i));
+                item.setItemMeta(meta);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Delete a scratch SQLite database together with its WAL files
+     */
+    static void deleteScratchFiles(File file) throws IOException {
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(new File(file.getPath() + suffix).toPath());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.jamesphbennett.modularstoragesystem.storage;
+
+import org.bukkit.inventory.ItemStack;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.benchmark.MockServerState;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contention on one network: threads call storeItems, retrieveItems and getNetworkItems of a StorageManager on a
+ * temporary SQLite database. network-lock serializes every operation on one lock, as before striped locking,
+ * striped runs them on the striped locks and published snapshots alone.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LockContentionBenchmarks {
+
+    private static final String NETWORK_ID = "jmh-contention";
+    private static final int ITEM_TYPES = 64;
+    private static final int CELLS_PER_DISK = 64;
+
+    @Param({"network-lock", "striped"})
+    public String scheme;
+
+    /**
+     * Share of operations that load the network contents, the rest alternate storing and retrieving one item
+     * of a random type. 0 is the write only mix.
+     */
+    @Param({"0", "50"})
+    public int readPercent;
+
+    private final ReentrantLock networkLock = new ReentrantLock();
+    private ModularStorageSystem plugin;
+    private File file;
+    private DatabaseManager scratch;
+    private StorageManager storage;
+    private List<ItemStack> items;
+    private List<String> hashes;
+
+    /**
+     * Whether the next write of a thread stores or retrieves
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        boolean store = true;
+    }
+
+    @Setup(Level.Trial)
+    public void createItems(MockServerState state) {
+        plugin = state.plugin;
+        file = new File(plugin.getDataFolder(), "jmh-contention.db");
+        items = BenchmarkNetwork.createItems(plugin.getItemManager(), ITEM_TYPES);
+        hashes = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            hashes.add(plugin.getItemManager().generateItemHash(item));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openDatabase() throws Exception {
+        BenchmarkNetwork.deleteScratchFiles(file);
+        // A connection per pool slot, so the threads contend on the locks rather than the pool
+        scratch = plugin.getDatabaseManager().openScratchDatabase(file, plugin.getDatabaseManager().getMaximumPoolSize());
+        try (Connection conn = scratch.getConnection()) {
+            // One cell per item type is enough, stores of a type fill its partial cell first
+            BenchmarkNetwork.seed(conn, NETWORK_ID, ITEM_TYPES / CELLS_PER_DISK + 1, CELLS_PER_DISK);
+        }
+        storage = new StorageManager(plugin, scratch);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeDatabase() throws Exception {
+        scratch.shutdown();
+        BenchmarkNetwork.deleteScratchFiles(file);
+    }
+
+    @Benchmark
+    public Object operate(Writer writer) throws Exception {
+        if (!scheme.equals("network-lock")) {
+            return operation(writer);
+        }
+
+        networkLock.lock();
+        try {
+            return operation(writer);
+        } finally {
+            networkLock.unlock();
+        }
+    }
+
+    private Object operation(Writer writer) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < readPercent) {
+            return storage.getNetworkItems(NETWORK_ID);
+        }
+
+        int type = random.nextInt(items.size());
+        writer.store = !writer.store;
+        return writer.store
+                ? storage.retrieveItems(NETWORK_ID, hashes.get(type), 1)
+                : storage.storeItems(NETWORK_ID, List.of(items.get(type).asQuantity(1)));
+    }
+}
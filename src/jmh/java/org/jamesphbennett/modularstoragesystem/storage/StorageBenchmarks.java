@@ -0,0 +1,119 @@
+package org.jamesphbennett.modularstoragesystem.storage;
+
+import org.bukkit.inventory.ItemStack;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.benchmark.MockServerState;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * storeItems, retrieveItems and getNetworkItems on a temporary SQLite database. Every iteration starts from a
+ * fresh network holding one stack of each item type, so stores and retrievals never run out of space or items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class StorageBenchmarks {
+
+    private static final String NETWORK_ID = "jmh";
+    private static final int CELLS_PER_DISK = 64;
+    private static final int SEED_BATCH = 500;
+
+    @Param({"1000", "10000"})
+    public int itemTypes;
+
+    private ModularStorageSystem plugin;
+    private File file;
+    private DatabaseManager scratch;
+    private StorageManager storage;
+    private List<ItemStack> items;
+    private List<String> hashes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createItems(MockServerState state) {
+        plugin = state.plugin;
+        file = new File(plugin.getDataFolder(), "jmh-storage.db");
+        items = BenchmarkNetwork.createItems(plugin.getItemManager(), itemTypes);
+        hashes = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            hashes.add(plugin.getItemManager().generateItemHash(item));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openDatabase() throws Exception {
+        BenchmarkNetwork.deleteScratchFiles(file);
+        scratch = plugin.getDatabaseManager().openScratchDatabase(file, 1);
+        try (Connection conn = scratch.getConnection()) {
+            // A cell per item type, and room for the cells stores open once those fill up
+            BenchmarkNetwork.seed(conn, NETWORK_ID, itemTypes / CELLS_PER_DISK * 2 + 1, CELLS_PER_DISK);
+        }
+
+        storage = new StorageManager(plugin, scratch);
+        for (int i = 0; i < items.size(); i += SEED_BATCH) {
+            storage.storeItems(NETWORK_ID, items.subList(i, Math.min(items.size(), i + SEED_BATCH)));
+        }
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeDatabase() throws Exception {
+        scratch.shutdown();
+        BenchmarkNetwork.deleteScratchFiles(file);
+    }
+
+    @Benchmark
+    public List<ItemStack> storeItems() throws Exception {
+        return storage.storeItems(NETWORK_ID, List.of(items.get(nextType()).asQuantity(1)));
+    }
+
+    @Benchmark
+    public ItemStack retrieveItems() throws Exception {
+        return storage.retrieveItems(NETWORK_ID, hashes.get(nextType()), 1);
+    }
+
+    /**
+     * Load from the database, as after a write or on the first terminal open
+     */
+    @Benchmark
+    public List<StoredItem> getNetworkItems() throws Exception {
+        storage.invalidateNetworkItems(NETWORK_ID);
+        return storage.getNetworkItems(NETWORK_ID);
+    }
+
+    /**
+     * Served from the published snapshot
+     */
+    @Benchmark
+    public List<StoredItem> getNetworkItemsCached() throws Exception {
+        return storage.getNetworkItems(NETWORK_ID);
+    }
+
+    private int nextType() {
+        int type = next;
+        next = (next + 1) % items.size();
+        return type;
+    }
+}
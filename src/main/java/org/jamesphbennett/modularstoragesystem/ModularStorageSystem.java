@@ -3,12 +3,18 @@ package org.jamesphbennett.modularstoragesystem;
 import co.aikar.commands.PaperCommandManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jamesphbennett.modularstoragesystem.commands.MSSCommand;
+import org.jamesphbennett.modularstoragesystem.database.BackupManager;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
 import org.jamesphbennett.modularstoragesystem.database.DatabaseManager;
+import org.jamesphbennett.modularstoragesystem.database.MaintenanceManager;
 import org.jamesphbennett.modularstoragesystem.listeners.AnvilListener;
 import org.jamesphbennett.modularstoragesystem.listeners.BlockListener;
+import org.jamesphbennett.modularstoragesystem.listeners.GUIListener;
 import org.jamesphbennett.modularstoragesystem.listeners.PlayerListener;
 import org.jamesphbennett.modularstoragesystem.listeners.PistonListener;
 import org.jamesphbennett.modularstoragesystem.managers.*;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
+import org.jamesphbennett.modularstoragesystem.metrics.PrometheusExporter;
 import org.jamesphbennett.modularstoragesystem.storage.StorageManager;
 import org.jamesphbennett.modularstoragesystem.network.NetworkManager;
 import org.jamesphbennett.modularstoragesystem.network.DisksManager;
@@ -23,6 +29,9 @@ public final class ModularStorageSystem extends JavaPlugin {
 
     private ConfigManager configManager;
     private DatabaseManager databaseManager;
+    private DatabaseExecutor databaseExecutor;
+    private BackupManager backupManager;
+    private MaintenanceManager maintenanceManager;
     private NetworkManager networkManager;
     private DisksManager disksManager;
     private CableManager cableManager;
@@ -37,6 +46,8 @@ public final class ModularStorageSystem extends JavaPlugin {
     private PermissionManager permissionManager;
     private MessageManager messageManager;
     private BlockMarkerCache blockMarkerCache;
+    private MetricsRegistry metricsRegistry;
+    private PrometheusExporter prometheusExporter;
 
     public ModularStorageSystem() {
     }
@@ -50,8 +61,12 @@ public final class ModularStorageSystem extends JavaPlugin {
 
         try {
             configManager = new ConfigManager(this);
+            metricsRegistry = new MetricsRegistry(this);
             messageManager = new MessageManager(this);
             databaseManager = new DatabaseManager(this);
+            databaseExecutor = new DatabaseExecutor(this, databaseManager.getMaximumPoolSize());
+            backupManager = new BackupManager(this);
+            maintenanceManager = new MaintenanceManager(this);
             blockMarkerCache = new BlockMarkerCache(this);
             networkManager = new NetworkManager(this);
             disksManager = new DisksManager(this);
@@ -76,10 +91,19 @@ public final class ModularStorageSystem extends JavaPlugin {
                 }
             }, 600L, 600L);
 
-            getServer().getPluginManager().registerEvents(new BlockListener(this), this);
-            getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
-            getServer().getPluginManager().registerEvents(new PistonListener(this), this);
-            getServer().getPluginManager().registerEvents(new AnvilListener(this), this);
+            // Listeners are registered through the metrics registry so their time shows in /mss perf
+            metricsRegistry.registerTimedEvents(new BlockListener(this));
+            metricsRegistry.registerTimedEvents(new PlayerListener(this));
+            metricsRegistry.registerTimedEvents(new PistonListener(this));
+            metricsRegistry.registerTimedEvents(new AnvilListener(this));
+            metricsRegistry.registerTimedEvents(new GUIListener());
+
+            registerMetricGauges();
+            metricsRegistry.start();
+            if (configManager.isPrometheusEnabled()) {
+                prometheusExporter = new PrometheusExporter(this, metricsRegistry);
+                prometheusExporter.start(configManager.getPrometheusBindAddress(), configManager.getPrometheusPort());
+            }
 
             // Initialize ACF command manager
             PaperCommandManager commandManager = new PaperCommandManager(this);
@@ -100,6 +124,9 @@ public final class ModularStorageSystem extends JavaPlugin {
             // Register recipes AFTER everything else is initialized
             recipeManager.registerRecipes();
 
+            // Startup may load from the database on the server thread, only gameplay is checked
+            databaseManager.getMainThreadIoDetector().arm();
+
             getLogger().info(messageManager.getConsoleMessage("console.startup.enabled"));
             getLogger().info(messageManager.getConsoleMessage("console.recipes.registered", "count", recipeManager.getRegisteredRecipeCount()));
 
@@ -113,10 +140,35 @@ public final class ModularStorageSystem extends JavaPlugin {
     public void onDisable() {
         getLogger().info(messageManager != null ? messageManager.getConsoleMessage("console.shutdown.disabling") : "Shutting down Modular Storage System Plugin...");
 
+        if (databaseManager != null) {
+            databaseManager.getMainThreadIoDetector().disarm();
+        }
+
+        if (prometheusExporter != null) {
+            prometheusExporter.shutdown();
+        }
+
+        if (metricsRegistry != null) {
+            metricsRegistry.shutdown();
+        }
+
         if (guiManager != null) {
             guiManager.closeAllGUIs();
         }
 
+        if (backupManager != null) {
+            backupManager.shutdown();
+        }
+
+        if (maintenanceManager != null) {
+            maintenanceManager.shutdown();
+        }
+
+        // Let queued database work finish before the pool closes
+        if (databaseExecutor != null) {
+            databaseExecutor.shutdown();
+        }
+
         if (databaseManager != null) {
             databaseManager.shutdown();
         }
@@ -132,6 +184,18 @@ public final class ModularStorageSystem extends JavaPlugin {
         return databaseManager;
     }
 
+    public DatabaseExecutor getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+
+    public BackupManager getBackupManager() {
+        return backupManager;
+    }
+
+    public MaintenanceManager getMaintenanceManager() {
+        return maintenanceManager;
+    }
+
     public NetworkManager getNetworkManager() {
         return networkManager;
     }
@@ -189,6 +253,26 @@ public final class ModularStorageSystem extends JavaPlugin {
         return blockMarkerCache;
     }
 
+    public MetricsRegistry getMetrics() {
+        return metricsRegistry;
+    }
+
+    /**
+     * Live values sampled whenever the metrics are read
+     */
+    private void registerMetricGauges() {
+        metricsRegistry.gauge("db_pool_active_connections", "Pooled connections in use",
+                () -> databaseManager.getPoolStats().active());
+        metricsRegistry.gauge("db_pool_idle_connections", "Pooled connections idle",
+                () -> databaseManager.getPoolStats().idle());
+        metricsRegistry.gauge("db_pool_waiting_threads", "Threads waiting for a pooled connection",
+                () -> databaseManager.getPoolStats().waiting());
+        metricsRegistry.gauge("db_executor_active_tasks", "Database tasks running",
+                () -> databaseExecutor.getActiveCount());
+        metricsRegistry.gauge("db_executor_queued_tasks", "Database tasks waiting for a permit",
+                () -> databaseExecutor.getQueuedCount());
+    }
+
     /**
      * Log debug message only if debug mode is enabled
      */
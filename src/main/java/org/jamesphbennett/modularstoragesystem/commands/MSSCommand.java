@@ -6,14 +6,25 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseManager;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseMetrics;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseMigrator;
+import org.jamesphbennett.modularstoragesystem.database.MainThreadIoDetector;
+import org.jamesphbennett.modularstoragesystem.database.QueryPlanChecker;
+import org.jamesphbennett.modularstoragesystem.metrics.LoadHarness;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
+import org.jamesphbennett.modularstoragesystem.network.StorageLockMetrics;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @CommandAlias("mss")
 @Description("Modular Storage System commands")
@@ -21,12 +32,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MSSCommand extends BaseCommand {
 
     private final ModularStorageSystem plugin;
+    private final DatabaseMigrator databaseMigrator;
+    private final AtomicBoolean loadRunning = new AtomicBoolean();
 
     // Cooldown tracking: <PlayerUUID, <CommandName, ExpirationTime>>
     private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
 
     public MSSCommand(ModularStorageSystem plugin) {
         this.plugin = plugin;
+        this.databaseMigrator = new DatabaseMigrator(plugin);
     }
 
     /**
@@ -95,6 +109,10 @@ public class MSSCommand extends BaseCommand {
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.give"));
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.info"));
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.cleanup"));
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.backup"));
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.migrate-db"));
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.maintenance"));
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.perf"));
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.recipes"));
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.recipe"));
             sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.reload"));
@@ -189,7 +207,7 @@ public class MSSCommand extends BaseCommand {
         sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.help.header"));
 
         // Run database queries async
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             try (Connection conn = plugin.getDatabaseManager().getConnection()) {
                 // Count networks
                 int networkCount;
@@ -283,13 +301,13 @@ public class MSSCommand extends BaseCommand {
         }
 
         // Run cleanup operations async
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             try {
                 // Clean up orphaned storage items (items without valid disks)
                 int deletedItems;
                 try (Connection conn = plugin.getDatabaseManager().getConnection();
                      PreparedStatement stmt = conn.prepareStatement(
-                             "DELETE FROM storage_items WHERE disk_id NOT IN (SELECT disk_id FROM storage_disks)")) {
+                             "DELETE FROM storage_items WHERE disk_key NOT IN (SELECT disk_key FROM storage_disks)")) {
                     deletedItems = stmt.executeUpdate();
                 }
 
@@ -297,7 +315,7 @@ public class MSSCommand extends BaseCommand {
                 int updatedDisks;
                 try (Connection conn = plugin.getDatabaseManager().getConnection();
                      PreparedStatement stmt = conn.prepareStatement(
-                             "UPDATE storage_disks SET used_cells = 0 WHERE disk_id NOT IN (SELECT DISTINCT disk_id FROM storage_items)")) {
+                             "UPDATE storage_disks SET used_cells = 0 WHERE disk_key NOT IN (SELECT DISTINCT disk_key FROM storage_items)")) {
                     updatedDisks = stmt.executeUpdate();
                 }
 
@@ -315,6 +333,319 @@ public class MSSCommand extends BaseCommand {
         });
     }
 
+    @Subcommand("backup")
+    @Description("Create an online backup of the storage database")
+    @CommandPermission("modularstoragesystem.admin")
+    public void onBackup(CommandSender sender) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+
+        if (!plugin.getBackupManager().startBackup(sender)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.backup.already-running"));
+        }
+    }
+
+    @Subcommand("maintenance")
+    @Description("Run database maintenance now")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("convert-vacuum")
+    @Syntax("[convert-vacuum]")
+    public void onMaintenance(CommandSender sender, @Optional String action) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+
+        if ("convert-vacuum".equalsIgnoreCase(action)) {
+            if (!plugin.getMaintenanceManager().convertToIncrementalVacuum(sender)) {
+                sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.maintenance.already-running"));
+            }
+            return;
+        }
+
+        if (!plugin.getMaintenanceManager().startMaintenance(sender)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.maintenance.already-running"));
+        }
+    }
+
+    @Subcommand("migrate-db")
+    @Description("Copy all storage data between SQLite and MySQL")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("sqlite|mysql sqlite|mysql")
+    @Syntax("<from> <to>")
+    public void onMigrateDb(CommandSender sender, String from, String to) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+        String source = from.toLowerCase();
+        String target = to.toLowerCase();
+
+        if (!Set.of("sqlite", "mysql").contains(source) || !Set.of("sqlite", "mysql").contains(target) || source.equals(target)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.usage.migrate-db"));
+            return;
+        }
+
+        if (!databaseMigrator.startMigration(sender, source, target)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.migrate-db.already-running"));
+        }
+    }
+
+    @Subcommand("perf")
+    @Description("Show the tick cost of each subsystem, item throughput and cache hit rates")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("reset")
+    @Syntax("[reset]")
+    public void onPerf(CommandSender sender, @Optional String action) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+        MetricsRegistry metrics = plugin.getMetrics();
+
+        if ("reset".equalsIgnoreCase(action)) {
+            metrics.reset();
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.reset"));
+            return;
+        }
+
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.disabled"));
+            return;
+        }
+
+        long seconds = (System.currentTimeMillis() - metrics.getCollectingSince()) / 1000;
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.header",
+                "ticks", metrics.getTickCount(), "seconds", seconds));
+
+        for (MetricsRegistry.SubsystemSnapshot snapshot : metrics.getSubsystemSnapshots()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.subsystem",
+                    "subsystem", snapshot.name(),
+                    "avg", String.format("%.3f", snapshot.avgTickMillis()),
+                    "p99", String.format("%.3f", snapshot.p99TickMillis()),
+                    "max", String.format("%.3f", snapshot.maxTickMillis()),
+                    "calls", snapshot.calls()));
+        }
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.overlap"));
+
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.items",
+                "stored", String.format("%.1f", metrics.getRatePerSecond("items_stored")),
+                "retrieved", String.format("%.1f", metrics.getRatePerSecond("items_retrieved")),
+                "exported", String.format("%.1f", metrics.getRatePerSecond("items_exported")),
+                "imported", String.format("%.1f", metrics.getRatePerSecond("items_imported"))));
+
+        for (String cache : List.of("network_items", "block_markers")) {
+            MetricsRegistry.CacheSnapshot snapshot = metrics.getCacheSnapshot(cache);
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.cache",
+                    "cache", snapshot.name(),
+                    "rate", String.format("%.1f", snapshot.hitRate()),
+                    "hits", snapshot.hits(),
+                    "misses", snapshot.misses()));
+        }
+
+        DatabaseManager.PoolStats pool = plugin.getDatabaseManager().getPoolStats();
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.database",
+                "active", pool.active(),
+                "idle", pool.idle(),
+                "waiting", pool.waiting(),
+                "running", plugin.getDatabaseExecutor().getActiveCount(),
+                "queued", plugin.getDatabaseExecutor().getQueuedCount()));
+    }
+
+    @Subcommand("perf queryplans")
+    @Description("Check hot database queries for full table scans")
+    @CommandPermission("modularstoragesystem.admin")
+    public void onPerfQueryPlans(CommandSender sender) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+
+        // EXPLAIN needs the database, run it async
+        plugin.getDatabaseExecutor().run(() -> {
+            try {
+                List<QueryPlanChecker.PlanResult> results = new QueryPlanChecker(plugin).checkHotQueries();
+                long fullScans = results.stream().filter(QueryPlanChecker.PlanResult::fullScan).count();
+
+                for (QueryPlanChecker.PlanResult result : results) {
+                    plugin.debugLog("Query plan " + result.name() + ": " + String.join(" | ", result.plan()));
+                }
+
+                // Return to main thread to send messages
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.queryplans.header", "count", results.size()));
+                    for (QueryPlanChecker.PlanResult result : results) {
+                        String key = result.fullScan() ? "commands.perf.queryplans.full-scan" : "commands.perf.queryplans.indexed";
+                        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, key,
+                                "query", result.name(), "plan", String.join(" | ", result.plan())));
+                    }
+
+                    String summaryKey = fullScans > 0 ? "commands.perf.queryplans.failed" : "commands.perf.queryplans.passed";
+                    sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, summaryKey, "count", fullScans));
+                });
+
+            } catch (Exception e) {
+                // Return to main thread to send error message
+                plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.error", "error", e.getMessage())));
+            }
+        });
+    }
+
+    @Subcommand("perf db")
+    @Description("Show database query statistics")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("reset")
+    @Syntax("[reset]")
+    public void onPerfDb(CommandSender sender, @Optional String action) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+        DatabaseMetrics metrics = plugin.getDatabaseManager().getMetrics();
+
+        if ("reset".equalsIgnoreCase(action)) {
+            metrics.reset();
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.reset"));
+            return;
+        }
+
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.disabled"));
+            return;
+        }
+
+        long seconds = (System.currentTimeMillis() - metrics.getCollectingSince()) / 1000;
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.header",
+                "templates", metrics.getTemplateCount(), "seconds", seconds));
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.pool",
+                "count", metrics.getPoolWaitCount(),
+                "avg", String.format("%.2f", metrics.getPoolWaitAverageMillis()),
+                "max", String.format("%.2f", metrics.getPoolWaitMaxMillis())));
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.executor",
+                "active", plugin.getDatabaseExecutor().getActiveCount(),
+                "max", plugin.getDatabaseExecutor().getMaxConcurrency(),
+                "queued", plugin.getDatabaseExecutor().getQueuedCount()));
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.slow",
+                "count", metrics.getSlowQueryCount(), "threshold", plugin.getConfigManager().getSlowQueryThresholdMs()));
+
+        for (DatabaseMetrics.TemplateSnapshot snapshot : metrics.getTopTemplates(10)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.db.template",
+                    "query", snapshot.name(),
+                    "count", snapshot.count(),
+                    "avg", String.format("%.2f", snapshot.averageMillis()),
+                    "p99", String.format("%.2f", snapshot.p99Millis()),
+                    "max", String.format("%.2f", snapshot.maxMillis()),
+                    "rows", snapshot.rows()));
+        }
+
+        // Full table goes to the debug log
+        for (DatabaseMetrics.TemplateSnapshot snapshot : metrics.getTopTemplates(Integer.MAX_VALUE)) {
+            plugin.debugLog(String.format("DB %s: count=%d avg=%.2fms p99=%.2fms max=%.2fms rows=%d",
+                    snapshot.name(), snapshot.count(), snapshot.averageMillis(), snapshot.p99Millis(),
+                    snapshot.maxMillis(), snapshot.rows()));
+        }
+    }
+
+    @Subcommand("perf mainthread-io")
+    @Description("Show database access from the main thread")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("reset")
+    @Syntax("[reset]")
+    public void onPerfMainThreadIo(CommandSender sender, @Optional String action) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+        MainThreadIoDetector detector = plugin.getDatabaseManager().getMainThreadIoDetector();
+
+        if ("reset".equalsIgnoreCase(action)) {
+            detector.reset();
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.mainthread-io.reset"));
+            return;
+        }
+
+        List<MainThreadIoDetector.CallSiteSnapshot> offenders = detector.getWorstOffenders(10);
+        long seconds = (System.currentTimeMillis() - detector.getCollectingSince()) / 1000;
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.mainthread-io.header",
+                "mode", detector.getMode().name().toLowerCase(), "seconds", seconds));
+
+        if (offenders.isEmpty()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.mainthread-io.none"));
+            return;
+        }
+
+        for (MainThreadIoDetector.CallSiteSnapshot offender : offenders) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.mainthread-io.site",
+                    "site", offender.site(),
+                    "count", offender.count(),
+                    "total", String.format("%.2f", offender.totalMillis()),
+                    "avg", String.format("%.2f", offender.averageMillis()),
+                    "refused", offender.refused()));
+
+            // Sampled stacks are too long for chat
+            plugin.debugLog("Main thread DB access from " + offender.site() + ":\n" + offender.sampledStack());
+        }
+    }
+
+    @Subcommand("perf locks")
+    @Description("Show network storage lock contention")
+    @CommandPermission("modularstoragesystem.admin")
+    @CommandCompletion("reset")
+    @Syntax("[reset]")
+    public void onPerfLocks(CommandSender sender, @Optional String action) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+
+        if ("reset".equalsIgnoreCase(action)) {
+            plugin.getNetworkManager().resetStorageLockMetrics();
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.locks.reset"));
+            return;
+        }
+
+        List<StorageLockMetrics.Snapshot> snapshots = plugin.getNetworkManager().getStorageLockSnapshots().stream()
+                .filter(snapshot -> snapshot.acquisitions() > 0)
+                .toList();
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.locks.header",
+                "count", snapshots.size(), "threshold", plugin.getConfigManager().getMainThreadLockWaitWarnMs()));
+
+        if (snapshots.isEmpty()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.locks.none"));
+            return;
+        }
+
+        for (StorageLockMetrics.Snapshot snapshot : snapshots.subList(0, Math.min(10, snapshots.size()))) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.locks.network",
+                    "network", snapshot.networkId(),
+                    "count", snapshot.acquisitions(),
+                    "wait", String.format("%.2f", snapshot.avgWaitMillis()),
+                    "p99-wait", String.format("%.2f", snapshot.p99WaitMillis()),
+                    "max-wait", String.format("%.2f", snapshot.maxWaitMillis()),
+                    "hold", String.format("%.2f", snapshot.avgHoldMillis()),
+                    "p99-hold", String.format("%.2f", snapshot.p99HoldMillis()),
+                    "max-hold", String.format("%.2f", snapshot.maxHoldMillis()),
+                    "contended", snapshot.contended(),
+                    "queued", snapshot.queuedNow(),
+                    "max-queue", snapshot.maxQueueLength(),
+                    "slow", snapshot.mainThreadSlowWaits()));
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.locks.holders",
+                    "owners", snapshot.owners().isEmpty() ? "none" : String.join(", ", snapshot.owners()),
+                    "longest", snapshot.longestHolder()));
+        }
+    }
+
+    @Subcommand("perf load")
+    @Description("Record whole-plugin load for a number of ticks and write it to JSON")
+    @CommandPermission("modularstoragesystem.admin")
+    @Syntax("<ticks> [label]")
+    public void onPerfLoad(CommandSender sender, int ticks, @Optional String label) {
+        Player player = sender instanceof Player ? (Player) sender : null;
+
+        if (!plugin.getMetrics().isEnabled()) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.overview.disabled"));
+            return;
+        }
+        if (!loadRunning.compareAndSet(false, true)) {
+            sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.load.running"));
+            return;
+        }
+
+        int tickCount = Math.clamp(ticks, 20, 72000);
+        String reportLabel = label != null ? label.replaceAll("[^A-Za-z0-9_-]", "_") : "load";
+        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.load.started", "ticks", tickCount));
+
+        new LoadHarness(plugin, tickCount, reportLabel).start()
+                .whenComplete((file, error) -> {
+                    loadRunning.set(false);
+                    if (error != null) {
+                        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.error",
+                                "error", DatabaseExecutor.unwrap(error).getMessage()));
+                    } else {
+                        sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.perf.load.complete",
+                                "file", plugin.getDataFolder().toPath().relativize(file.toPath()).toString()));
+                    }
+                });
+    }
+
     @Subcommand("recipes")
     @Description("List all available recipes")
     @CommandPermission("modularstoragesystem.admin")
@@ -343,6 +674,8 @@ public class MSSCommand extends BaseCommand {
             case "config":
                 try {
                     plugin.getConfigManager().loadConfig();
+                    plugin.getBackupManager().scheduleBackups();
+                    plugin.getMaintenanceManager().scheduleMaintenance();
                     sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.reload.config-success"));
                 } catch (Exception e) {
                     sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.reload.config-error", "error", e.getMessage()));
@@ -372,6 +705,8 @@ public class MSSCommand extends BaseCommand {
             case "all":
                 try {
                     plugin.getConfigManager().reloadConfig();
+                    plugin.getBackupManager().scheduleBackups();
+                    plugin.getMaintenanceManager().scheduleMaintenance();
                     plugin.getRecipeManager().reloadRecipes();
                     plugin.getMessageManager().reloadLanguages();
                     sender.sendMessage(plugin.getMessageManager().getMessageComponent(player, "commands.reload.all-success"));
@@ -403,14 +738,14 @@ public class MSSCommand extends BaseCommand {
         boolean forceConfirm = "confirm".equalsIgnoreCase(confirmation);
 
         // Run database queries async
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             try {
                 // First check if disk is currently active in a drive bay
                 if (!forceConfirm) {
                     try (Connection conn = plugin.getDatabaseManager().getConnection();
                          PreparedStatement stmt = conn.prepareStatement(
-                                 "SELECT dbs.network_id, dbs.world_name, dbs.x, dbs.y, dbs.z, dbs.slot_number " +
-                                 "FROM drive_bay_slots dbs WHERE dbs.disk_id = ?")) {
+                                 "SELECT dbs.network_id, w.world_name, dbs.x, dbs.y, dbs.z, dbs.slot_number " +
+                                 "FROM drive_bay_slots dbs JOIN worlds w ON w.world_id = dbs.world_id WHERE dbs.disk_id = ?")) {
 
                         stmt.setString(1, diskId.toUpperCase());
 
@@ -0,0 +1,358 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.managers.MessageManager;
+import org.sqlite.JDBC;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.core.DB;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Online backups of the storage database.
+ * SQLite is copied page by page with the online backup API from one read snapshot, which never blocks WAL writers,
+ * MySQL is streamed table by table from a consistent snapshot into a gzipped SQL dump.
+ * Both pause between steps so storage writes keep priority, and write to a partial file that is only renamed once complete.
+ * A backup runs for minutes on large databases, so it gets its own platform thread and its own connection instead of a
+ * database executor permit and a pool connection. The SQLite snapshot holds back WAL checkpoints while it is open, so
+ * the WAL grows with the writes made during the backup and is only checkpointed once it ends.
+ */
+public class BackupManager {
+
+    private static final String BACKUP_PREFIX = "storage-";
+    private static final String PARTIAL_SUFFIX = ".partial";
+    // Retries of a backup step while the database is locked, and the sleep before each retry
+    private static final int BUSY_RETRIES = 20;
+    private static final int BUSY_SLEEP_MS = 100;
+
+    private final ModularStorageSystem plugin;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private BukkitTask scheduledTask;
+
+    public BackupManager(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+        scheduleBackups();
+    }
+
+    /**
+     * (Re)schedule the periodic backup job from the current configuration
+     */
+    public void scheduleBackups() {
+        if (scheduledTask != null) {
+            scheduledTask.cancel();
+            scheduledTask = null;
+        }
+
+        if (!plugin.getConfigManager().isBackupEnabled()) {
+            return;
+        }
+
+        long intervalTicks = plugin.getConfigManager().getBackupIntervalMinutes() * 60L * 20L;
+        scheduledTask = plugin.getServer().getScheduler().runTaskTimer(plugin,
+                () -> startBackup(null), intervalTicks, intervalTicks);
+        plugin.debugLog("Scheduled database backups every " + plugin.getConfigManager().getBackupIntervalMinutes() + " minutes");
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Start a backup on a dedicated thread
+     * @param requester Sender receiving progress messages, or null for console only
+     * @return false if a backup is already running
+     */
+    public boolean startBackup(CommandSender requester) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("MSS-Backup").daemon().start(() -> runBackup(requester));
+        return true;
+    }
+
+    /**
+     * Cancel the scheduled job, a running backup finishes on its own thread
+     */
+    public void shutdown() {
+        if (scheduledTask != null) {
+            scheduledTask.cancel();
+            scheduledTask = null;
+        }
+    }
+
+    private void runBackup(CommandSender requester) {
+        long startTime = System.currentTimeMillis();
+        File partialFile = null;
+        try {
+            File backupFolder = new File(plugin.getDataFolder(), "backups");
+            if (!backupFolder.exists() && !backupFolder.mkdirs()) {
+                throw new IOException("Failed to create backup directory: " + backupFolder.getAbsolutePath());
+            }
+
+            String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            File backupFile;
+
+            plugin.getMessageManager().report(requester, "commands.backup.started");
+
+            boolean isMySQL = plugin.getDatabaseManager().isMySql();
+            backupFile = new File(backupFolder, BACKUP_PREFIX + timestamp + (isMySQL ? ".sql.gz" : ".db"));
+            partialFile = new File(backupFolder, backupFile.getName() + PARTIAL_SUFFIX);
+
+            if (isMySQL) {
+                dumpMySQL(requester, partialFile);
+            } else {
+                backupSQLite(requester, partialFile);
+            }
+
+            // Only a complete backup ever carries a name that rotation counts
+            Files.move(partialFile.toPath(), backupFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            partialFile = null;
+
+            int removed = rotateBackups(backupFolder);
+            long seconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+            plugin.getMessageManager().report(requester, "commands.backup.complete",
+                    "file", backupFile.getName(),
+                    "size", MessageManager.formatSize(backupFile.length()),
+                    "seconds", seconds,
+                    "removed", removed);
+
+        } catch (Exception e) {
+            if (partialFile != null && partialFile.exists() && !partialFile.delete()) {
+                plugin.getLogger().warning("Failed to delete partial backup " + partialFile.getName());
+            }
+            plugin.getLogger().severe("Database backup failed: " + e.getMessage());
+            plugin.getMessageManager().report(requester, "commands.backup.error", "error", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Copy the live SQLite database with the online backup API, a configured number of pages per step.
+     * Writes from other connections would restart the copy, so it reads from one snapshot held open for the whole backup.
+     * The throttle sleeps inside the native progress callback, which is why this never runs on a virtual thread.
+     */
+    private void backupSQLite(CommandSender requester, File backupFile) throws SQLException {
+        int pagesPerStep = plugin.getConfigManager().getBackupPagesPerStep();
+        long throttleMs = plugin.getConfigManager().getBackupThrottleMs();
+        int[] lastReportedPercent = {0};
+
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout", plugin.getConfig().getString("database.sqlite.busy_timeout", "30000"));
+        String url = JDBC.PREFIX + plugin.getDatabaseManager().getSQLiteDatabaseFile().getAbsolutePath();
+
+        try (Connection conn = JDBC.createConnection(url, properties);
+             Statement stmt = conn.createStatement()) {
+            // Start the read transaction, in WAL mode it never blocks writers.
+            // DEFERRED explicitly, an IMMEDIATE begin would hold the write lock for the whole backup.
+            stmt.execute("BEGIN DEFERRED");
+            try {
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master")) {
+                    rs.next();
+                }
+
+                DB database = conn.unwrap(SQLiteConnection.class).getDatabase();
+                int result = database.backup("main", backupFile.getAbsolutePath(), (remaining, pageCount) -> {
+                    if (pageCount > 0 && remaining > 0) {
+                        int percent = (pageCount - remaining) * 100 / pageCount;
+                        if (percent >= lastReportedPercent[0] + 25) {
+                            lastReportedPercent[0] = percent - percent % 25;
+                            plugin.getMessageManager().report(requester, "commands.backup.progress", "percent", lastReportedPercent[0]);
+                        }
+                    }
+                    // Called after every step, the pause lets storage writes run between steps
+                    throttle(throttleMs);
+                }, BUSY_SLEEP_MS, BUSY_RETRIES, pagesPerStep);
+
+                if (result != SQLiteErrorCode.SQLITE_OK.code) {
+                    throw new SQLException("SQLite backup failed with error " + SQLiteErrorCode.getErrorCode(result));
+                }
+            } finally {
+                stmt.execute("ROLLBACK");
+            }
+        }
+    }
+
+    /**
+     * Stream every plugin table from a consistent snapshot into a gzipped SQL dump.
+     * Rows are fetched in streaming mode and the copy pauses between batches so storage writes keep priority.
+     */
+    private void dumpMySQL(CommandSender requester, File backupFile) throws SQLException, IOException {
+        List<String> tables = plugin.getDatabaseManager().getTableNames();
+        int batchRows = plugin.getConfigManager().getBackupBatchRows();
+        long throttleMs = plugin.getConfigManager().getBackupThrottleMs();
+
+        try (Connection conn = plugin.getDatabaseManager().getConnection();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(new FileOutputStream(backupFile)), StandardCharsets.UTF_8))) {
+
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+            }
+
+            try {
+                writer.write("-- Modular Storage System backup " + new Date() + "\n");
+                writer.write("SET FOREIGN_KEY_CHECKS = 0;\n\n");
+
+                for (int i = 0; i < tables.size(); i++) {
+                    String table = tables.get(i);
+                    long rows = dumpMySQLTable(conn, writer, table, batchRows, throttleMs);
+                    plugin.getMessageManager().report(requester, "commands.backup.table-progress",
+                            "table", table, "rows", rows, "current", i + 1, "total", tables.size());
+                }
+
+                writer.write("SET FOREIGN_KEY_CHECKS = 1;\n");
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private long dumpMySQLTable(Connection conn, Writer writer, String table, int batchRows, long throttleMs)
+            throws SQLException, IOException {
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SHOW CREATE TABLE " + table)) {
+                if (rs.next()) {
+                    writer.write("DROP TABLE IF EXISTS " + table + ";\n");
+                    writer.write(rs.getString(2) + ";\n\n");
+                }
+            }
+        }
+
+        long rows = 0;
+        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams row by row instead of buffering the whole table
+            stmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+
+                StringBuilder columns = new StringBuilder();
+                for (int column = 1; column <= columnCount; column++) {
+                    if (column > 1) columns.append(", ");
+                    columns.append(metaData.getColumnName(column));
+                }
+                String insertPrefix = "INSERT INTO " + table + " (" + columns + ") VALUES\n";
+
+                int rowsInStatement = 0;
+                while (rs.next()) {
+                    writer.write(rowsInStatement == 0 ? insertPrefix : ",\n");
+                    writer.write(toSqlRow(rs, columnCount));
+                    rowsInStatement++;
+                    rows++;
+
+                    if (rowsInStatement >= batchRows) {
+                        writer.write(";\n");
+                        rowsInStatement = 0;
+                        throttle(throttleMs);
+                    }
+                }
+
+                if (rowsInStatement > 0) {
+                    writer.write(";\n");
+                }
+                writer.write("\n");
+            }
+        }
+
+        return rows;
+    }
+
+    private String toSqlRow(ResultSet rs, int columnCount) throws SQLException {
+        StringBuilder row = new StringBuilder("(");
+        for (int column = 1; column <= columnCount; column++) {
+            if (column > 1) row.append(", ");
+
+            Object value = rs.getObject(column);
+            if (value == null) {
+                row.append("NULL");
+            } else if (value instanceof Number) {
+                row.append(value);
+            } else if (value instanceof Boolean bool) {
+                row.append(bool ? "1" : "0");
+            } else {
+                row.append('\'')
+                        .append(value.toString().replace("\\", "\\\\").replace("'", "''"))
+                        .append('\'');
+            }
+        }
+        return row.append(')').toString();
+    }
+
+    private void throttle(long throttleMs) {
+        if (throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Delete the oldest backups beyond the configured retention
+     * @return Number of backups removed
+     */
+    private int rotateBackups(File backupFolder) {
+        int retention = plugin.getConfigManager().getBackupRetention();
+        // Partial files are left behind only if the server died mid-backup, none is in progress now
+        File[] partials = backupFolder.listFiles((dir, name) -> name.endsWith(PARTIAL_SUFFIX));
+        if (partials != null) {
+            for (File partial : partials) {
+                if (!partial.delete()) {
+                    plugin.getLogger().warning("Failed to delete partial backup " + partial.getName());
+                }
+            }
+        }
+
+        File[] backups = backupFolder.listFiles((dir, name) -> name.startsWith(BACKUP_PREFIX) && !name.endsWith(PARTIAL_SUFFIX));
+        if (backups == null || retention <= 0 || backups.length <= retention) {
+            return 0;
+        }
+
+        // Timestamped names sort chronologically, newest first
+        Arrays.sort(backups, Comparator.comparing(File::getName).reversed());
+
+        int removed = 0;
+        for (int i = retention; i < backups.length; i++) {
+            if (backups[i].delete()) {
+                removed++;
+            } else {
+                plugin.getLogger().warning("Failed to delete old backup " + backups[i].getName());
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,241 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Runs blocking database work on virtual threads.
+ * Every task gets its own virtual thread, a semaphore sized to the connection pool keeps
+ * at most that many tasks inside JDBC at once so the rest park cheaply instead of queueing in Hikari.
+ */
+public class DatabaseExecutor {
+
+    private static final String THREAD_PREFIX = "MSS-DB-";
+
+    /**
+     * Database work that may throw
+     */
+    @FunctionalInterface
+    public interface DatabaseTask<T> {
+        T execute() throws Exception;
+    }
+
+    /**
+     * Database work without a result
+     */
+    @FunctionalInterface
+    public interface DatabaseAction {
+        void execute() throws Exception;
+    }
+
+    private final ModularStorageSystem plugin;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Executor mainThread;
+    // Continuations waiting for the server thread, the scheduler drops them once the plugin disables
+    private final Set<Continuation> pendingContinuations = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Main thread work that runs at most once, either from the scheduler or from shutdown
+     */
+    private static final class Continuation implements Runnable {
+        private final Runnable task;
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        private Continuation(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (started.compareAndSet(false, true)) {
+                task.run();
+            }
+        }
+    }
+
+    public DatabaseExecutor(ModularStorageSystem plugin, int maxConcurrency) {
+        this.plugin = plugin;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_PREFIX, 0).factory());
+
+        // Continuations return leftovers to players and containers, so they are tracked until they run:
+        // once the plugin disables the scheduler refuses and cancels its tasks, and shutdown runs the rest
+        this.mainThread = task -> {
+            if (plugin.getServer().isPrimaryThread()) {
+                task.run();
+                return;
+            }
+
+            Continuation continuation = new Continuation(task);
+            pendingContinuations.add(continuation);
+            if (!plugin.isEnabled()) {
+                return;
+            }
+
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    pendingContinuations.remove(continuation);
+                    continuation.run();
+                });
+            } catch (IllegalPluginAccessException e) {
+                // Disabled since the check above, left for shutdown
+            }
+        };
+    }
+
+    /**
+     * Run database work off the main thread
+     */
+    public <T> CompletableFuture<T> supply(DatabaseTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+
+            try {
+                return task.execute();
+            } catch (CompletionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Run database work off the main thread, the returned future completes on the main thread
+     * so dependent stages can touch the world and inventories directly
+     */
+    public <T> CompletableFuture<T> supplyToMainThread(DatabaseTask<T> task) {
+        return supply(task).whenCompleteAsync((result, error) -> {
+        }, mainThread);
+    }
+
+    /**
+     * Run database work without a result off the main thread
+     */
+    public CompletableFuture<Void> run(DatabaseAction action) {
+        return supply(() -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    /**
+     * Run database work off the main thread, then hand the result to the main thread.
+     * Failures are logged with the given description.
+     */
+    public <T> void supplyThenSync(DatabaseTask<T> task, Consumer<T> onMainThread, String description) {
+        supplyThenSync(task, onMainThread, error ->
+                plugin.getLogger().warning("Error " + description + ": " + error.getMessage()));
+    }
+
+    /**
+     * Run database work off the main thread, then hand the result or the failure to the main thread
+     */
+    public <T> void supplyThenSync(DatabaseTask<T> task, Consumer<T> onMainThread, Consumer<Throwable> onError) {
+        supply(task).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                onError.accept(unwrap(error));
+            } else {
+                onMainThread.accept(result);
+            }
+        }, mainThread);
+    }
+
+    /**
+     * Executor running tasks on the server thread, for chaining onto futures from this executor
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Tasks currently inside JDBC
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Tasks parked waiting for a permit
+     */
+    public int getQueuedCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Strip the CompletionException wrapper futures add around the original failure
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public static boolean isDatabaseThread() {
+        return Thread.currentThread().isVirtual() && Thread.currentThread().getName().startsWith(THREAD_PREFIX);
+    }
+
+    /**
+     * Stop accepting work and wait briefly for running tasks so their writes reach the pool before it closes,
+     * then run their continuations here, must be called on the main thread
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Database tasks still running after 10 seconds, closing the pool anyway");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        runPendingContinuations();
+    }
+
+    private void runPendingContinuations() {
+        int ran = 0;
+        while (!pendingContinuations.isEmpty()) {
+            for (Continuation continuation : List.copyOf(pendingContinuations)) {
+                pendingContinuations.remove(continuation);
+                try {
+                    continuation.run();
+                    ran++;
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.WARNING, "Error completing database task during shutdown", e);
+                }
+            }
+        }
+
+        if (ran > 0) {
+            plugin.getLogger().info("Completed " + ran + " database task callbacks during shutdown");
+        }
+    }
+}
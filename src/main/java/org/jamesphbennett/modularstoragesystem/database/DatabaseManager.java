@@ -2,27 +2,50 @@ package org.jamesphbennett.modularstoragesystem.database;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.jfr.DatabaseTransactionEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class DatabaseManager {
 
+    // world_id returned for worlds that were never registered, no row references it
+    public static final int UNKNOWN_WORLD_ID = -1;
+
     private final ModularStorageSystem plugin;
     private HikariDataSource dataSource;
+    private boolean mySql;
+    private final DatabaseMetrics metrics;
+    private final MainThreadIoDetector mainThreadIo;
+
+    // Cached world name -> world_id lookups for the positional tables
+    private final Map<String, Integer> worldIds = new ConcurrentHashMap<>();
 
     public DatabaseManager(ModularStorageSystem plugin) throws SQLException {
         this.plugin = plugin;
+        this.metrics = new DatabaseMetrics(plugin);
+        this.mainThreadIo = new MainThreadIoDetector(plugin);
         initializeDatabase();
         createTables();
 
         // Run migration to fix storage constraints and update cell counts
         migrateDatabaseSchema();
+
+        // Indexes reference migrated columns, so they are created once the schema is current
+        createIndexes();
+        loadWorldIds();
     }
 
     private void initializeDatabase() throws SQLException {
@@ -44,30 +67,36 @@ public class DatabaseManager {
                     }
                 }
 
-                String databasePath = plugin.getDataFolder().getAbsolutePath() + "/storage.db";
+                String databasePath = getSQLiteDatabaseFile().getAbsolutePath();
                 config = getSQLiteHikariConfig(databasePath);
             }
 
             dataSource = new HikariDataSource(config);
+            mySql = useMysql;
 
             plugin.getLogger().info("Successfully connected to " + databaseType + " database");
 
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to connect to database!", e);
 
-            // If MySQL failed, optionally fall back to SQLite
-            if (plugin.getConfigManager().isMySql()) {
-                plugin.getLogger().warning("MySQL connection failed. Falling back to SQLite...");
+            // Falling back splits storage across two databases, so it only happens when explicitly enabled
+            if (plugin.getConfigManager().isMySql() && plugin.getConfigManager().isMysqlFallbackToSqlite()) {
+                plugin.getLogger().severe("==============================================================");
+                plugin.getLogger().severe("MySQL connection failed, falling back to the local SQLite database!");
+                plugin.getLogger().severe("Storage changes made now are NOT written to MySQL.");
+                plugin.getLogger().severe("Disable database.mysql.fallback_to_sqlite to refuse to start instead.");
+                plugin.getLogger().severe("==============================================================");
                 try {
                     if (!plugin.getDataFolder().exists()) {
                         if (!plugin.getDataFolder().mkdirs()) {
                             throw new RuntimeException("Failed to create plugin data directory");
                         }
                     }
-                    String databasePath = plugin.getDataFolder().getAbsolutePath() + "/storage.db";
+                    String databasePath = getSQLiteDatabaseFile().getAbsolutePath();
                     HikariConfig config = getSQLiteHikariConfig(databasePath);
                     dataSource = new HikariDataSource(config);
-                    plugin.getLogger().info("Successfully fell back to SQLite database");
+                    mySql = false;
+                    plugin.getLogger().warning("Running on the SQLite fallback database");
                 } catch (Exception fallbackException) {
                     plugin.getLogger().log(Level.SEVERE, "Failed to fall back to SQLite!", fallbackException);
                     throw new SQLException("Database initialization failed completely", fallbackException);
@@ -78,7 +107,68 @@ public class DatabaseManager {
         }
     }
 
-    private @NotNull HikariConfig getSQLiteHikariConfig(String databasePath) {
+    /**
+     * Whether the active connection pool is MySQL.
+     * Differs from the configured type while running on the SQLite fallback.
+     */
+    public boolean isMySql() {
+        return mySql;
+    }
+
+    /**
+     * Get the SQLite database file
+     */
+    public File getSQLiteDatabaseFile() {
+        return new File(plugin.getDataFolder(), "storage.db");
+    }
+
+    /**
+     * Scratch database on its own pool, the schema is created by {@link #openScratchDatabase}
+     */
+    private DatabaseManager(ModularStorageSystem plugin, HikariDataSource dataSource) {
+        this.plugin = plugin;
+        this.metrics = new DatabaseMetrics(plugin);
+        this.mainThreadIo = new MainThreadIoDetector(plugin);
+        this.dataSource = dataSource;
+        this.mySql = false;
+    }
+
+    /**
+     * Open a throwaway SQLite database with the current schema and indexes, for benchmarks.
+     * The caller shuts it down and deletes the file.
+     * @param poolSize Connections the scratch pool may open
+     */
+    public DatabaseManager openScratchDatabase(File file, int poolSize) throws SQLException {
+        HikariConfig config = getSQLiteHikariConfig(file.getAbsolutePath());
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(0);
+        config.setPoolName("MSS-Scratch");
+
+        HikariDataSource scratch = new HikariDataSource(config);
+        try (Connection conn = scratch.getConnection()) {
+            createSQLiteSchema(conn);
+        } catch (SQLException e) {
+            scratch.close();
+            throw e;
+        }
+        return new DatabaseManager(plugin, scratch);
+    }
+
+    /**
+     * Create the current SQLite schema and indexes on an empty database
+     */
+    static void createSQLiteSchema(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String query : getTableCreationQueries(false)) {
+                stmt.execute(query);
+            }
+            for (IndexDefinition index : getIndexDefinitions()) {
+                stmt.execute("CREATE INDEX IF NOT EXISTS " + index.name() + " ON " + index.table() + "(" + index.columns() + ")");
+            }
+        }
+    }
+
+    @NotNull HikariConfig getSQLiteHikariConfig(String databasePath) {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl("jdbc:sqlite:" + databasePath);
         config.setDriverClassName("org.sqlite.JDBC");
@@ -91,17 +181,21 @@ public class DatabaseManager {
         config.setMaxLifetime(plugin.getConfig().getLong("database.connection_pool.max_lifetime", 1800000));
 
         // SQLite specific settings from config
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // sqlite-jdbc has no statement cache (cachePrepStmts is a MySQL driver option), hot statements use StatementCache
         config.addDataSourceProperty("journal_mode", plugin.getConfig().getString("database.sqlite.journal_mode", "WAL"));
         config.addDataSourceProperty("synchronous", plugin.getConfig().getString("database.sqlite.synchronous", "NORMAL"));
         config.addDataSourceProperty("busy_timeout", plugin.getConfig().getString("database.sqlite.busy_timeout", "30000"));
+        // Storage writes on one network run side by side on separate connections. A deferred transaction that read
+        // before another connection committed fails with SQLITE_BUSY_SNAPSHOT on its first write, which busy_timeout
+        // does not retry, so transactions take the write lock at BEGIN and wait for it there instead
+        config.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        // Only takes effect on a new, empty database file, existing ones are converted with /mss maintenance convert-vacuum
+        config.addDataSourceProperty("auto_vacuum", "INCREMENTAL");
 
         return config;
     }
 
-    private @NotNull HikariConfig getMySQLHikariConfig() {
+    @NotNull HikariConfig getMySQLHikariConfig() {
         HikariConfig config = new HikariConfig();
 
         // Build JDBC URL
@@ -149,7 +243,7 @@ public class DatabaseManager {
             // Check if tier column exists
             boolean needsTierMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Use INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
@@ -247,7 +341,7 @@ public class DatabaseManager {
             // Check if slot_target column exists in exporter_filters
             boolean needsMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Use INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
@@ -317,7 +411,7 @@ public class DatabaseManager {
             // Check if bottle_xp column exists in importers
             boolean needsMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Use INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
@@ -357,14 +451,14 @@ public class DatabaseManager {
 
                 try {
                     // Add bottle_xp column with default value false
-                    String boolType = plugin.getConfigManager().isMySql() ? "BOOLEAN" : "INTEGER";
+                    String boolType = isMySql() ? "BOOLEAN" : "INTEGER";
                     try (var stmt = conn.createStatement()) {
-                        stmt.execute("ALTER TABLE importers ADD COLUMN bottle_xp " + boolType + " DEFAULT " + (plugin.getConfigManager().isMySql() ? "false" : "0"));
+                        stmt.execute("ALTER TABLE importers ADD COLUMN bottle_xp " + boolType + " DEFAULT " + (isMySql() ? "false" : "0"));
                     }
 
                     // Update existing importers to have bottle_xp = false (safe default)
                     try (var stmt = conn.createStatement()) {
-                        stmt.execute("UPDATE importers SET bottle_xp = " + (plugin.getConfigManager().isMySql() ? "false" : "0") + " WHERE bottle_xp IS NULL");
+                        stmt.execute("UPDATE importers SET bottle_xp = " + (isMySql() ? "false" : "0") + " WHERE bottle_xp IS NULL");
                     }
 
                     conn.commit();
@@ -388,7 +482,7 @@ public class DatabaseManager {
             // Check if eject_buckets column exists in importers
             boolean needsMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Use INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
@@ -428,14 +522,14 @@ public class DatabaseManager {
 
                 try {
                     // Add eject_buckets column with default value false
-                    String boolType = plugin.getConfigManager().isMySql() ? "BOOLEAN" : "INTEGER";
+                    String boolType = isMySql() ? "BOOLEAN" : "INTEGER";
                     try (var stmt = conn.createStatement()) {
-                        stmt.execute("ALTER TABLE importers ADD COLUMN eject_buckets " + boolType + " DEFAULT " + (plugin.getConfigManager().isMySql() ? "false" : "0"));
+                        stmt.execute("ALTER TABLE importers ADD COLUMN eject_buckets " + boolType + " DEFAULT " + (isMySql() ? "false" : "0"));
                     }
 
                     // Update existing importers to have eject_buckets = false (safe default)
                     try (var stmt = conn.createStatement()) {
-                        stmt.execute("UPDATE importers SET eject_buckets = " + (plugin.getConfigManager().isMySql() ? "false" : "0") + " WHERE eject_buckets IS NULL");
+                        stmt.execute("UPDATE importers SET eject_buckets = " + (isMySql() ? "false" : "0") + " WHERE eject_buckets IS NULL");
                     }
 
                     conn.commit();
@@ -459,7 +553,7 @@ public class DatabaseManager {
             // Check if item_data column exists in exporter_filters
             boolean needsMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Use INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
@@ -520,8 +614,13 @@ public class DatabaseManager {
      * Get table creation queries based on database type
      */
     private String[] getTableCreationQueries() {
-        boolean isMySQL = plugin.getConfigManager().isMySql();
+        return getTableCreationQueries(isMySql());
+    }
 
+    /**
+     * Get table creation queries for a specific backend
+     */
+    static String[] getTableCreationQueries(boolean isMySQL) {
         // Data type mappings
         String textType = isMySQL ? "VARCHAR(255)" : "TEXT";
         String longTextType = "TEXT"; // TEXT works in both
@@ -532,50 +631,63 @@ public class DatabaseManager {
         String timestampUpdate = isMySQL ? "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" : "TIMESTAMP DEFAULT CURRENT_TIMESTAMP";
 
         return new String[] {
+                // Worlds table - maps world names to compact integer keys for positional tables
+                String.format("""
+            CREATE TABLE IF NOT EXISTS worlds (
+                world_id %s PRIMARY KEY %s,
+                world_name %s NOT NULL UNIQUE,
+                created_at %s
+            )
+            """, intType, autoIncrement, textType, timestampDefault),
+
                 // Networks table
                 String.format("""
             CREATE TABLE IF NOT EXISTS networks (
-                network_id %s PRIMARY KEY,
+                network_key %s PRIMARY KEY %s,
+                network_id %s NOT NULL UNIQUE,
                 owner_uuid %s NOT NULL,
                 created_at %s,
                 last_accessed %s
             )
-            """, textType, textType, timestampDefault, timestampUpdate),
+            """, intType, autoIncrement, textType, textType, timestampDefault, timestampUpdate),
 
                 // Network blocks table
                 String.format("""
             CREATE TABLE IF NOT EXISTS network_blocks (
                 id %s PRIMARY KEY %s,
-                network_id %s NOT NULL,
-                world_name %s NOT NULL,
+                network_key %s NOT NULL,
+                world_id %s NOT NULL,
                 x %s NOT NULL,
                 y %s NOT NULL,
                 z %s NOT NULL,
                 block_type %s NOT NULL,
                 created_at %s,
-                FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE CASCADE,
-                UNIQUE(world_name, x, y, z)
+                FOREIGN KEY (network_key) REFERENCES networks(network_key) ON DELETE CASCADE,
+                FOREIGN KEY (world_id) REFERENCES worlds(world_id),
+                UNIQUE(world_id, x, y, z)
             )
-            """, intType, autoIncrement, textType, textType, intType, intType, intType, textType, timestampDefault),
+            """, intType, autoIncrement, intType, intType, intType, intType, intType, textType, timestampDefault),
 
                 // Custom block markers table - tracks which blocks are our custom items
                 String.format("""
             CREATE TABLE IF NOT EXISTS custom_block_markers (
                 id %s PRIMARY KEY %s,
-                world_name %s NOT NULL,
+                world_id %s NOT NULL,
                 x %s NOT NULL,
                 y %s NOT NULL,
                 z %s NOT NULL,
                 block_type %s NOT NULL,
                 created_at %s,
-                UNIQUE(world_name, x, y, z)
+                FOREIGN KEY (world_id) REFERENCES worlds(world_id),
+                UNIQUE(world_id, x, y, z)
             )
-            """, intType, autoIncrement, textType, intType, intType, intType, textType, timestampDefault),
+            """, intType, autoIncrement, intType, intType, intType, intType, textType, timestampDefault),
 
                 // Storage disks table
                 String.format("""
             CREATE TABLE IF NOT EXISTS storage_disks (
-                disk_id %s PRIMARY KEY,
+                disk_key %s PRIMARY KEY %s,
+                disk_id %s NOT NULL UNIQUE,
                 crafter_uuid %s NOT NULL,
                 crafter_name %s NOT NULL,
                 network_id %s,
@@ -586,49 +698,52 @@ public class DatabaseManager {
                 updated_at %s,
                 FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE SET NULL
             )
-            """, textType, textType, textType, textType, textType, intType, intType, timestampDefault, timestampUpdate),
+            """, intType, autoIncrement, textType, textType, textType, textType, textType, intType, intType, timestampDefault, timestampUpdate),
 
                 // Drive bay slots table
                 String.format("""
             CREATE TABLE IF NOT EXISTS drive_bay_slots (
                 id %s PRIMARY KEY %s,
                 network_id %s NOT NULL,
-                world_name %s NOT NULL,
+                network_key %s,
+                world_id %s NOT NULL,
                 x %s NOT NULL,
                 y %s NOT NULL,
                 z %s NOT NULL,
                 slot_number %s NOT NULL,
                 disk_id %s,
+                disk_key %s,
                 created_at %s,
                 FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE CASCADE,
+                FOREIGN KEY (world_id) REFERENCES worlds(world_id),
                 FOREIGN KEY (disk_id) REFERENCES storage_disks(disk_id) ON DELETE SET NULL,
-                UNIQUE(world_name, x, y, z, slot_number),
+                UNIQUE(world_id, x, y, z, slot_number),
                 CHECK (slot_number >= 0 AND slot_number < 7)
             )
-            """, intType, autoIncrement, textType, textType, intType, intType, intType, intType, textType, timestampDefault),
+            """, intType, autoIncrement, textType, intType, intType, intType, intType, intType, intType, textType, intType, timestampDefault),
 
                 // Storage items table
                 String.format("""
                 CREATE TABLE IF NOT EXISTS storage_items (
                     id %s PRIMARY KEY %s,
-                    disk_id %s NOT NULL,
+                    disk_key %s NOT NULL,
                     item_hash %s NOT NULL,
                     item_data %s NOT NULL,
                     quantity %s NOT NULL DEFAULT 0,
                     max_stack_size %s NOT NULL DEFAULT 64,
                     created_at %s,
                     updated_at %s,
-                    FOREIGN KEY (disk_id) REFERENCES storage_disks(disk_id) ON DELETE CASCADE,
+                    FOREIGN KEY (disk_key) REFERENCES storage_disks(disk_key) ON DELETE CASCADE,
                     CHECK (quantity >= 0 AND quantity <= 8128)
                 )
-                """, intType, autoIncrement, textType, textType, longTextType, intType, intType, timestampDefault, timestampUpdate),
+                """, intType, autoIncrement, intType, textType, longTextType, intType, intType, timestampDefault, timestampUpdate),
 
                 // Exporters table
                 String.format("""
                 CREATE TABLE IF NOT EXISTS exporters (
                     exporter_id %s PRIMARY KEY,
                     network_id %s NOT NULL,
-                    world_name %s NOT NULL,
+                    world_id %s NOT NULL,
                     x %s NOT NULL,
                     y %s NOT NULL,
                     z %s NOT NULL,
@@ -637,9 +752,10 @@ public class DatabaseManager {
                     created_at %s,
                     updated_at %s,
                     FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE CASCADE,
-                    UNIQUE(world_name, x, y, z)
+                    FOREIGN KEY (world_id) REFERENCES worlds(world_id),
+                    UNIQUE(world_id, x, y, z)
                 )
-                """, textType, textType, textType, intType, intType, intType, booleanType, timestampDefault, timestampUpdate),
+                """, textType, textType, intType, intType, intType, intType, booleanType, timestampDefault, timestampUpdate),
 
                 // Exporter filters table
                 String.format("""
@@ -660,18 +776,21 @@ public class DatabaseManager {
                 CREATE TABLE IF NOT EXISTS importers (
                     importer_id %s PRIMARY KEY,
                     network_id %s NOT NULL,
-                    world_name %s NOT NULL,
+                    world_id %s NOT NULL,
                     x %s NOT NULL,
                     y %s NOT NULL,
                     z %s NOT NULL,
                     enabled %s NOT NULL DEFAULT true,
                     last_import TIMESTAMP,
+                    bottle_xp %s DEFAULT false,
+                    eject_buckets %s DEFAULT false,
                     created_at %s,
                     updated_at %s,
                     FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE CASCADE,
-                    UNIQUE(world_name, x, y, z)
+                    FOREIGN KEY (world_id) REFERENCES worlds(world_id),
+                    UNIQUE(world_id, x, y, z)
                 )
-                """, textType, textType, textType, intType, intType, intType, booleanType, timestampDefault, timestampUpdate),
+                """, textType, textType, intType, intType, intType, intType, booleanType, booleanType, booleanType, timestampDefault, timestampUpdate),
 
                 // Importer filters table
                 String.format("""
@@ -691,7 +810,7 @@ public class DatabaseManager {
                 String.format("""
                 CREATE TABLE IF NOT EXISTS security_terminals (
                     terminal_id %s PRIMARY KEY,
-                    world_name %s NOT NULL,
+                    world_id %s NOT NULL,
                     x %s NOT NULL,
                     y %s NOT NULL,
                     z %s NOT NULL,
@@ -700,9 +819,10 @@ public class DatabaseManager {
                     network_id %s,
                     created_at %s,
                     FOREIGN KEY (network_id) REFERENCES networks(network_id) ON DELETE SET NULL,
-                    UNIQUE(world_name, x, y, z)
+                    FOREIGN KEY (world_id) REFERENCES worlds(world_id),
+                    UNIQUE(world_id, x, y, z)
                 )
-                """, textType, textType, intType, intType, intType, textType, textType, textType, timestampDefault),
+                """, textType, intType, intType, intType, intType, textType, textType, textType, timestampDefault),
 
                 // Security terminal trusted players table
                 String.format("""
@@ -722,9 +842,43 @@ public class DatabaseManager {
         };
     }
 
+    /**
+     * Get the creation query for a single table
+     */
+    private String getTableCreationQuery(String tableName) {
+        String prefix = "CREATE TABLE IF NOT EXISTS " + tableName + " (";
+        for (String query : getTableCreationQueries()) {
+            if (query.contains(prefix)) {
+                return query;
+            }
+        }
+        throw new IllegalArgumentException("Unknown table: " + tableName);
+    }
+
+    /**
+     * Get the single primary key column of a plugin table, the first column of its definition
+     */
+    public String getPrimaryKeyColumn(String tableName) {
+        String query = getTableCreationQuery(tableName);
+        String firstColumn = query.substring(query.indexOf('(') + 1).trim();
+        return firstColumn.substring(0, firstColumn.indexOf(' '));
+    }
+
+    /**
+     * Get all plugin table names, parents before the tables referencing them
+     */
+    public List<String> getTableNames() {
+        String prefix = "CREATE TABLE IF NOT EXISTS ";
+        List<String> tableNames = new ArrayList<>();
+        for (String query : getTableCreationQueries()) {
+            int start = query.indexOf(prefix) + prefix.length();
+            tableNames.add(query.substring(start, query.indexOf(' ', start)).trim());
+        }
+        return tableNames;
+    }
+
     private void createTables() throws SQLException {
         String[] tableCreationQueries = getTableCreationQueries();
-        String[] indexCreationQueries = getIndexCreationQueries();
 
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
@@ -735,13 +889,57 @@ public class DatabaseManager {
                     stmt.execute(query);
                 }
 
+                conn.commit();
+                plugin.getLogger().info("Database tables created successfully!");
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Index definition, created through hasIndex so MySQL (which lacks CREATE INDEX IF NOT EXISTS) stays idempotent
+     * @param name Index name
+     * @param table Indexed table
+     * @param columns Comma separated column list
+     */
+    record IndexDefinition(String name, String table, String columns) {
+    }
+
+    private void createIndexes() throws SQLException {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (Statement stmt = conn.createStatement()) {
                 // Create indexes
-                for (String query : indexCreationQueries) {
-                    stmt.execute(query);
+                int createdIndexes = 0;
+                for (IndexDefinition index : getIndexDefinitions()) {
+                    if (!hasIndex(conn, index.table(), index.name())) {
+                        stmt.execute("CREATE INDEX " + index.name() + " ON " + index.table() + "(" + index.columns() + ")");
+                        createdIndexes++;
+                    }
+                }
+
+                // Drop indexes superseded by composite indexes, after their replacements exist
+                // so MySQL always has an index backing the foreign key columns
+                for (IndexDefinition index : getObsoleteIndexes()) {
+                    if (hasIndex(conn, index.table(), index.name())) {
+                        stmt.execute(isMySql()
+                                ? "DROP INDEX " + index.name() + " ON " + index.table()
+                                : "DROP INDEX " + index.name());
+                        plugin.getLogger().info("Dropped superseded index " + index.name());
+                    }
                 }
 
                 conn.commit();
-                plugin.getLogger().info("Database tables and indexes created successfully!");
+                if (createdIndexes > 0) {
+                    plugin.getLogger().info("Created " + createdIndexes + " database indexes");
+                }
+                plugin.getLogger().info("Database indexes created successfully!");
 
             } catch (SQLException e) {
                 conn.rollback();
@@ -753,40 +951,82 @@ public class DatabaseManager {
     }
 
     /**
-     * Get index creation queries
+     * Get index definitions
      */
-    private String[] getIndexCreationQueries() {
-        return new String[] {
-                "CREATE INDEX IF NOT EXISTS idx_network_blocks_location ON network_blocks(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_network_blocks_network ON network_blocks(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_custom_block_markers_location ON custom_block_markers(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_storage_disks_network ON storage_disks(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_storage_disks_crafter ON storage_disks(crafter_uuid)",
-                "CREATE INDEX IF NOT EXISTS idx_storage_disks_tier ON storage_disks(tier)",
-                "CREATE INDEX IF NOT EXISTS idx_drive_bay_slots_location ON drive_bay_slots(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_drive_bay_slots_network ON drive_bay_slots(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_drive_bay_slots_disk ON drive_bay_slots(disk_id)",
-                "CREATE INDEX IF NOT EXISTS idx_storage_items_disk ON storage_items(disk_id)",
-                "CREATE INDEX IF NOT EXISTS idx_storage_items_hash ON storage_items(item_hash)",
-                "CREATE INDEX IF NOT EXISTS idx_networks_owner ON networks(owner_uuid)",
-                "CREATE INDEX IF NOT EXISTS idx_exporters_location ON exporters(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_exporters_network ON exporters(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_exporters_enabled ON exporters(enabled)",
-                "CREATE INDEX IF NOT EXISTS idx_exporter_filters_exporter ON exporter_filters(exporter_id)",
-                "CREATE INDEX IF NOT EXISTS idx_exporter_filters_hash ON exporter_filters(item_hash)",
-                "CREATE INDEX IF NOT EXISTS idx_importers_location ON importers(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_importers_network ON importers(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_importers_enabled ON importers(enabled)",
-                "CREATE INDEX IF NOT EXISTS idx_importer_filters_importer ON importer_filters(importer_id)",
-                "CREATE INDEX IF NOT EXISTS idx_importer_filters_hash ON importer_filters(item_hash)",
-                "CREATE INDEX IF NOT EXISTS idx_security_terminals_location ON security_terminals(world_name, x, y, z)",
-                "CREATE INDEX IF NOT EXISTS idx_security_terminals_owner ON security_terminals(owner_uuid)",
-                "CREATE INDEX IF NOT EXISTS idx_security_terminals_network ON security_terminals(network_id)",
-                "CREATE INDEX IF NOT EXISTS idx_security_terminal_players_terminal ON security_terminal_players(terminal_id)",
-                "CREATE INDEX IF NOT EXISTS idx_security_terminal_players_uuid ON security_terminal_players(player_uuid)"
+    static IndexDefinition[] getIndexDefinitions() {
+        // Location lookups are served by the UNIQUE(world_id, x, y, z) constraints on the positional tables
+        return new IndexDefinition[] {
+                new IndexDefinition("idx_network_blocks_network", "network_blocks", "network_key"),
+                new IndexDefinition("idx_storage_disks_network", "storage_disks", "network_id"),
+                new IndexDefinition("idx_storage_disks_crafter", "storage_disks", "crafter_uuid"),
+                new IndexDefinition("idx_storage_disks_tier", "storage_disks", "tier"),
+                // Covers getNetworkDiskKeys and the retrieveItems join without touching the table
+                new IndexDefinition("idx_drive_bay_slots_network_key", "drive_bay_slots", "network_key, disk_key, slot_number"),
+                new IndexDefinition("idx_drive_bay_slots_network", "drive_bay_slots", "network_id"),
+                new IndexDefinition("idx_drive_bay_slots_disk", "drive_bay_slots", "disk_id"),
+                // Covers the partial-cell lookup (disk_key, item_hash, quantity < max) and disk_key joins
+                new IndexDefinition("idx_storage_items_disk_hash", "storage_items", "disk_key, item_hash, quantity"),
+                new IndexDefinition("idx_storage_items_hash", "storage_items", "item_hash"),
+                new IndexDefinition("idx_networks_owner", "networks", "owner_uuid"),
+                new IndexDefinition("idx_exporters_network", "exporters", "network_id"),
+                new IndexDefinition("idx_exporters_enabled", "exporters", "enabled"),
+                new IndexDefinition("idx_exporter_filters_exporter", "exporter_filters", "exporter_id"),
+                new IndexDefinition("idx_exporter_filters_hash", "exporter_filters", "item_hash"),
+                new IndexDefinition("idx_importers_network", "importers", "network_id"),
+                new IndexDefinition("idx_importers_enabled", "importers", "enabled"),
+                new IndexDefinition("idx_importer_filters_importer", "importer_filters", "importer_id"),
+                new IndexDefinition("idx_importer_filters_hash", "importer_filters", "item_hash"),
+                new IndexDefinition("idx_security_terminals_owner", "security_terminals", "owner_uuid"),
+                new IndexDefinition("idx_security_terminals_network", "security_terminals", "network_id"),
+                new IndexDefinition("idx_security_terminal_players_terminal", "security_terminal_players", "terminal_id"),
+                new IndexDefinition("idx_security_terminal_players_uuid", "security_terminal_players", "player_uuid")
+        };
+    }
+
+    /**
+     * Get indexes that are already served by another index or constraint and only cost write amplification
+     */
+    private IndexDefinition[] getObsoleteIndexes() {
+        return new IndexDefinition[] {
+                new IndexDefinition("idx_storage_items_disk", "storage_items", "disk_key"),
+                // Replaced by idx_drive_bay_slots_network_key once the storage path joined on integer keys
+                new IndexDefinition("idx_drive_bay_slots_network_disk", "drive_bay_slots", "network_id, disk_id, slot_number"),
+                // UNIQUE(world_id, x, y, z, slot_number) already narrows a location to its 7 slots
+                new IndexDefinition("idx_drive_bay_slots_location_network", "drive_bay_slots", "world_id, x, y, z, network_id, disk_id")
         };
     }
 
+    /**
+     * Check whether an index exists on a table
+     */
+    private boolean hasIndex(Connection conn, String tableName, String indexName) throws SQLException {
+        if (isMySql()) {
+            // MySQL: Use INFORMATION_SCHEMA
+            String checkQuery = """
+                SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.STATISTICS
+                WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND INDEX_NAME = ?
+                """;
+            try (var stmt = conn.prepareStatement(checkQuery)) {
+                stmt.setString(1, plugin.getConfigManager().getMysqlDatabase());
+                stmt.setString(2, tableName);
+                stmt.setString(3, indexName);
+                try (var rs = stmt.executeQuery()) {
+                    return rs.next() && rs.getInt("count") > 0;
+                }
+            }
+        }
+
+        // SQLite: Use sqlite_master
+        try (var stmt = conn.prepareStatement(
+                "SELECT COUNT(*) as count FROM sqlite_master WHERE type = 'index' AND tbl_name = ? AND name = ?")) {
+            stmt.setString(1, tableName);
+            stmt.setString(2, indexName);
+            try (var rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt("count") > 0;
+            }
+        }
+    }
+
     /**
      * Get a connection from the pool
      */
@@ -794,7 +1034,35 @@ public class DatabaseManager {
         if (dataSource == null || dataSource.isClosed()) {
             throw new SQLException("Database connection pool is not available");
         }
-        return dataSource.getConnection();
+
+        // Throws in strict mode before a connection is taken from the pool
+        String mainThreadSite = mainThreadIo.shouldTrack() ? mainThreadIo.recordCheckout() : null;
+
+        Connection connection;
+        if (!metrics.isEnabled()) {
+            connection = dataSource.getConnection();
+        } else {
+            long start = System.nanoTime();
+            connection = dataSource.getConnection();
+            metrics.recordPoolWait(System.nanoTime() - start);
+            connection = metrics.wrap(connection);
+        }
+
+        return mainThreadSite != null ? mainThreadIo.wrap(connection, mainThreadSite) : connection;
+    }
+
+    /**
+     * Get the query instrumentation
+     */
+    public DatabaseMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the main thread database access detector
+     */
+    public MainThreadIoDetector getMainThreadIoDetector() {
+        return mainThreadIo;
     }
 
     /**
@@ -824,7 +1092,7 @@ public class DatabaseManager {
             // Check if we need to migrate storage_items table constraint
             boolean needsMigration = false;
 
-            if (plugin.getConfigManager().isMySql()) {
+            if (isMySql()) {
                 // MySQL: Check for unique constraint via INFORMATION_SCHEMA
                 String checkQuery = """
                     SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
@@ -858,7 +1126,7 @@ public class DatabaseManager {
                 conn.setAutoCommit(false);
 
                 try {
-                    if (plugin.getConfigManager().isMySql()) {
+                    if (isMySql()) {
                         // MySQL: Drop constraint and recreate table
                         // Step 1: Create new table
                         try (var stmt = conn.createStatement()) {
@@ -961,12 +1229,413 @@ public class DatabaseManager {
                 }
             }
         }
+
+        // Move to integer surrogate keys once the legacy migrations above have run
+        migrateSurrogateKeys();
+        migrateDriveBaySlotKeys();
+
+        checkIncrementalAutoVacuum();
+    }
+
+    /**
+     * Warn when scheduled maintenance cannot reclaim free pages.
+     * Switching an existing database needs a full VACUUM, so it is left to /mss maintenance convert-vacuum.
+     */
+    private void checkIncrementalAutoVacuum() {
+        if (isMySql()) {
+            return;
+        }
+
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA auto_vacuum")) {
+            // 0 = NONE, 1 = FULL, 2 = INCREMENTAL
+            if (rs.next() && rs.getInt(1) != 2) {
+                plugin.getLogger().info("Incremental vacuum is inactive until the database is converted with /mss maintenance convert-vacuum");
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to check auto vacuum mode: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Table rebuild step for the surrogate key migration
+     * @param table Table to rebuild from its current creation query
+     * @param keyColumn Column that only exists once the table has been migrated
+     * @param positional Whether the legacy table stores world_name that must be registered in worlds
+     * @param copyQuery Query copying legacy rows into the rebuilt table
+     */
+    private record TableRebuild(String table, String keyColumn, boolean positional, String copyQuery) {
+    }
+
+    /**
+     * Migrate to integer surrogate keys for networks, disks and worlds.
+     * External string ids (network_id, disk_id) stay on their owning tables for compatibility,
+     * storage_items and network_blocks reference the integer keys and positional tables store world_id.
+     */
+    private void migrateSurrogateKeys() throws SQLException {
+        boolean isMySQL = isMySql();
+
+        // Order matters: parents are rebuilt before the children that join against their new keys
+        TableRebuild[] rebuilds = {
+                new TableRebuild("networks", "network_key", false, """
+                    INSERT INTO networks_new (network_id, owner_uuid, created_at, last_accessed)
+                    SELECT network_id, owner_uuid, created_at, last_accessed FROM networks
+                    """),
+                new TableRebuild("storage_disks", "disk_key", false, """
+                    INSERT INTO storage_disks_new
+                    (disk_id, crafter_uuid, crafter_name, network_id, tier, max_cells, used_cells, created_at, updated_at)
+                    SELECT disk_id, crafter_uuid, crafter_name, network_id, tier, max_cells, used_cells, created_at, updated_at
+                    FROM storage_disks
+                    """),
+                new TableRebuild("storage_items", "disk_key", false, """
+                    INSERT INTO storage_items_new
+                    (id, disk_key, item_hash, item_data, quantity, max_stack_size, created_at, updated_at)
+                    SELECT si.id, sd.disk_key, si.item_hash, si.item_data, si.quantity, si.max_stack_size, si.created_at, si.updated_at
+                    FROM storage_items si JOIN storage_disks sd ON sd.disk_id = si.disk_id
+                    """),
+                new TableRebuild("network_blocks", "world_id", true, """
+                    INSERT INTO network_blocks_new (id, network_key, world_id, x, y, z, block_type, created_at)
+                    SELECT nb.id, n.network_key, w.world_id, nb.x, nb.y, nb.z, nb.block_type, nb.created_at
+                    FROM network_blocks nb
+                    JOIN networks n ON n.network_id = nb.network_id
+                    JOIN worlds w ON w.world_name = nb.world_name
+                    """),
+                new TableRebuild("custom_block_markers", "world_id", true, """
+                    INSERT INTO custom_block_markers_new (id, world_id, x, y, z, block_type, created_at)
+                    SELECT m.id, w.world_id, m.x, m.y, m.z, m.block_type, m.created_at
+                    FROM custom_block_markers m JOIN worlds w ON w.world_name = m.world_name
+                    """),
+                new TableRebuild("drive_bay_slots", "world_id", true, """
+                    INSERT INTO drive_bay_slots_new
+                    (id, network_id, network_key, world_id, x, y, z, slot_number, disk_id, disk_key, created_at)
+                    SELECT dbs.id, dbs.network_id, n.network_key, w.world_id, dbs.x, dbs.y, dbs.z, dbs.slot_number,
+                           dbs.disk_id, sd.disk_key, dbs.created_at
+                    FROM drive_bay_slots dbs
+                    JOIN worlds w ON w.world_name = dbs.world_name
+                    LEFT JOIN networks n ON n.network_id = dbs.network_id
+                    LEFT JOIN storage_disks sd ON sd.disk_id = dbs.disk_id
+                    """),
+                new TableRebuild("exporters", "world_id", true, """
+                    INSERT INTO exporters_new (exporter_id, network_id, world_id, x, y, z, enabled, last_export, created_at, updated_at)
+                    SELECT e.exporter_id, e.network_id, w.world_id, e.x, e.y, e.z, e.enabled, e.last_export, e.created_at, e.updated_at
+                    FROM exporters e JOIN worlds w ON w.world_name = e.world_name
+                    """),
+                new TableRebuild("importers", "world_id", true, """
+                    INSERT INTO importers_new
+                    (importer_id, network_id, world_id, x, y, z, enabled, last_import, bottle_xp, eject_buckets, created_at, updated_at)
+                    SELECT i.importer_id, i.network_id, w.world_id, i.x, i.y, i.z, i.enabled, i.last_import, i.bottle_xp, i.eject_buckets, i.created_at, i.updated_at
+                    FROM importers i JOIN worlds w ON w.world_name = i.world_name
+                    """),
+                new TableRebuild("security_terminals", "world_id", true, """
+                    INSERT INTO security_terminals_new (terminal_id, world_id, x, y, z, owner_uuid, owner_name, network_id, created_at)
+                    SELECT st.terminal_id, w.world_id, st.x, st.y, st.z, st.owner_uuid, st.owner_name, st.network_id, st.created_at
+                    FROM security_terminals st JOIN worlds w ON w.world_name = st.world_name
+                    """)
+        };
+
+        try (Connection conn = getConnection()) {
+            boolean needsMigration = false;
+            for (TableRebuild rebuild : rebuilds) {
+                if (!hasColumn(conn, rebuild.table(), rebuild.keyColumn()) || hasTable(conn, rebuild.table() + "_new")) {
+                    needsMigration = true;
+                    break;
+                }
+            }
+
+            if (!needsMigration) {
+                return;
+            }
+
+            plugin.getLogger().info("Database migration needed - moving networks, disks and worlds to integer surrogate keys");
+            conn.setAutoCommit(false);
+
+            try (var stmt = conn.createStatement()) {
+                if (isMySQL) {
+                    // Parent tables are dropped and renamed while children still reference them
+                    stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+                }
+
+                for (TableRebuild rebuild : rebuilds) {
+                    String table = rebuild.table();
+                    String newTable = table + "_new";
+
+                    // MySQL DDL auto-commits, so an interrupted run can stop after the legacy table was dropped.
+                    // The copy then holds every row and createTables has recreated the table empty
+                    if (hasTable(conn, newTable)) {
+                        boolean legacyDropped = !hasTable(conn, table)
+                                || (hasColumn(conn, table, rebuild.keyColumn()) && isEmptyTable(conn, table));
+                        if (legacyDropped) {
+                            stmt.execute("DROP TABLE IF EXISTS " + table);
+                            renameTable(stmt, newTable, table);
+                            plugin.getLogger().info("Resumed interrupted surrogate key migration of " + table);
+                            continue;
+                        }
+                    }
+
+                    // Re-checked per table so an interrupted MySQL migration resumes where it stopped
+                    if (hasColumn(conn, table, rebuild.keyColumn())) {
+                        if (hasTable(conn, newTable)) {
+                            plugin.getLogger().warning(newTable + " is left over from an interrupted migration but " +
+                                    table + " already has rows, leaving it in place for manual review");
+                        }
+                        continue;
+                    }
+
+                    if (rebuild.positional()) {
+                        stmt.execute("INSERT INTO worlds (world_name) SELECT DISTINCT world_name FROM " + table +
+                                " WHERE world_name NOT IN (SELECT world_name FROM worlds)");
+                    }
+
+                    // A partial copy from an interrupted run, the legacy table still has every row
+                    stmt.execute("DROP TABLE IF EXISTS " + newTable);
+                    stmt.execute(getTableCreationQuery(table)
+                            .replace("CREATE TABLE IF NOT EXISTS " + table + " (", "CREATE TABLE " + newTable + " ("));
+                    int copiedRows = stmt.executeUpdate(rebuild.copyQuery());
+                    stmt.execute("DROP TABLE " + table);
+                    renameTable(stmt, newTable, table);
+
+                    plugin.getLogger().info("Migrated " + copiedRows + " rows in " + table + " to integer surrogate keys");
+                }
+
+                conn.commit();
+                plugin.getLogger().info("Successfully migrated database to integer surrogate keys");
+
+            } catch (Exception e) {
+                conn.rollback();
+                throw new SQLException("Failed to migrate surrogate keys", e);
+            } finally {
+                if (isMySQL) {
+                    try (var stmt = conn.createStatement()) {
+                        stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+                    }
+                }
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Add network_key and disk_key to drive_bay_slots of databases that already use surrogate keys,
+     * so the storage path joins on integers. Sentinel network ids such as orphaned_ have no key.
+     */
+    private void migrateDriveBaySlotKeys() throws SQLException {
+        String intType = isMySql() ? "INT" : "INTEGER";
+
+        try (Connection conn = getConnection()) {
+            boolean hasNetworkKey = hasColumn(conn, "drive_bay_slots", "network_key");
+            boolean hasDiskKey = hasColumn(conn, "drive_bay_slots", "disk_key");
+            if (hasNetworkKey && hasDiskKey) {
+                return;
+            }
+
+            plugin.getLogger().info("Database migration needed - adding network_key and disk_key columns to drive_bay_slots");
+            conn.setAutoCommit(false);
+
+            try (var stmt = conn.createStatement()) {
+                // Checked per column, MySQL DDL auto-commits so an interrupted run may have added one of them
+                if (!hasNetworkKey) {
+                    stmt.execute("ALTER TABLE drive_bay_slots ADD COLUMN network_key " + intType);
+                }
+                if (!hasDiskKey) {
+                    stmt.execute("ALTER TABLE drive_bay_slots ADD COLUMN disk_key " + intType);
+                }
+                int updatedRows = stmt.executeUpdate("""
+                    UPDATE drive_bay_slots SET
+                        network_key = (SELECT n.network_key FROM networks n WHERE n.network_id = drive_bay_slots.network_id),
+                        disk_key = (SELECT sd.disk_key FROM storage_disks sd WHERE sd.disk_id = drive_bay_slots.disk_id)
+                    """);
+
+                conn.commit();
+                plugin.getLogger().info("Filled integer keys for " + updatedRows + " drive bay slots");
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Failed to migrate drive bay slot keys", e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Rename a table using the syntax of the configured database
+     */
+    private void renameTable(Statement stmt, String from, String to) throws SQLException {
+        if (isMySql()) {
+            stmt.execute("RENAME TABLE " + from + " TO " + to);
+        } else {
+            stmt.execute("ALTER TABLE " + from + " RENAME TO " + to);
+        }
+    }
+
+    /**
+     * Check whether a table exists
+     */
+    private boolean hasTable(Connection conn, String tableName) throws SQLException {
+        if (isMySql()) {
+            // MySQL: Use INFORMATION_SCHEMA
+            String checkQuery = """
+                SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.TABLES
+                WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?
+                """;
+            try (var stmt = conn.prepareStatement(checkQuery)) {
+                stmt.setString(1, plugin.getConfigManager().getMysqlDatabase());
+                stmt.setString(2, tableName);
+                try (var rs = stmt.executeQuery()) {
+                    return rs.next() && rs.getInt("count") > 0;
+                }
+            }
+        }
+
+        // SQLite: Use sqlite_master
+        try (var stmt = conn.prepareStatement(
+                "SELECT COUNT(*) as count FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            stmt.setString(1, tableName);
+            try (var rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt("count") > 0;
+            }
+        }
+    }
+
+    /**
+     * Check whether a table has no rows
+     */
+    private boolean isEmptyTable(Connection conn, String tableName) throws SQLException {
+        try (var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT 1 FROM " + tableName + " LIMIT 1")) {
+            return !rs.next();
+        }
+    }
+
+    /**
+     * Check whether a table currently has a column
+     */
+    private boolean hasColumn(Connection conn, String tableName, String columnName) throws SQLException {
+        if (isMySql()) {
+            // MySQL: Use INFORMATION_SCHEMA
+            String checkQuery = """
+                SELECT COUNT(*) as count FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND COLUMN_NAME = ?
+                """;
+            try (var stmt = conn.prepareStatement(checkQuery)) {
+                stmt.setString(1, plugin.getConfigManager().getMysqlDatabase());
+                stmt.setString(2, tableName);
+                stmt.setString(3, columnName);
+                try (var rs = stmt.executeQuery()) {
+                    return rs.next() && rs.getInt("count") > 0;
+                }
+            }
+        }
+
+        // SQLite: Use PRAGMA
+        try (var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("PRAGMA table_info(" + tableName + ")")) {
+            while (rs.next()) {
+                if (columnName.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Load all known worlds into the world_id cache
+     */
+    private void loadWorldIds() throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT world_id, world_name FROM worlds");
+             var rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                worldIds.put(rs.getString("world_name"), rs.getInt("world_id"));
+            }
+        }
+    }
+
+    /**
+     * Get the world_id of a registered world without writing, for lookups.
+     * An unknown world returns {@link #UNKNOWN_WORLD_ID} which matches no rows.
+     */
+    public int getWorldId(Connection conn, String worldName) throws SQLException {
+        Integer cached = worldIds.get(worldName);
+        if (cached != null) {
+            return cached;
+        }
+
+        Integer worldId = selectWorldId(conn, worldName);
+        if (worldId == null) {
+            return UNKNOWN_WORLD_ID;
+        }
+
+        // Only committed rows are visible to other connections, so a key read inside a transaction may still roll back
+        if (conn.getAutoCommit()) {
+            worldIds.put(worldName, worldId);
+        }
+        return worldId;
+    }
+
+    /**
+     * Get the world_id for a world name, registering the world on first use.
+     * Only for statements that insert rows referencing the world.
+     */
+    public int getOrCreateWorldId(Connection conn, String worldName) throws SQLException {
+        int worldId = getWorldId(conn, worldName);
+        if (worldId != UNKNOWN_WORLD_ID) {
+            return worldId;
+        }
+
+        String insertQuery = isMySql()
+                ? "INSERT IGNORE INTO worlds (world_name) VALUES (?)"
+                : "INSERT OR IGNORE INTO worlds (world_name) VALUES (?)";
+        try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
+            stmt.setString(1, worldName);
+            stmt.executeUpdate();
+        }
+
+        Integer registered = selectWorldId(conn, worldName);
+        if (registered == null) {
+            throw new SQLException("Failed to register world " + worldName);
+        }
+
+        // Inside a transaction the row may still be rolled back, so only cache committed keys
+        if (conn.getAutoCommit()) {
+            worldIds.put(worldName, registered);
+        }
+        return registered;
+    }
+
+    /**
+     * Get the world_id for a world name using a pooled connection, registering the world on first use
+     */
+    public int getOrCreateWorldId(String worldName) throws SQLException {
+        Integer cached = worldIds.get(worldName);
+        if (cached != null) {
+            return cached;
+        }
+
+        try (Connection conn = getConnection()) {
+            return getOrCreateWorldId(conn, worldName);
+        }
+    }
+
+    private Integer selectWorldId(Connection conn, String worldName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT world_id FROM worlds WHERE world_name = ?")) {
+            stmt.setString(1, worldName);
+            try (var rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt("world_id") : null;
+            }
+        }
     }
 
     /**
      * Execute a database transaction
      */
     public void executeTransaction(DatabaseTransaction transaction) throws SQLException {
+        DatabaseTransactionEvent event = new DatabaseTransactionEvent();
+        event.begin();
+        boolean committed = false;
+
         Connection conn = null;
         try {
             conn = getConnection();
@@ -975,6 +1644,7 @@ public class DatabaseManager {
             transaction.execute(conn);
 
             conn.commit();
+            committed = true;
         } catch (Exception e) {
             if (conn != null) {
                 try {
@@ -993,9 +1663,28 @@ public class DatabaseManager {
                     plugin.getLogger().log(Level.WARNING, "Failed to close connection", closeEx);
                 }
             }
+
+            if (event.shouldCommit()) {
+                event.caller = findTransactionCaller();
+                event.committed = committed;
+                event.mainThread = plugin.getServer().isPrimaryThread();
+                event.commit();
+            }
         }
     }
 
+    /**
+     * First frame outside this class, only walked when a transaction event is recorded
+     */
+    private static String findTransactionCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(DatabaseManager.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
     /**
      * Execute a simple update query
      */
@@ -1011,6 +1700,33 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Maximum connections the pool hands out, used to size the database executor
+     */
+    public int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    /**
+     * Current connection pool usage, all zero while the pool is not running
+     */
+    public PoolStats getPoolStats() {
+        HikariPoolMXBean pool = dataSource != null && !dataSource.isClosed() ? dataSource.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return new PoolStats(0, 0, 0);
+        }
+        return new PoolStats(pool.getActiveConnections(), pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Connection pool usage
+     * @param active Connections checked out
+     * @param idle Connections ready in the pool
+     * @param waiting Threads waiting for a connection
+     */
+    public record PoolStats(int active, int idle, int waiting) {
+    }
+
     /**
      * Shutdown the database connection pool
      */
@@ -0,0 +1,309 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.metrics.Histogram;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per statement template latency, row count and pool wait instrumentation.
+ * When disabled, DatabaseManager hands out unwrapped connections so the only cost is a config check.
+ */
+public class DatabaseMetrics {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("IN \\(\\?(, \\?)*\\)");
+    private static final String DATABASE_PACKAGE = DatabaseMetrics.class.getPackageName();
+
+    private final ModularStorageSystem plugin;
+    private final Map<String, QueryStats> statsByTemplate = new ConcurrentHashMap<>();
+    private final Map<String, String> templateNames = new ConcurrentHashMap<>();
+    private final Histogram poolWait = new Histogram();
+    private final LongAdder slowQueries = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private volatile long collectingSince = System.currentTimeMillis();
+
+    public DatabaseMetrics(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+
+        // Named queries are reported by name instead of their SQL
+        for (StorageQuery query : StorageQuery.values()) {
+            templateNames.put(normalize(query.getSql()), query.getName());
+        }
+    }
+
+    public boolean isEnabled() {
+        return plugin.getConfigManager().isDatabaseInstrumentationEnabled();
+    }
+
+    /**
+     * Record how long a caller waited for a pooled connection
+     */
+    public void recordPoolWait(long nanos) {
+        poolWait.record(nanos);
+    }
+
+    /**
+     * Wrap a pooled connection so every statement it creates is timed
+     */
+    public Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Clear all collected statistics
+     */
+    public void reset() {
+        statsByTemplate.clear();
+        poolWait.reset();
+        slowQueries.reset();
+        executions.reset();
+        collectingSince = System.currentTimeMillis();
+    }
+
+    /**
+     * Snapshot of the templates with the highest total time
+     */
+    public List<TemplateSnapshot> getTopTemplates(int limit) {
+        List<TemplateSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, QueryStats> entry : statsByTemplate.entrySet()) {
+            QueryStats stats = entry.getValue();
+            snapshots.add(new TemplateSnapshot(getDisplayName(entry.getKey()), stats.latency.getCount(),
+                    stats.latency.getAverageMillis(), stats.latency.getPercentileMillis(0.99),
+                    stats.latency.getMaxMillis(), stats.rows.sum(), stats.latency.getTotalNanos()));
+        }
+        snapshots.sort(Comparator.comparingLong(TemplateSnapshot::totalNanos).reversed());
+        return snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
+    }
+
+    public long getTemplateCount() {
+        return statsByTemplate.size();
+    }
+
+    public long getPoolWaitCount() {
+        return poolWait.getCount();
+    }
+
+    public double getPoolWaitAverageMillis() {
+        return poolWait.getAverageMillis();
+    }
+
+    public double getPoolWaitMaxMillis() {
+        return poolWait.getMaxMillis();
+    }
+
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    /**
+     * Statements executed since the statistics were last reset
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    public long getCollectingSince() {
+        return collectingSince;
+    }
+
+    /**
+     * Statistics for one statement template
+     * @param name Named query or shortened SQL template
+     * @param count Executions
+     * @param averageMillis Mean latency
+     * @param p99Millis 99th percentile upper bound from the histogram
+     * @param maxMillis Slowest execution
+     * @param rows Rows returned or affected
+     * @param totalNanos Total time spent executing
+     */
+    public record TemplateSnapshot(String name, long count, double averageMillis, double p99Millis,
+                                   double maxMillis, long rows, long totalNanos) {
+    }
+
+    private void recordExecution(String sql, long nanos, long rows, boolean query) {
+        String template = normalize(sql);
+        QueryStats stats = statsByTemplate.computeIfAbsent(template, k -> new QueryStats());
+        stats.latency.record(nanos);
+        executions.increment();
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+
+        long thresholdMs = plugin.getConfigManager().getSlowQueryThresholdMs();
+        if (thresholdMs > 0 && nanos >= thresholdMs * 1_000_000L) {
+            slowQueries.increment();
+            // Query rows are only known once the ResultSet is consumed
+            String rowInfo = query ? "" : ", " + rows + " rows";
+            // Only slow queries pay for the stack walk
+            plugin.getLogger().warning(String.format("Slow query (%.1f ms%s) from %s: %s",
+                    nanos / 1_000_000.0, rowInfo, findCaller(), getDisplayName(template)));
+        }
+    }
+
+    private void recordRows(String sql, long rows) {
+        QueryStats stats = statsByTemplate.get(normalize(sql));
+        if (stats != null) {
+            stats.rows.add(rows);
+        }
+    }
+
+    private String getDisplayName(String template) {
+        String name = templateNames.get(template);
+        if (name != null) {
+            return name;
+        }
+        return template.length() > 120 ? template.substring(0, 117) + "..." : template;
+    }
+
+    /**
+     * Collapse whitespace and variable length IN lists so dynamic queries share one template
+     */
+    private static String normalize(String sql) {
+        String template = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(template).replaceAll("IN (?...)");
+    }
+
+    /**
+     * Find the first plugin frame outside the database package, i.e. the subsystem issuing the query
+     */
+    static String findCaller() {
+        Optional<StackWalker.StackFrame> caller = StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("org.jamesphbennett.modularstoragesystem"))
+                .filter(frame -> !frame.getClassName().startsWith(DATABASE_PACKAGE))
+                .findFirst());
+        return caller.map(frame -> {
+            String className = frame.getClassName();
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            return simpleName + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+        }).orElse("unknown");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = DatabaseMetrics.invoke(connection, method, args);
+
+            if (result instanceof PreparedStatement stmt && method.getName().equals("prepareStatement")) {
+                return DatabaseMetrics.proxy(PreparedStatement.class, stmt, new StatementHandler(stmt, (String) args[0]));
+            }
+            if (result instanceof Statement stmt && method.getName().equals("createStatement")) {
+                return DatabaseMetrics.proxy(Statement.class, stmt, new StatementHandler(stmt, null));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private int batchSize;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+
+            if (!name.startsWith("execute")) {
+                return DatabaseMetrics.invoke(statement, method, args);
+            }
+
+            // Plain statements carry their SQL as the first argument
+            String sql = preparedSql != null ? preparedSql
+                    : (args != null && args.length > 0 && args[0] instanceof String s ? s : "batch");
+
+            long start = System.nanoTime();
+            Object result = DatabaseMetrics.invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            long rows = 0;
+            if (result instanceof Integer count) {
+                rows = Math.max(count, 0);
+            } else if (result instanceof Long count) {
+                rows = Math.max(count, 0);
+            } else if (result instanceof int[]) {
+                // Drivers may report SUCCESS_NO_INFO, count the batched statements instead
+                rows = batchSize;
+                batchSize = 0;
+            }
+            recordExecution(sql, elapsed, rows, result instanceof ResultSet);
+
+            if (result instanceof ResultSet rs) {
+                return DatabaseMetrics.proxy(ResultSet.class, rs, new ResultSetHandler(rs, sql));
+            }
+            return result;
+        }
+    }
+
+    private class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final String sql;
+        private long rows;
+
+        ResultSetHandler(ResultSet resultSet, String sql) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = DatabaseMetrics.invoke(resultSet, method, args);
+
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close") && rows > 0) {
+                recordRows(sql, rows);
+                rows = 0;
+            }
+            return result;
+        }
+    }
+
+    private static class QueryStats {
+        private final Histogram latency = new Histogram();
+        private final LongAdder rows = new LongAdder();
+    }
+}
@@ -0,0 +1,479 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.bukkit.command.CommandSender;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Streams every plugin table between the SQLite and MySQL backends.
+ * Tables are copied in primary key order with keyset pagination and multi-row inserts, one committed page at a time,
+ * so a page is the most that is ever held in memory. Each page commits together with the last copied key in a
+ * progress table, which marks the target as written by this tool: an interrupted copy resumes from it, and a target
+ * that already holds data without it is refused. Each table is verified by row count and a CRC32 over its rows in
+ * byte order of the key, so text keys compare the same whatever the MySQL collation.
+ * The source is read inside one read transaction for the whole copy and verification, so the server keeps running and
+ * the copy is a consistent snapshot of the moment it started. On SQLite that snapshot holds back WAL checkpoints, so
+ * the WAL grows with the writes made during the copy until it ends.
+ */
+public class DatabaseMigrator {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int ROWS_PER_INSERT = 100;
+    private static final String PROGRESS_TABLE = "mss_migration_progress";
+
+    private final ModularStorageSystem plugin;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public DatabaseMigrator(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Result of verifying one table
+     * @param table Table name
+     * @param sourceRows Rows in the source
+     * @param targetRows Rows in the target
+     * @param checksumMatch Whether both sides hash to the same checksum
+     */
+    public record TableVerification(String table, long sourceRows, long targetRows, boolean checksumMatch) {
+        public boolean isValid() {
+            return sourceRows == targetRows && checksumMatch;
+        }
+    }
+
+    /**
+     * Start a migration on an async thread
+     * @return false if a migration is already running
+     */
+    public boolean startMigration(CommandSender requester, String from, String to) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        plugin.getDatabaseExecutor().run(() -> {
+            try {
+                migrate(requester, from.equals("mysql"), to.equals("mysql"));
+            } catch (Exception e) {
+                plugin.getLogger().severe("Database migration failed: " + e.getMessage());
+                plugin.getMessageManager().report(requester, "commands.migrate-db.error", "error", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void migrate(CommandSender requester, boolean sourceIsMySQL, boolean targetIsMySQL) throws SQLException {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        // The backend actually in use, which is SQLite while running on the MySQL fallback
+        boolean activeIsMySQL = databaseManager.isMySql();
+
+        // The active backend is read through the plugin pool, the other one gets a small dedicated pool
+        try (HikariDataSource otherDataSource = new HikariDataSource(createOtherConfig(!activeIsMySQL))) {
+            try (Connection source = sourceIsMySQL == activeIsMySQL ? databaseManager.getConnection() : otherDataSource.getConnection();
+                 Connection target = targetIsMySQL == activeIsMySQL ? databaseManager.getConnection() : otherDataSource.getConnection()) {
+
+                plugin.getMessageManager().report(requester, "commands.migrate-db.started",
+                        "from", sourceIsMySQL ? "MySQL" : "SQLite", "to", targetIsMySQL ? "MySQL" : "SQLite");
+
+                createTargetSchema(target, targetIsMySQL);
+                beginSnapshot(source, sourceIsMySQL);
+                try {
+                    List<String> tables = databaseManager.getTableNames();
+                    boolean resuming = hasProgressTable(target);
+                    if (!resuming) {
+                        String populatedTable = findPopulatedTable(target, tables);
+                        if (populatedTable != null) {
+                            plugin.getMessageManager().report(requester, "commands.migrate-db.target-not-empty", "table", populatedTable);
+                            return;
+                        }
+                    }
+                    createProgressTable(target, tables);
+
+                    for (int i = 0; i < tables.size(); i++) {
+                        String table = tables.get(i);
+                        long copied = copyTable(source, target, table, databaseManager.getPrimaryKeyColumn(table));
+                        plugin.getMessageManager().report(requester, "commands.migrate-db.table-copied",
+                                "table", table, "rows", copied, "current", i + 1, "total", tables.size());
+                    }
+
+                    int failures = 0;
+                    for (String table : tables) {
+                        TableVerification verification = verifyTable(source, target, table, databaseManager.getPrimaryKeyColumn(table),
+                                sourceIsMySQL, targetIsMySQL);
+                        String key = verification.isValid() ? "commands.migrate-db.verified" : "commands.migrate-db.mismatch";
+                        plugin.getMessageManager().report(requester, key, "table", table,
+                                "source", verification.sourceRows(), "target", verification.targetRows());
+                        if (!verification.isValid()) {
+                            // The next run copies this table again from scratch
+                            resetTable(target, table);
+                            failures++;
+                        }
+                    }
+
+                    if (failures == 0) {
+                        try (Statement stmt = target.createStatement()) {
+                            stmt.execute("DROP TABLE " + PROGRESS_TABLE);
+                        }
+                    }
+
+                    plugin.getMessageManager().report(requester, failures == 0 ? "commands.migrate-db.complete" : "commands.migrate-db.failed",
+                            "count", failures, "to", targetIsMySQL ? "mysql" : "sqlite");
+                } finally {
+                    endSnapshot(source);
+                    if (targetIsMySQL) {
+                        try (Statement stmt = target.createStatement()) {
+                            stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private HikariConfig createOtherConfig(boolean mysql) {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        HikariConfig config = mysql
+                ? databaseManager.getMySQLHikariConfig()
+                : databaseManager.getSQLiteHikariConfig(databaseManager.getSQLiteDatabaseFile().getAbsolutePath());
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(0);
+        config.setPoolName("MSS-Migration");
+        return config;
+    }
+
+    /**
+     * Open a read transaction on the source that every copy and checksum query runs in.
+     * SQLite needs an explicit DEFERRED begin, the pool begins IMMEDIATE which would hold the write lock.
+     */
+    private void beginSnapshot(Connection source, boolean sourceIsMySQL) throws SQLException {
+        try (Statement stmt = source.createStatement()) {
+            if (sourceIsMySQL) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+            } else {
+                stmt.execute("BEGIN DEFERRED");
+                // A deferred transaction only takes its snapshot on the first read
+                stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master").close();
+            }
+        }
+    }
+
+    private void endSnapshot(Connection source) {
+        try (Statement stmt = source.createStatement()) {
+            stmt.execute("ROLLBACK");
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to end the migration read transaction: " + e.getMessage());
+        }
+    }
+
+    private void createTargetSchema(Connection target, boolean targetIsMySQL) throws SQLException {
+        try (Statement stmt = target.createStatement()) {
+            for (String query : DatabaseManager.getTableCreationQueries(targetIsMySQL)) {
+                stmt.execute(query);
+            }
+            if (targetIsMySQL) {
+                // Tables are filled parent first, but sentinel network ids have no parent row
+                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+            }
+        }
+    }
+
+    private boolean hasProgressTable(Connection target) throws SQLException {
+        try (ResultSet rs = target.getMetaData().getTables(target.getCatalog(), null, PROGRESS_TABLE, null)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * @return First table that already has rows, or null if the target is empty
+     */
+    private String findPopulatedTable(Connection target, List<String> tables) throws SQLException {
+        for (String table : tables) {
+            try (Statement stmt = target.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1 FROM " + table + " LIMIT 1")) {
+                if (rs.next()) {
+                    return table;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create the progress table with a row per table, keeping the rows of an interrupted run
+     */
+    private void createProgressTable(Connection target, List<String> tables) throws SQLException {
+        try (Statement stmt = target.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS " + PROGRESS_TABLE + " (" +
+                    "table_name VARCHAR(64) PRIMARY KEY, last_key VARCHAR(255), completed INT NOT NULL DEFAULT 0)");
+        }
+
+        try (PreparedStatement select = target.prepareStatement("SELECT 1 FROM " + PROGRESS_TABLE + " WHERE table_name = ?");
+             PreparedStatement insert = target.prepareStatement("INSERT INTO " + PROGRESS_TABLE + " (table_name) VALUES (?)")) {
+            for (String table : tables) {
+                select.setString(1, table);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        continue;
+                    }
+                }
+                insert.setString(1, table);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Progress of one table from an earlier run
+     * @param lastKey Last copied key as text, null if nothing was copied yet
+     * @param completed Whether every row was copied
+     */
+    private record TableProgress(String lastKey, boolean completed) {
+    }
+
+    private TableProgress getProgress(Connection target, String table) throws SQLException {
+        try (PreparedStatement stmt = target.prepareStatement(
+                "SELECT last_key, completed FROM " + PROGRESS_TABLE + " WHERE table_name = ?")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No migration progress recorded for " + table);
+                }
+                return new TableProgress(rs.getString("last_key"), rs.getInt("completed") != 0);
+            }
+        }
+    }
+
+    private void resetTable(Connection target, String table) throws SQLException {
+        try (Statement stmt = target.createStatement();
+             PreparedStatement progress = target.prepareStatement(
+                     "UPDATE " + PROGRESS_TABLE + " SET last_key = NULL, completed = 0 WHERE table_name = ?")) {
+            stmt.executeUpdate("DELETE FROM " + table);
+            progress.setString(1, table);
+            progress.executeUpdate();
+        }
+    }
+
+    /**
+     * Copy one table page by page, resuming after the last key recorded in the progress table
+     * @return Rows copied by this run
+     */
+    private long copyTable(Connection source, Connection target, String table, String keyColumn) throws SQLException {
+        TableProgress tableProgress = getProgress(target, table);
+        if (tableProgress.completed()) {
+            plugin.getLogger().info("Skipping " + table + ", already copied by an earlier run");
+            return 0;
+        }
+
+        Object lastKey = tableProgress.lastKey();
+        if (lastKey != null) {
+            plugin.getLogger().info("Resuming copy of " + table + " after " + keyColumn + " " + lastKey);
+        }
+
+        List<String> columns = getColumns(source, table);
+        String columnList = String.join(", ", columns);
+        String pageQuery = "SELECT " + columnList + " FROM " + table +
+                " WHERE " + keyColumn + " > ? ORDER BY " + keyColumn + " LIMIT " + PAGE_SIZE;
+        String firstPageQuery = "SELECT " + columnList + " FROM " + table +
+                " ORDER BY " + keyColumn + " LIMIT " + PAGE_SIZE;
+
+        boolean targetAutoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        long copied = 0;
+
+        try (PreparedStatement firstPage = source.prepareStatement(firstPageQuery);
+             PreparedStatement nextPage = source.prepareStatement(pageQuery);
+             PreparedStatement fullInsert = target.prepareStatement(buildInsert(table, columns, ROWS_PER_INSERT));
+             PreparedStatement progress = target.prepareStatement(
+                     "UPDATE " + PROGRESS_TABLE + " SET last_key = ?, completed = ? WHERE table_name = ?")) {
+
+            progress.setString(3, table);
+            while (true) {
+                PreparedStatement page = lastKey == null ? firstPage : nextPage;
+                if (lastKey != null) {
+                    nextPage.setObject(1, lastKey);
+                }
+
+                List<String[]> rows = new ArrayList<>(PAGE_SIZE);
+                try (ResultSet rs = page.executeQuery()) {
+                    int keyIndex = columns.indexOf(keyColumn) + 1;
+                    while (rs.next()) {
+                        String[] row = new String[columns.size()];
+                        for (int column = 0; column < row.length; column++) {
+                            row[column] = rs.getString(column + 1);
+                        }
+                        rows.add(row);
+                        lastKey = rs.getObject(keyIndex);
+                    }
+                }
+
+                boolean lastPage = rows.size() < PAGE_SIZE;
+                if (!rows.isEmpty()) {
+                    insertRows(target, table, columns, rows, fullInsert);
+                }
+
+                // Committed with the page, so a resumed run neither copies a row twice nor skips one
+                progress.setString(1, lastKey == null ? null : lastKey.toString());
+                progress.setInt(2, lastPage ? 1 : 0);
+                progress.executeUpdate();
+                target.commit();
+                copied += rows.size();
+
+                if (lastPage) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            target.rollback();
+            throw new SQLException("Failed to copy " + table + " after " + copied + " rows", e);
+        } finally {
+            target.setAutoCommit(targetAutoCommit);
+        }
+
+        return copied;
+    }
+
+    private void insertRows(Connection target, String table, List<String> columns, List<String[]> rows,
+                            PreparedStatement fullInsert) throws SQLException {
+        int offset = 0;
+
+        // Full multi-row inserts, batched for the whole page
+        while (rows.size() - offset >= ROWS_PER_INSERT) {
+            bindRows(fullInsert, rows, offset, ROWS_PER_INSERT);
+            fullInsert.addBatch();
+            offset += ROWS_PER_INSERT;
+        }
+        if (offset > 0) {
+            fullInsert.executeBatch();
+        }
+
+        // Remaining rows in one shorter insert
+        int remaining = rows.size() - offset;
+        if (remaining > 0) {
+            try (PreparedStatement partialInsert = target.prepareStatement(buildInsert(table, columns, remaining))) {
+                bindRows(partialInsert, rows, offset, remaining);
+                partialInsert.executeUpdate();
+            }
+        }
+    }
+
+    private void bindRows(PreparedStatement stmt, List<String[]> rows, int offset, int count) throws SQLException {
+        int parameter = 1;
+        for (int i = offset; i < offset + count; i++) {
+            for (String value : rows.get(i)) {
+                // Values travel as text, both backends coerce them to the column type
+                stmt.setString(parameter++, value);
+            }
+        }
+    }
+
+    private String buildInsert(String table, List<String> columns, int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES " +
+                String.join(", ", Collections.nCopies(rowCount, placeholders));
+    }
+
+    /**
+     * Compare row counts and a CRC32 over every row in byte order of the key
+     */
+    private TableVerification verifyTable(Connection source, Connection target, String table, String keyColumn,
+                                          boolean sourceIsMySQL, boolean targetIsMySQL) throws SQLException {
+        List<String> columns = getColumns(source, table);
+        boolean textKey = isTextColumn(source, table, keyColumn);
+        long[] sourceResult = checksumTable(source, table, keyColumn, columns, binaryKey(keyColumn, textKey, sourceIsMySQL));
+        long[] targetResult = checksumTable(target, table, keyColumn, columns, binaryKey(keyColumn, textKey, targetIsMySQL));
+        return new TableVerification(table, sourceResult[0], targetResult[0], sourceResult[1] == targetResult[1]);
+    }
+
+    /**
+     * Key expression that orders by bytes. SQLite compares text with BINARY by default,
+     * MySQL compares by the column collation, which is usually case and accent insensitive.
+     */
+    private String binaryKey(String keyColumn, boolean textKey, boolean isMySQL) {
+        return textKey && isMySQL ? "CAST(" + keyColumn + " AS BINARY)" : keyColumn;
+    }
+
+    /**
+     * @param orderKey Key expression rows are ordered and paged by
+     * @return Row count and checksum, streamed with keyset pagination
+     */
+    private long[] checksumTable(Connection conn, String table, String keyColumn, List<String> columns, String orderKey)
+            throws SQLException {
+        CRC32 checksum = new CRC32();
+        long rows = 0;
+        Object lastKey = null;
+        int keyIndex = columns.indexOf(keyColumn) + 1;
+        String columnList = String.join(", ", columns);
+
+        try (PreparedStatement firstPage = conn.prepareStatement("SELECT " + columnList + " FROM " + table +
+                " ORDER BY " + orderKey + " LIMIT " + PAGE_SIZE);
+             PreparedStatement nextPage = conn.prepareStatement("SELECT " + columnList + " FROM " + table +
+                     " WHERE " + orderKey + " > ? ORDER BY " + orderKey + " LIMIT " + PAGE_SIZE)) {
+
+            while (true) {
+                PreparedStatement page = lastKey == null ? firstPage : nextPage;
+                if (lastKey != null) {
+                    nextPage.setObject(1, lastKey);
+                }
+
+                int pageRows = 0;
+                try (ResultSet rs = page.executeQuery()) {
+                    while (rs.next()) {
+                        for (int column = 1; column <= columns.size(); column++) {
+                            String value = rs.getString(column);
+                            checksum.update((value == null ? "\0" : value).getBytes(StandardCharsets.UTF_8));
+                            checksum.update('\u001F');
+                        }
+                        lastKey = rs.getObject(keyIndex);
+                        pageRows++;
+                    }
+                }
+
+                rows += pageRows;
+                if (pageRows < PAGE_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        return new long[] {rows, checksum.getValue()};
+    }
+
+    private List<String> getColumns(Connection conn, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                columns.add(metaData.getColumnName(column));
+            }
+        }
+        return columns;
+    }
+
+    private boolean isTextColumn(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + column + " FROM " + table + " WHERE 1 = 0")) {
+            return switch (rs.getMetaData().getColumnType(1)) {
+                case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> true;
+                default -> false;
+            };
+        }
+    }
+}
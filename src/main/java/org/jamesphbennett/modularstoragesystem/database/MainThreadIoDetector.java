@@ -0,0 +1,178 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects connections checked out on the server thread.
+ * Each call site records how often it ran there and how long it held the connection, with a stack sampled
+ * on the first call and every N calls after. Strict mode refuses the connection instead, meant for test servers.
+ */
+public class MainThreadIoDetector {
+
+    public enum Mode {
+        OFF, WARN, STRICT;
+
+        public static Mode fromConfig(String value) {
+            try {
+                return Mode.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return WARN;
+            }
+        }
+    }
+
+    private final ModularStorageSystem plugin;
+    private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+    private volatile boolean armed = false;
+    private volatile long collectingSince = System.currentTimeMillis();
+
+    public MainThreadIoDetector(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start detecting, startup and shutdown are allowed to touch the database on the server thread
+     */
+    public void arm() {
+        armed = true;
+    }
+
+    public void disarm() {
+        armed = false;
+    }
+
+    public Mode getMode() {
+        return plugin.getConfigManager().getMainThreadIoMode();
+    }
+
+    /**
+     * Whether the current call should be recorded
+     */
+    public boolean shouldTrack() {
+        return armed && getMode() != Mode.OFF && plugin.getServer().isPrimaryThread();
+    }
+
+    /**
+     * Record a server thread checkout for the calling code
+     * @return Call site key to pass to {@link #wrap}
+     * @throws SQLException in strict mode
+     */
+    public String recordCheckout() throws SQLException {
+        String site = DatabaseMetrics.findCaller();
+        CallSite stats = callSites.computeIfAbsent(site, CallSite::new);
+        long count = stats.count.incrementAndGet();
+
+        int sampleInterval = plugin.getConfigManager().getMainThreadIoStackSampleInterval();
+        if (count == 1 || (sampleInterval > 0 && count % sampleInterval == 0)) {
+            stats.sampledStack = formatStack(new Throwable().getStackTrace());
+        }
+
+        if (getMode() == Mode.STRICT) {
+            stats.refused.increment();
+            throw new SQLException("Database access on the main thread from " + site);
+        }
+
+        if (stats.warned.compareAndSet(false, true)) {
+            plugin.getLogger().warning("Database access on the main thread from " + site + "\n" + stats.sampledStack);
+        }
+        return site;
+    }
+
+    /**
+     * Wrap a connection so the time until it is closed counts against the call site
+     */
+    public Connection wrap(Connection connection, String site) {
+        CallSite stats = callSites.get(site);
+        long start = System.nanoTime();
+        AtomicBoolean closed = new AtomicBoolean(false);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        stats.totalNanos.add(System.nanoTime() - start);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Call sites ordered by total time held on the server thread
+     */
+    public List<CallSiteSnapshot> getWorstOffenders(int limit) {
+        List<CallSiteSnapshot> snapshots = new ArrayList<>();
+        for (CallSite stats : callSites.values()) {
+            snapshots.add(new CallSiteSnapshot(stats.site, stats.count.get(), stats.refused.sum(),
+                    stats.totalNanos.sum(), stats.sampledStack));
+        }
+        snapshots.sort(Comparator.comparingLong(CallSiteSnapshot::totalNanos)
+                .thenComparingLong(CallSiteSnapshot::count).reversed());
+        return snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
+    }
+
+    public void reset() {
+        callSites.clear();
+        collectingSince = System.currentTimeMillis();
+    }
+
+    public long getCollectingSince() {
+        return collectingSince;
+    }
+
+    private String formatStack(StackTraceElement[] stack) {
+        StringBuilder builder = new StringBuilder();
+        // Skip this class and DatabaseManager.getConnection
+        for (int i = 2; i < stack.length && i < 32; i++) {
+            builder.append("    at ").append(stack[i]).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Statistics for one call site
+     * @param site Class, method and line that requested the connection
+     * @param count Server thread checkouts
+     * @param refused Checkouts refused in strict mode
+     * @param totalNanos Total time connections were held
+     * @param sampledStack Most recently sampled stack
+     */
+    public record CallSiteSnapshot(String site, long count, long refused, long totalNanos, String sampledStack) {
+        public double totalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public double averageMillis() {
+            long held = count - refused;
+            return held == 0 ? 0 : totalMillis() / held;
+        }
+    }
+
+    private static class CallSite {
+        final String site;
+        final AtomicLong count = new AtomicLong();
+        final LongAdder refused = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicBoolean warned = new AtomicBoolean(false);
+        volatile String sampledStack = "";
+
+        CallSite(String site) {
+            this.site = site;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.managers.MessageManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Scheduled database maintenance.
+ * A pass is split into short steps that run one per slice on an async thread, automatic passes only
+ * advance while few players are online. SQLite runs ANALYZE per table and incremental_vacuum,
+ * MySQL runs ANALYZE TABLE and OPTIMIZE TABLE on fragmented tables.
+ * Converting an existing SQLite database to auto_vacuum=INCREMENTAL rewrites the whole file,
+ * so it only runs when an admin asks for it, on its own thread.
+ */
+public class MaintenanceManager {
+
+    private static final int MYSQL_OPTIMIZE_MIN_FRAGMENTATION = 10;
+
+    private final ModularStorageSystem plugin;
+
+    // Only touched on the main thread
+    private final Deque<MaintenanceStep> pendingSteps = new ArrayDeque<>();
+    private boolean sliceRunning = false;
+    private MaintenancePass currentPass;
+    private long nextPassTime;
+    private BukkitTask sliceTask;
+    // Set while the one-off VACUUM runs, its thread clears it
+    private volatile boolean converting = false;
+
+    /**
+     * One short unit of maintenance work
+     */
+    @FunctionalInterface
+    private interface MaintenanceStep {
+        /**
+         * @return true if the step has more work and should run again next slice
+         */
+        boolean run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * State of one pass, captured by its steps so database threads never read the main thread fields
+     */
+    private static final class MaintenancePass {
+        private final CommandSender requester;
+        private final long startTime = System.currentTimeMillis();
+        // Written by the first step and read by the last one, on different database threads
+        private volatile DatabaseStats statsBefore;
+
+        private MaintenancePass(CommandSender requester) {
+            this.requester = requester;
+        }
+    }
+
+    /**
+     * Page level size snapshot of the plugin tables
+     * @param pages Pages in use, including free pages
+     * @param freePages Pages that are allocated but hold no data
+     * @param pageSize Page size in bytes
+     */
+    public record DatabaseStats(long pages, long freePages, long pageSize) {
+        public double fragmentationPercent() {
+            return pages == 0 ? 0 : freePages * 100.0 / pages;
+        }
+
+        public long sizeBytes() {
+            return pages * pageSize;
+        }
+    }
+
+    public MaintenanceManager(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+        scheduleMaintenance();
+    }
+
+    /**
+     * (Re)schedule the slice timer from the current configuration
+     */
+    public void scheduleMaintenance() {
+        if (sliceTask != null) {
+            sliceTask.cancel();
+            sliceTask = null;
+        }
+
+        long sliceTicks = plugin.getConfigManager().getMaintenanceSliceIntervalSeconds() * 20L;
+        nextPassTime = System.currentTimeMillis() + plugin.getConfigManager().getMaintenanceIntervalMinutes() * 60_000L;
+        sliceTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, sliceTicks, sliceTicks);
+        plugin.debugLog("Scheduled database maintenance every " + plugin.getConfigManager().getMaintenanceIntervalMinutes() + " minutes");
+    }
+
+    public boolean isRunning() {
+        return !pendingSteps.isEmpty() || sliceRunning || converting;
+    }
+
+    /**
+     * Start a pass right away, manual passes ignore the player limit
+     * @return false if a pass is already running
+     */
+    public boolean startMaintenance(CommandSender requester) {
+        if (isRunning()) {
+            return false;
+        }
+        beginPass(requester);
+        return true;
+    }
+
+    /**
+     * Switch a SQLite database to auto_vacuum=INCREMENTAL with a full VACUUM on a dedicated thread.
+     * The VACUUM holds the write lock until it finishes, storage writes wait for it.
+     * @return false if maintenance or a conversion is already running
+     */
+    public boolean convertToIncrementalVacuum(CommandSender requester) {
+        if (plugin.getDatabaseManager().isMySql()) {
+            plugin.getMessageManager().report(requester, "commands.maintenance.convert-sqlite-only");
+            return true;
+        }
+        if (isRunning()) {
+            return false;
+        }
+
+        converting = true;
+        plugin.getMessageManager().report(requester, "commands.maintenance.convert-started");
+
+        Thread.ofPlatform().name("MSS-Vacuum").daemon().start(() -> {
+            long start = System.currentTimeMillis();
+            try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+                // 0 = NONE, 1 = FULL, 2 = INCREMENTAL
+                if (queryLong(conn, "PRAGMA auto_vacuum") == 2) {
+                    plugin.getMessageManager().report(requester, "commands.maintenance.convert-not-needed");
+                    return;
+                }
+
+                execute(conn, "PRAGMA auto_vacuum = INCREMENTAL");
+                execute(conn, "VACUUM");
+
+                long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+                plugin.getMessageManager().report(requester, "commands.maintenance.convert-complete", "seconds", seconds);
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Incremental auto vacuum conversion failed: " + e.getMessage());
+                plugin.getMessageManager().report(requester, "commands.maintenance.error", "error", e.getMessage());
+            } finally {
+                converting = false;
+            }
+        });
+        return true;
+    }
+
+    public void shutdown() {
+        if (sliceTask != null) {
+            sliceTask.cancel();
+            sliceTask = null;
+        }
+        pendingSteps.clear();
+        currentPass = null;
+    }
+
+    /**
+     * Runs on the main thread every slice interval and hands at most one step to an async thread
+     */
+    private void tick() {
+        if (sliceRunning || converting) {
+            return;
+        }
+
+        boolean quiet = plugin.getServer().getOnlinePlayers().size() <= plugin.getConfigManager().getMaintenanceMaxPlayers();
+
+        if (pendingSteps.isEmpty()) {
+            if (plugin.getConfigManager().isMaintenanceEnabled() && quiet && System.currentTimeMillis() >= nextPassTime) {
+                beginPass(null);
+            }
+            return;
+        }
+
+        // Automatic passes pause while the server is busy and resume once it quiets down
+        MaintenancePass pass = currentPass;
+        if (pass.requester == null && !quiet) {
+            return;
+        }
+
+        MaintenanceStep step = pendingSteps.pollFirst();
+        sliceRunning = true;
+
+        long stepStart = System.nanoTime();
+
+        plugin.getDatabaseExecutor().supplyThenSync(() -> {
+            try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+                return step.run(conn);
+            }
+        }, repeat -> {
+            sliceRunning = false;
+            plugin.debugLog("Maintenance slice finished in " + (System.nanoTime() - stepStart) / 1_000_000 + "ms");
+
+            if (repeat) {
+                pendingSteps.addFirst(step);
+            } else if (pendingSteps.isEmpty()) {
+                currentPass = null;
+            }
+        }, error -> {
+            sliceRunning = false;
+            plugin.getLogger().warning("Database maintenance failed: " + error.getMessage());
+            plugin.getMessageManager().report(pass.requester, "commands.maintenance.error", "error", error.getMessage());
+            pendingSteps.clear();
+            currentPass = null;
+        });
+    }
+
+    private void beginPass(CommandSender requester) {
+        MaintenancePass pass = new MaintenancePass(requester);
+        currentPass = pass;
+        nextPassTime = pass.startTime + plugin.getConfigManager().getMaintenanceIntervalMinutes() * 60_000L;
+
+        boolean isMySQL = plugin.getDatabaseManager().isMySql();
+        plugin.getMessageManager().report(requester, "commands.maintenance.started");
+
+        pendingSteps.add(conn -> {
+            pass.statsBefore = isMySQL ? getMySQLStats(conn) : getSQLiteStats(conn);
+            plugin.getMessageManager().report(requester, "commands.maintenance.stats-before", statsPlaceholders(pass.statsBefore));
+            return false;
+        });
+
+        if (isMySQL) {
+            addMySQLSteps();
+        } else {
+            addSQLiteSteps();
+        }
+
+        pendingSteps.add(conn -> {
+            DatabaseStats statsAfter = isMySQL ? getMySQLStats(conn) : getSQLiteStats(conn);
+            plugin.getMessageManager().report(requester, "commands.maintenance.stats-after", statsPlaceholders(statsAfter));
+
+            long seconds = Math.max(1, (System.currentTimeMillis() - pass.startTime) / 1000);
+            long reclaimedPages = Math.max(0, pass.statsBefore.pages() - statsAfter.pages());
+            plugin.getMessageManager().report(requester, "commands.maintenance.complete",
+                    "seconds", seconds, "reclaimed", MessageManager.formatSize(reclaimedPages * statsAfter.pageSize()));
+            return false;
+        });
+    }
+
+    private void addSQLiteSteps() {
+        // Refresh planner statistics one table per slice, a schema wide ANALYZE is one long write transaction
+        for (String table : plugin.getDatabaseManager().getTableNames()) {
+            pendingSteps.add(conn -> {
+                execute(conn, "ANALYZE " + table);
+                return false;
+            });
+        }
+
+        // Return free pages a slice at a time, repeating until the freelist is empty
+        int pagesPerSlice = plugin.getConfigManager().getMaintenanceVacuumPagesPerSlice();
+        pendingSteps.add(conn -> {
+            if (queryLong(conn, "PRAGMA auto_vacuum") != 2) {
+                plugin.debugLog("Skipping incremental vacuum, auto_vacuum is not INCREMENTAL");
+                return false;
+            }
+            execute(conn, "PRAGMA incremental_vacuum(" + pagesPerSlice + ")");
+            return queryLong(conn, "PRAGMA freelist_count") > 0;
+        });
+    }
+
+    private void addMySQLSteps() {
+        List<String> tables = plugin.getDatabaseManager().getTableNames();
+
+        // One table per slice, OPTIMIZE rebuilds the table so it is reserved for fragmented ones
+        for (String table : tables) {
+            pendingSteps.add(conn -> {
+                execute(conn, "ANALYZE TABLE " + table);
+                return false;
+            });
+        }
+        for (String table : tables) {
+            pendingSteps.add(conn -> {
+                if (getMySQLFragmentation(conn, table) >= MYSQL_OPTIMIZE_MIN_FRAGMENTATION) {
+                    plugin.debugLog("Optimizing fragmented table " + table);
+                    execute(conn, "OPTIMIZE TABLE " + table);
+                }
+                return false;
+            });
+        }
+    }
+
+    private DatabaseStats getSQLiteStats(Connection conn) throws SQLException {
+        return new DatabaseStats(
+                queryLong(conn, "PRAGMA page_count"),
+                queryLong(conn, "PRAGMA freelist_count"),
+                queryLong(conn, "PRAGMA page_size"));
+    }
+
+    private DatabaseStats getMySQLStats(Connection conn) throws SQLException {
+        long pageSize = queryLong(conn, "SELECT @@innodb_page_size");
+        List<String> tables = plugin.getDatabaseManager().getTableNames();
+        String query = """
+                SELECT COALESCE(SUM(DATA_LENGTH + INDEX_LENGTH), 0), COALESCE(SUM(DATA_FREE), 0)
+                FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(tables.size(), "?")));
+
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, plugin.getConfigManager().getMysqlDatabase());
+            for (int i = 0; i < tables.size(); i++) {
+                stmt.setString(i + 2, tables.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new DatabaseStats(0, 0, pageSize);
+                }
+                long usedBytes = rs.getLong(1);
+                long freeBytes = rs.getLong(2);
+                return new DatabaseStats((usedBytes + freeBytes) / pageSize, freeBytes / pageSize, pageSize);
+            }
+        }
+    }
+
+    private double getMySQLFragmentation(Connection conn, String table) throws SQLException {
+        String query = """
+                SELECT DATA_LENGTH + INDEX_LENGTH, DATA_FREE FROM INFORMATION_SCHEMA.TABLES
+                WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?
+                """;
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, plugin.getConfigManager().getMysqlDatabase());
+            stmt.setString(2, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                long total = rs.getLong(1) + rs.getLong(2);
+                return total == 0 ? 0 : rs.getLong(2) * 100.0 / total;
+            }
+        }
+    }
+
+    /**
+     * Execute a maintenance statement, draining any result set it returns.
+     * ANALYZE/OPTIMIZE TABLE report status rows and incremental_vacuum only finishes once fully stepped.
+     */
+    private void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (stmt.execute(sql)) {
+                try (ResultSet rs = stmt.getResultSet()) {
+                    while (rs.next()) {
+                        // Drain
+                    }
+                }
+            }
+        }
+    }
+
+    private long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private Object[] statsPlaceholders(DatabaseStats stats) {
+        return new Object[] {
+                "pages", stats.pages(),
+                "free", stats.freePages(),
+                "size", MessageManager.formatSize(stats.sizeBytes()),
+                "fragmentation", String.format("%.1f", stats.fragmentationPercent())
+        };
+    }
+}
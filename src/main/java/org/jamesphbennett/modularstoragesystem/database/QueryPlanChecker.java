@@ -0,0 +1,138 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs EXPLAIN against the hot storage statements and reports any that fall back to a full table scan.
+ * QueryPlanCheckerTest fails the build when an SQLite plan regresses, /mss perf queryplans checks the live database.
+ */
+public class QueryPlanChecker {
+
+    /**
+     * A hot statement together with representative parameters to plan it with
+     * @param name Short name used in reports
+     * @param sql Statement exactly as it is issued at runtime
+     * @param parameters Sample parameters, MySQL refuses to EXPLAIN with unbound placeholders
+     */
+    public record HotQuery(String name, String sql, Object... parameters) {
+        HotQuery(StorageQuery query, Object... parameters) {
+            this(query.getName(), query.getSql(), parameters);
+        }
+    }
+
+    /**
+     * Result of planning one hot statement
+     * @param name Hot query name
+     * @param fullScan Whether any step of the plan is a full table scan
+     * @param plan Flattened plan lines
+     */
+    public record PlanResult(String name, boolean fullScan, List<String> plan) {
+    }
+
+    static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery(StorageQuery.PARTIAL_CELLS, 1, "hash", 64),
+            new HotQuery(StorageQuery.NETWORK_DISK_KEYS, "network"),
+            new HotQuery(StorageQuery.CONNECTED_DISKS, "network"),
+            new HotQuery(StorageQuery.RETRIEVE_CELLS, "network", "hash"),
+            new HotQuery(StorageQuery.ITEM_TOTAL, "network", "hash"),
+            new HotQuery(StorageQuery.AVAILABLE_CELLS, 1, 1),
+            new HotQuery("drive-bay.slots",
+                    "SELECT slot_number, disk_id, network_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? ORDER BY slot_number",
+                    1, 0, 64, 0),
+            new HotQuery("drive-bay.orphaned-restore",
+                    "UPDATE drive_bay_slots SET network_id = ? WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%'",
+                    "network", 1, 0, 64, 0),
+            new HotQuery("drive-bay.orphaned-lookup",
+                    "SELECT DISTINCT network_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%' LIMIT 1",
+                    1, 0, 64, 0),
+            new HotQuery("blocks.marker",
+                    "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?",
+                    1, 0, 64, 0, "NETWORK_CABLE"),
+            new HotQuery("blocks.network-cables",
+                    "SELECT COUNT(*) FROM network_blocks nb JOIN networks n ON n.network_key = nb.network_key " +
+                            "WHERE n.network_id = ? AND nb.block_type = 'NETWORK_CABLE'",
+                    "network")
+    );
+
+    private final ModularStorageSystem plugin;
+
+    public QueryPlanChecker(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Plan every hot statement, must be called off the main thread
+     */
+    public List<PlanResult> checkHotQueries() throws SQLException {
+        boolean isMySQL = plugin.getDatabaseManager().isMySql();
+        List<PlanResult> results = new ArrayList<>();
+
+        try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+            for (HotQuery query : HOT_QUERIES) {
+                results.add(isMySQL ? explainMySQL(conn, query) : explainSQLite(conn, query));
+            }
+        }
+
+        return results;
+    }
+
+    static PlanResult explainSQLite(Connection conn, HotQuery query) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        boolean fullScan = false;
+
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + query.sql())) {
+            bindParameters(stmt, query);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String detail = rs.getString("detail");
+                    plan.add(detail);
+
+                    // "SCAN t USING [COVERING] INDEX" walks an index, a bare "SCAN t" reads the whole table
+                    if (detail.startsWith("SCAN ") && !detail.contains(" USING ")) {
+                        fullScan = true;
+                    }
+                }
+            }
+        }
+
+        return new PlanResult(query.name(), fullScan, plan);
+    }
+
+    private static PlanResult explainMySQL(Connection conn, HotQuery query) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        boolean fullScan = false;
+
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.sql())) {
+            bindParameters(stmt, query);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    plan.add(table + " type=" + type + " key=" + key);
+
+                    if ("ALL".equals(type)) {
+                        fullScan = true;
+                    }
+                }
+            }
+        }
+
+        return new PlanResult(query.name(), fullScan, plan);
+    }
+
+    private static void bindParameters(PreparedStatement stmt, HotQuery query) throws SQLException {
+        for (int i = 0; i < query.parameters().length; i++) {
+            stmt.setObject(i + 1, query.parameters()[i]);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Connection-scoped cache of prepared named statements.
+ * sqlite-jdbc has no driver-side statement cache and HikariCP closes statements when a connection
+ * returns to the pool, so hot statements are cached for the lifetime of one transaction instead.
+ */
+public class StatementCache implements AutoCloseable {
+
+    private final Connection connection;
+    private final Map<StorageQuery, PreparedStatement> statements = new EnumMap<>(StorageQuery.class);
+
+    public StatementCache(Connection connection) {
+        this.connection = connection;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Get the prepared statement for a named query, parsing it on first use only
+     */
+    public PreparedStatement prepare(StorageQuery query) throws SQLException {
+        PreparedStatement stmt = statements.get(query);
+        if (stmt == null) {
+            stmt = connection.prepareStatement(query.getSql());
+            statements.put(query, stmt);
+        } else {
+            stmt.clearParameters();
+        }
+        return stmt;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        statements.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
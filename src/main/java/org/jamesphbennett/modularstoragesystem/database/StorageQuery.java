@@ -0,0 +1,86 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+/**
+ * Named hot statements of the storage path, prepared once per transaction through StatementCache.
+ * The network id is resolved to its network_key once, every join below it is on integer keys.
+ */
+public enum StorageQuery {
+
+    NETWORK_DISK_KEYS("storage.network-disks",
+            "SELECT DISTINCT sd.disk_key, dbs.slot_number FROM networks n " +
+                    "JOIN drive_bay_slots dbs ON dbs.network_key = n.network_key " +
+                    "JOIN storage_disks sd ON sd.disk_key = dbs.disk_key " +
+                    "WHERE n.network_id = ? ORDER BY dbs.slot_number"),
+
+    CONNECTED_DISKS("storage.connected-disks",
+            "SELECT DISTINCT dbs.disk_id FROM network_blocks nb " +
+                    "JOIN networks n ON n.network_key = nb.network_key " +
+                    "JOIN drive_bay_slots dbs ON dbs.world_id = nb.world_id AND dbs.x = nb.x AND dbs.y = nb.y AND dbs.z = nb.z " +
+                    "WHERE n.network_id = ? AND nb.block_type = 'DRIVE_BAY' AND dbs.disk_id IS NOT NULL"),
+
+    DISK_TIER("storage.disk-tier",
+            "SELECT tier FROM storage_disks WHERE disk_key = ?"),
+
+    DISK_MAX_CELLS("storage.disk-max-cells",
+            "SELECT max_cells FROM storage_disks WHERE disk_key = ?"),
+
+    AVAILABLE_CELLS("storage.available-cells",
+            "SELECT (SELECT max_cells FROM storage_disks WHERE disk_key = ?) - COUNT(*) as available_cells FROM storage_items WHERE disk_key = ?"),
+
+    PARTIAL_CELLS("storage.partial-cells",
+            "SELECT id, quantity FROM storage_items WHERE disk_key = ? AND item_hash = ? AND quantity < ? ORDER BY quantity DESC"),
+
+    ADD_TO_CELL("storage.add-to-cell",
+            "UPDATE storage_items SET quantity = quantity + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?"),
+
+    INSERT_CELL("storage.insert-cell",
+            "INSERT INTO storage_items (disk_key, item_hash, item_data, quantity, max_stack_size) VALUES (?, ?, ?, ?, ?)"),
+
+    RETRIEVE_CELLS("storage.retrieve",
+            "SELECT si.id, si.disk_key, si.item_data, si.quantity, si.max_stack_size " +
+                    "FROM networks n " +
+                    "JOIN drive_bay_slots dbs ON dbs.network_key = n.network_key " +
+                    "JOIN storage_items si ON si.disk_key = dbs.disk_key " +
+                    "WHERE n.network_id = ? AND si.item_hash = ? AND si.quantity > 0 " +
+                    "ORDER BY si.quantity ASC"),
+
+    ITEM_TOTAL("storage.item-total",
+            "SELECT COALESCE(SUM(si.quantity), 0) FROM networks n " +
+                    "JOIN drive_bay_slots dbs ON dbs.network_key = n.network_key " +
+                    "JOIN storage_items si ON si.disk_key = dbs.disk_key " +
+                    "WHERE n.network_id = ? AND si.item_hash = ?"),
+
+    SET_CELL_QUANTITY("storage.set-cell-quantity",
+            "UPDATE storage_items SET quantity = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?"),
+
+    DELETE_CELL("storage.delete-cell",
+            "DELETE FROM storage_items WHERE id = ?"),
+
+    UPDATE_USED_CELLS("storage.update-used-cells",
+            "UPDATE storage_disks SET used_cells = (SELECT COUNT(*) FROM storage_items WHERE disk_key = ?), updated_at = CURRENT_TIMESTAMP WHERE disk_key = ?"),
+
+    NETWORK_SERVER_LOCATION("storage.server-location",
+            "SELECT w.world_name, nb.x, nb.y, nb.z FROM network_blocks nb " +
+                    "JOIN networks n ON n.network_key = nb.network_key " +
+                    "JOIN worlds w ON w.world_id = nb.world_id " +
+                    "WHERE n.network_id = ? AND nb.block_type = 'STORAGE_SERVER' LIMIT 1");
+
+    private final String name;
+    private final String sql;
+
+    StorageQuery(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+    }
+
+    /**
+     * Short name used in logs and performance reports
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+}
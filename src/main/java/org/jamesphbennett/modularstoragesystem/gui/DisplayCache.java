@@ -0,0 +1,90 @@
+package org.jamesphbennett.modularstoragesystem.gui;
+
+import org.bukkit.inventory.ItemStack;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.storage.StoredItem;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Finished terminal display items and buttons, shared by all terminals so a refresh is mostly setItem calls.
+ * Inventories copy what they are given, so cached stacks are handed out as-is and must not be modified.
+ * Both caches are bounded and dropped whenever the language files are reloaded. Only used on the main thread.
+ */
+public class DisplayCache {
+
+    private static final int MAX_DISPLAY_ITEMS = 4096;
+    private static final int MAX_BUTTONS = 512;
+
+    private final ModularStorageSystem plugin;
+    private final Map<DisplayKey, ItemStack> displayItems = new LruMap<>(MAX_DISPLAY_ITEMS);
+    private final Map<String, ItemStack> buttons = new LruMap<>(MAX_BUTTONS);
+    private int languageGeneration;
+
+    /**
+     * @param itemHash Stored item type
+     * @param quantity Quantity shown in the lore
+     * @param language Language the lore was rendered in
+     */
+    private record DisplayKey(String itemHash, int quantity, String language) {
+    }
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(64, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    public DisplayCache(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Display item of a stored item, built on the first request for its hash and quantity
+     */
+    public ItemStack getDisplayItem(StoredItem item, String language, Function<StoredItem, ItemStack> builder) {
+        checkLanguages();
+        DisplayKey key = new DisplayKey(item.itemHash(), item.quantity(), language);
+        ItemStack display = displayItems.get(key);
+        if (display == null) {
+            plugin.getMetrics().recordCacheMiss("terminal_display");
+            display = builder.apply(item);
+            displayItems.put(key, display);
+        } else {
+            plugin.getMetrics().recordCacheHit("terminal_display");
+        }
+        return display;
+    }
+
+    /**
+     * Button built on the first request for its key, the key must include the language and every value shown
+     */
+    public ItemStack getButton(String key, Supplier<ItemStack> builder) {
+        checkLanguages();
+        return buttons.computeIfAbsent(key, k -> builder.get());
+    }
+
+    public void clear() {
+        displayItems.clear();
+        buttons.clear();
+    }
+
+    private void checkLanguages() {
+        int generation = plugin.getMessageManager().getGeneration();
+        if (generation != languageGeneration) {
+            clear();
+            languageGeneration = generation;
+        }
+    }
+}
@@ -6,8 +6,6 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
@@ -30,7 +28,7 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class DriveBayGUI implements Listener {
+public class DriveBayGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final Location driveBayLocation;
@@ -46,7 +44,7 @@ public class DriveBayGUI implements Listener {
         this.driveBayLocation = driveBayLocation;
         this.networkId = networkId;
 
-        this.inventory = Bukkit.createInventory(null, 27, plugin.getMessageManager().getMessageComponent(null, "gui.drive-bay.title"));
+        this.inventory = Bukkit.createInventory(this, 27, plugin.getMessageManager().getMessageComponent(null, "gui.drive-bay.title"));
 
         setupGUI();
         loadDrives();
@@ -91,9 +89,9 @@ public class DriveBayGUI implements Listener {
         try (Connection conn = plugin.getDatabaseManager().getConnection()) {
 
             PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT slot_number, disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? ORDER BY slot_number");
+                    "SELECT slot_number, disk_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? ORDER BY slot_number");
 
-            stmt.setString(1, driveBayLocation.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
             stmt.setInt(2, driveBayLocation.getBlockX());
             stmt.setInt(3, driveBayLocation.getBlockY());
             stmt.setInt(4, driveBayLocation.getBlockZ());
@@ -122,9 +120,9 @@ public class DriveBayGUI implements Listener {
                 plugin.getLogger().info("No disks found for standalone network, searching by location only");
 
                 PreparedStatement anyNetworkStmt = conn.prepareStatement(
-                        "SELECT slot_number, disk_id, network_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? ORDER BY slot_number");
+                        "SELECT slot_number, disk_id, network_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? ORDER BY slot_number");
 
-                anyNetworkStmt.setString(1, driveBayLocation.getWorld().getName());
+                anyNetworkStmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
                 anyNetworkStmt.setInt(2, driveBayLocation.getBlockX());
                 anyNetworkStmt.setInt(3, driveBayLocation.getBlockY());
                 anyNetworkStmt.setInt(4, driveBayLocation.getBlockZ());
@@ -259,12 +257,15 @@ public class DriveBayGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    @EventHandler
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Click rate limiting to prevent DB spam
@@ -495,7 +496,7 @@ public class DriveBayGUI implements Listener {
                 }
 
                 try (PreparedStatement conflictCheck = conn.prepareStatement(
-                        "SELECT world_name, x, y, z, slot_number FROM drive_bay_slots WHERE disk_id = ?")) {
+                        "SELECT world_id, x, y, z, slot_number FROM drive_bay_slots WHERE disk_id = ?")) {
                     conflictCheck.setString(1, diskId);
                     try (ResultSet rs = conflictCheck.executeQuery()) {
                         if (rs.next()) {
@@ -509,15 +510,21 @@ public class DriveBayGUI implements Listener {
                     }
                 }
 
+                // The integer keys are what the storage path joins on, a sentinel network id resolves to no key
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT OR REPLACE INTO drive_bay_slots (network_id, world_name, x, y, z, slot_number, disk_id) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
-                    stmt.setString(1, networkId != null ? networkId : "disconnected_" + System.currentTimeMillis());
-                    stmt.setString(2, driveBayLocation.getWorld().getName());
-                    stmt.setInt(3, driveBayLocation.getBlockX());
-                    stmt.setInt(4, driveBayLocation.getBlockY());
-                    stmt.setInt(5, driveBayLocation.getBlockZ());
-                    stmt.setInt(6, slotIndex);
-                    stmt.setString(7, diskId);
+                        "INSERT OR REPLACE INTO drive_bay_slots (network_id, network_key, world_id, x, y, z, slot_number, disk_id, disk_key) " +
+                                "VALUES (?, (SELECT network_key FROM networks WHERE network_id = ?), ?, ?, ?, ?, ?, ?, " +
+                                "(SELECT disk_key FROM storage_disks WHERE disk_id = ?))")) {
+                    String slotNetworkId = networkId != null ? networkId : "disconnected_" + System.currentTimeMillis();
+                    stmt.setString(1, slotNetworkId);
+                    stmt.setString(2, slotNetworkId);
+                    stmt.setInt(3, plugin.getDatabaseManager().getOrCreateWorldId(conn, driveBayLocation.getWorld().getName()));
+                    stmt.setInt(4, driveBayLocation.getBlockX());
+                    stmt.setInt(5, driveBayLocation.getBlockY());
+                    stmt.setInt(6, driveBayLocation.getBlockZ());
+                    stmt.setInt(7, slotIndex);
+                    stmt.setString(8, diskId);
+                    stmt.setString(9, diskId);
                     stmt.executeUpdate();
                 }
 
@@ -544,9 +551,8 @@ public class DriveBayGUI implements Listener {
                 }
 
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "UPDATE storage_disks SET used_cells = (SELECT COUNT(*) FROM storage_items WHERE disk_id = ?), updated_at = CURRENT_TIMESTAMP WHERE disk_id = ?")) {
+                        "UPDATE storage_disks SET used_cells = (SELECT COUNT(*) FROM storage_items si WHERE si.disk_key = storage_disks.disk_key), updated_at = CURRENT_TIMESTAMP WHERE disk_id = ?")) {
                     stmt.setString(1, diskId);
-                    stmt.setString(2, diskId);
                     stmt.executeUpdate();
                 }
             });
@@ -573,8 +579,8 @@ public class DriveBayGUI implements Listener {
         try {
             plugin.getDatabaseManager().executeTransaction(conn -> {
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "SELECT disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND slot_number = ?")) {
-                    stmt.setString(1, driveBayLocation.getWorld().getName());
+                        "SELECT disk_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND slot_number = ?")) {
+                    stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
                     stmt.setInt(2, driveBayLocation.getBlockX());
                     stmt.setInt(3, driveBayLocation.getBlockY());
                     stmt.setInt(4, driveBayLocation.getBlockZ());
@@ -586,8 +592,8 @@ public class DriveBayGUI implements Listener {
                 }
 
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "DELETE FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND slot_number = ?")) {
-                    stmt.setString(1, driveBayLocation.getWorld().getName());
+                        "DELETE FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND slot_number = ?")) {
+                    stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
                     stmt.setInt(2, driveBayLocation.getBlockX());
                     stmt.setInt(3, driveBayLocation.getBlockY());
                     stmt.setInt(4, driveBayLocation.getBlockZ());
@@ -617,10 +623,8 @@ public class DriveBayGUI implements Listener {
         return false;
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
         for (int slot : event.getRawSlots()) {
             if (slot < inventory.getSize()) {
                 int[] driveSlots = getDriveSlots();
@@ -647,14 +651,8 @@ public class DriveBayGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryDragEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
         }
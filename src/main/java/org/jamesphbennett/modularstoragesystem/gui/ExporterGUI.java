@@ -10,8 +10,6 @@ import org.bukkit.block.Container;
 import org.bukkit.block.data.Directional;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -25,7 +23,7 @@ import org.jamesphbennett.modularstoragesystem.managers.ExporterManager;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ExporterGUI implements Listener {
+public class ExporterGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final Location exporterLocation;
@@ -52,7 +50,7 @@ public class ExporterGUI implements Listener {
         this.exporterId = exporterId;
         this.networkId = networkId;
 
-        this.inventory = Bukkit.createInventory(null, 45, plugin.getMessageManager().getMessageComponent(null, "gui.exporter.title"));
+        this.inventory = Bukkit.createInventory(this, 45, plugin.getMessageManager().getMessageComponent(null, "gui.exporter.title"));
 
         detectTargetType();
         loadCurrentFilters();
@@ -401,12 +399,15 @@ public class ExporterGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    @EventHandler
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Click rate limiting to prevent DB spam
@@ -806,9 +807,8 @@ public class ExporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         boolean dragIntoGUI = false;
@@ -871,14 +871,8 @@ public class ExporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryDragEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
         }
@@ -7,8 +7,6 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.Container;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -22,7 +20,7 @@ import org.jamesphbennett.modularstoragesystem.managers.ExporterManager;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class FurnaceExporterGUI implements Listener {
+public class FurnaceExporterGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final Location exporterLocation;
@@ -49,7 +47,7 @@ public class FurnaceExporterGUI implements Listener {
         this.exporterId = exporterId;
         this.networkId = networkId;
 
-        this.inventory = Bukkit.createInventory(null, 54, plugin.getMessageManager().getMessageComponent(null, "gui.exporter.furnace.title"));
+        this.inventory = Bukkit.createInventory(this, 54, plugin.getMessageManager().getMessageComponent(null, "gui.exporter.furnace.title"));
 
         loadCurrentFilters();
         setupGUI();
@@ -211,12 +209,15 @@ public class FurnaceExporterGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    @EventHandler
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Click rate limiting to prevent DB spam
@@ -382,9 +383,8 @@ public class FurnaceExporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         boolean dragIntoGUI = false;
@@ -410,14 +410,8 @@ public class FurnaceExporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryDragEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
         }
@@ -10,11 +10,15 @@ import org.bukkit.block.Block;
 import org.bukkit.block.Container;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.jfr.TerminalRefreshEvent;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +30,10 @@ public class GUIManager {
     private final Map<UUID, Object> playerGUIInstance = new ConcurrentHashMap<>();
 
     private final Set<String> modifiedNetworks = ConcurrentHashMap.newKeySet();
+
+    // Networks with a pending terminal refresh, flushed together by one scheduled task
+    private final Set<String> dirtyNetworks = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
     private final Map<UUID, TerminalGUI> playersAwaitingSearchInput = new ConcurrentHashMap<>();
     private final Map<UUID, BukkitRunnable> searchTimeoutTasks = new ConcurrentHashMap<>();
     private static final int SEARCH_TIMEOUT_SECONDS = 10;
@@ -39,28 +47,17 @@ public class GUIManager {
     // GUI open cooldown tracking: <PlayerUUID, ExpirationTime>
     private final Map<UUID, Long> guiOpenCooldowns = new ConcurrentHashMap<>();
 
-    // Terminal cache: <PlayerUUID_NetworkID, <CachedData, ExpirationTime>>
-    private final Map<String, TerminalCache> terminalCaches = new ConcurrentHashMap<>();
-
-    /**
-     * Cache entry for terminal item data
-     */
-    private static class TerminalCache {
-        final List<Object> cachedItems; // Actual cached data from loadItems()
-        final long expirationTime;
-
-        TerminalCache(List<Object> items, long expirationTime) {
-            this.cachedItems = items;
-            this.expirationTime = expirationTime;
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() >= expirationTime;
-        }
-    }
+    // Network contents shared by all open terminals: <NetworkID, View>, kept for a while after the last one closes
+    private final Map<String, NetworkView> networkViews = new ConcurrentHashMap<>();
+    private final DisplayCache displayCache;
 
     public GUIManager(ModularStorageSystem plugin) {
         this.plugin = plugin;
+        this.displayCache = new DisplayCache(plugin);
+    }
+
+    public DisplayCache getDisplayCache() {
+        return displayCache;
     }
 
     /**
@@ -107,50 +104,28 @@ public class GUIManager {
     }
 
     /**
-     * Get terminal cache key
+     * Shared contents of a network for its terminals, created on first use
      */
-    private String getTerminalCacheKey(UUID playerId, String networkId) {
-        return playerId.toString() + "_" + networkId;
+    private NetworkView getNetworkView(String networkId) {
+        return networkViews.computeIfAbsent(networkId, id -> new NetworkView(plugin, id));
     }
 
-    /**
-     * Get cached terminal data if available and not expired
-     * @return cached items or null if cache miss/expired
-     */
-    public List<Object> getTerminalCache(UUID playerId, String networkId) {
-        String cacheKey = getTerminalCacheKey(playerId, networkId);
-        TerminalCache cache = terminalCaches.get(cacheKey);
-
-        if (cache == null || cache.isExpired()) {
-            // Clean up expired cache
-            if (cache != null) {
-                terminalCaches.remove(cacheKey);
+    private void releaseNetworkView(TerminalGUI terminalGUI) {
+        NetworkView view = networkViews.get(terminalGUI.getNetworkId());
+        if (view != null) {
+            view.removeViewer(terminalGUI);
+            if (!view.hasViewers() && plugin.getConfigManager().getTerminalViewRetentionSeconds() == 0) {
+                networkViews.remove(terminalGUI.getNetworkId());
             }
-            return null;
         }
-
-        plugin.debugLog("Terminal cache HIT for player " + playerId + " in network " + networkId);
-        return cache.cachedItems;
     }
 
     /**
-     * Store terminal data in cache
+     * Drop the views of networks no terminal has shown for the configured time
      */
-    public void setTerminalCache(UUID playerId, String networkId, List<Object> items) {
-        String cacheKey = getTerminalCacheKey(playerId, networkId);
-        int cacheDurationMs = plugin.getConfigManager().getTerminalCacheDuration();
-        long expirationTime = System.currentTimeMillis() + cacheDurationMs;
-
-        terminalCaches.put(cacheKey, new TerminalCache(new ArrayList<>(items), expirationTime));
-        plugin.debugLog("Terminal cache SET for player " + playerId + " in network " + networkId + " (expires in " + cacheDurationMs + "ms)");
-    }
-
-    /**
-     * Invalidate terminal cache for a specific network (when network is modified)
-     */
-    public void invalidateTerminalCache(String networkId) {
-        terminalCaches.entrySet().removeIf(entry -> entry.getKey().endsWith("_" + networkId));
-        plugin.debugLog("Invalidated terminal cache for network " + networkId);
+    private void evictIdleNetworkViews() {
+        long cutoff = System.currentTimeMillis() - plugin.getConfigManager().getTerminalViewRetentionSeconds() * 1000L;
+        networkViews.values().removeIf(view -> view.isIdleSince(cutoff));
     }
 
     /**
@@ -158,8 +133,7 @@ public class GUIManager {
      */
     public void markNetworkModified(String networkId) {
         modifiedNetworks.add(networkId);
-        invalidateTerminalCache(networkId);
-        plugin.debugLog("Marked network " + networkId + " as modified and invalidated cache");
+        plugin.debugLog("Marked network " + networkId + " as modified");
     }
 
     /**
@@ -408,21 +382,18 @@ public class GUIManager {
                 return;
             }
 
-            TerminalGUI gui = new TerminalGUI(plugin, terminalLocation, networkId);
-
-            // If network was modified while terminal was closed, refresh immediately
-            if (isNetworkModified(networkId)) {
-                plugin.debugLog("Network " + networkId + " was modified, refreshing terminal on open");
-                gui.refresh();
-                clearNetworkModified(networkId);
-            }
-
+            NetworkView view = getNetworkView(networkId);
+            TerminalGUI gui = new TerminalGUI(plugin, terminalLocation, view);
             gui.open(player);
 
             playerCurrentGUI.put(player.getUniqueId(), "TERMINAL");
             playerGUINetworkId.put(player.getUniqueId(), networkId);
             playerGUIInstance.put(player.getUniqueId(), gui);
 
+            // Renders the shared contents and catches up on anything changed while no terminal was open
+            view.addViewer(gui);
+            clearNetworkModified(networkId);
+
             plugin.debugLog("Opened terminal GUI for player " + player.getName() + " in network " + networkId);
         } catch (Exception e) {
             player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "errors.gui.error-opening", "gui", "Terminal", "error", e.getMessage()));
@@ -631,7 +602,9 @@ public class GUIManager {
     public void closeGUI(Player player) {
         String guiType = playerCurrentGUI.remove(player.getUniqueId());
         String networkId = playerGUINetworkId.remove(player.getUniqueId());
-        playerGUIInstance.remove(player.getUniqueId());
+        if (playerGUIInstance.remove(player.getUniqueId()) instanceof TerminalGUI terminalGUI) {
+            releaseNetworkView(terminalGUI);
+        }
 
         // Cancel any pending search input
         cancelSearchInput(player);
@@ -691,40 +664,84 @@ public class GUIManager {
 
     /**
      * Refresh all terminal GUIs for a specific network (COMPREHENSIVE VERSION)
+     * Use after topology or disk changes, open terminals reload their contents.
+     * The refresh itself is coalesced with other requests for the network, see {@link #updateNetworkTerminals}.
      */
     public void refreshNetworkTerminals(String networkId) {
+        // Drop the published snapshot and break the change log so terminals reload
+        plugin.getStorageManager().invalidateNetworkItems(networkId);
+        markNetworkDirty(networkId);
+    }
+
+    /**
+     * Update all terminal GUIs for a network after items were stored or retrieved.
+     * The storage layer has published the changes, so open terminals patch only the affected entries.
+     */
+    public void updateNetworkTerminals(String networkId) {
+        markNetworkDirty(networkId);
+    }
+
+    /**
+     * Queue a terminal refresh for a network. Requests made before the next flush are merged,
+     * so a network is validated and its terminals refreshed at most once per flush interval.
+     */
+    private void markNetworkDirty(String networkId) {
+        if (!dirtyNetworks.add(networkId)) {
+            plugin.getMetrics().counter("terminal_refreshes_coalesced").increment();
+        }
+
+        if (plugin.isEnabled() && flushScheduled.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().runTaskLater(plugin, this::flushDirtyNetworks,
+                    plugin.getConfigManager().getTerminalRefreshInterval());
+        }
+    }
+
+    private void flushDirtyNetworks() {
+        // Cleared first, networks marked during the flush schedule the next one
+        flushScheduled.set(false);
+
+        for (String networkId : new ArrayList<>(dirtyNetworks)) {
+            dirtyNetworks.remove(networkId);
+            refreshTerminals(networkId);
+        }
+    }
+
+    private void refreshTerminals(String networkId) {
+        // Idle networks skip the validity check, their views catch up when a terminal is next opened
+        if (getTerminalViewers(networkId).isEmpty()) {
+            markNetworkModified(networkId);
+            return;
+        }
+
+        // Validity is a database read, so it runs off the main thread. A failed check leaves the terminals open
+        plugin.getDatabaseExecutor().supplyThenSync(
+                () -> plugin.getNetworkManager().isRegisteredNetwork(networkId),
+                networkValid -> applyTerminalRefresh(networkId, networkValid),
+                error -> plugin.getLogger().warning("Error checking network validity for " + networkId + ": " + error.getMessage()));
+    }
+
+    private void applyTerminalRefresh(String networkId, boolean networkValid) {
+        long timer = plugin.getMetrics().startTimer();
+        TerminalRefreshEvent event = new TerminalRefreshEvent();
+        event.begin();
+
         plugin.debugLog("Starting comprehensive refresh of terminals for network: " + networkId);
         int refreshCount = 0;
+
         List<Player> playersToClose = new ArrayList<>();
 
-        // First check if network is still valid
-        boolean networkValid = isNetworkValid(networkId);
         if (!networkValid) {
             plugin.getLogger().warning("Network " + networkId + " is no longer valid!");
         }
 
-        for (Map.Entry<UUID, String> entry : playerCurrentGUI.entrySet()) {
-            if ("TERMINAL".equals(entry.getValue())) {
-                Player player = plugin.getServer().getPlayer(entry.getKey());
-                if (player != null && player.isOnline()) {
-                    String terminalNetworkId = playerGUINetworkId.get(entry.getKey());
-
-                    if (networkId.equals(terminalNetworkId)) {
-                        if (!networkValid) {
-                            // Network is invalid, close the terminal
-                            playersToClose.add(player);
-                            plugin.debugLog("Closing terminal for player " + player.getName() + " - network invalid");
-                        } else {
-                            // Network is valid, refresh the terminal
-                            Object guiInstance = playerGUIInstance.get(entry.getKey());
-                            if (guiInstance instanceof TerminalGUI terminalGUI) {
-                                terminalGUI.refresh();
-                                refreshCount++;
-                                plugin.debugLog("Refreshed terminal for player " + player.getName() + " in network " + networkId);
-                            }
-                        }
-                    }
-                }
+        for (Player player : getTerminalViewers(networkId)) {
+            if (!networkValid) {
+                // Network is invalid, close the terminal
+                playersToClose.add(player);
+                plugin.debugLog("Closing terminal for player " + player.getName() + " - network invalid");
+            } else if (playerGUIInstance.get(player.getUniqueId()) instanceof TerminalGUI) {
+                // Network is valid, the terminal is refreshed through the shared view below
+                refreshCount++;
             }
         }
 
@@ -733,6 +750,14 @@ public class GUIManager {
             forceCloseGUI(player, "Network connection lost - please check your storage system.");
         }
 
+        // One update re-renders every terminal on the network, idle views catch up when next opened
+        NetworkView view = networkViews.get(networkId);
+        if (!networkValid) {
+            networkViews.remove(networkId);
+        } else if (view != null && view.hasViewers()) {
+            view.update();
+        }
+
         if (networkValid) {
             if (refreshCount == 0) {
                 // No terminals were open, mark network as modified for when terminals are opened later
@@ -748,6 +773,30 @@ public class GUIManager {
 
         plugin.debugLog("Refreshed " + refreshCount + " terminals for network " + networkId +
                 (!playersToClose.isEmpty() ? " (closed " + playersToClose.size() + " invalid terminals)" : ""));
+
+        if (event.shouldCommit()) {
+            event.networkId = networkId;
+            event.refreshed = refreshCount;
+            event.closed = playersToClose.size();
+            event.commit();
+        }
+        plugin.getMetrics().stopTimer(MetricsRegistry.Subsystem.TERMINAL_REFRESH, timer);
+    }
+
+    /**
+     * Online players with a terminal of the network open
+     */
+    private List<Player> getTerminalViewers(String networkId) {
+        List<Player> viewers = new ArrayList<>();
+        for (Map.Entry<UUID, String> entry : playerCurrentGUI.entrySet()) {
+            if ("TERMINAL".equals(entry.getValue()) && networkId.equals(playerGUINetworkId.get(entry.getKey()))) {
+                Player player = plugin.getServer().getPlayer(entry.getKey());
+                if (player != null && player.isOnline()) {
+                    viewers.add(player);
+                }
+            }
+        }
+        return viewers;
     }
 
     /**
@@ -797,6 +846,7 @@ public class GUIManager {
 
         // Clear the modified flag for this network
         clearNetworkModified(networkId);
+        networkViews.remove(networkId);
 
         plugin.debugLog("Closed " + terminalsToClose.size() + " terminal GUIs and notified " +
                 driveBaysToNotify.size() + " drive bay users for invalidated network " + networkId);
@@ -823,29 +873,42 @@ public class GUIManager {
      * Periodic validation of open GUIs (UPDATED for standalone support)
      */
     public void validateOpenGUIs() {
-        List<Player> terminalsToClose = new ArrayList<>();
+        evictIdleNetworkViews();
 
-        for (Map.Entry<UUID, String> entry : playerGUINetworkId.entrySet()) {
-            String networkId = entry.getValue();
-            Player player = plugin.getServer().getPlayer(entry.getKey());
-
-            if (player != null && player.isOnline()) {
-                String guiType = playerCurrentGUI.get(entry.getKey());
-
-                // Only validate terminals - drive bays can stay open regardless of network status
-                if ("TERMINAL".equals(guiType) && !isNetworkValid(networkId)) {
-                    terminalsToClose.add(player);
-                }
+        // Only validate terminals - drive bays can stay open regardless of network status
+        Set<String> terminalNetworks = new HashSet<>();
+        for (Map.Entry<UUID, String> entry : playerCurrentGUI.entrySet()) {
+            String networkId = playerGUINetworkId.get(entry.getKey());
+            if ("TERMINAL".equals(entry.getValue()) && networkId != null) {
+                terminalNetworks.add(networkId);
             }
         }
-
-        for (Player player : terminalsToClose) {
-            forceCloseGUI(player, plugin.getMessageManager().getMessage(player, "errors.gui.network-invalid"));
+        if (terminalNetworks.isEmpty()) {
+            return;
         }
 
-        if (!terminalsToClose.isEmpty()) {
-            plugin.debugLog("Validated and closed " + terminalsToClose.size() + " invalid terminal GUIs");
-        }
+        // Checked off the main thread, a failed check leaves the terminals open until the next validation
+        plugin.getDatabaseExecutor().supplyThenSync(() -> {
+            Set<String> invalidNetworks = new HashSet<>();
+            for (String networkId : terminalNetworks) {
+                if (!plugin.getNetworkManager().isRegisteredNetwork(networkId)) {
+                    invalidNetworks.add(networkId);
+                }
+            }
+            return invalidNetworks;
+        }, invalidNetworks -> {
+            int closed = 0;
+            for (String networkId : invalidNetworks) {
+                for (Player player : getTerminalViewers(networkId)) {
+                    forceCloseGUI(player, plugin.getMessageManager().getMessage(player, "errors.gui.network-invalid"));
+                    closed++;
+                }
+            }
+
+            if (closed > 0) {
+                plugin.debugLog("Validated and closed " + closed + " invalid terminal GUIs");
+            }
+        }, "validating open terminals");
     }
     /**
      * Refresh exporter GUIs for a specific exporter
@@ -928,6 +991,8 @@ public class GUIManager {
         playerCurrentGUI.clear();
         playerGUINetworkId.clear();
         playerGUIInstance.clear();
+        dirtyNetworks.clear();
+        networkViews.clear();
         modifiedNetworks.clear();
         playersAwaitingSearchInput.clear();
         searchTimeoutTasks.clear();
@@ -9,8 +9,6 @@ import org.bukkit.block.BlockFace;
 import org.bukkit.block.Container;
 import org.bukkit.block.data.Directional;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -24,7 +22,7 @@ import org.jamesphbennett.modularstoragesystem.managers.ImporterManager;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ImporterGUI implements Listener {
+public class ImporterGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final Location importerLocation;
@@ -49,7 +47,7 @@ public class ImporterGUI implements Listener {
         this.importerId = importerId;
         this.networkId = networkId;
 
-        this.inventory = Bukkit.createInventory(null, 45, plugin.getMessageManager().getMessageComponent(null, "gui.importer.title"));
+        this.inventory = Bukkit.createInventory(this, 45, plugin.getMessageManager().getMessageComponent(null, "gui.importer.title"));
 
         detectTargetType();
         loadCurrentFilters();
@@ -399,12 +397,15 @@ public class ImporterGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    @EventHandler
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Click rate limiting to prevent DB spam
@@ -763,9 +764,8 @@ public class ImporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         boolean dragIntoGUI = false;
@@ -828,14 +828,8 @@ public class ImporterGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryDragEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
         }
@@ -0,0 +1,20 @@
+package org.jamesphbennett.modularstoragesystem.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Holder of every MSS GUI inventory.
+ * GUIListener routes inventory events to the GUI holding the top inventory, so GUIs register no listener when opened.
+ */
+public interface MSSInventoryHolder extends InventoryHolder {
+
+    void onInventoryClick(InventoryClickEvent event);
+
+    default void onInventoryDrag(InventoryDragEvent event) {
+    }
+
+    void onInventoryClose(InventoryCloseEvent event);
+}
@@ -0,0 +1,203 @@
+package org.jamesphbennett.modularstoragesystem.gui;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
+import org.jamesphbennett.modularstoragesystem.storage.StoredItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contents of one network shared by every terminal open on it.
+ * Items are loaded and sorted once per network, terminals only keep their own page, search and sort mode
+ * and render from the current snapshot. Only used on the main thread.
+ */
+public class NetworkView {
+
+    private static final Comparator<StoredItem> BY_NAME = Comparator.comparing(item -> item.getType().name());
+    private static final Comparator<StoredItem> BY_QUANTITY =
+            Comparator.comparingInt(StoredItem::quantity).reversed().thenComparing(BY_NAME);
+
+    private final ModularStorageSystem plugin;
+    private final String networkId;
+    private final Set<TerminalGUI> viewers = new LinkedHashSet<>();
+    // Current items by hash, the snapshot lists are rebuilt from it
+    private final Map<String, StoredItem> items = new LinkedHashMap<>();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private Snapshot snapshot;
+    private boolean loading;
+    // When the last terminal closed, the snapshot is kept a while so reopening renders at once
+    private long idleSince = System.currentTimeMillis();
+
+    /**
+     * Immutable network contents in both sort orders
+     * @param version Content version the items reflect
+     * @param byName Items sorted alphabetically by type
+     * @param byQuantity Items sorted by quantity, most first
+     * @param totalItems Sum of all quantities
+     */
+    public record Snapshot(long version, List<StoredItem> byName, List<StoredItem> byQuantity, long totalItems) {
+
+        public List<StoredItem> items(boolean quantitySort) {
+            return quantitySort ? byQuantity : byName;
+        }
+    }
+
+    public NetworkView(ModularStorageSystem plugin, String networkId) {
+        this.plugin = plugin;
+        this.networkId = networkId;
+    }
+
+    /**
+     * Start showing this network in a terminal. The last snapshot is rendered right away, even if stale,
+     * and the contents are then brought up to date off the main thread.
+     */
+    public void addViewer(TerminalGUI terminal) {
+        viewers.add(terminal);
+        if (snapshot != null) {
+            terminal.show(snapshot, null);
+        }
+        update();
+    }
+
+    public void removeViewer(TerminalGUI terminal) {
+        if (viewers.remove(terminal) && viewers.isEmpty()) {
+            idleSince = System.currentTimeMillis();
+        }
+    }
+
+    public boolean hasViewers() {
+        return !viewers.isEmpty();
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Whether no terminal has shown this network since the given time
+     */
+    public boolean isIdleSince(long time) {
+        return viewers.isEmpty() && idleSince <= time;
+    }
+
+    public String getNetworkId() {
+        return networkId;
+    }
+
+    /**
+     * Current items matching a search term, most relevant first
+     * @param searchTerm Lowercase, trimmed search term
+     * @param quantitySort Whether equally relevant items are ordered by quantity rather than by name
+     */
+    public List<StoredItem> search(String searchTerm, boolean quantitySort) {
+        return searchIndex.search(searchTerm, quantitySort ? BY_QUANTITY : BY_NAME);
+    }
+
+    /**
+     * Bring the contents up to date and re-render every viewer. Published item changes are applied
+     * in place, the contents are only loaded again when the storage layer no longer has the changes.
+     */
+    public void update() {
+        if (snapshot == null) {
+            load();
+            return;
+        }
+
+        long version = plugin.getStorageManager().getNetworkVersion(networkId);
+        List<StoredItem> changes = plugin.getStorageManager().getChangesSince(networkId, snapshot.version());
+        if (changes == null) {
+            load();
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // Later changes to the same item replace earlier ones
+        Map<String, StoredItem> latest = new LinkedHashMap<>();
+        for (StoredItem change : changes) {
+            latest.put(change.itemHash(), change);
+        }
+
+        boolean membershipChanged = false;
+        for (StoredItem change : latest.values()) {
+            if (change.quantity() <= 0) {
+                membershipChanged |= items.remove(change.itemHash()) != null;
+                searchIndex.remove(change.itemHash());
+            } else {
+                membershipChanged |= items.put(change.itemHash(), change) == null;
+                searchIndex.put(change);
+            }
+        }
+
+        List<StoredItem> byName;
+        if (membershipChanged) {
+            byName = new ArrayList<>(items.values());
+            byName.sort(BY_NAME);
+        } else {
+            // Same item types, the alphabetical order holds and only the entries are replaced
+            byName = new ArrayList<>(snapshot.byName().size());
+            for (StoredItem item : snapshot.byName()) {
+                byName.add(latest.getOrDefault(item.itemHash(), item));
+            }
+        }
+        publish(version, byName, latest.keySet());
+
+        plugin.debugLog("Applied " + latest.size() + " item changes to " + viewers.size() + " terminals in network " + networkId);
+    }
+
+    private void load() {
+        if (loading) {
+            return;
+        }
+        loading = true;
+        // Read before loading, changes published while the load runs are applied again afterwards
+        long version = plugin.getStorageManager().getNetworkVersion(networkId);
+
+        // Get all items from network storage off the main thread
+        plugin.getStorageManager().getNetworkItemsAsync(networkId).whenComplete((loaded, error) -> {
+            loading = false;
+
+            if (error != null) {
+                plugin.getLogger().severe("Error loading terminal items: " + DatabaseExecutor.unwrap(error).getMessage());
+                return;
+            }
+
+            items.clear();
+            searchIndex.clear();
+            for (StoredItem item : loaded) {
+                items.put(item.itemHash(), item);
+                searchIndex.put(item);
+            }
+            List<StoredItem> byName = new ArrayList<>(items.values());
+            byName.sort(BY_NAME);
+            publish(version, byName, null);
+
+            update();
+        });
+    }
+
+    /**
+     * @param changed Hashes of the changed items, or null if everything may have changed
+     */
+    private void publish(long version, List<StoredItem> byName, Set<String> changed) {
+        List<StoredItem> byQuantity = new ArrayList<>(byName);
+        byQuantity.sort(BY_QUANTITY);
+
+        long totalItems = 0;
+        for (StoredItem item : byName) {
+            totalItems += item.quantity();
+        }
+
+        snapshot = new Snapshot(version, List.copyOf(byName), List.copyOf(byQuantity), totalItems);
+        for (TerminalGUI viewer : new ArrayList<>(viewers)) {
+            viewer.show(snapshot, changed);
+        }
+    }
+}
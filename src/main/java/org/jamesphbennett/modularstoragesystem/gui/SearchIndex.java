@@ -0,0 +1,208 @@
+package org.jamesphbennett.modularstoragesystem.gui;
+
+import org.jamesphbennett.modularstoragesystem.storage.ItemSummary;
+import org.jamesphbennett.modularstoragesystem.storage.StoredItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Terminal search index of one network's items, kept up to date by {@link NetworkView}.
+ * Names come from each item type's summary, so nothing is deserialized. They are normalized once per type
+ * and every substring of up to three characters is indexed, so a query only scores the items sharing its
+ * rarest n-gram instead of every item on the network.
+ * Only used on the main thread.
+ */
+public class SearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    // Lore and enchantment matches rank below every name match, which always scores at least 100
+    private static final int EXTRA_MATCH_SCORE = 10;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    /**
+     * Normalized search text of one item type
+     * @param item Item with its current quantity
+     * @param itemName Lowercase material name with spaces
+     * @param displayName Lowercase display name, empty if none
+     * @param extra Lowercase lore and enchantment names, empty if none
+     */
+    private record Entry(StoredItem item, String itemName, String displayName, String[] itemWords,
+                         String[] displayWords, String extra) {
+    }
+
+    private record ScoredItem(StoredItem item, int score) {
+    }
+
+    /**
+     * Add an item, or update its quantity if the type is already indexed
+     */
+    public void put(StoredItem item) {
+        Entry existing = entries.get(item.itemHash());
+        if (existing != null) {
+            // Same hash means the same item, only the quantity differs
+            entries.put(item.itemHash(), new Entry(item, existing.itemName(), existing.displayName(),
+                    existing.itemWords(), existing.displayWords(), existing.extra()));
+            return;
+        }
+
+        Entry entry = createEntry(item);
+        entries.put(item.itemHash(), entry);
+        for (String gram : gramsOf(entry)) {
+            grams.computeIfAbsent(gram, k -> new HashSet<>()).add(item.itemHash());
+        }
+    }
+
+    public void remove(String itemHash) {
+        Entry entry = entries.remove(itemHash);
+        if (entry == null) {
+            return;
+        }
+
+        for (String gram : gramsOf(entry)) {
+            Set<String> hashes = grams.get(gram);
+            if (hashes != null) {
+                hashes.remove(itemHash);
+                if (hashes.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        grams.clear();
+    }
+
+    /**
+     * Items matching a search term, most relevant first
+     * @param searchTerm Lowercase, trimmed search term
+     * @param order Order of items with equal relevance
+     */
+    public List<StoredItem> search(String searchTerm, Comparator<StoredItem> order) {
+        List<ScoredItem> scoredItems = new ArrayList<>();
+        for (String hash : candidates(searchTerm)) {
+            Entry entry = entries.get(hash);
+            int score = calculateRelevanceScore(entry, searchTerm);
+            if (score > 0) {
+                scoredItems.add(new ScoredItem(entry.item(), score));
+            }
+        }
+
+        // Sort by relevance score (higher score = more relevant = appears first)
+        scoredItems.sort((a, b) -> {
+            int scoreCompare = Integer.compare(b.score(), a.score());
+            return scoreCompare != 0 ? scoreCompare : order.compare(a.item(), b.item());
+        });
+
+        List<StoredItem> results = new ArrayList<>(scoredItems.size());
+        for (ScoredItem scoredItem : scoredItems) {
+            results.add(scoredItem.item());
+        }
+        return results;
+    }
+
+    /**
+     * Items whose text contains every n-gram of the term, the smallest posting list is enough
+     * since each candidate is scored against the full term anyway
+     */
+    private Collection<String> candidates(String searchTerm) {
+        if (searchTerm.length() <= GRAM_LENGTH) {
+            return grams.getOrDefault(searchTerm, Set.of());
+        }
+
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= searchTerm.length(); i++) {
+            Set<String> hashes = grams.get(searchTerm.substring(i, i + GRAM_LENGTH));
+            if (hashes == null) {
+                return Set.of();
+            }
+            if (smallest == null || hashes.size() < smallest.size()) {
+                smallest = hashes;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Calculate relevance score for search matching
+     * Higher score = more relevant
+     */
+    private static int calculateRelevanceScore(Entry entry, String searchTerm) {
+        String itemName = entry.itemName();
+        String displayName = entry.displayName();
+        int score = 0;
+
+        // Exact match gets highest score
+        if (itemName.equals(searchTerm) || displayName.equals(searchTerm)) {
+            score += 1000;
+        }
+
+        // Starts with search term gets high score
+        if (itemName.startsWith(searchTerm) || displayName.startsWith(searchTerm)) {
+            score += 500;
+        }
+
+        // Contains search term gets medium score
+        if (itemName.contains(searchTerm) || displayName.contains(searchTerm)) {
+            score += 100;
+        }
+
+        // Word boundary matches get bonus points
+        for (String word : entry.itemWords()) {
+            if (word.startsWith(searchTerm)) {
+                score += 200;
+            } else if (word.contains(searchTerm)) {
+                score += 50;
+            }
+        }
+
+        for (String word : entry.displayWords()) {
+            if (word.startsWith(searchTerm)) {
+                score += 200;
+            } else if (word.contains(searchTerm)) {
+                score += 50;
+            }
+        }
+
+        // Bonus for shorter item names (more specific matches)
+        if (score > 0 && itemName.length() < 20) {
+            score += 25;
+        }
+
+        // Items only found through their lore or enchantments come after all name matches
+        if (score == 0 && entry.extra().contains(searchTerm)) {
+            score = EXTRA_MATCH_SCORE;
+        }
+
+        return score;
+    }
+
+    private static Entry createEntry(StoredItem item) {
+        ItemSummary summary = item.summary();
+        String itemName = item.getType().name().toLowerCase().replace("_", " ");
+        String displayName = summary.displayName();
+        return new Entry(item, itemName, displayName, itemName.split(" "), displayName.split(" "), summary.searchText());
+    }
+
+    private static Set<String> gramsOf(Entry entry) {
+        Set<String> result = new HashSet<>();
+        for (String text : new String[] {entry.itemName(), entry.displayName(), entry.extra()}) {
+            for (int start = 0; start < text.length(); start++) {
+                for (int length = 1; length <= GRAM_LENGTH && start + length <= text.length(); length++) {
+                    result.add(text.substring(start, start + length));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -6,8 +6,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -35,7 +33,7 @@ import com.google.gson.JsonParser;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class SecurityTerminalGUI implements Listener {
+public class SecurityTerminalGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final String terminalId;
@@ -61,7 +59,7 @@ public class SecurityTerminalGUI implements Listener {
         
         // Create inventory with localized title
         Component title = plugin.getMessageManager().getMessageComponent(viewer, "gui.security-terminal.title");
-        this.inventory = Bukkit.createInventory(null, 54, title);
+        this.inventory = Bukkit.createInventory(this, 54, title);
         
         setupGUI();
         loadTrustedPlayers();
@@ -360,12 +358,15 @@ public class SecurityTerminalGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    @EventHandler
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         event.setCancelled(true);
@@ -558,14 +559,8 @@ public class SecurityTerminalGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        // Unregister this listener
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         // Remove from GUI manager
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
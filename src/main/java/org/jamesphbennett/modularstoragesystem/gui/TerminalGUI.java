@@ -1,14 +1,11 @@
 package org.jamesphbennett.modularstoragesystem.gui;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -18,23 +15,32 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
 import org.jamesphbennett.modularstoragesystem.storage.StoredItem;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 
-public class TerminalGUI implements Listener {
+public class TerminalGUI implements MSSInventoryHolder {
 
     private final ModularStorageSystem plugin;
     private final Location terminalLocation;
     private final String networkId;
+    private final NetworkView view;
     private final Inventory inventory;
+    private final DisplayCache displayCache;
+    // Terminal lore is rendered in the server's default language
+    private final String language;
     private final Map<Integer, StoredItem> slotToStoredItem = new HashMap<>();
 
-    private List<StoredItem> allItems = new ArrayList<>();
+    // Shared network contents in the current sort order, owned by the view
+    private NetworkView.Snapshot snapshot;
+    private List<StoredItem> allItems = List.of();
     private final List<StoredItem> filteredItems = new ArrayList<>();
     private int currentPage = 0;
     private final int itemsPerPage = 36; // 4 rows of 9 slots
+    private static final int LOADING_SLOT = 22; // Middle of the item area
 
     // Search functionality
     private String currentSearchTerm = null;
@@ -47,13 +53,22 @@ public class TerminalGUI implements Listener {
     private final Map<UUID, Long> clickCooldowns = new ConcurrentHashMap<>();
     private static final long CLICK_COOLDOWN_MS = 200; // 200ms between clicks
 
-    public TerminalGUI(ModularStorageSystem plugin, Location terminalLocation, String networkId) {
+    // Info book contents currently shown, it is only rebuilt when they change
+    private InfoState renderedInfo;
+
+    // Players with a store or retrieve still in flight, their item clicks are ignored until it completes
+    private final Set<UUID> pendingOperations = new HashSet<>();
+
+    public TerminalGUI(ModularStorageSystem plugin, Location terminalLocation, NetworkView view) {
         this.plugin = plugin;
         this.terminalLocation = terminalLocation;
-        this.networkId = networkId;
+        this.networkId = view.getNetworkId();
+        this.view = view;
+        this.displayCache = plugin.getGUIManager().getDisplayCache();
+        this.language = plugin.getMessageManager().getLanguage(null);
 
         // Create inventory - 6 rows (54 slots)
-        this.inventory = Bukkit.createInventory(null, 54, plugin.getMessageManager().getMessageComponent(null, "gui.terminal.title"));
+        this.inventory = Bukkit.createInventory(this, 54, plugin.getMessageManager().getMessageComponent(null, "gui.terminal.title"));
 
         // Check for saved search term for this terminal location
         String savedSearchTerm = plugin.getGUIManager().getTerminalSearchTerm(terminalLocation);
@@ -70,15 +85,17 @@ public class TerminalGUI implements Listener {
         }
 
         setupGUI();
-        loadItems();
     }
 
     private void setupGUI() {
         // Fill bottom two rows with background
-        ItemStack background = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta backgroundMeta = background.getItemMeta();
-        backgroundMeta.displayName(Component.text(" "));
-        background.setItemMeta(backgroundMeta);
+        ItemStack background = displayCache.getButton(language + ":background", () -> {
+            ItemStack pane = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+            ItemMeta backgroundMeta = pane.getItemMeta();
+            backgroundMeta.displayName(Component.text(" "));
+            pane.setItemMeta(backgroundMeta);
+            return pane;
+        });
 
         // Fill bottom two rows (slots 36-53)
         for (int i = 36; i < 54; i++) {
@@ -93,44 +110,72 @@ public class TerminalGUI implements Listener {
 
         // Add sorting button
         updateSortingButton();
+
+        // Shown until the network contents arrive, the first render clears it
+        if (!view.isLoaded()) {
+            inventory.setItem(LOADING_SLOT, displayCache.getButton(language + ":loading", () -> {
+                ItemStack loading = new ItemStack(Material.CLOCK);
+                ItemMeta loadingMeta = loading.getItemMeta();
+                loadingMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.loading"));
+                loading.setItemMeta(loadingMeta);
+                return loading;
+            }));
+        }
     }
 
     private void updateSearchButton() {
-        ItemStack searchButton = new ItemStack(Material.SPYGLASS);
-        ItemMeta searchMeta = searchButton.getItemMeta();
-
         if (isSearchActive && currentSearchTerm != null) {
-            // Search is active - glowing button
-            searchMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.active", "term", currentSearchTerm));
-            List<Component> searchLore = new ArrayList<>();
-            searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.showing", "term", currentSearchTerm));
-            searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.results", "count", filteredItems.size()));
-            searchLore.add(Component.empty());
-            searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.clear"));
-            searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.search-again"));
-            searchMeta.lore(searchLore);
-
-            // Add glowing effect
-            searchMeta.addEnchant(Enchantment.UNBREAKING, 1, true);
-            searchMeta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+            String key = language + ":search:" + filteredItems.size() + ":" + currentSearchTerm;
+            inventory.setItem(48, displayCache.getButton(key, this::createActiveSearchButton)); // Bottom left corner
         } else {
-            // No search active - normal button
-            searchMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.button"));
-            List<Component> searchLore = new ArrayList<>();
-            searchLore.add(Component.empty());
-            searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.instruction"));
-            searchMeta.lore(searchLore);
+            inventory.setItem(48, displayCache.getButton(language + ":search", this::createSearchButton));
         }
+    }
 
+    private ItemStack createActiveSearchButton() {
+        // Search is active - glowing button
+        ItemStack searchButton = new ItemStack(Material.SPYGLASS);
+        ItemMeta searchMeta = searchButton.getItemMeta();
+        searchMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.active", "term", currentSearchTerm));
+        List<Component> searchLore = new ArrayList<>();
+        searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.showing", "term", currentSearchTerm));
+        searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.results", "count", filteredItems.size()));
+        searchLore.add(Component.empty());
+        searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.clear"));
+        searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.search-again"));
+        searchMeta.lore(searchLore);
+
+        // Add glowing effect
+        searchMeta.addEnchant(Enchantment.UNBREAKING, 1, true);
+        searchMeta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+        searchButton.setItemMeta(searchMeta);
+        return searchButton;
+    }
+
+    private ItemStack createSearchButton() {
+        // No search active - normal button
+        ItemStack searchButton = new ItemStack(Material.SPYGLASS);
+        ItemMeta searchMeta = searchButton.getItemMeta();
+        searchMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.button"));
+        List<Component> searchLore = new ArrayList<>();
+        searchLore.add(Component.empty());
+        searchLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.search.instruction"));
+        searchMeta.lore(searchLore);
         searchButton.setItemMeta(searchMeta);
-        inventory.setItem(48, searchButton); // Bottom left corner
+        return searchButton;
     }
 
     private void updateSortingButton() {
+        boolean quantitySort = isQuantitySortActive;
+        inventory.setItem(50, displayCache.getButton(language + ":sort:" + quantitySort,
+                () -> createSortingButton(quantitySort))); // Next to search button
+    }
+
+    private ItemStack createSortingButton(boolean quantitySort) {
         ItemStack sortButton = new ItemStack(Material.NAME_TAG);
         ItemMeta sortMeta = sortButton.getItemMeta();
 
-        if (isQuantitySortActive) {
+        if (quantitySort) {
             // Quantity sorting is active
             sortMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.sorting.quantity"));
             List<Component> sortLore = new ArrayList<>();
@@ -151,7 +196,7 @@ public class TerminalGUI implements Listener {
         }
 
         sortButton.setItemMeta(sortMeta);
-        inventory.setItem(50, sortButton); // Next to search button
+        return sortButton;
     }
 
     private void updateNavigationItems() {
@@ -164,73 +209,104 @@ public class TerminalGUI implements Listener {
             currentPage = Math.max(0, maxPages - 1);
         }
 
+        int page = currentPage;
+        String pageKey = ":" + (page + 1) + "/" + maxPages;
+        inventory.setItem(45, displayCache.getButton(language + ":previous" + pageKey, () -> createPreviousButton(page, maxPages)));
+        inventory.setItem(53, displayCache.getButton(language + ":next" + pageKey, () -> createNextButton(page, maxPages)));
+
+        List<StoredItem> displayItems = isSearchActive ? filteredItems : allItems;
+
+        // Calculate total items stored
+        long totalItems = isSearchActive || snapshot == null
+                ? displayItems.stream().mapToLong(StoredItem::quantity).sum()
+                : snapshot.totalItems();
+
+        // The info book is only rebuilt when something it shows has changed
+        InfoState state = new InfoState(page, maxPages, displayItems.size(), allItems.size(), totalItems,
+                isSearchActive ? currentSearchTerm : null, isQuantitySortActive);
+        if (state.equals(renderedInfo)) {
+            return;
+        }
+        renderedInfo = state;
+        inventory.setItem(49, createInfoItem(state));
+    }
+
+    private ItemStack createPreviousButton(int page, int maxPages) {
         // Previous page button
         ItemStack prevPage = new ItemStack(Material.ARROW);
         ItemMeta prevMeta = prevPage.getItemMeta();
         prevMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.previous"));
         List<Component> prevLore = new ArrayList<>();
-        prevLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (currentPage + 1), "total", maxPages));
-        if (currentPage > 0) {
+        prevLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (page + 1), "total", maxPages));
+        if (page > 0) {
             prevLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.prev-available"));
         } else {
             prevLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.first-page"));
         }
         prevMeta.lore(prevLore);
         prevPage.setItemMeta(prevMeta);
-        inventory.setItem(45, prevPage);
+        return prevPage;
+    }
 
+    private ItemStack createNextButton(int page, int maxPages) {
         // Next page button
         ItemStack nextPage = new ItemStack(Material.ARROW);
         ItemMeta nextMeta = nextPage.getItemMeta();
         nextMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.next"));
         List<Component> nextLore = new ArrayList<>();
-        nextLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (currentPage + 1), "total", maxPages));
-        if (currentPage < maxPages - 1) {
+        nextLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (page + 1), "total", maxPages));
+        if (page < maxPages - 1) {
             nextLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.next-available"));
         } else {
             nextLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.last-page"));
         }
         nextMeta.lore(nextLore);
         nextPage.setItemMeta(nextMeta);
-        inventory.setItem(53, nextPage);
+        return nextPage;
+    }
 
+    private ItemStack createInfoItem(InfoState state) {
         // Info item with better feedback (DISPLAY ONLY - NO CLICK FUNCTIONALITY)
         ItemStack info = new ItemStack(Material.BOOK);
         ItemMeta infoMeta = info.getItemMeta();
         infoMeta.displayName(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.title"));
         List<Component> infoLore = new ArrayList<>();
 
-        List<StoredItem> displayItems = isSearchActive ? filteredItems : allItems;
-
-        if (isSearchActive) {
-            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.search-results", "count", filteredItems.size()));
-            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.total-types", "count", allItems.size()));
-            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.search-term", "term", currentSearchTerm));
+        if (state.searchTerm() != null) {
+            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.search-results", "count", state.shownTypes()));
+            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.total-types", "count", state.totalTypes()));
+            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.search-term", "term", state.searchTerm()));
         } else {
-            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.total-types", "count", allItems.size()));
+            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.total-types", "count", state.totalTypes()));
         }
 
-        infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (currentPage + 1), "total", maxPages));
-        String sortModeKey = isQuantitySortActive ? "gui.terminal.info.sort-mode-quantity" : "gui.terminal.info.sort-mode-alphabetical";
+        infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.pagination.page-info", "current", (state.page() + 1), "total", state.maxPages()));
+        String sortModeKey = state.quantitySort() ? "gui.terminal.info.sort-mode-quantity" : "gui.terminal.info.sort-mode-alphabetical";
         infoLore.add(plugin.getMessageManager().getMessageComponent(null, sortModeKey));
 
         // Show items on current page
-        int startIndex = currentPage * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, displayItems.size());
-        if (!displayItems.isEmpty()) {
-            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.showing-range", "start", (startIndex + 1), "end", endIndex, "total", displayItems.size()));
+        int startIndex = state.page() * itemsPerPage;
+        int endIndex = Math.min(startIndex + itemsPerPage, state.shownTypes());
+        if (state.shownTypes() > 0) {
+            infoLore.add(plugin.getMessageManager().getMessageComponent(null, "gui.terminal.info.showing-range", "start", (startIndex + 1), "end", endIndex, "total", state.shownTypes()));
         }
 
-        // Calculate total items stored
-        long totalItems = displayItems.stream().mapToLong(StoredItem::quantity).sum();
-        String itemTypeKey = isSearchActive ? "gui.terminal.info.total-items-filtered" : "gui.terminal.info.total-items-all";
-        infoLore.add(plugin.getMessageManager().getMessageComponent(null, itemTypeKey, "count", String.format("%,d", totalItems)));
+        String itemTypeKey = state.searchTerm() != null ? "gui.terminal.info.total-items-filtered" : "gui.terminal.info.total-items-all";
+        infoLore.add(plugin.getMessageManager().getMessageComponent(null, itemTypeKey, "count", String.format("%,d", state.totalItems())));
 
         infoLore.add(Component.empty());
 
         infoMeta.lore(infoLore);
         info.setItemMeta(infoMeta);
-        inventory.setItem(49, info);
+        return info;
+    }
+
+    /**
+     * Everything the info book shows
+     * @param searchTerm Active search term, or null
+     */
+    private record InfoState(int page, int maxPages, int shownTypes, int totalTypes, long totalItems,
+                             String searchTerm, boolean quantitySort) {
     }
 
     private int getMaxPages() {
@@ -241,45 +317,21 @@ public class TerminalGUI implements Listener {
         return (int) Math.ceil((double) displayItems.size() / itemsPerPage);
     }
 
-    private void loadItems() {
-        try {
-            // Get all items from network storage
-            allItems = plugin.getStorageManager().getNetworkItems(networkId);
-
-            // Apply sorting based on current sort mode
-            applySorting();
-
-            // Apply search filter if active
-            applySearchFilter();
+    /**
+     * Render the network contents, called by the view whenever they change
+     * @param changed Hashes of the changed items, or null to redraw the whole page
+     */
+    void show(NetworkView.Snapshot snapshot, Set<String> changed) {
+        this.snapshot = snapshot;
+        allItems = snapshot.items(isQuantitySortActive);
 
-            updateDisplayedItems();
+        // Search term and sort mode stay on this instance, the filter is re-applied to the new contents
+        applySearchFilter();
+        updateDisplayedItems(changed);
 
+        if (changed == null) {
             String searchInfo = isSearchActive ? ", filtered to " + filteredItems.size() + " results" : "";
             plugin.debugLog("debug.gui.items-loaded", "total", allItems.size(), "search", searchInfo, "sorting", (isQuantitySortActive ? "quantity" : "alphabetical"));
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error loading terminal items: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Apply sorting to the items list based on current sort mode
-     */
-    private void applySorting() {
-        if (isQuantitySortActive) {
-            // Sort by quantity (descending) - most items first
-            allItems.sort((a, b) -> {
-                int quantityCompare = Integer.compare(b.quantity(), a.quantity());
-                if (quantityCompare != 0) {
-                    return quantityCompare;
-                }
-                // If quantities are equal, fall back to alphabetical
-                return a.itemStack().getType().name().compareTo(b.itemStack().getType().name());
-            });
-            plugin.debugLog("debug.gui.sorting-applied", "type", "quantity (most items first)");
-        } else {
-            // Sort alphabetically by item type name (default)
-            allItems.sort(Comparator.comparing(item -> item.itemStack().getType().name()));
-            plugin.debugLog("debug.gui.sorting-applied", "type", "alphabetical");
         }
     }
 
@@ -293,138 +345,56 @@ public class TerminalGUI implements Listener {
 
         String searchLower = currentSearchTerm.toLowerCase().trim();
 
-        // Create a list to hold items with their relevance scores
-        List<ScoredItem> scoredItems = new ArrayList<>();
-
-        for (StoredItem item : allItems) {
-            String itemName = item.itemStack().getType().name().toLowerCase().replace("_", " ");
-            String displayName = "";
-
-            // Check display name if it exists
-            if (item.itemStack().hasItemMeta() && item.itemStack().getItemMeta().hasDisplayName()) {
-                Component displayNameComponent = item.itemStack().getItemMeta().displayName();
-                if (displayNameComponent != null) {
-                    displayName = LegacyComponentSerializer.legacySection().serialize(displayNameComponent).toLowerCase();
-                }
-            }
-
-            // Calculate relevance score
-            int score = calculateRelevanceScore(itemName, displayName, searchLower);
-
-            if (score > 0) {
-                scoredItems.add(new ScoredItem(item, score));
-            }
-        }
-
-        // Sort by relevance score (higher score = more relevant = appears first)
-        scoredItems.sort((a, b) -> {
-            int scoreCompare = Integer.compare(b.score, a.score);
-            if (scoreCompare != 0) {
-                return scoreCompare;
-            }
-            // If scores are equal, use current sort mode as tiebreaker
-            if (isQuantitySortActive) {
-                int quantityCompare = Integer.compare(b.item.quantity(), a.item.quantity());
-                if (quantityCompare != 0) {
-                    return quantityCompare;
-                }
-            }
-            // Final fallback to alphabetical
-            return a.item.itemStack().getType().name().compareTo(b.item.itemStack().getType().name());
-        });
-
-        // Extract the sorted items
-        for (ScoredItem scoredItem : scoredItems) {
-            filteredItems.add(scoredItem.item);
-        }
+        // Ranked by the network's search index, ties follow the current sort mode
+        filteredItems.addAll(view.search(searchLower, isQuantitySortActive));
 
         plugin.debugLog("debug.gui.search-received", "player", "system", "input", currentSearchTerm);
     }
 
-    /**
-     * Calculate relevance score for search matching
-     * Higher score = more relevant
-     */
-    private int calculateRelevanceScore(String itemName, String displayName, String searchTerm) {
-        int score = 0;
-
-        // Exact match gets highest score
-        if (itemName.equals(searchTerm) || displayName.equals(searchTerm)) {
-            score += 1000;
-        }
-
-        // Starts with search term gets high score
-        if (itemName.startsWith(searchTerm) || displayName.startsWith(searchTerm)) {
-            score += 500;
-        }
-
-        // Contains search term gets medium score
-        if (itemName.contains(searchTerm) || displayName.contains(searchTerm)) {
-            score += 100;
-        }
-
-        // Word boundary matches get bonus points
-        String[] itemWords = itemName.split(" ");
-        String[] displayWords = displayName.split(" ");
-
-        for (String word : itemWords) {
-            if (word.startsWith(searchTerm)) {
-                score += 200;
-            } else if (word.contains(searchTerm)) {
-                score += 50;
-            }
-        }
-
-        for (String word : displayWords) {
-            if (word.startsWith(searchTerm)) {
-                score += 200;
-            } else if (word.contains(searchTerm)) {
-                score += 50;
-            }
-        }
-
-        // Bonus for shorter item names (more specific matches)
-        if (score > 0 && itemName.length() < 20) {
-            score += 25;
-        }
-
-        return score;
+    private void updateDisplayedItems() {
+        updateDisplayedItems(null);
     }
 
     /**
-         * Helper class for scored search results
-         */
-        private record ScoredItem(StoredItem item, int score) {
-    }
-
-    private void updateDisplayedItems() {
-        // Clear current item display (first 4 rows)
-        for (int i = 0; i < 36; i++) {
-            inventory.setItem(i, null);
-        }
-        slotToStoredItem.clear();
+     * @param changed Hashes of the changed items, or null to redraw every slot
+     */
+    private void updateDisplayedItems(Set<String> changed) {
+        // Keep the page in range, the contents may have shrunk
+        currentPage = Math.max(0, Math.min(currentPage, getMaxPages() - 1));
 
         // Use filtered items if search is active, otherwise use all items
         List<StoredItem> displayItems = isSearchActive ? filteredItems : allItems;
 
-        // Calculate start and end indices for current page
+        // Calculate start index for current page
         int startIndex = currentPage * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, displayItems.size());
 
-        // Display items for current page
-        for (int i = startIndex; i < endIndex; i++) {
-            StoredItem storedItem = displayItems.get(i);
-            int slot = i - startIndex;
+        // Display items for current page, slots still showing the same unchanged item are left alone
+        for (int slot = 0; slot < itemsPerPage; slot++) {
+            int index = startIndex + slot;
+            StoredItem storedItem = index < displayItems.size() ? displayItems.get(index) : null;
+            StoredItem shown = slotToStoredItem.get(slot);
+
+            if (storedItem == null) {
+                if (shown != null || changed == null) {
+                    inventory.setItem(slot, null);
+                    slotToStoredItem.remove(slot);
+                }
+                continue;
+            }
 
-            ItemStack displayItem = createDisplayItem(storedItem);
-            inventory.setItem(slot, displayItem);
+            if (changed == null || shown == null || !shown.itemHash().equals(storedItem.itemHash())
+                    || changed.contains(storedItem.itemHash())) {
+                inventory.setItem(slot, displayCache.getDisplayItem(storedItem, language, this::createDisplayItem));
+            }
             slotToStoredItem.put(slot, storedItem);
         }
 
         // Update navigation and search button
         updateNavigationItems();
         updateSearchButton();
-        updateSortingButton();
+        if (changed == null) {
+            updateSortingButton();
+        }
     }
 
     private ItemStack createDisplayItem(StoredItem storedItem) {
@@ -457,8 +427,8 @@ public class TerminalGUI implements Listener {
 
         plugin.debugLog("debug.gui.sorting-applied", "type", (isQuantitySortActive ? "quantity" : "alphabetical"));
 
-        // Re-apply sorting to all items
-        applySorting();
+        // Switch to the view's list in the new order
+        allItems = snapshot != null ? snapshot.items(isQuantitySortActive) : List.of();
 
         // Re-apply search filter if active (this respects the new sorting)
         if (isSearchActive) {
@@ -523,48 +493,108 @@ public class TerminalGUI implements Listener {
 
     public void open(Player player) {
         player.openInventory(inventory);
-        // Register this instance as a listener
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
     }
 
     /**
-     * Refresh the terminal display
+     * Refresh the terminal display, every terminal on the network is brought up to date with it
      */
     public void refresh() {
         plugin.debugLog("Refreshing terminal at " + terminalLocation + " for network " + networkId);
-        int itemCountBefore = allItems.size();
+        view.update();
+    }
 
-        // Store current search state and sorting mode
-        String savedSearchTerm = currentSearchTerm;
-        boolean wasSearchActive = isSearchActive;
-        boolean wasSortingByQuantity = isQuantitySortActive;
+    /**
+     * Whether the player still has this terminal open
+     */
+    private boolean isViewing(Player player) {
+        return player.isOnline() && player.getOpenInventory().getTopInventory().equals(inventory);
+    }
 
-        loadItems();
+    /**
+     * Hand items to a player once an async operation completes.
+     * Goes to the cursor if requested and the terminal is still open, otherwise into the inventory,
+     * anything that does not fit is dropped at the player's feet.
+     */
+    private void giveToPlayer(Player player, ItemStack item, boolean toCursor) {
+        if (item == null || item.getType().isAir()) {
+            return;
+        }
 
-        // Restore search state after refresh
-        if (wasSearchActive && savedSearchTerm != null) {
-            setSearch(savedSearchTerm);
+        if (!player.isOnline()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), item);
+            return;
         }
 
-        // Restore sorting mode
-        if (wasSortingByQuantity != isQuantitySortActive) {
-            isQuantitySortActive = wasSortingByQuantity;
-            applySorting();
-            if (isSearchActive) {
-                applySearchFilter();
+        ItemStack remaining = item.clone();
+        if (toCursor && isViewing(player)) {
+            ItemStack cursor = player.getItemOnCursor();
+            if (cursor.getType().isAir()) {
+                player.setItemOnCursor(remaining);
+                return;
+            }
+            if (cursor.isSimilar(remaining)) {
+                int toAdd = Math.min(cursor.getMaxStackSize() - cursor.getAmount(), remaining.getAmount());
+                if (toAdd > 0) {
+                    cursor.setAmount(cursor.getAmount() + toAdd);
+                    player.setItemOnCursor(cursor);
+                    remaining.setAmount(remaining.getAmount() - toAdd);
+                    if (remaining.getAmount() <= 0) {
+                        return;
+                    }
+                }
             }
-            updateDisplayedItems();
         }
 
-        int itemCountAfter = allItems.size();
-        plugin.debugLog("Terminal refresh complete: " + itemCountBefore + " -> " + itemCountAfter + " item types" +
-                (wasSearchActive ? " (search preserved: '" + savedSearchTerm + "')" : "") +
-                " (sorting: " + (isQuantitySortActive ? "quantity" : "alphabetical") + ")");
+        for (ItemStack leftover : player.getInventory().addItem(remaining).values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), leftover);
+        }
+    }
+
+    /**
+     * Store items taken from a player, who no longer holds them while the store is pending.
+     * Remainders go back to the player, on failure everything is handed back.
+     * @param onStored Called on the main thread with the amount actually stored
+     */
+    private void storePending(Player player, ItemStack pending, boolean toCursor, IntConsumer onStored) {
+        UUID playerId = player.getUniqueId();
+        pendingOperations.add(playerId);
+
+        plugin.getStorageManager().storeItemsAsync(networkId, List.of(pending)).whenComplete((remainders, error) -> {
+            pendingOperations.remove(playerId);
+
+            if (error != null) {
+                // Roll back, the player gets the whole stack again
+                giveToPlayer(player, pending, toCursor);
+                player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.error", "error", DatabaseExecutor.unwrap(error).getMessage()));
+                return;
+            }
+
+            int remaining = 0;
+            for (ItemStack remainder : remainders) {
+                remaining += remainder.getAmount();
+                giveToPlayer(player, remainder, toCursor);
+            }
+
+            int stored = pending.getAmount() - remaining;
+            onStored.accept(stored);
+
+            if (remaining > 0 && stored <= 0) {
+                player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.full"));
+            }
+
+            if (stored > 0) {
+                refresh();
+            }
+        });
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Click rate limiting to prevent DB spam (for item operations only)
@@ -574,6 +604,15 @@ public class TerminalGUI implements Listener {
 
         // Only apply cooldown to item slots (0-35), not navigation/search buttons
         int slot = event.getRawSlot();
+        boolean storesFromInventory = slot >= inventory.getSize() &&
+                (event.getClick() == ClickType.SHIFT_LEFT || event.getClick() == ClickType.SHIFT_RIGHT);
+        if ((slot >= 0 && slot < 36) || storesFromInventory) {
+            // Wait for the previous store or retrieve to finish before touching items again
+            if (pendingOperations.contains(playerId)) {
+                event.setCancelled(true);
+                return;
+            }
+        }
         if (slot >= 0 && slot < 36) {
             if (lastClick != null && (now - lastClick) < CLICK_COOLDOWN_MS) {
                 event.setCancelled(true);
@@ -639,36 +678,16 @@ public class TerminalGUI implements Listener {
                     return;
                 }
 
-                // Store the item
-                try {
-                    List<ItemStack> toStore = new ArrayList<>();
-                    toStore.add(itemToStore.clone());
-
-                    List<ItemStack> remainders = plugin.getStorageManager().storeItems(networkId, toStore);
-
-                    if (remainders.isEmpty()) {
-                        // All items stored successfully
-                        event.setCurrentItem(null);
-//                        player.sendMessage(miniMessage.deserialize("<green>Stored " + itemToStore.getAmount() + " " +
-//                                itemToStore.getType().name().toLowerCase().replace("_", " ")));
+                // Take the stack out of the inventory while it is stored, remainders come back afterwards
+                ItemStack pending = itemToStore.clone();
+                event.setCurrentItem(null);
 
-                        // Refresh display immediately
-                        refresh();
-                    } else {
-                        // Some items couldn't be stored
-                        ItemStack remainder = remainders.getFirst();
-                        event.setCurrentItem(remainder);
-                        int stored = itemToStore.getAmount() - remainder.getAmount();
-                        if (stored > 0) {
-                            player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial", "stored", stored, "remaining", remainder.getAmount()));
-                            refresh();
-                        } else {
-                            player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.full"));
-                        }
+                storePending(player, pending, false, stored -> {
+                    int remaining = pending.getAmount() - stored;
+                    if (stored > 0 && remaining > 0) {
+                        player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial", "stored", stored, "remaining", remaining));
                     }
-                } catch (Exception e) {
-                    player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.error", "error", e.getMessage()));
-                        }
+                });
             }
             return;
         }
@@ -729,36 +748,17 @@ public class TerminalGUI implements Listener {
                 return;
             }
 
-            // Store the cursor item
-            try {
-                List<ItemStack> toStore = new ArrayList<>();
-                toStore.add(cursorItem.clone());
-
-                List<ItemStack> remainders = plugin.getStorageManager().storeItems(networkId, toStore);
+            // Hold the cursor item as pending, it is handed back to the cursor if the store fails
+            ItemStack pending = cursorItem.clone();
+            event.getView().setCursor(null);
 
-                if (remainders.isEmpty()) {
-                    // All items stored successfully
-                    event.getView().setCursor(null);
-                } else {
-                    // Some items couldn't be stored
-                    ItemStack remainder = remainders.getFirst();
-                    event.getView().setCursor(remainder);
-                    int stored = cursorItem.getAmount() - remainder.getAmount();
-                    if (stored > 0) {
-                        player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial", "stored", stored, "remaining", remainder.getAmount()));
-                    } else {
-                        player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.full"));
-                    }
+            storePending(player, pending, true, stored -> {
+                int remaining = pending.getAmount() - stored;
+                if (stored > 0 && remaining > 0) {
+                    player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial", "stored", stored, "remaining", remaining));
                 }
-
-                // Refresh the display
-                refresh();
-                return; // IMPORTANT: Return here, don't continue to retrieval logic
-
-            } catch (Exception e) {
-                player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.error", "error", e.getMessage()));
-                return;
-            }
+            });
+            return; // IMPORTANT: Return here, don't continue to retrieval logic
         }
 
         // If no cursor items, handle retrieval
@@ -772,7 +772,7 @@ public class TerminalGUI implements Listener {
         boolean directToInventory;
 
         // Get the max stack size for this item type
-        int maxStackSize = storedItem.itemStack().getMaxStackSize();
+        int maxStackSize = storedItem.getMaxStackSize();
 
         switch (clickType) {
             case LEFT:
@@ -794,7 +794,7 @@ public class TerminalGUI implements Listener {
                 // Check if player inventory has space BEFORE retrieving
                 if (amountToRetrieve > 0) {
                     // Create a test item to check space requirements
-                    ItemStack testItem = storedItem.itemStack().clone();
+                    ItemStack testItem = storedItem.itemStack();
                     testItem.setAmount(amountToRetrieve);
 
                     // Calculate available space WITHOUT modifying inventory
@@ -816,42 +816,37 @@ public class TerminalGUI implements Listener {
         }
 
         if (amountToRetrieve > 0) {
-            try {
-                ItemStack retrievedItem = plugin.getStorageManager().retrieveItems(
-                        networkId, storedItem.itemHash(), amountToRetrieve);
+            UUID playerId = player.getUniqueId();
+            pendingOperations.add(playerId);
+
+            plugin.getStorageManager().retrieveItemsAsync(networkId, storedItem.itemHash(), amountToRetrieve).whenComplete((retrievedItem, error) -> {
+                pendingOperations.remove(playerId);
 
-                if (retrievedItem != null) {
-                    if (directToInventory) {
+                if (error == null && retrievedItem != null) {
+                    if (directToInventory && player.isOnline()) {
                         // Add directly to player inventory
                         HashMap<Integer, ItemStack> leftover = player.getInventory().addItem(retrievedItem);
 
                         if (!leftover.isEmpty()) {
                             // This should rarely happen since we pre-checked, but handle it
-                            // Put the items back in storage
-                            try {
-                                List<ItemStack> putBack = new ArrayList<>(leftover.values());
-                                plugin.getStorageManager().storeItems(networkId, putBack);
-
-                            } catch (Exception e) {
-                                // Last resort - drop the items
-                                for (ItemStack item : leftover.values()) {
+                            // Put the items back in storage, last resort is dropping them
+                            List<ItemStack> putBack = new ArrayList<>(leftover.values());
+                            plugin.getStorageManager().storeItemsAsync(networkId, putBack).whenComplete((remainders, storeError) -> {
+                                List<ItemStack> toDrop = storeError != null ? putBack : remainders;
+                                for (ItemStack item : toDrop) {
                                     player.getWorld().dropItemNaturally(player.getLocation(), item);
                                 }
-                            }
+                            });
                         }
                     } else {
-                        // Put on cursor
-                        event.getView().setCursor(retrievedItem);
+                        // Put on cursor, or into the inventory if the terminal was closed meanwhile
+                        giveToPlayer(player, retrievedItem, true);
                     }
-
-                    // Refresh the display
-                    refresh();
-
-                } else {
-                    refresh(); // Refresh to show current state
                 }
-            } catch (Exception ignored) {
-            }
+
+                // Refresh to show current state
+                refresh();
+            });
         }
     }
 
@@ -883,11 +878,8 @@ public class TerminalGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-
         // Check if dragging into the terminal area
         boolean draggedIntoItemArea = false;
         boolean draggedIntoNavArea = false;
@@ -933,49 +925,30 @@ public class TerminalGUI implements Listener {
                         ItemStack itemToStore = draggedItem.clone();
                         itemToStore.setAmount(totalDraggedAmount);
 
-                        try {
-                            List<ItemStack> toStore = new ArrayList<>();
-                            toStore.add(itemToStore);
-
-                            List<ItemStack> remainders = plugin.getStorageManager().storeItems(networkId, toStore);
+                        event.setCancelled(true);
 
-                            event.setCancelled(true);
+                        if (pendingOperations.contains(player.getUniqueId())) {
+                            return;
+                        }
 
-                            if (remainders.isEmpty()) {
-                                // All stored - calculate what should remain on cursor
-                                int remainingOnCursor = draggedItem.getAmount() - totalDraggedAmount;
-                                if (remainingOnCursor > 0) {
-                                    ItemStack newCursor = draggedItem.clone();
-                                    newCursor.setAmount(remainingOnCursor);
-                                    event.getView().setCursor(newCursor);
-                                } else {
-                                    event.getView().setCursor(null);
-                                }
+                        // The dragged amount leaves the cursor right away, remainders come back once stored
+                        int remainingOnCursor = draggedItem.getAmount() - totalDraggedAmount;
+                        if (remainingOnCursor > 0) {
+                            ItemStack newCursor = draggedItem.clone();
+                            newCursor.setAmount(remainingOnCursor);
+                            event.getView().setCursor(newCursor);
+                        } else {
+                            event.getView().setCursor(null);
+                        }
 
-                            } else {
-                                // Partial storage
-                                ItemStack remainder = remainders.getFirst();
-                                int stored = totalDraggedAmount - remainder.getAmount();
-
-                                // Calculate new cursor amount
-                                int newCursorAmount = draggedItem.getAmount() - stored;
-                                ItemStack newCursor = draggedItem.clone();
-                                newCursor.setAmount(newCursorAmount);
-                                event.getView().setCursor(newCursor);
-
-                                if (stored > 0) {
-                                    player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial-drag", "stored", stored, "remaining", remainder.getAmount()));
-                                } else {
-                                    player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.full"));
-                                }
+                        int draggedAmount = totalDraggedAmount;
+                        storePending(player, itemToStore, true, stored -> {
+                            int remaining = draggedAmount - stored;
+                            if (stored > 0 && remaining > 0) {
+                                player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.partial-drag", "stored", stored, "remaining", remaining));
                             }
-
-                            // Refresh display
-                            refresh();
-                            return;
-                        } catch (Exception e) {
-                            player.sendMessage(plugin.getMessageManager().getMessageComponent(player, "gui.terminal.storage.error", "error", e.getMessage()));
-                        }
+                        });
+                        return;
                     }
                 }
             }
@@ -985,15 +958,8 @@ public class TerminalGUI implements Listener {
         // If we get here, the drag is only in player inventory - allow it
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
-
-        // Unregister this listener
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryDragEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-
         // Remove from GUI manager
         if (event.getPlayer() instanceof Player player) {
             plugin.getGUIManager().closeGUI(player);
@@ -0,0 +1,32 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One tick of the exporter or importer task, measured on the main thread.
+ * Storage work started by the cycle completes later and is recorded by the storage events.
+ */
+@Name("mss.AutomationCycle")
+@Label("Automation Cycle")
+@Category({"Modular Storage System", "Automation"})
+@Description("One exporter or importer task tick")
+@StackTrace(false)
+public class AutomationCycleEvent extends Event {
+
+    @Label("Automation")
+    @Description("export or import")
+    public String automation;
+
+    @Label("Active")
+    @Description("Loaded exporters or importers")
+    public int active;
+
+    @Label("Processed")
+    @Description("Enabled exporters or importers processed this tick")
+    public int processed;
+}
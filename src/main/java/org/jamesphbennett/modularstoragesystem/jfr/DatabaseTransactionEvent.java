@@ -0,0 +1,28 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One DatabaseManager.executeTransaction, the event duration includes waiting for a pooled connection
+ */
+@Name("mss.DatabaseTransaction")
+@Label("Database Transaction")
+@Category({"Modular Storage System", "Database"})
+@Description("Transaction run through the database manager")
+@StackTrace(false)
+public class DatabaseTransactionEvent extends Event {
+
+    @Label("Caller")
+    public String caller;
+
+    @Label("Committed")
+    public boolean committed;
+
+    @Label("Main Thread")
+    public boolean mainThread;
+}
@@ -0,0 +1,36 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One network flood fill by NetworkManager.detectNetwork
+ */
+@Name("mss.NetworkDetect")
+@Label("Network Detect")
+@Category({"Modular Storage System", "Network"})
+@Description("Search for the network connected to a block")
+@StackTrace(false)
+public class NetworkDetectEvent extends Event {
+
+    @Label("Network")
+    @Description("Detected network, null when no valid network was found")
+    public String networkId;
+
+    @Label("Visited")
+    @Description("Locations visited by the search")
+    public int visited;
+
+    @Label("Blocks")
+    public int blocks;
+
+    @Label("Cables")
+    public int cables;
+
+    @Label("Valid")
+    public boolean valid;
+}
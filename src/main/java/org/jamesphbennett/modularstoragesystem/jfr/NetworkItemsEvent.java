@@ -0,0 +1,33 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to StorageManager.getNetworkItems
+ */
+@Name("mss.NetworkItems")
+@Label("Network Items")
+@Category({"Modular Storage System", "Storage"})
+@Description("Read of the consolidated contents of a network")
+@StackTrace(false)
+public class NetworkItemsEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Item Types")
+    public int itemTypes;
+
+    @Label("Disks")
+    @Description("Connected disks read, zero when served from the published snapshot")
+    public int disks;
+
+    @Label("Cached")
+    @Description("Whether the published snapshot was returned")
+    public boolean cached;
+}
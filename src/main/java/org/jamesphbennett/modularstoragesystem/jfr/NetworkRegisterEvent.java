@@ -0,0 +1,32 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to NetworkManager.registerNetwork, including the drive bay restoration
+ */
+@Name("mss.NetworkRegister")
+@Label("Network Register")
+@Category({"Modular Storage System", "Network"})
+@Description("Network and its blocks written to the database")
+@StackTrace(false)
+public class NetworkRegisterEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Blocks")
+    @Description("Blocks and cables written")
+    public int blocks;
+
+    @Label("Drive Bays")
+    public int driveBays;
+
+    @Label("Security Terminals")
+    public int securityTerminals;
+}
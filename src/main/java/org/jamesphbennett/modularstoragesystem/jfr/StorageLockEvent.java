@@ -0,0 +1,49 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One hold of a network storage lock, the event duration covers the wait and the hold
+ */
+@Name("mss.StorageLock")
+@Label("Storage Lock")
+@Category({"Modular Storage System", "Storage"})
+@Description("Wait for and hold of a network storage lock")
+@StackTrace(false)
+public class StorageLockEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Caller")
+    public String caller;
+
+    @Label("Stripes")
+    @Description("Item lock stripes held")
+    public int stripes;
+
+    @Label("Allocation")
+    @Description("Whether the cell allocation lock was held")
+    public boolean allocation;
+
+    @Label("Contended")
+    @Description("Whether another thread held one of the locks when it was requested")
+    public boolean contended;
+
+    @Label("Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitTime;
+
+    @Label("Queue Length")
+    @Description("Threads already waiting when the lock was requested")
+    public int queueLength;
+
+    @Label("Main Thread")
+    public boolean mainThread;
+}
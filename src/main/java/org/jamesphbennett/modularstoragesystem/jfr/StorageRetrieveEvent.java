@@ -0,0 +1,39 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to StorageManager.retrieveItems, the event duration covers locking and the transaction
+ */
+@Name("mss.StorageRetrieve")
+@Label("Storage Retrieve")
+@Category({"Modular Storage System", "Storage"})
+@Description("Items taken out of a network")
+@StackTrace(false)
+public class StorageRetrieveEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Item Hash")
+    public String itemHash;
+
+    @Label("Requested")
+    public int requested;
+
+    @Label("Retrieved")
+    public int retrieved;
+
+    @Label("Disks")
+    @Description("Disks in the network's drive bays")
+    public int disks;
+
+    @Label("Rows Written")
+    @Description("Storage cells inserted, updated or deleted")
+    public int rowsWritten;
+}
@@ -0,0 +1,42 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to StorageManager.storeItems, the event duration covers locking and the transaction
+ */
+@Name("mss.StorageStore")
+@Label("Storage Store")
+@Category({"Modular Storage System", "Storage"})
+@Description("Items stored into a network")
+@StackTrace(false)
+public class StorageStoreEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Stacks")
+    @Description("Item stacks offered")
+    public int stacks;
+
+    @Label("Amount")
+    @Description("Items offered")
+    public int amount;
+
+    @Label("Remainder")
+    @Description("Items that could not be stored")
+    public int remainder;
+
+    @Label("Disks")
+    @Description("Disks in the network's drive bays")
+    public int disks;
+
+    @Label("Rows Written")
+    @Description("Storage cells inserted, updated or deleted")
+    public int rowsWritten;
+}
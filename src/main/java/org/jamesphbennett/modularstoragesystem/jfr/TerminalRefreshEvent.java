@@ -0,0 +1,30 @@
+package org.jamesphbennett.modularstoragesystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One coalesced refresh of a network's open terminals by GUIManager
+ */
+@Name("mss.TerminalRefresh")
+@Label("Terminal Refresh")
+@Category({"Modular Storage System", "GUI"})
+@Description("Refresh of the open terminals of a network")
+@StackTrace(false)
+public class TerminalRefreshEvent extends Event {
+
+    @Label("Network")
+    public String networkId;
+
+    @Label("Refreshed")
+    @Description("Open terminals refreshed")
+    public int refreshed;
+
+    @Label("Closed")
+    @Description("Terminals closed because the network is gone")
+    public int closed;
+}
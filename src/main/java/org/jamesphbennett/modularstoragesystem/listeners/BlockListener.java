@@ -1050,8 +1050,8 @@ public class BlockListener implements Listener {
     private void markLocationAsCustomBlock(Location location, String blockType) throws SQLException {
         plugin.getDatabaseManager().executeTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT OR REPLACE INTO custom_block_markers (world_name, x, y, z, block_type) VALUES (?, ?, ?, ?, ?)")) {
-                stmt.setString(1, location.getWorld().getName());
+                    "INSERT OR REPLACE INTO custom_block_markers (world_id, x, y, z, block_type) VALUES (?, ?, ?, ?, ?)")) {
+                stmt.setInt(1, plugin.getDatabaseManager().getOrCreateWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(2, location.getBlockX());
                 stmt.setInt(3, location.getBlockY());
                 stmt.setInt(4, location.getBlockZ());
@@ -1068,8 +1068,8 @@ public class BlockListener implements Listener {
         try {
             plugin.getDatabaseManager().executeTransaction(conn -> {
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "DELETE FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
-                    stmt.setString(1, location.getWorld().getName());
+                        "DELETE FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
+                    stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                     stmt.setInt(2, location.getBlockX());
                     stmt.setInt(3, location.getBlockY());
                     stmt.setInt(4, location.getBlockZ());
@@ -1103,13 +1103,15 @@ public class BlockListener implements Listener {
             plugin.getDatabaseManager().executeTransaction(conn -> {
                 for (Location driveBayLoc : driveBayLocations) {
                     try (PreparedStatement stmt = conn.prepareStatement(
-                            "UPDATE drive_bay_slots SET network_id = ? WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
+                            "UPDATE drive_bay_slots SET network_id = ?, network_key = (SELECT network_key FROM networks WHERE network_id = ?) " +
+                                    "WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
                         
                         stmt.setString(1, networkId);
-                        stmt.setString(2, driveBayLoc.getWorld().getName());
-                        stmt.setInt(3, driveBayLoc.getBlockX());
-                        stmt.setInt(4, driveBayLoc.getBlockY());
-                        stmt.setInt(5, driveBayLoc.getBlockZ());
+                        stmt.setString(2, networkId);
+                        stmt.setInt(3, plugin.getDatabaseManager().getWorldId(conn, driveBayLoc.getWorld().getName()));
+                        stmt.setInt(4, driveBayLoc.getBlockX());
+                        stmt.setInt(5, driveBayLoc.getBlockY());
+                        stmt.setInt(6, driveBayLoc.getBlockZ());
                         
                         stmt.executeUpdate();
                     }
@@ -1167,7 +1169,7 @@ public class BlockListener implements Listener {
      */
     private void displayStorageServerInfo(Player player, Location serverLocation) {
         // Run async to avoid blocking main thread with DB queries
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             try {
                 // Get network ID if it exists
                 String networkId = networkManager.getNetworkId(serverLocation);
@@ -0,0 +1,36 @@
+package org.jamesphbennett.modularstoragesystem.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.jamesphbennett.modularstoragesystem.gui.MSSInventoryHolder;
+
+/**
+ * Single listener for all MSS GUIs, dispatching by the holder of the top inventory.
+ * Holders are read without a snapshot so events on container inventories don't copy block state.
+ */
+public class GUIListener implements Listener {
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getInventory().getHolder(false) instanceof MSSInventoryHolder gui) {
+            gui.onInventoryClick(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder(false) instanceof MSSInventoryHolder gui) {
+            gui.onInventoryDrag(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getInventory().getHolder(false) instanceof MSSInventoryHolder gui) {
+            gui.onInventoryClose(event);
+        }
+    }
+}
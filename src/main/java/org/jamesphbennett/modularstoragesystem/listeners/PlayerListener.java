@@ -594,7 +594,7 @@ public class PlayerListener implements Listener {
         try {
             plugin.getDatabaseManager().executeTransaction(conn -> {
                 // First, remove any storage items associated with this disk
-                try (var stmt1 = conn.prepareStatement("DELETE FROM storage_items WHERE disk_id = ?")) {
+                try (var stmt1 = conn.prepareStatement("DELETE FROM storage_items WHERE disk_key = (SELECT disk_key FROM storage_disks WHERE disk_id = ?)")) {
                     stmt1.setString(1, diskId);
                 }
 
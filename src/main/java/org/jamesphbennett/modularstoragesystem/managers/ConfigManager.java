@@ -5,6 +5,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.MainThreadIoDetector;
 
 import java.io.File;
 import java.io.InputStream;
@@ -40,13 +41,19 @@ public class ConfigManager {
     private int infoCooldown;
     private int cleanupCooldown;
     private int recoveryCooldown;
-    private int terminalCacheDuration;
     private int guiOpenCooldown;
 
     // Performance settings
     private int maxImportersPerTick;
     private int maxExportersPerTick;
     private boolean batchImporterExporterOps;
+    private long mainThreadLockWaitWarnMs;
+    private int terminalRefreshInterval;
+    private int terminalViewRetentionSeconds;
+    private boolean metricsEnabled;
+    private boolean prometheusEnabled;
+    private String prometheusBindAddress;
+    private int prometheusPort;
 
     // Database settings
     private String databaseType;
@@ -56,6 +63,26 @@ public class ConfigManager {
     private String mysqlUsername;
     private String mysqlPassword;
     private boolean mysqlUseSsl;
+    private boolean mysqlFallbackToSqlite;
+    private boolean databaseInstrumentationEnabled;
+    private long slowQueryThresholdMs;
+    private MainThreadIoDetector.Mode mainThreadIoMode;
+    private int mainThreadIoStackSampleInterval;
+
+    // Backup settings
+    private boolean backupEnabled;
+    private int backupIntervalMinutes;
+    private int backupRetention;
+    private int backupBatchRows;
+    private int backupPagesPerStep;
+    private long backupThrottleMs;
+
+    // Maintenance settings
+    private boolean maintenanceEnabled;
+    private int maintenanceIntervalMinutes;
+    private int maintenanceMaxPlayers;
+    private int maintenanceSliceIntervalSeconds;
+    private int maintenanceVacuumPagesPerSlice;
 
     // HARDCODED: All disks have 64 cells - no longer configurable
     private static final int HARDCODED_CELLS_PER_DISK = 64;
@@ -67,6 +94,7 @@ public class ConfigManager {
         this.plugin = plugin;
         loadConfig();
         loadRecipesConfig();
+        saveFlightRecorderProfile();
     }
 
     public void loadConfig() {
@@ -87,11 +115,22 @@ public class ConfigManager {
         loadCooldownSettings();
         loadPerformanceSettings();
         loadDatabaseSettings();
+        loadBackupSettings();
+        loadMaintenanceSettings();
 
         plugin.getLogger().info("Configuration loaded successfully!");
         // Removed redundant configuration details - available in debug mode
     }
 
+    /**
+     * Copy the bundled Flight Recorder profile to the data folder, for use with jcmd JFR.start settings=
+     */
+    private void saveFlightRecorderProfile() {
+        if (!new File(plugin.getDataFolder(), "mss.jfc").exists()) {
+            plugin.saveResource("mss.jfc", false);
+        }
+    }
+
     private void loadRecipesConfig() {
         File recipesFile = new File(plugin.getDataFolder(), "recipes.yml");
 
@@ -191,7 +230,6 @@ public class ConfigManager {
         recoveryCooldown = config.getInt("cooldowns.commands.recovery", 10);
 
         // GUI cooldowns (in milliseconds)
-        terminalCacheDuration = config.getInt("cooldowns.gui.terminal_cache", 500);
         guiOpenCooldown = config.getInt("cooldowns.gui.open_cooldown", 1000);
     }
 
@@ -199,6 +237,13 @@ public class ConfigManager {
         maxImportersPerTick = config.getInt("performance.importer_exporter.max_importers_per_tick", 1000);
         maxExportersPerTick = config.getInt("performance.importer_exporter.max_exporters_per_tick", 1000);
         batchImporterExporterOps = config.getBoolean("performance.importer_exporter.batch_operations", true);
+        mainThreadLockWaitWarnMs = Math.max(0, config.getLong("performance.storage_locks.main_thread_wait_warn_ms", 10));
+        terminalRefreshInterval = Math.max(1, config.getInt("performance.terminal_refresh.interval_ticks", 1));
+        terminalViewRetentionSeconds = Math.max(0, config.getInt("performance.terminal_refresh.keep_contents_seconds", 300));
+        metricsEnabled = config.getBoolean("performance.metrics.enabled", true);
+        prometheusEnabled = config.getBoolean("performance.metrics.prometheus.enabled", false);
+        prometheusBindAddress = config.getString("performance.metrics.prometheus.bind_address", "127.0.0.1");
+        prometheusPort = config.getInt("performance.metrics.prometheus.port", 9464);
     }
 
     private void loadDatabaseSettings() {
@@ -211,6 +256,30 @@ public class ConfigManager {
         mysqlUsername = config.getString("database.mysql.username", "minecraft");
         mysqlPassword = config.getString("database.mysql.password", "changeme");
         mysqlUseSsl = config.getBoolean("database.mysql.use_ssl", false);
+        mysqlFallbackToSqlite = config.getBoolean("database.mysql.fallback_to_sqlite", false);
+
+        // Instrumentation settings
+        databaseInstrumentationEnabled = config.getBoolean("database.instrumentation.enabled", false);
+        slowQueryThresholdMs = config.getLong("database.instrumentation.slow_query_threshold_ms", 50);
+        mainThreadIoMode = MainThreadIoDetector.Mode.fromConfig(config.getString("database.main_thread_io.mode", "warn"));
+        mainThreadIoStackSampleInterval = config.getInt("database.main_thread_io.stack_sample_interval", 100);
+    }
+
+    private void loadBackupSettings() {
+        backupEnabled = config.getBoolean("backup.enabled", false);
+        backupIntervalMinutes = Math.max(5, config.getInt("backup.interval_minutes", 1440));
+        backupRetention = config.getInt("backup.retention", 7);
+        backupBatchRows = Math.max(1, config.getInt("backup.mysql.batch_rows", 500));
+        backupPagesPerStep = Math.max(1, config.getInt("backup.sqlite.pages_per_step", 1000));
+        backupThrottleMs = config.getLong("backup.throttle_ms", 5);
+    }
+
+    private void loadMaintenanceSettings() {
+        maintenanceEnabled = config.getBoolean("maintenance.enabled", true);
+        maintenanceIntervalMinutes = Math.max(30, config.getInt("maintenance.interval_minutes", 360));
+        maintenanceMaxPlayers = config.getInt("maintenance.max_players", 2);
+        maintenanceSliceIntervalSeconds = Math.max(1, config.getInt("maintenance.slice_interval_seconds", 5));
+        maintenanceVacuumPagesPerSlice = Math.max(1, config.getInt("maintenance.sqlite.vacuum_pages_per_slice", 500));
     }
 
     // Getter methods for configuration values
@@ -322,10 +391,6 @@ public class ConfigManager {
         return recoveryCooldown;
     }
 
-    public int getTerminalCacheDuration() {
-        return terminalCacheDuration;
-    }
-
     public int getGuiOpenCooldown() {
         return guiOpenCooldown;
     }
@@ -344,6 +409,34 @@ public class ConfigManager {
         return batchImporterExporterOps;
     }
 
+    public long getMainThreadLockWaitWarnMs() {
+        return mainThreadLockWaitWarnMs;
+    }
+
+    public int getTerminalRefreshInterval() {
+        return terminalRefreshInterval;
+    }
+
+    public int getTerminalViewRetentionSeconds() {
+        return terminalViewRetentionSeconds;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public boolean isPrometheusEnabled() {
+        return prometheusEnabled;
+    }
+
+    public String getPrometheusBindAddress() {
+        return prometheusBindAddress;
+    }
+
+    public int getPrometheusPort() {
+        return prometheusPort;
+    }
+
     // Database getters
     @SuppressWarnings("unused")
     public String getDatabaseType() {
@@ -378,4 +471,70 @@ public class ConfigManager {
         return mysqlUseSsl;
     }
 
-}
\ No newline at end of file
+    public boolean isMysqlFallbackToSqlite() {
+        return mysqlFallbackToSqlite;
+    }
+
+    public boolean isDatabaseInstrumentationEnabled() {
+        return databaseInstrumentationEnabled;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    public MainThreadIoDetector.Mode getMainThreadIoMode() {
+        return mainThreadIoMode;
+    }
+
+    public int getMainThreadIoStackSampleInterval() {
+        return mainThreadIoStackSampleInterval;
+    }
+
+    // Backup getters
+    public boolean isBackupEnabled() {
+        return backupEnabled;
+    }
+
+    public int getBackupIntervalMinutes() {
+        return backupIntervalMinutes;
+    }
+
+    public int getBackupRetention() {
+        return backupRetention;
+    }
+
+    public int getBackupBatchRows() {
+        return backupBatchRows;
+    }
+
+    public int getBackupPagesPerStep() {
+        return backupPagesPerStep;
+    }
+
+    public long getBackupThrottleMs() {
+        return backupThrottleMs;
+    }
+
+    // Maintenance getters
+    public boolean isMaintenanceEnabled() {
+        return maintenanceEnabled;
+    }
+
+    public int getMaintenanceIntervalMinutes() {
+        return maintenanceIntervalMinutes;
+    }
+
+    public int getMaintenanceMaxPlayers() {
+        return maintenanceMaxPlayers;
+    }
+
+    public int getMaintenanceSliceIntervalSeconds() {
+        return maintenanceSliceIntervalSeconds;
+    }
+
+    public int getMaintenanceVacuumPagesPerSlice() {
+        return maintenanceVacuumPagesPerSlice;
+    }
+
+}
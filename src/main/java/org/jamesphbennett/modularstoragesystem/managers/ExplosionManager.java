@@ -185,7 +185,10 @@ public class ExplosionManager {
                 // Find a remaining block from this network to test from
                 try (Connection conn = plugin.getDatabaseManager().getConnection();
                      PreparedStatement stmt = conn.prepareStatement(
-                             "SELECT world_name, x, y, z FROM network_blocks WHERE network_id = ? LIMIT 1")) {
+                             "SELECT w.world_name, nb.x, nb.y, nb.z FROM network_blocks nb " +
+                             "JOIN networks n ON n.network_key = nb.network_key " +
+                             "JOIN worlds w ON w.world_id = nb.world_id " +
+                             "WHERE n.network_id = ? LIMIT 1")) {
 
                     stmt.setString(1, networkId);
                     try (ResultSet rs = stmt.executeQuery()) {
@@ -228,8 +231,8 @@ public class ExplosionManager {
         try {
             plugin.getDatabaseManager().executeTransaction(conn -> {
                 try (PreparedStatement stmt = conn.prepareStatement(
-                        "DELETE FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
-                    stmt.setString(1, location.getWorld().getName());
+                        "DELETE FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
+                    stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                     stmt.setInt(2, location.getBlockX());
                     stmt.setInt(3, location.getBlockY());
                     stmt.setInt(4, location.getBlockZ());
@@ -307,9 +310,9 @@ public class ExplosionManager {
     private boolean isMarkedAsCustomBlock(Location location, String blockType) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
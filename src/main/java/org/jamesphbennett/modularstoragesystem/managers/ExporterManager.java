@@ -10,6 +10,9 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
+import org.jamesphbennett.modularstoragesystem.jfr.AutomationCycleEvent;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
 import org.jamesphbennett.modularstoragesystem.storage.StoredItem;
 
 import java.sql.Connection;
@@ -17,7 +20,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
 
 public class ExporterManager implements org.jamesphbennett.modularstoragesystem.network.NetworkManager.NetworkUpdateListener {
 
@@ -25,6 +30,9 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
     private final Map<String, ExporterData> activeExporters = new ConcurrentHashMap<>();
     private final Map<String, Integer> exporterCycleIndex = new ConcurrentHashMap<>();
 
+    // Exporters with a retrieval still in flight, skipped until it completes so they never double export
+    private final Set<String> exportsInFlight = ConcurrentHashMap.newKeySet();
+
     public ExporterManager(ModularStorageSystem plugin) {
         this.plugin = plugin;
         loadExporters();
@@ -79,8 +87,8 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
     private void loadExporters() {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT e.exporter_id, e.network_id, e.world_name, e.x, e.y, e.z, e.enabled, e.last_export " +
-                             "FROM exporters e")) {
+                     "SELECT e.exporter_id, e.network_id, w.world_name, e.x, e.y, e.z, e.enabled, e.last_export " +
+                             "FROM exporters e JOIN worlds w ON w.world_id = e.world_id")) {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -135,6 +143,10 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
         int tickInterval = plugin.getConfigManager().getExportTickInterval();
 
         plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            long timer = plugin.getMetrics().startTimer();
+            AutomationCycleEvent event = new AutomationCycleEvent();
+            event.begin();
+
             // Get max exporters to process per tick from config
             int maxExportersPerTick = plugin.getConfigManager().getMaxExportersPerTick();
             int processedCount = 0;
@@ -156,6 +168,14 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             if (processedCount >= maxExportersPerTick && activeExporters.size() > processedCount) {
                 plugin.debugLog("Exporter rate limit reached: processed " + processedCount + " of " + activeExporters.size() + " active exporters");
             }
+
+            if (event.shouldCommit()) {
+                event.automation = "export";
+                event.active = activeExporters.size();
+                event.processed = processedCount;
+                event.commit();
+            }
+            plugin.getMetrics().stopTimer(MetricsRegistry.Subsystem.EXPORT, timer);
         }, tickInterval, tickInterval);
 
         // Network assignment updates are now handled via NetworkUpdateListener callbacks
@@ -292,24 +312,40 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
                 return; // Inventory is completely full
             }
 
+            // Previous export for this exporter is still running
+            if (!exportsInFlight.add(exporter.exporterId)) {
+                return;
+            }
+
             // Check if this is a brewing stand and handle specially
             Material containerType = targetContainer.getBlock().getType();
             boolean isBrewingStand = containerType == Material.BREWING_STAND;
-            
-            if (isBrewingStand) {
-                // Use brewing stand specific logic that handles slot selection internally
-                exportBrewingStandWithSlotSelection(exporter, targetContainer);
-            } else {
+            ExporterData target = exporter;
+
+            // Network contents are read off the main thread, selection and placement continue on it
+            plugin.getStorageManager().getNetworkItemsAsync(target.networkId).thenCompose(networkItems -> {
+                Set<String> availableHashes = getAvailableHashes(networkItems);
+
+                if (isBrewingStand) {
+                    // Use brewing stand specific logic that handles slot selection internally
+                    return exportBrewingStandWithSlotSelection(target, targetContainer, availableHashes);
+                }
+
                 // Use regular round-robin for other containers
-                String itemHashToExport = getNextItemToExport(exporter);
-                
+                String itemHashToExport = getNextItemToExport(target, availableHashes);
+
                 if (itemHashToExport == null) {
-                    return; // No items to export
+                    return CompletableFuture.<Void>completedFuture(null); // No items to export
                 }
 
                 // Try to export the item with slot-specific routing
-                exportItemWithSlotRouting(exporter, itemHashToExport, targetContainer);
-            }
+                return exportItemWithSlotRouting(target, itemHashToExport, targetContainer);
+            }).whenComplete((result, error) -> {
+                exportsInFlight.remove(target.exporterId);
+                if (error != null) {
+                    plugin.getLogger().severe("Error processing export for " + target.exporterId + ": " + DatabaseExecutor.unwrap(error).getMessage());
+                }
+            });
 
         } catch (Exception e) {
             plugin.getLogger().severe("Error processing export for " + exporter.exporterId + ": " + e.getMessage());
@@ -404,7 +440,7 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
     /**
      * Get the next item to export using round-robin
      */
-    private String getNextItemToExport(ExporterData exporter) {
+    private String getNextItemToExport(ExporterData exporter, Set<String> availableHashes) {
         if (exporter.filterItems.isEmpty()) {
             return null;
         }
@@ -417,14 +453,10 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             String itemHash = exporter.filterItems.get(checkIndex);
 
             // Check if this item is available in the network
-            try {
-                if (isItemAvailableInNetwork(exporter.networkId, itemHash)) {
-                    // Update the cycle index for next time
-                    exporterCycleIndex.put(exporter.exporterId, (checkIndex + 1) % exporter.filterItems.size());
-                    return itemHash;
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error checking item availability: " + e.getMessage());
+            if (availableHashes.contains(itemHash)) {
+                // Update the cycle index for next time
+                exporterCycleIndex.put(exporter.exporterId, (checkIndex + 1) % exporter.filterItems.size());
+                return itemHash;
             }
         }
 
@@ -434,87 +466,98 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
     }
 
     /**
-     * Check if an item is available in the network
+     * Hashes of the items available in the network, built once per export instead of per filter
      */
-    private boolean isItemAvailableInNetwork(String networkId, String itemHash) throws Exception {
-        List<StoredItem> networkItems = plugin.getStorageManager().getNetworkItems(networkId);
+    private Set<String> getAvailableHashes(List<StoredItem> networkItems) {
+        Set<String> availableHashes = new HashSet<>();
         for (StoredItem item : networkItems) {
-            if (item.itemHash().equals(itemHash) && item.quantity() > 0) {
-                return true;
+            if (item.quantity() > 0) {
+                availableHashes.add(item.itemHash());
             }
         }
-        return false;
+        return availableHashes;
     }
 
     /**
-     * Export specific item with slot-specific routing for furnaces
+     * Whether the container snapshot still matches a loaded block, it may have been broken while a retrieval ran
      */
-    private void exportItemWithSlotRouting(ExporterData exporter, String itemHash, Container targetContainer) {
-        try {
-            // Check container type for specialized routing
-            Material containerType = targetContainer.getBlock().getType();
-            boolean isFurnace = containerType == Material.FURNACE || 
-                               containerType == Material.BLAST_FURNACE || 
-                               containerType == Material.SMOKER;
-            boolean isBrewingStand = containerType == Material.BREWING_STAND;
-
-            if (isFurnace) {
-                // Handle furnace slot routing
-                exportItemToFurnace(exporter, itemHash, targetContainer);
-            } else if (isBrewingStand) {
-                // Handle brewing stand slot routing
-                exportItemToBrewingStand(exporter, itemHash, targetContainer);
-            } else {
-                // Use generic export for other containers
-                exportItem(exporter, itemHash, targetContainer.getInventory());
-            }
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error in slot routing export: " + e.getMessage());
-        }
+    private boolean isContainerPresent(Container container) {
+        return container.getWorld().isChunkLoaded(container.getX() >> 4, container.getZ() >> 4) &&
+                container.getBlock().getType() == container.getType();
     }
 
     /**
-     * Export item to specific furnace slots based on filter slot targeting
+     * Retrieve up to one stack from the network and place it on the main thread, leftovers go back to the network
+     * @param placer Places the retrieved item and returns the amount that did not fit
      */
-    private void exportItemToFurnace(ExporterData exporter, String itemHash, Container furnaceContainer) {
-        try {
-            // Get slot targeting information for this item
-            String slotTarget = getSlotTargetForItem(exporter.exporterId, itemHash);
-
-            // Retrieve up to one stack from the network
-            ItemStack retrievedItem = plugin.getStorageManager().retrieveItems(exporter.networkId, itemHash, 64);
-            
+    private CompletableFuture<Void> retrieveAndPlace(ExporterData exporter, String itemHash, Container container, ToIntFunction<ItemStack> placer) {
+        return plugin.getStorageManager().retrieveItemsAsync(exporter.networkId, itemHash, 64).thenCompose(retrievedItem -> {
             if (retrievedItem == null || retrievedItem.getAmount() == 0) {
-                return; // Nothing retrieved
+                return CompletableFuture.completedFuture(null); // Nothing retrieved
             }
 
-            Inventory furnaceInventory = furnaceContainer.getInventory();
-            int targetSlot;
-
-            // Determine target slot based on filter type
-            if ("fuel".equals(slotTarget)) {
-                targetSlot = 1; // Fuel slot (bottom)
-            } else {
-                targetSlot = 0; // Input slot (top) - default for material and generic
+            if (!isContainerPresent(container)) {
+                // Target is gone, everything goes back
+                return handleExportCompletion(exporter, retrievedItem, retrievedItem.getAmount());
             }
 
-            // Try to add to the specific furnace slot with furnace-aware limits
-            int leftoverAmount = addItemToSpecificFurnaceSlot(furnaceInventory, retrievedItem, targetSlot);
-
-            // Handle leftovers and logging
-            handleExportCompletion(exporter, retrievedItem, leftoverAmount
-            );
+            // Placement is export work on the server thread, even though it runs after the export tick
+            long timer = plugin.getMetrics().startTimer();
+            int leftover = placer.applyAsInt(retrievedItem);
+            plugin.getMetrics().stopTimer(MetricsRegistry.Subsystem.EXPORT, timer);
+            return handleExportCompletion(exporter, retrievedItem, leftover);
+        });
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error exporting to furnace: " + e.getMessage());
+    /**
+     * Export specific item with slot-specific routing for furnaces
+     */
+    private CompletableFuture<Void> exportItemWithSlotRouting(ExporterData exporter, String itemHash, Container targetContainer) {
+        // Check container type for specialized routing
+        Material containerType = targetContainer.getBlock().getType();
+        boolean isFurnace = containerType == Material.FURNACE || 
+                           containerType == Material.BLAST_FURNACE || 
+                           containerType == Material.SMOKER;
+        boolean isBrewingStand = containerType == Material.BREWING_STAND;
+
+        if (isFurnace) {
+            // Handle furnace slot routing
+            return exportItemToFurnace(exporter, itemHash, targetContainer);
+        } else if (isBrewingStand) {
+            // Handle brewing stand slot routing
+            return exportItemToBrewingStand(exporter, itemHash, targetContainer);
+        } else {
+            // Use generic export for other containers
+            return exportItem(exporter, itemHash, targetContainer);
         }
     }
 
+    /**
+     * Export item to specific furnace slots based on filter slot targeting
+     */
+    private CompletableFuture<Void> exportItemToFurnace(ExporterData exporter, String itemHash, Container furnaceContainer) {
+        // Get slot targeting information for this item
+        return plugin.getDatabaseExecutor().supply(() -> getSlotTargetForItem(exporter.exporterId, itemHash))
+                .thenCompose(slotTarget -> retrieveAndPlace(exporter, itemHash, furnaceContainer, retrievedItem -> {
+                    Inventory furnaceInventory = furnaceContainer.getInventory();
+                    int targetSlot;
+
+                    // Determine target slot based on filter type
+                    if ("fuel".equals(slotTarget)) {
+                        targetSlot = 1; // Fuel slot (bottom)
+                    } else {
+                        targetSlot = 0; // Input slot (top) - default for material and generic
+                    }
+
+                    // Try to add to the specific furnace slot with furnace-aware limits
+                    return addItemToSpecificFurnaceSlot(furnaceInventory, retrievedItem, targetSlot);
+                }));
+    }
+
     /**
      * Export to brewing stand with integrated slot selection and export
      */
-    private void exportBrewingStandWithSlotSelection(ExporterData exporter, Container brewingStandContainer) {
+    private CompletableFuture<Void> exportBrewingStandWithSlotSelection(ExporterData exporter, Container brewingStandContainer, Set<String> availableHashes) {
         try {
             // Parse brewing stand filters from exporter filter items
             BrewingStandFilters brewingFilters = parseBrewingStandFilters(exporter.exporterId);
@@ -528,7 +571,7 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             if (brewingFilters.fuelEnabled) {
                 ItemStack blazePowder = new ItemStack(Material.BLAZE_POWDER);
                 String blazeHash = plugin.getItemManager().generateItemHash(blazePowder);
-                if (isItemAvailableInNetwork(exporter.networkId, blazeHash) && 
+                if (availableHashes.contains(blazeHash) && 
                     canPlaceItemInBrewingSlot(brewingInventory, blazePowder, 4)) {
                     potentialExports.add(new PotentialExport(blazeHash, 4, "fuel"));
                 }
@@ -537,7 +580,7 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             // Check ingredient filter - only if ingredient slot has space
             if (brewingFilters.ingredientFilter != null) {
                 String ingredientHash = plugin.getItemManager().generateItemHash(brewingFilters.ingredientFilter);
-                if (isItemAvailableInNetwork(exporter.networkId, ingredientHash) && 
+                if (availableHashes.contains(ingredientHash) && 
                     canPlaceItemInBrewingSlot(brewingInventory, brewingFilters.ingredientFilter, 3)) {
                     potentialExports.add(new PotentialExport(ingredientHash, 3, "ingredient"));
                 }
@@ -547,7 +590,7 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             for (int i = 0; i < 3; i++) {
                 if (brewingFilters.bottleFilters[i] != null) {
                     String bottleHash = plugin.getItemManager().generateItemHash(brewingFilters.bottleFilters[i]);
-                    if (isItemAvailableInNetwork(exporter.networkId, bottleHash) && 
+                    if (availableHashes.contains(bottleHash) && 
                         canPlaceItemInBrewingSlot(brewingInventory, brewingFilters.bottleFilters[i], i)) {
                         potentialExports.add(new PotentialExport(bottleHash, i, "bottle " + (i + 1)));
                     }
@@ -564,38 +607,25 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
                 exporterCycleIndex.put(exporter.exporterId, (currentIndex + 1) % potentialExports.size());
                 
                 // Now perform the actual export to the specific slot
-                exportItemToSpecificBrewingSlot(exporter, selectedExport.itemHash, selectedExport.targetSlot, brewingStandContainer);
+                return exportItemToSpecificBrewingSlot(exporter, selectedExport.itemHash, selectedExport.targetSlot, brewingStandContainer);
             }
             
         } catch (Exception e) {
             plugin.getLogger().severe("Error in brewing stand slot selection: " + e.getMessage());
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * Export item to a specific brewing stand slot (knows the exact slot to target)
      */
-    private void exportItemToSpecificBrewingSlot(ExporterData exporter, String itemHash, int targetSlot, Container brewingStandContainer) {
-        try {
-            // Retrieve item from network first
-            ItemStack retrievedItem = plugin.getStorageManager().retrieveItems(exporter.networkId, itemHash, 64);
-            
-            if (retrievedItem == null || retrievedItem.getAmount() == 0) {
-                return;
-            }
-
-            // Limit item amount to slot-appropriate stack size
+    private CompletableFuture<Void> exportItemToSpecificBrewingSlot(ExporterData exporter, String itemHash, int targetSlot, Container brewingStandContainer) {
+        return retrieveAndPlace(exporter, itemHash, brewingStandContainer, retrievedItem -> {
+            // Limit item amount to slot-appropriate stack size, the excess counts as leftover and goes back
             int maxAmount = getBrewingStandSlotMaxAmount(targetSlot, retrievedItem.getType());
-            if (retrievedItem.getAmount() > maxAmount) {
-                // Split the stack - keep what we can use, return the rest
-                ItemStack excess = retrievedItem.clone();
-                excess.setAmount(retrievedItem.getAmount() - maxAmount);
-                retrievedItem.setAmount(maxAmount);
-                
-                List<ItemStack> toReturn = new ArrayList<>();
-                toReturn.add(excess);
-                plugin.getStorageManager().storeItems(exporter.networkId, toReturn);
-            }
+            ItemStack toPlace = retrievedItem.clone();
+            toPlace.setAmount(Math.min(retrievedItem.getAmount(), maxAmount));
+            int excess = retrievedItem.getAmount() - toPlace.getAmount();
 
             // Try to place in the target slot
             Inventory brewingInventory = brewingStandContainer.getInventory();
@@ -604,46 +634,36 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
             int leftoverAmount = 0;
             if (existingItem == null || existingItem.getType() == Material.AIR) {
                 // Slot is empty, place the item
-                brewingInventory.setItem(targetSlot, retrievedItem);
-            } else if (existingItem.isSimilar(retrievedItem)) {
+                brewingInventory.setItem(targetSlot, toPlace);
+            } else if (existingItem.isSimilar(toPlace)) {
                 // Slot has same item, try to stack
                 int spaceAvailable = existingItem.getMaxStackSize() - existingItem.getAmount();
-                int amountToAdd = Math.min(spaceAvailable, retrievedItem.getAmount());
+                int amountToAdd = Math.min(spaceAvailable, toPlace.getAmount());
                 
                 if (amountToAdd > 0) {
                     existingItem.setAmount(existingItem.getAmount() + amountToAdd);
-                    leftoverAmount = retrievedItem.getAmount() - amountToAdd;
+                    leftoverAmount = toPlace.getAmount() - amountToAdd;
                 } else {
-                    leftoverAmount = retrievedItem.getAmount(); // No space
+                    leftoverAmount = toPlace.getAmount(); // No space
                 }
             } else {
                 // Slot has different item, can't place
-                leftoverAmount = retrievedItem.getAmount();
+                leftoverAmount = toPlace.getAmount();
             }
 
-            // Handle completion and leftovers
-            handleExportCompletion(exporter, retrievedItem, leftoverAmount);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error exporting to specific brewing stand slot: " + e.getMessage());
-        }
+            return excess + leftoverAmount;
+        });
     }
 
     /**
      * Export item to specific brewing stand slots based on brewing stand filter settings
      */
-    private void exportItemToBrewingStand(ExporterData exporter, String itemHash, Container brewingStandContainer) {
-        try {
-            // Parse brewing stand filters from exporter filter items
-            BrewingStandFilters brewingFilters = parseBrewingStandFilters(exporter.exporterId);
-            
-            // Retrieve item from network first (similar to furnace approach)
-            ItemStack retrievedItem = plugin.getStorageManager().retrieveItems(exporter.networkId, itemHash, 64);
-
-            if (retrievedItem == null || retrievedItem.getAmount() == 0) {
-                return; // Nothing retrieved
-            }
+    private CompletableFuture<Void> exportItemToBrewingStand(ExporterData exporter, String itemHash, Container brewingStandContainer) {
+        // Parse brewing stand filters from exporter filter items
+        BrewingStandFilters brewingFilters = parseBrewingStandFilters(exporter.exporterId);
 
+        // Retrieve item from network first (similar to furnace approach)
+        return retrieveAndPlace(exporter, itemHash, brewingStandContainer, retrievedItem -> {
             Material itemType = retrievedItem.getType();
 
             // Determine target slot based on item type and filters
@@ -651,23 +671,13 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
 
             if (targetSlot == -1) {
                 // No valid target slot - return items to network
-                List<ItemStack> toReturn = new ArrayList<>();
-                toReturn.add(retrievedItem);
-                plugin.getStorageManager().storeItems(exporter.networkId, toReturn);
-                return;
+                return retrievedItem.getAmount();
             }
 
             // Try to place in the target slot with proper leftover handling
             Inventory brewingInventory = brewingStandContainer.getInventory();
-            int leftoverAmount = addItemToSpecificBrewingSlot(brewingInventory, retrievedItem, targetSlot);
-
-            // Handle completion and leftovers (single leftover handling)
-            handleExportCompletion(exporter, retrievedItem, leftoverAmount
-            );
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error exporting to brewing stand: " + e.getMessage());
-        }
+            return addItemToSpecificBrewingSlot(brewingInventory, retrievedItem, targetSlot);
+        });
     }
 
     private static int getTargetSlot(Material itemType, BrewingStandFilters brewingFilters) {
@@ -892,80 +902,51 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
     /**
      * Handle export completion (leftovers, logging, etc.)
      */
-    private void handleExportCompletion(ExporterData exporter, ItemStack retrievedItem, 
+    private CompletableFuture<Void> handleExportCompletion(ExporterData exporter, ItemStack retrievedItem, 
                                        int leftoverAmount) {
-        try {
-            // If there's leftover, put it back in the network
-            if (leftoverAmount > 0) {
-                ItemStack leftoverStack = retrievedItem.clone();
-                leftoverStack.setAmount(leftoverAmount);
-
-                List<ItemStack> toReturn = new ArrayList<>();
-                toReturn.add(leftoverStack);
-                plugin.getStorageManager().storeItems(exporter.networkId, toReturn);
-
-                // Calculate what was actually exported
-                int exported = retrievedItem.getAmount() - leftoverAmount;
-                if (exported > 0) {
-                    exporter.lastExport = System.currentTimeMillis();
-                    updateLastExport(exporter.exporterId);
-                }
-            } else {
-                // Everything was exported successfully
-                exporter.lastExport = System.currentTimeMillis();
-                updateLastExport(exporter.exporterId);
-            }
-
-            // Refresh any open terminals
-            plugin.getGUIManager().refreshNetworkTerminals(exporter.networkId);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error handling export completion: " + e.getMessage());
+        // Calculate what was actually exported
+        int exported = retrievedItem.getAmount() - leftoverAmount;
+        if (exported > 0) {
+            plugin.getMetrics().counter("items_exported").add(exported);
+            exporter.lastExport = System.currentTimeMillis();
+            updateLastExport(exporter.exporterId);
         }
-    }
 
-    /**
-     * FIXED: Export an item to the target inventory with stack optimization (legacy method for non-furnaces)
-     */
-    private void exportItem(ExporterData exporter, String itemHash, Inventory targetInventory) {
-        try {
-            // Retrieve up to one stack from the network
-            ItemStack retrievedItem = plugin.getStorageManager().retrieveItems(exporter.networkId, itemHash, 64);
+        if (leftoverAmount <= 0) {
+            // Everything was exported successfully, refresh any open terminals
+            plugin.getGUIManager().updateNetworkTerminals(exporter.networkId);
+            return CompletableFuture.completedFuture(null);
+        }
 
-            if (retrievedItem == null || retrievedItem.getAmount() == 0) {
-                return; // Nothing retrieved
+        // If there's leftover, put it back in the network
+        ItemStack leftoverStack = retrievedItem.clone();
+        leftoverStack.setAmount(leftoverAmount);
+
+        List<ItemStack> toReturn = new ArrayList<>();
+        toReturn.add(leftoverStack);
+        return plugin.getStorageManager().storeItemsAsync(exporter.networkId, toReturn).handle((remainders, error) -> {
+            // Items the network no longer has room for are dropped at the exporter rather than lost
+            List<ItemStack> toDrop = error != null ? toReturn : remainders;
+            for (ItemStack item : toDrop) {
+                exporter.location.getWorld().dropItemNaturally(exporter.location, item);
             }
-
-            // Try to add to target inventory with stack optimization
-            int leftoverAmount = addItemWithStackOptimization(targetInventory, retrievedItem);
-
-            // If there's leftover, put it back in the network
-            if (leftoverAmount > 0) {
-                ItemStack leftoverStack = retrievedItem.clone();
-                leftoverStack.setAmount(leftoverAmount);
-
-                List<ItemStack> toReturn = new ArrayList<>();
-                toReturn.add(leftoverStack);
-                plugin.getStorageManager().storeItems(exporter.networkId, toReturn);
-
-                // Calculate what was actually exported
-                int exported = retrievedItem.getAmount() - leftoverAmount;
-                if (exported > 0) {
-                    exporter.lastExport = System.currentTimeMillis();
-                    updateLastExport(exporter.exporterId);
-                }
-            } else {
-                // Everything was exported successfully
-                exporter.lastExport = System.currentTimeMillis();
-                updateLastExport(exporter.exporterId);
+            if (error != null) {
+                plugin.getLogger().severe("Error handling export completion: " + DatabaseExecutor.unwrap(error).getMessage());
             }
 
             // Refresh any open terminals
-            plugin.getGUIManager().refreshNetworkTerminals(exporter.networkId);
+            plugin.getGUIManager().updateNetworkTerminals(exporter.networkId);
+            return null;
+        });
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error exporting item: " + e.getMessage());
-        }
+    /**
+     * FIXED: Export an item to the target inventory with stack optimization (legacy method for non-furnaces)
+     */
+    private CompletableFuture<Void> exportItem(ExporterData exporter, String itemHash, Container targetContainer) {
+        // Retrieve up to one stack from the network, then add to target inventory with stack optimization
+        return retrieveAndPlace(exporter, itemHash, targetContainer, retrievedItem ->
+                addItemWithStackOptimization(targetContainer.getInventory(), retrievedItem));
     }
 
     /**
@@ -1268,8 +1249,8 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
         String finalNetworkId = (networkId != null) ? networkId : "UNCONNECTED";
 
         plugin.getDatabaseManager().executeUpdate(
-                "INSERT INTO exporters (exporter_id, network_id, world_name, x, y, z, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
-                exporterId, finalNetworkId, location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ(), false);
+                "INSERT INTO exporters (exporter_id, network_id, world_id, x, y, z, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                exporterId, finalNetworkId, plugin.getDatabaseManager().getOrCreateWorldId(location.getWorld().getName()), location.getBlockX(), location.getBlockY(), location.getBlockZ(), false);
 
         // Add to memory
         ExporterData exporterData = new ExporterData(exporterId, finalNetworkId, location, false);
@@ -1371,13 +1352,12 @@ public class ExporterManager implements org.jamesphbennett.modularstoragesystem.
      * Update last export timestamp
      */
     private void updateLastExport(String exporterId) {
-        try {
-            plugin.getDatabaseManager().executeUpdate(
-                    "UPDATE exporters SET last_export = CURRENT_TIMESTAMP WHERE exporter_id = ?",
-                    exporterId);
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to update last export timestamp: " + e.getMessage());
-        }
+        plugin.getDatabaseExecutor().run(() -> plugin.getDatabaseManager().executeUpdate(
+                "UPDATE exporters SET last_export = CURRENT_TIMESTAMP WHERE exporter_id = ?",
+                exporterId)).exceptionally(error -> {
+            plugin.getLogger().warning("Failed to update last export timestamp: " + DatabaseExecutor.unwrap(error).getMessage());
+            return null;
+        });
     }
 
 
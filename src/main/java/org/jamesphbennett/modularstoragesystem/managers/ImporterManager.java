@@ -10,12 +10,16 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseExecutor;
+import org.jamesphbennett.modularstoragesystem.jfr.AutomationCycleEvent;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ImporterManager implements org.jamesphbennett.modularstoragesystem.network.NetworkManager.NetworkUpdateListener {
@@ -24,6 +28,9 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
     private final Map<String, ImporterData> activeImporters = new ConcurrentHashMap<>();
     private final Map<String, Integer> importerCycleIndex = new ConcurrentHashMap<>();
 
+    // Importers with a store still in flight, skipped until it completes so slots are never imported twice
+    private final Set<String> importsInFlight = ConcurrentHashMap.newKeySet();
+
     public ImporterManager(ModularStorageSystem plugin) {
         this.plugin = plugin;
         loadImporters();
@@ -82,8 +89,8 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
     private void loadImporters() {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT i.importer_id, i.network_id, i.world_name, i.x, i.y, i.z, i.enabled, i.bottle_xp, i.eject_buckets, i.last_import " +
-                             "FROM importers i")) {
+                     "SELECT i.importer_id, i.network_id, w.world_name, i.x, i.y, i.z, i.enabled, i.bottle_xp, i.eject_buckets, i.last_import " +
+                             "FROM importers i JOIN worlds w ON w.world_id = i.world_id")) {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -140,6 +147,10 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
         int tickInterval = plugin.getConfigManager().getExportTickInterval(); // Use same interval as exporters
 
         plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            long timer = plugin.getMetrics().startTimer();
+            AutomationCycleEvent event = new AutomationCycleEvent();
+            event.begin();
+
             // Get max importers to process per tick from config
             int maxImportersPerTick = plugin.getConfigManager().getMaxImportersPerTick();
             int processedCount = 0;
@@ -161,6 +172,14 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
             if (processedCount >= maxImportersPerTick && activeImporters.size() > processedCount) {
                 plugin.debugLog("Importer rate limit reached: processed " + processedCount + " of " + activeImporters.size() + " active importers");
             }
+
+            if (event.shouldCommit()) {
+                event.automation = "import";
+                event.active = activeImporters.size();
+                event.processed = processedCount;
+                event.commit();
+            }
+            plugin.getMetrics().stopTimer(MetricsRegistry.Subsystem.IMPORT, timer);
         }, tickInterval, tickInterval);
 
         // Network assignment updates are now handled via NetworkUpdateListener callbacks
@@ -282,7 +301,10 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
                 return; // No valid target
             }
 
-            Inventory targetInventory = targetContainer.getInventory();
+            // Previous import for this importer is still running
+            if (!importsInFlight.add(importer.importerId)) {
+                return;
+            }
 
             // Check container type for specialized slot handling
             Material containerType = targetContainer.getBlock().getType();
@@ -290,19 +312,29 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
                                containerType == Material.BLAST_FURNACE || 
                                containerType == Material.SMOKER;
             boolean isBrewingStand = containerType == Material.BREWING_STAND;
-            
+
+            CompletableFuture<Void> importFuture;
             if (isFurnace) {
                 // Import from furnace output slot only
-                importFromFurnace(importer, targetContainer);
+                importFuture = importFromFurnace(importer, targetContainer);
             } else if (isBrewingStand) {
                 // Import from brewing stand bottom potion slots only
-                importFromBrewingStand(importer, targetContainer);
+                importFuture = importFromBrewingStand(importer, targetContainer);
             } else {
                 // Import from any slot in other containers
-                importFromGenericContainer(importer, targetInventory);
+                importFuture = importFromGenericContainer(importer, targetContainer);
             }
 
+            String importerId = importer.importerId;
+            importFuture.whenComplete((result, error) -> {
+                importsInFlight.remove(importerId);
+                if (error != null) {
+                    plugin.getLogger().severe("Error processing import for " + importerId + ": " + DatabaseExecutor.unwrap(error).getMessage());
+                }
+            });
+
         } catch (Exception e) {
+            importsInFlight.remove(importer.importerId);
             plugin.getLogger().severe("Error processing import for " + importer.importerId + ": " + e.getMessage());
         }
     }
@@ -310,362 +342,338 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
     /**
      * Import from furnace output slot (slot 2)
      */
-    private void importFromFurnace(ImporterData importer, Container furnaceContainer) {
-        try {
-            Inventory furnaceInventory = furnaceContainer.getInventory();
-            int outputSlot = 2; // Furnace output slot
-
-            ItemStack outputItem = furnaceInventory.getItem(outputSlot);
-            if (outputItem == null || outputItem.getType().isAir()) {
-                // Even if no output, check for XP bottling
-                if (importer.bottleXp) {
-                    bottleFurnaceXp(importer, furnaceContainer);
-                }
-                return; // No items to import
-            }
+    private CompletableFuture<Void> importFromFurnace(ImporterData importer, Container furnaceContainer) {
+        Inventory furnaceInventory = furnaceContainer.getInventory();
+        int outputSlot = 2; // Furnace output slot
+
+        ItemStack outputItem = furnaceInventory.getItem(outputSlot);
+        if (outputItem == null || outputItem.getType().isAir()) {
+            // Even if no output, check for XP bottling
+            return importer.bottleXp ? bottleFurnaceXp(importer, furnaceContainer) : CompletableFuture.completedFuture(null);
+        }
 
-            // Check filter if enabled
-            if (!importer.filterItems.isEmpty()) {
-                String itemHash = plugin.getItemManager().generateItemHash(outputItem);
-                if (!importer.filterItems.contains(itemHash)) {
-                    // Item not in filter, but still check for XP bottling
-                    if (importer.bottleXp) {
-                        bottleFurnaceXp(importer, furnaceContainer);
-                    }
-                    return; // Item not in filter
-                }
+        // Check filter if enabled
+        if (!importer.filterItems.isEmpty()) {
+            String itemHash = plugin.getItemManager().generateItemHash(outputItem);
+            if (!importer.filterItems.contains(itemHash)) {
+                // Item not in filter, but still check for XP bottling
+                return importer.bottleXp ? bottleFurnaceXp(importer, furnaceContainer) : CompletableFuture.completedFuture(null);
             }
+        }
 
-            // Try to store the item in the network
-            List<ItemStack> itemsToStore = new ArrayList<>();
-            itemsToStore.add(outputItem.clone());
-
-            List<ItemStack> leftoverItems = plugin.getStorageManager().storeItems(importer.networkId, itemsToStore);
-
-            // Calculate what was actually imported
-            int originalAmount = outputItem.getAmount();
-            int leftoverAmount = leftoverItems.isEmpty() ? 0 : leftoverItems.getFirst().getAmount();
-            int importedAmount = originalAmount - leftoverAmount;
-
+        // Try to store the item in the network
+        return importSlot(importer, furnaceContainer, outputSlot, outputItem).thenCompose(importedAmount -> {
             if (importedAmount > 0) {
-                // Remove imported items from furnace
-                if (leftoverAmount == 0) {
-                    furnaceInventory.setItem(outputSlot, null);
-                } else {
-                    outputItem.setAmount(leftoverAmount);
-                    furnaceInventory.setItem(outputSlot, outputItem);
-                }
-
-                importer.lastImport = System.currentTimeMillis();
-                updateLastImport(importer.importerId);
-
-                // Refresh any open terminals
-                plugin.getGUIManager().refreshNetworkTerminals(importer.networkId);
+                markImported(importer);
             }
 
             // After importing items, check for XP bottling
-            if (importer.bottleXp) {
-                bottleFurnaceXp(importer, furnaceContainer);
-            }
-
-            // After importing items and bottling XP, check for bucket ejection
-            if (importer.ejectBuckets) {
-                ejectEmptyBuckets(importer, furnaceInventory);
-            }
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error importing from furnace: " + e.getMessage());
-        }
+            return importer.bottleXp ? bottleFurnaceXp(importer, furnaceContainer) : CompletableFuture.<Void>completedFuture(null);
+        }).thenCompose(ignored ->
+                // After importing items and bottling XP, check for bucket ejection
+                importer.ejectBuckets ? ejectEmptyBuckets(importer, furnaceContainer) : CompletableFuture.<Void>completedFuture(null));
     }
 
     /**
      * Bottle XP from a furnace if enough XP is available
      */
-    private void bottleFurnaceXp(ImporterData importer, Container furnaceContainer) {
-        try {
-            if (!importer.enabled || !importer.bottleXp) {
-                return;
-            }
-
-            if (!(furnaceContainer instanceof org.bukkit.block.Furnace furnace)) {
-                return; // Not a furnace
-            }
-
-            // Calculate total XP from recipes used
-            Map<org.bukkit.inventory.CookingRecipe<?>, Integer> recipesUsed = furnace.getRecipesUsed();
-            if (recipesUsed.isEmpty()) {
-                return; // No XP to bottle
-            }
+    private CompletableFuture<Void> bottleFurnaceXp(ImporterData importer, Container furnaceContainer) {
+        if (!importer.enabled || !importer.bottleXp) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            float totalXp = 0.0f;
-            for (Map.Entry<org.bukkit.inventory.CookingRecipe<?>, Integer> entry : recipesUsed.entrySet()) {
-                totalXp += entry.getKey().getExperience() * entry.getValue();
-            }
+        if (!(furnaceContainer instanceof org.bukkit.block.Furnace furnace)) {
+            return CompletableFuture.completedFuture(null); // Not a furnace
+        }
 
-            // Check if we have enough XP (12 XP minimum for one bottle)
-            // We take 12 XP per bottle (more than the max 11 XP drop) to ensure a cost
-            if (totalXp < 12.0f) {
-                return; // Not enough XP
-            }
+        // Check if we have enough XP (12 XP minimum for one bottle)
+        // We take 12 XP per bottle (more than the max 11 XP drop) to ensure a cost
+        float totalXp = getStoredXp(furnace);
+        if (totalXp < 12.0f) {
+            return CompletableFuture.completedFuture(null); // Not enough XP
+        }
 
-            // Calculate how many bottles we can make
-            int bottlesToMake = (int) (totalXp / 12.0f);
-            if (bottlesToMake == 0) {
-                return;
-            }
+        // Calculate how many bottles we can make
+        int bottlesToMake = (int) (totalXp / 12.0f);
+        if (bottlesToMake == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Check if we have glass bottles in the network
-            ItemStack glassBottleTemplate = new ItemStack(Material.GLASS_BOTTLE, 1);
-            String glassBottleHash = plugin.getItemManager().generateItemHash(glassBottleTemplate);
-
-            // Try to retrieve glass bottles from network
-            ItemStack retrievedBottles;
-            try {
-                retrievedBottles = plugin.getStorageManager().retrieveItems(importer.networkId, glassBottleHash, bottlesToMake);
-            } catch (Exception e) {
-                plugin.debugLog("Error retrieving glass bottles: " + e.getMessage());
-                return; // Failed to retrieve
-            }
+        // Check if we have glass bottles in the network
+        ItemStack glassBottleTemplate = new ItemStack(Material.GLASS_BOTTLE, 1);
+        String glassBottleHash = plugin.getItemManager().generateItemHash(glassBottleTemplate);
 
+        // Try to retrieve glass bottles from network
+        return plugin.getStorageManager().retrieveItemsAsync(importer.networkId, glassBottleHash, bottlesToMake).thenCompose(retrievedBottles -> {
             if (retrievedBottles == null || retrievedBottles.getAmount() == 0) {
-                return; // No glass bottles available
+                return CompletableFuture.<Void>completedFuture(null); // No glass bottles available
             }
 
             int glassBottlesRetrieved = retrievedBottles.getAmount();
 
-            // Create experience bottles
-            int bottlesToCreate = Math.min(bottlesToMake, glassBottlesRetrieved);
-            ItemStack expBottles = new ItemStack(Material.EXPERIENCE_BOTTLE, bottlesToCreate);
-
-            // Store experience bottles in network
-            List<ItemStack> expBottlesToStore = new ArrayList<>();
-            expBottlesToStore.add(expBottles);
-            List<ItemStack> leftoverExpBottles = plugin.getStorageManager().storeItems(importer.networkId, expBottlesToStore);
-
-            // Calculate how many were actually stored
-            int expBottlesStored = bottlesToCreate - (leftoverExpBottles.isEmpty() ? 0 : leftoverExpBottles.getFirst().getAmount());
-
-            if (expBottlesStored > 0) {
-                // Successfully bottled XP!
-                // Calculate XP used (12 XP per bottle - more than max 11 XP drop to ensure cost)
-                float xpUsed = expBottlesStored * 12.0f;
-
-                // Reduce recipe counts proportionally
-                float xpRemaining = totalXp - xpUsed;
-                if (xpRemaining < 0.01f) {
-                    // Clear all recipe counts if we used all XP
-                    for (org.bukkit.inventory.CookingRecipe<?> recipe : recipesUsed.keySet()) {
-                        furnace.setRecipeUsedCount(recipe, 0);
-                    }
-                } else {
-                    // Proportionally reduce recipe counts
-                    float reductionRatio = xpRemaining / totalXp;
-                    for (Map.Entry<org.bukkit.inventory.CookingRecipe<?>, Integer> entry : recipesUsed.entrySet()) {
-                        int newCount = (int) Math.floor(entry.getValue() * reductionRatio);
-                        furnace.setRecipeUsedCount(entry.getKey(), newCount);
-                    }
-                }
+            // Re-read the furnace, it may have changed or been broken while the bottles were retrieved
+            int bottlesToCreate = 0;
+            if (isContainerPresent(furnaceContainer) &&
+                    furnaceContainer.getBlock().getState() instanceof org.bukkit.block.Furnace currentFurnace) {
+                float currentXp = getStoredXp(currentFurnace);
+                bottlesToCreate = Math.min((int) (currentXp / 12.0f), glassBottlesRetrieved);
 
-                // Save the furnace state changes
-                furnace.update();
+                if (bottlesToCreate > 0) {
+                    // Calculate XP used (12 XP per bottle - more than max 11 XP drop to ensure cost)
+                    deductXp(currentFurnace, currentXp, bottlesToCreate * 12.0f);
 
-                // Return unused glass bottles if any
-                int unusedGlassBottles = glassBottlesRetrieved - expBottlesStored;
-                if (unusedGlassBottles > 0) {
-                    ItemStack unusedBottles = new ItemStack(Material.GLASS_BOTTLE, unusedGlassBottles);
-                    List<ItemStack> unusedList = new ArrayList<>();
-                    unusedList.add(unusedBottles);
-                    plugin.getStorageManager().storeItems(importer.networkId, unusedList);
+                    // Save the furnace state changes
+                    currentFurnace.update();
                 }
+            }
 
-                // Refresh terminals
-                plugin.getGUIManager().refreshNetworkTerminals(importer.networkId);
-            } else {
-                // Failed to store exp bottles, return glass bottles
-                List<ItemStack> returnList = new ArrayList<>();
-                returnList.add(retrievedBottles);
-                plugin.getStorageManager().storeItems(importer.networkId, returnList);
+            // Store experience bottles and return unused glass bottles in one write
+            List<ItemStack> toStore = new ArrayList<>();
+            if (bottlesToCreate > 0) {
+                toStore.add(new ItemStack(Material.EXPERIENCE_BOTTLE, bottlesToCreate));
+            }
+            int unusedGlassBottles = glassBottlesRetrieved - bottlesToCreate;
+            if (unusedGlassBottles > 0) {
+                toStore.add(new ItemStack(Material.GLASS_BOTTLE, unusedGlassBottles));
             }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error bottling furnace XP: " + e.getMessage());
-            e.printStackTrace();
+            boolean bottled = bottlesToCreate > 0;
+            return plugin.getStorageManager().storeItemsAsync(importer.networkId, toStore).handle((leftovers, error) -> {
+                // The XP is already spent, anything the network can't hold is dropped at the furnace instead of lost
+                for (ItemStack leftover : error != null ? toStore : leftovers) {
+                    dropAtContainer(furnaceContainer, leftover);
+                }
+                if (error != null) {
+                    plugin.getLogger().severe("Error bottling furnace XP: " + DatabaseExecutor.unwrap(error).getMessage());
+                }
+
+                if (bottled) {
+                    // Refresh terminals
+                    plugin.getGUIManager().updateNetworkTerminals(importer.networkId);
+                }
+                return null;
+            });
+        });
+    }
+
+    /**
+     * Total XP stored in a furnace from the recipes it has smelted
+     */
+    private float getStoredXp(org.bukkit.block.Furnace furnace) {
+        float totalXp = 0.0f;
+        for (Map.Entry<org.bukkit.inventory.CookingRecipe<?>, Integer> entry : furnace.getRecipesUsed().entrySet()) {
+            totalXp += entry.getKey().getExperience() * entry.getValue();
         }
+        return totalXp;
     }
 
     /**
-     * Eject empty buckets from furnace fuel slot into network
+     * Reduce a furnace's recipe counts so its stored XP drops by the given amount
      */
-    private void ejectEmptyBuckets(ImporterData importer, Inventory furnaceInventory) {
-        try {
-            if (!importer.enabled || !importer.ejectBuckets) {
-                return;
+    private void deductXp(org.bukkit.block.Furnace furnace, float totalXp, float xpUsed) {
+        Map<org.bukkit.inventory.CookingRecipe<?>, Integer> recipesUsed = furnace.getRecipesUsed();
+
+        // Reduce recipe counts proportionally
+        float xpRemaining = totalXp - xpUsed;
+        if (xpRemaining < 0.01f) {
+            // Clear all recipe counts if we used all XP
+            for (org.bukkit.inventory.CookingRecipe<?> recipe : recipesUsed.keySet()) {
+                furnace.setRecipeUsedCount(recipe, 0);
             }
-
-            int fuelSlot = 1; // Furnace fuel slot
-            ItemStack fuelItem = furnaceInventory.getItem(fuelSlot);
-
-            // Check if the fuel slot contains an empty bucket
-            if (fuelItem == null || fuelItem.getType() != Material.BUCKET) {
-                return; // No empty bucket to eject
+        } else {
+            // Proportionally reduce recipe counts
+            float reductionRatio = xpRemaining / totalXp;
+            for (Map.Entry<org.bukkit.inventory.CookingRecipe<?>, Integer> entry : recipesUsed.entrySet()) {
+                int newCount = (int) Math.floor(entry.getValue() * reductionRatio);
+                furnace.setRecipeUsedCount(entry.getKey(), newCount);
             }
+        }
+    }
 
-            // Try to store the empty bucket(s) in the network
-            List<ItemStack> bucketsToStore = new ArrayList<>();
-            bucketsToStore.add(fuelItem.clone());
+    /**
+     * Eject empty buckets from furnace fuel slot into network
+     */
+    private CompletableFuture<Void> ejectEmptyBuckets(ImporterData importer, Container furnaceContainer) {
+        if (!importer.enabled || !importer.ejectBuckets) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            List<ItemStack> leftoverBuckets = plugin.getStorageManager().storeItems(importer.networkId, bucketsToStore);
+        int fuelSlot = 1; // Furnace fuel slot
+        ItemStack fuelItem = furnaceContainer.getInventory().getItem(fuelSlot);
 
-            // Calculate what was actually stored
-            int originalAmount = fuelItem.getAmount();
-            int leftoverAmount = leftoverBuckets.isEmpty() ? 0 : leftoverBuckets.getFirst().getAmount();
-            int storedAmount = originalAmount - leftoverAmount;
+        // Check if the fuel slot contains an empty bucket
+        if (fuelItem == null || fuelItem.getType() != Material.BUCKET) {
+            return CompletableFuture.completedFuture(null); // No empty bucket to eject
+        }
 
+        // Try to store the empty bucket(s) in the network
+        return importSlot(importer, furnaceContainer, fuelSlot, fuelItem).thenAccept(storedAmount -> {
             if (storedAmount > 0) {
-                // Remove stored buckets from furnace fuel slot
-                if (leftoverAmount == 0) {
-                    furnaceInventory.setItem(fuelSlot, null);
-                } else {
-                    fuelItem.setAmount(leftoverAmount);
-                    furnaceInventory.setItem(fuelSlot, fuelItem);
-                }
-
-                importer.lastImport = System.currentTimeMillis();
-                updateLastImport(importer.importerId);
-
-                // Refresh any open terminals
-                plugin.getGUIManager().refreshNetworkTerminals(importer.networkId);
+                markImported(importer);
             }
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error ejecting empty buckets from furnace: " + e.getMessage());
-        }
+        });
     }
 
     /**
      * Import from brewing stand bottom potion slots (slots 0, 1, 2)
      */
-    private void importFromBrewingStand(ImporterData importer, Container brewingStandContainer) {
-        try {
-            Inventory brewingInventory = brewingStandContainer.getInventory();
-            int[] potionSlots = {0, 1, 2}; // Bottom potion slots
+    private CompletableFuture<Void> importFromBrewingStand(ImporterData importer, Container brewingStandContainer) {
+        Inventory brewingInventory = brewingStandContainer.getInventory();
+        int[] potionSlots = {0, 1, 2}; // Bottom potion slots
 
-            boolean anyImported = false;
+        List<CompletableFuture<Integer>> slotImports = new ArrayList<>();
 
-            for (int slot : potionSlots) {
-                ItemStack potionItem = brewingInventory.getItem(slot);
-                if (potionItem == null || potionItem.getType().isAir()) {
-                    continue; // No item in this slot
-                }
+        for (int slot : potionSlots) {
+            ItemStack potionItem = brewingInventory.getItem(slot);
+            if (potionItem == null || potionItem.getType().isAir()) {
+                continue; // No item in this slot
+            }
 
-                // Check filter if enabled - special handling for brewing stands
-                if (!importer.filterItems.isEmpty()) {
-                    if (!isBrewingStandItemAllowed(importer.importerId, potionItem, slot)) {
-                        continue; // Item not in filter for this slot
-                    }
+            // Check filter if enabled - special handling for brewing stands
+            if (!importer.filterItems.isEmpty()) {
+                if (!isBrewingStandItemAllowed(importer.importerId, potionItem, slot)) {
+                    continue; // Item not in filter for this slot
                 }
+            }
+
+            // Try to store the item in the network
+            slotImports.add(importSlot(importer, brewingStandContainer, slot, potionItem));
+        }
+
+        return CompletableFuture.allOf(slotImports.toArray(new CompletableFuture[0])).thenRun(() -> {
+            boolean anyImported = slotImports.stream().anyMatch(slotImport -> slotImport.join() > 0);
+            if (anyImported) {
+                markImported(importer);
+            }
+        });
+    }
 
-                // Try to store the item in the network
-                List<ItemStack> itemsToStore = new ArrayList<>();
-                itemsToStore.add(potionItem.clone());
+    /**
+     * Import from any slot in generic containers (round-robin style)
+     */
+    private CompletableFuture<Void> importFromGenericContainer(ImporterData importer, Container targetContainer) {
+        Inventory targetInventory = targetContainer.getInventory();
 
-                List<ItemStack> leftoverItems = plugin.getStorageManager().storeItems(importer.networkId, itemsToStore);
+        // Get current cycle index for round-robin
+        int currentIndex = importerCycleIndex.get(importer.importerId);
+        int inventorySize = targetInventory.getSize();
 
-                // Calculate what was actually imported
-                int originalAmount = potionItem.getAmount();
-                int leftoverAmount = leftoverItems.isEmpty() ? 0 : leftoverItems.getFirst().getAmount();
-                int importedAmount = originalAmount - leftoverAmount;
+        // Try each slot once, starting from current index
+        for (int i = 0; i < inventorySize; i++) {
+            int checkIndex = (currentIndex + i) % inventorySize;
+            ItemStack slotItem = targetInventory.getItem(checkIndex);
 
-                if (importedAmount > 0) {
-                    // Remove imported items from brewing stand
-                    if (leftoverAmount == 0) {
-                        brewingInventory.setItem(slot, null);
-                    } else {
-                        potionItem.setAmount(leftoverAmount);
-                        brewingInventory.setItem(slot, potionItem);
-                    }
+            if (slotItem == null || slotItem.getType().isAir()) {
+                continue; // No item in this slot
+            }
 
-                    anyImported = true;
+            // Check filter if enabled (if no filters, import everything)
+            if (!importer.filterItems.isEmpty()) {
+                String itemHash = plugin.getItemManager().generateItemHash(slotItem);
+                if (!importer.filterItems.contains(itemHash)) {
+                    continue; // Item not in filter
                 }
             }
 
-            if (anyImported) {
-                importer.lastImport = System.currentTimeMillis();
-                updateLastImport(importer.importerId);
-
-                // Refresh any open terminals
-                plugin.getGUIManager().refreshNetworkTerminals(importer.networkId);
-            }
+            // Update cycle index for next time
+            importerCycleIndex.put(importer.importerId, (checkIndex + 1) % inventorySize);
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error importing from brewing stand: " + e.getMessage());
+            // Try to store the item in the network, import one item per cycle
+            return importSlot(importer, targetContainer, checkIndex, slotItem).thenAccept(importedAmount -> {
+                if (importedAmount > 0) {
+                    markImported(importer);
+                }
+            });
         }
+
+        // Update cycle index even if nothing was imported
+        importerCycleIndex.put(importer.importerId, (currentIndex + 1) % inventorySize);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
-     * Import from any slot in generic containers (round-robin style)
+     * Move a slot's contents into the network.
+     * The slot is emptied right away so the items can't be imported twice while the store runs,
+     * whatever the network can't take (or everything, if the store fails) goes back into the slot.
+     * @return Future completing on the main thread with the amount imported
      */
-    private void importFromGenericContainer(ImporterData importer, Inventory targetInventory) {
-        try {
-            // Get current cycle index for round-robin
-            int currentIndex = importerCycleIndex.get(importer.importerId);
-            int inventorySize = targetInventory.getSize();
-            
-            // Try each slot once, starting from current index
-            for (int i = 0; i < inventorySize; i++) {
-                int checkIndex = (currentIndex + i) % inventorySize;
-                ItemStack slotItem = targetInventory.getItem(checkIndex);
-                
-                if (slotItem == null || slotItem.getType().isAir()) {
-                    continue; // No item in this slot
-                }
-
-                // Check filter if enabled (if no filters, import everything)
-                if (!importer.filterItems.isEmpty()) {
-                    String itemHash = plugin.getItemManager().generateItemHash(slotItem);
-                    if (!importer.filterItems.contains(itemHash)) {
-                        continue; // Item not in filter
-                    }
-                }
+    private CompletableFuture<Integer> importSlot(ImporterData importer, Container container, int slot, ItemStack item) {
+        ItemStack pending = item.clone();
+        container.getInventory().setItem(slot, null);
 
-                // Try to store the item in the network
-                List<ItemStack> itemsToStore = new ArrayList<>();
-                itemsToStore.add(slotItem.clone());
+        List<ItemStack> itemsToStore = new ArrayList<>();
+        itemsToStore.add(pending);
 
-                List<ItemStack> leftoverItems = plugin.getStorageManager().storeItems(importer.networkId, itemsToStore);
+        return plugin.getStorageManager().storeItemsAsync(importer.networkId, itemsToStore).handle((leftoverItems, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Error importing from " + container.getType() + ": " + DatabaseExecutor.unwrap(error).getMessage());
+            }
 
-                // Calculate what was actually imported
-                int originalAmount = slotItem.getAmount();
-                int leftoverAmount = leftoverItems.isEmpty() ? 0 : leftoverItems.getFirst().getAmount();
-                int importedAmount = originalAmount - leftoverAmount;
+            // Calculate what was actually imported
+            int leftoverAmount = 0;
+            for (ItemStack leftover : error != null ? itemsToStore : leftoverItems) {
+                leftoverAmount += leftover.getAmount();
+                returnToSlot(container, slot, leftover);
+            }
+            int imported = pending.getAmount() - leftoverAmount;
+            plugin.getMetrics().counter("items_imported").add(imported);
+            return imported;
+        });
+    }
 
-                if (importedAmount > 0) {
-                    // Remove imported items from container
-                    if (leftoverAmount == 0) {
-                        targetInventory.setItem(checkIndex, null);
-                    } else {
-                        slotItem.setAmount(leftoverAmount);
-                        targetInventory.setItem(checkIndex, slotItem);
-                    }
+    /**
+     * Put items back into a container slot, merging with whatever arrived there meanwhile.
+     * Items that no longer fit, or whose container is gone, are dropped at the container.
+     */
+    private void returnToSlot(Container container, int slot, ItemStack item) {
+        ItemStack remaining = item.clone();
 
-                    // Update cycle index for next time
-                    importerCycleIndex.put(importer.importerId, (checkIndex + 1) % inventorySize);
+        if (isContainerPresent(container)) {
+            Inventory inventory = container.getInventory();
+            ItemStack current = inventory.getItem(slot);
 
-                    importer.lastImport = System.currentTimeMillis();
-                    updateLastImport(importer.importerId);
+            if (current == null || current.getType().isAir()) {
+                inventory.setItem(slot, remaining);
+                return;
+            }
 
-                    // Refresh any open terminals
-                    plugin.getGUIManager().refreshNetworkTerminals(importer.networkId);
-                    return; // Import one item per cycle
+            if (current.isSimilar(remaining)) {
+                int amountToAdd = Math.min(current.getMaxStackSize() - current.getAmount(), remaining.getAmount());
+                if (amountToAdd > 0) {
+                    current.setAmount(current.getAmount() + amountToAdd);
+                    inventory.setItem(slot, current);
+                    remaining.setAmount(remaining.getAmount() - amountToAdd);
+                }
+                if (remaining.getAmount() <= 0) {
+                    return;
                 }
             }
+        }
 
-            // Update cycle index even if nothing was imported
-            importerCycleIndex.put(importer.importerId, (currentIndex + 1) % inventorySize);
+        dropAtContainer(container, remaining);
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error importing from generic container: " + e.getMessage());
-        }
+    private void dropAtContainer(Container container, ItemStack item) {
+        container.getWorld().dropItemNaturally(container.getLocation().add(0.5, 0.5, 0.5), item);
+    }
+
+    /**
+     * Whether the container snapshot still matches a loaded block, it may have been broken while a store ran
+     */
+    private boolean isContainerPresent(Container container) {
+        return container.getWorld().isChunkLoaded(container.getX() >> 4, container.getZ() >> 4) &&
+                container.getBlock().getType() == container.getType();
+    }
+
+    /**
+     * Record a successful import and refresh any open terminals
+     */
+    private void markImported(ImporterData importer) {
+        importer.lastImport = System.currentTimeMillis();
+        updateLastImport(importer.importerId);
+
+        // Refresh any open terminals
+        plugin.getGUIManager().updateNetworkTerminals(importer.networkId);
     }
 
     /**
@@ -883,8 +891,8 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
         String finalNetworkId = (networkId != null) ? networkId : "UNCONNECTED";
 
         plugin.getDatabaseManager().executeUpdate(
-                "INSERT INTO importers (importer_id, network_id, world_name, x, y, z, enabled, bottle_xp, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
-                importerId, finalNetworkId, location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ(), false, false);
+                "INSERT INTO importers (importer_id, network_id, world_id, x, y, z, enabled, bottle_xp, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                importerId, finalNetworkId, plugin.getDatabaseManager().getOrCreateWorldId(location.getWorld().getName()), location.getBlockX(), location.getBlockY(), location.getBlockZ(), false, false);
 
         // Add to memory
         ImporterData importerData = new ImporterData(importerId, finalNetworkId, location, false, false, false);
@@ -986,13 +994,12 @@ public class ImporterManager implements org.jamesphbennett.modularstoragesystem.
      * Update last import timestamp
      */
     private void updateLastImport(String importerId) {
-        try {
-            plugin.getDatabaseManager().executeUpdate(
-                    "UPDATE importers SET last_import = CURRENT_TIMESTAMP WHERE importer_id = ?",
-                    importerId);
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to update last import timestamp: " + e.getMessage());
-        }
+        plugin.getDatabaseExecutor().run(() -> plugin.getDatabaseManager().executeUpdate(
+                "UPDATE importers SET last_import = CURRENT_TIMESTAMP WHERE importer_id = ?",
+                importerId)).exceptionally(error -> {
+            plugin.getLogger().warning("Failed to update last import timestamp: " + DatabaseExecutor.unwrap(error).getMessage());
+            return null;
+        });
     }
 
     /**
@@ -2,6 +2,10 @@ package org.jamesphbennett.modularstoragesystem.managers;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
@@ -10,7 +14,9 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,6 +29,12 @@ public class MessageManager {
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
     private final Map<String, YamlConfiguration> loadedLanguages = new ConcurrentHashMap<>();
     private final Pattern placeholderPattern = Pattern.compile("\\{([^}]+)}");
+    // Raised on every reload so caches of rendered messages know to drop them
+    private volatile int generation;
+    // Messages prepared for MiniMessage once per language and key: <Language\0Key, Template>
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private static final Pattern TAG_NAME_PATTERN = Pattern.compile("[a-z0-9_-]+");
+    private static final String PLACEHOLDER_TAG_PREFIX = "mss_";
     
     // Default language fallback
     private static final String DEFAULT_LANGUAGE = "en_US";
@@ -121,8 +133,69 @@ public class MessageManager {
      * Uses {mss-prefix} placeholder system for prefix handling
      */
     public Component getMessageComponent(Player player, String key, Object... placeholders) {
-        String message = getMessage(player, key, placeholders);
-        return miniMessage.deserialize(message);
+        String langCode = getLanguage(player);
+        MessageTemplate template = getTemplate(langCode, key);
+        if (template.component() != null) {
+            return template.component();
+        }
+        if (template.miniMessage() == null) {
+            // Placeholders inside tag arguments can only be filled in as text before parsing
+            return miniMessage.deserialize(getMessage(langCode, key, placeholders));
+        }
+
+        // Values fill the template's placeholder tags, ones not given stay as written like {name}
+        Map<String, Object> values = toPlaceholderMap(placeholders);
+        List<TagResolver> resolvers = new ArrayList<>(template.placeholders().size());
+        for (String name : template.placeholders()) {
+            Object value = values.get(name);
+            String tag = PLACEHOLDER_TAG_PREFIX + name;
+            if (value instanceof Component component) {
+                resolvers.add(Placeholder.component(tag, component));
+            } else if (value != null) {
+                resolvers.add(Placeholder.parsed(tag, value.toString()));
+            } else {
+                resolvers.add(Placeholder.unparsed(tag, "{" + name + "}"));
+            }
+        }
+        return miniMessage.deserialize(template.miniMessage(), TagResolver.resolver(resolvers));
+    }
+
+    /**
+     * Message with its {name} placeholders turned into tags, parsed once if it has none
+     * @param miniMessage MiniMessage input with the prefix applied, null if a placeholder is inside a tag
+     * @param placeholders Placeholder names in the message
+     * @param component The finished message when there are no placeholders, otherwise null
+     */
+    private record MessageTemplate(String miniMessage, List<String> placeholders, Component component) {
+    }
+
+    private MessageTemplate getTemplate(String langCode, String key) {
+        return templates.computeIfAbsent(langCode + '\0' + key, k -> {
+            String message = handlePrefixPlaceholder(getRawMessage(langCode, key));
+
+            List<String> placeholders = new ArrayList<>();
+            Matcher matcher = placeholderPattern.matcher(message);
+            StringBuilder result = new StringBuilder();
+            while (matcher.find()) {
+                String name = matcher.group(1);
+                if (message.lastIndexOf('<', matcher.start()) > message.lastIndexOf('>', matcher.start())) {
+                    return new MessageTemplate(null, List.of(), null);
+                }
+                // Names that can't be tag names are left as literal text, as no value could replace them anyway
+                if (TAG_NAME_PATTERN.matcher(name).matches()) {
+                    matcher.appendReplacement(result, Matcher.quoteReplacement("<" + PLACEHOLDER_TAG_PREFIX + name + ">"));
+                    if (!placeholders.contains(name)) {
+                        placeholders.add(name);
+                    }
+                }
+            }
+            matcher.appendTail(result);
+
+            String template = result.toString();
+            return placeholders.isEmpty()
+                    ? new MessageTemplate(template, List.of(), miniMessage.deserialize(template))
+                    : new MessageTemplate(template, List.copyOf(placeholders), null);
+        });
     }
 
     /**
@@ -134,6 +207,30 @@ public class MessageManager {
         return stripFormatting(message);
     }
 
+    /**
+     * Log to console and, if present, message the requesting sender on the main thread.
+     * Used by long running database jobs that report progress from their own thread.
+     */
+    public void report(CommandSender requester, String key, Object... placeholders) {
+        plugin.getLogger().info(getConsoleMessage(key, placeholders));
+
+        if (requester != null && !(requester instanceof ConsoleCommandSender)) {
+            Player player = requester instanceof Player ? (Player) requester : null;
+            plugin.getServer().getScheduler().runTask(plugin, () ->
+                    requester.sendMessage(getMessageComponent(player, key, placeholders)));
+        }
+    }
+
+    /**
+     * Format a byte count for messages
+     */
+    public static String formatSize(long bytes) {
+        if (bytes >= 1024L * 1024L) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        }
+        return String.format("%.1f KB", bytes / 1024.0);
+    }
+
     /**
      * Strip MiniMessage formatting for console output
      */
@@ -152,6 +249,14 @@ public class MessageManager {
      * Get message for specific language
      */
     public String getMessage(String langCode, String key, Object... placeholders) {
+        // Apply placeholders
+        return applyPlaceholders(getRawMessage(langCode, key), placeholders);
+    }
+
+    /**
+     * Message as written in the language file, falling back to the default language
+     */
+    private String getRawMessage(String langCode, String key) {
         YamlConfiguration config = loadedLanguages.get(langCode);
         
         // Fall back to default language if requested language not available
@@ -176,9 +281,8 @@ public class MessageManager {
                 return "Missing message: " + key;
             }
         }
-        
-        // Apply placeholders
-        return applyPlaceholders(message, placeholders);
+
+        return message;
     }
     
     /**
@@ -195,10 +299,7 @@ public class MessageManager {
         
         // If placeholders are provided as key-value pairs (even length)
         if (placeholders.length % 2 == 0) {
-            Map<String, Object> placeholderMap = new HashMap<>();
-            for (int i = 0; i < placeholders.length; i += 2) {
-                placeholderMap.put(placeholders[i].toString(), placeholders[i + 1]);
-            }
+            Map<String, Object> placeholderMap = toPlaceholderMap(placeholders);
             
             Matcher matcher = placeholderPattern.matcher(message);
             StringBuilder result = new StringBuilder();
@@ -222,6 +323,27 @@ public class MessageManager {
         }
     }
 
+    /**
+     * Placeholder values by name, key-value pairs for an even count and {0}, {1}, etc. otherwise
+     */
+    private Map<String, Object> toPlaceholderMap(Object... placeholders) {
+        Map<String, Object> placeholderMap = new HashMap<>();
+        if (placeholders == null) {
+            return placeholderMap;
+        }
+
+        if (placeholders.length % 2 == 0) {
+            for (int i = 0; i < placeholders.length; i += 2) {
+                placeholderMap.put(placeholders[i].toString(), placeholders[i + 1]);
+            }
+        } else {
+            for (int i = 0; i < placeholders.length; i++) {
+                placeholderMap.put(String.valueOf(i), placeholders[i]);
+            }
+        }
+        return placeholderMap;
+    }
+
     /**
      * Handle the special {mss-prefix} placeholder
      */
@@ -234,6 +356,20 @@ public class MessageManager {
         return message;
     }
 
+    /**
+     * Language code used for a player's messages, the default language for null
+     */
+    public String getLanguage(Player player) {
+        return player == null ? DEFAULT_LANGUAGE : getPlayerLocale(player);
+    }
+
+    /**
+     * Incremented whenever the language files are reloaded
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     /**
      * Get player's locale, with fallback to default
      */
@@ -268,7 +404,9 @@ public class MessageManager {
      */
     public void reloadLanguages() {
         loadedLanguages.clear();
+        templates.clear();
         loadLanguages();
+        generation++;
     }
 
 }
\ No newline at end of file
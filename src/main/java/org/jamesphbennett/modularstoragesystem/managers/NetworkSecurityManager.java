@@ -49,11 +49,11 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
 
         plugin.getDatabaseManager().executeTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO security_terminals (terminal_id, world_name, x, y, z, owner_uuid, owner_name, network_id) " +
+                    "INSERT INTO security_terminals (terminal_id, world_id, x, y, z, owner_uuid, owner_name, network_id) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
 
                 stmt.setString(1, terminalId);
-                stmt.setString(2, location.getWorld().getName());
+                stmt.setInt(2, plugin.getDatabaseManager().getOrCreateWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(3, location.getBlockX());
                 stmt.setInt(4, location.getBlockY());
                 stmt.setInt(5, location.getBlockZ());
@@ -73,9 +73,9 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
     public void removeSecurityTerminal(Location location) throws SQLException {
         plugin.getDatabaseManager().executeTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "DELETE FROM security_terminals WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                    "DELETE FROM security_terminals WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
                 
-                stmt.setString(1, location.getWorld().getName());
+                stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(2, location.getBlockX());
                 stmt.setInt(3, location.getBlockY());
                 stmt.setInt(4, location.getBlockZ());
@@ -93,9 +93,9 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
                      "SELECT terminal_id, owner_uuid, owner_name, network_id FROM security_terminals " +
-                     "WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                     "WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -189,7 +189,8 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
         
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT terminal_id, owner_uuid, owner_name, network_id, world_name, x, y, z FROM security_terminals")) {
+                     "SELECT st.terminal_id, st.owner_uuid, st.owner_name, st.network_id, w.world_name, st.x, st.y, st.z " +
+                             "FROM security_terminals st JOIN worlds w ON w.world_id = st.world_id")) {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -233,7 +234,8 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
         
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT terminal_id, owner_uuid, owner_name, network_id, world_name, x, y, z FROM security_terminals")) {
+                     "SELECT st.terminal_id, st.owner_uuid, st.owner_name, st.network_id, w.world_name, st.x, st.y, st.z " +
+                             "FROM security_terminals st JOIN worlds w ON w.world_id = st.world_id")) {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -351,10 +353,10 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
     public void updateTerminalNetwork(Location location, String networkId) throws SQLException {
         plugin.getDatabaseManager().executeTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE security_terminals SET network_id = ? WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                    "UPDATE security_terminals SET network_id = ? WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
                 
                 stmt.setString(1, networkId);
-                stmt.setString(2, location.getWorld().getName());
+                stmt.setInt(2, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(3, location.getBlockX());
                 stmt.setInt(4, location.getBlockY());
                 stmt.setInt(5, location.getBlockZ());
@@ -372,7 +374,8 @@ public class NetworkSecurityManager implements org.jamesphbennett.modularstorage
     public void updateSecurityTerminalNetworkAssignments() {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT terminal_id, network_id, world_name, x, y, z FROM security_terminals")) {
+                     "SELECT st.terminal_id, st.network_id, w.world_name, st.x, st.y, st.z " +
+                             "FROM security_terminals st JOIN worlds w ON w.world_id = st.world_id")) {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
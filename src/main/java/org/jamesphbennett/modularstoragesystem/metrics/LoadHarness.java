@@ -0,0 +1,178 @@
+package org.jamesphbennett.modularstoragesystem.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.database.DatabaseMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records a fixed number of ticks of whole-plugin load and writes the results to perf/&lt;label&gt;-&lt;time&gt;.json.
+ * Load comes from whatever runs on the server, such as players on a staging server or the synthetic scenario of the
+ * headless load harness. The recorder itself never touches networks, so it is safe to run on a live server.
+ */
+public class LoadHarness implements MetricsRegistry.TickListener {
+
+    private static final String[] ITEM_COUNTERS = {"items_stored", "items_retrieved", "items_exported", "items_imported"};
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ModularStorageSystem plugin;
+    private final int ticks;
+    private final String label;
+    private final Map<MetricsRegistry.Subsystem, Histogram> tickCosts = new EnumMap<>(MetricsRegistry.Subsystem.class);
+    private final Map<String, Long> countersAtStart = new HashMap<>();
+    private final Map<String, Long> counterDeltas = new HashMap<>();
+    private final CompletableFuture<File> result = new CompletableFuture<>();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private int ticksRecorded;
+    private long startNanos;
+    private long elapsedNanos;
+    private long databaseOpsAtStart;
+    private long databaseOps;
+
+    public LoadHarness(ModularStorageSystem plugin, int ticks, String label) {
+        this.plugin = plugin;
+        this.ticks = ticks;
+        this.label = label;
+        for (MetricsRegistry.Subsystem subsystem : MetricsRegistry.Subsystem.values()) {
+            tickCosts.put(subsystem, new Histogram());
+        }
+    }
+
+    /**
+     * Start recording, must be called on the main thread
+     * @return Future completing on the main thread with the written report
+     */
+    public CompletableFuture<File> start() {
+        MetricsRegistry metrics = plugin.getMetrics();
+        for (String counter : ITEM_COUNTERS) {
+            countersAtStart.put(counter, metrics.counter(counter).sum());
+        }
+        databaseOpsAtStart = plugin.getDatabaseManager().getMetrics().getExecutionCount();
+        startNanos = System.nanoTime();
+
+        metrics.addTickListener(this);
+        return result;
+    }
+
+    @Override
+    public void onTick(long[] subsystemNanos) {
+        for (MetricsRegistry.Subsystem subsystem : MetricsRegistry.Subsystem.values()) {
+            tickCosts.get(subsystem).record(subsystemNanos[subsystem.ordinal()]);
+        }
+
+        if (++ticksRecorded >= ticks) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        plugin.getMetrics().removeTickListener(this);
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        for (String counter : ITEM_COUNTERS) {
+            // A reset during the run would make the delta negative
+            counterDeltas.put(counter, Math.max(0, metrics.counter(counter).sum() - countersAtStart.get(counter)));
+        }
+        databaseOps = Math.max(0, plugin.getDatabaseManager().getMetrics().getExecutionCount() - databaseOpsAtStart);
+
+        JsonObject server = new JsonObject();
+        // Over the recorded window rather than the server's rolling averages, which also works on a mock server
+        server.addProperty("tps", ticksRecorded / (elapsedNanos / 1_000_000_000.0));
+        server.addProperty("players_online", plugin.getServer().getOnlinePlayers().size());
+        server.addProperty("version", plugin.getServer().getVersion());
+
+        // Scenario counts and the file write stay off the main thread
+        plugin.getDatabaseExecutor().supplyToMainThread(() -> writeReport(server))
+                .whenComplete((file, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(file);
+                    }
+                });
+    }
+
+    private File writeReport(JsonObject server) throws SQLException, IOException {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        JsonObject root = new JsonObject();
+        root.addProperty("label", label);
+        root.addProperty("plugin_version", plugin.getPluginMeta().getVersion());
+        root.addProperty("started_at", startedAt.toString());
+        root.addProperty("ticks", ticksRecorded);
+        root.addProperty("duration_seconds", seconds);
+        root.add("server", server);
+
+        JsonObject scenario = new JsonObject();
+        try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+            scenario.addProperty("networks", count(conn, "SELECT COUNT(*) FROM networks"));
+            scenario.addProperty("drive_bays", count(conn, "SELECT COUNT(*) FROM network_blocks WHERE block_type = 'DRIVE_BAY'"));
+            scenario.addProperty("disks_in_bays", count(conn, "SELECT COUNT(*) FROM drive_bay_slots WHERE disk_id IS NOT NULL"));
+            scenario.addProperty("exporters", count(conn, "SELECT COUNT(*) FROM exporters"));
+            scenario.addProperty("importers", count(conn, "SELECT COUNT(*) FROM importers"));
+        }
+        root.add("scenario", scenario);
+
+        JsonObject throughput = new JsonObject();
+        for (String counter : ITEM_COUNTERS) {
+            throughput.addProperty(counter + "_per_second", counterDeltas.get(counter) / seconds);
+        }
+        throughput.addProperty("items_moved_per_second",
+                (counterDeltas.get("items_stored") + counterDeltas.get("items_retrieved")) / seconds);
+        root.add("throughput", throughput);
+
+        JsonObject tickCost = new JsonObject();
+        for (Map.Entry<MetricsRegistry.Subsystem, Histogram> entry : tickCosts.entrySet()) {
+            Histogram histogram = entry.getValue();
+            JsonObject distribution = new JsonObject();
+            distribution.addProperty("avg_ms", histogram.getAverageMillis());
+            distribution.addProperty("p50_ms", histogram.getPercentileMillis(0.5));
+            distribution.addProperty("p90_ms", histogram.getPercentileMillis(0.9));
+            distribution.addProperty("p99_ms", histogram.getPercentileMillis(0.99));
+            distribution.addProperty("max_ms", histogram.getMaxMillis());
+            tickCost.add(entry.getKey().getKey(), distribution);
+        }
+        root.add("tick_cost", tickCost);
+
+        DatabaseMetrics databaseMetrics = plugin.getDatabaseManager().getMetrics();
+        JsonObject database = new JsonObject();
+        database.addProperty("instrumented", databaseMetrics.isEnabled());
+        if (databaseMetrics.isEnabled()) {
+            database.addProperty("ops", databaseOps);
+            database.addProperty("ops_per_tick", ticksRecorded == 0 ? 0 : (double) databaseOps / ticksRecorded);
+        }
+        root.add("database", database);
+
+        File directory = new File(plugin.getDataFolder(), "perf");
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create " + directory.getAbsolutePath());
+        }
+        File file = new File(directory, label + "-" + startedAt.format(FILE_TIME) + ".json");
+        Files.writeString(file.toPath(), new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static long count(Connection conn, String query) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package org.jamesphbennett.modularstoragesystem.metrics;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.scheduler.BukkitTask;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Counters, gauges and per-tick cost histograms for the plugin's subsystems.
+ * Subsystem time spent on the server thread is summed per tick and recorded once per tick, so the
+ * histograms describe how much each subsystem adds to MSPT rather than the cost of single calls.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Instrumented subsystems. Their times can overlap, listener time includes the detection and refreshes it triggers.
+     */
+    public enum Subsystem {
+        EXPORT("export"),
+        IMPORT("import"),
+        TERMINAL_REFRESH("terminal_refresh"),
+        NETWORK_DETECTION("network_detection"),
+        LISTENERS("listeners");
+
+        private final String key;
+
+        Subsystem(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Notified on the server thread as each tick is closed
+     */
+    @FunctionalInterface
+    public interface TickListener {
+        /**
+         * @param subsystemNanos Server thread time of the tick, indexed by subsystem ordinal
+         */
+        void onTick(long[] subsystemNanos);
+    }
+
+    private final ModularStorageSystem plugin;
+    private final List<TickListener> tickListeners = new CopyOnWriteArrayList<>();
+    private final Map<Subsystem, SubsystemStats> subsystems = new EnumMap<>(Subsystem.class);
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final LongAdder ticks = new LongAdder();
+    private BukkitTask tickTask;
+    private volatile long collectingSince = System.currentTimeMillis();
+
+    public MetricsRegistry(ModularStorageSystem plugin) {
+        this.plugin = plugin;
+        for (Subsystem subsystem : Subsystem.values()) {
+            subsystems.put(subsystem, new SubsystemStats());
+        }
+    }
+
+    /**
+     * Start closing out subsystem time once per tick
+     */
+    public void start() {
+        tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::closeTick, 1L, 1L);
+    }
+
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+    }
+
+    public boolean isEnabled() {
+        return plugin.getConfigManager().isMetricsEnabled();
+    }
+
+    /**
+     * Start timing a subsystem call
+     * @return Start time to pass to {@link #stopTimer}, or 0 when metrics are disabled
+     */
+    public long startTimer() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a subsystem call started with {@link #startTimer}, only server thread time counts towards the tick
+     */
+    public void stopTimer(Subsystem subsystem, long start) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        SubsystemStats stats = subsystems.get(subsystem);
+        stats.calls.increment();
+        if (plugin.getServer().isPrimaryThread()) {
+            stats.currentTick.add(elapsed);
+        }
+    }
+
+    /**
+     * Named counter, created on first use. Names are lower snake case so they can be exported as-is.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Named histogram of nanosecond values, created on first use
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Register a value sampled when the metrics are read, the supplier must be safe to call from any thread
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        gauges.put(name, new Gauge(help, supplier));
+    }
+
+    public void recordCacheHit(String cache) {
+        counter("cache_" + cache + "_hits").increment();
+    }
+
+    public void recordCacheMiss(String cache) {
+        counter("cache_" + cache + "_misses").increment();
+    }
+
+    /**
+     * Register every handler of a listener with a timed executor, in place of PluginManager.registerEvents
+     */
+    @SuppressWarnings("unchecked")
+    public void registerTimedEvents(Listener listener) {
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = (Class<? extends Event>) method.getParameterTypes()[0];
+            EventExecutor executor = EventExecutor.create(method, eventClass);
+            EventExecutor timed = (target, event) -> {
+                long start = startTimer();
+                try {
+                    executor.execute(target, event);
+                } finally {
+                    stopTimer(Subsystem.LISTENERS, start);
+                }
+            };
+            plugin.getServer().getPluginManager().registerEvent(eventClass, listener, handler.priority(), timed,
+                    plugin, handler.ignoreCancelled());
+        }
+    }
+
+    public void addTickListener(TickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    public void removeTickListener(TickListener listener) {
+        tickListeners.remove(listener);
+    }
+
+    /**
+     * Clear all collected statistics, gauges are live and unaffected
+     */
+    public void reset() {
+        for (SubsystemStats stats : subsystems.values()) {
+            stats.calls.reset();
+            stats.currentTick.reset();
+            stats.perTick.reset();
+        }
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(Histogram::reset);
+        ticks.reset();
+        collectingSince = System.currentTimeMillis();
+    }
+
+    public long getCollectingSince() {
+        return collectingSince;
+    }
+
+    public long getTickCount() {
+        return ticks.sum();
+    }
+
+    public List<SubsystemSnapshot> getSubsystemSnapshots() {
+        List<SubsystemSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<Subsystem, SubsystemStats> entry : subsystems.entrySet()) {
+            SubsystemStats stats = entry.getValue();
+            snapshots.add(new SubsystemSnapshot(entry.getKey().getKey(), stats.calls.sum(),
+                    stats.perTick.getAverageMillis(), stats.perTick.getPercentileMillis(0.99),
+                    stats.perTick.getMaxMillis(), stats.perTick.getTotalNanos()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Counter per second since the statistics were last reset
+     */
+    public double getRatePerSecond(String counter) {
+        double seconds = Math.max(1, System.currentTimeMillis() - collectingSince) / 1000.0;
+        return counter(counter).sum() / seconds;
+    }
+
+    /**
+     * Hit rate of a cache recorded through {@link #recordCacheHit} and {@link #recordCacheMiss}
+     */
+    public CacheSnapshot getCacheSnapshot(String cache) {
+        long hits = counter("cache_" + cache + "_hits").sum();
+        long misses = counter("cache_" + cache + "_misses").sum();
+        long requests = hits + misses;
+        return new CacheSnapshot(cache, hits, misses, requests == 0 ? 0 : hits * 100.0 / requests);
+    }
+
+    public Map<String, LongAdder> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Gauge> getGauges() {
+        return gauges;
+    }
+
+    public Map<String, Histogram> getHistograms() {
+        return histograms;
+    }
+
+    public Histogram getTickHistogram(Subsystem subsystem) {
+        return subsystems.get(subsystem).perTick;
+    }
+
+    private void closeTick() {
+        if (!isEnabled()) {
+            return;
+        }
+        ticks.increment();
+        long[] tickNanos = tickListeners.isEmpty() ? null : new long[Subsystem.values().length];
+        for (Map.Entry<Subsystem, SubsystemStats> entry : subsystems.entrySet()) {
+            long nanos = entry.getValue().currentTick.sumThenReset();
+            entry.getValue().perTick.record(nanos);
+            if (tickNanos != null) {
+                tickNanos[entry.getKey().ordinal()] = nanos;
+            }
+        }
+
+        if (tickNanos != null) {
+            for (TickListener listener : tickListeners) {
+                listener.onTick(tickNanos);
+            }
+        }
+    }
+
+    private static class SubsystemStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder currentTick = new LongAdder();
+        private final Histogram perTick = new Histogram();
+    }
+
+    /**
+     * Value read on demand
+     * @param help Description for exporters
+     * @param supplier Source of the value
+     */
+    public record Gauge(String help, DoubleSupplier supplier) {
+    }
+
+    /**
+     * Per-tick cost of one subsystem
+     * @param name Subsystem key
+     * @param calls Timed calls
+     * @param avgTickMillis Average server thread time per tick
+     * @param p99TickMillis 99th percentile server thread time per tick
+     * @param maxTickMillis Most server thread time in a single tick
+     * @param totalNanos Total server thread time
+     */
+    public record SubsystemSnapshot(String name, long calls, double avgTickMillis, double p99TickMillis,
+                                    double maxTickMillis, long totalNanos) {
+    }
+
+    /**
+     * Hit rate of one cache
+     * @param name Cache name
+     * @param hits Lookups served from the cache
+     * @param misses Lookups that had to load
+     * @param hitRate Hits as a percentage of lookups
+     */
+    public record CacheSnapshot(String name, long hits, long misses, double hitRate) {
+    }
+}
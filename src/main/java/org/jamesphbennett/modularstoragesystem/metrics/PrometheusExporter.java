@@ -0,0 +1,134 @@
+package org.jamesphbennett.modularstoragesystem.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the metrics registry in Prometheus text format on /metrics.
+ * Requests are answered on a single daemon thread and only read counters, so scraping never touches the server thread.
+ */
+public class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final ModularStorageSystem plugin;
+    private final MetricsRegistry metrics;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusExporter(ModularStorageSystem plugin, MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    public void start(String bindAddress, int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+            executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("MSS-Metrics").daemon().factory());
+            server.setExecutor(executor);
+            server.createContext("/metrics", this::handle);
+            server.start();
+            plugin.getLogger().info("Serving Prometheus metrics on http://" + bindAddress + ":" + port + "/metrics");
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().warning("Failed to start Prometheus metrics endpoint on " + bindAddress + ":" + port + ": " + e.getMessage());
+            shutdown();
+        }
+    }
+
+    public void shutdown() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP mss_tick_cost_seconds Server thread time per tick by subsystem\n");
+        out.append("# TYPE mss_tick_cost_seconds summary\n");
+        for (MetricsRegistry.Subsystem subsystem : MetricsRegistry.Subsystem.values()) {
+            Histogram histogram = metrics.getTickHistogram(subsystem);
+            String label = "subsystem=\"" + subsystem.getKey() + "\"";
+            for (double quantile : QUANTILES) {
+                sample(out, "mss_tick_cost_seconds", label + ",quantile=\"" + quantile + "\"",
+                        histogram.getPercentileMillis(quantile) / 1000.0);
+            }
+            sample(out, "mss_tick_cost_seconds_sum", label, histogram.getTotalNanos() / 1_000_000_000.0);
+            sample(out, "mss_tick_cost_seconds_count", label, histogram.getCount());
+        }
+
+        for (Map.Entry<String, Histogram> entry : metrics.getHistograms().entrySet()) {
+            String name = "mss_" + entry.getKey() + "_seconds";
+            Histogram histogram = entry.getValue();
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (double quantile : QUANTILES) {
+                sample(out, name, "quantile=\"" + quantile + "\"", histogram.getPercentileMillis(quantile) / 1000.0);
+            }
+            sample(out, name + "_sum", null, histogram.getTotalNanos() / 1_000_000_000.0);
+            sample(out, name + "_count", null, histogram.getCount());
+        }
+
+        for (Map.Entry<String, LongAdder> entry : metrics.getCounters().entrySet()) {
+            String name = "mss_" + entry.getKey() + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            sample(out, name, null, entry.getValue().sum());
+        }
+
+        for (Map.Entry<String, MetricsRegistry.Gauge> entry : metrics.getGauges().entrySet()) {
+            String name = "mss_" + entry.getKey();
+            out.append("# HELP ").append(name).append(' ').append(entry.getValue().help()).append('\n');
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            sample(out, name, null, entry.getValue().supplier().getAsDouble());
+        }
+
+        return out.toString();
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+}
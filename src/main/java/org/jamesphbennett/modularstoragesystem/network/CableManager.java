@@ -147,7 +147,8 @@ public class CableManager {
     private int getCableCountForNetwork(String networkId) throws SQLException {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM network_blocks WHERE network_id = ? AND block_type = 'NETWORK_CABLE'")) {
+                     "SELECT COUNT(*) FROM network_blocks nb JOIN networks n ON n.network_key = nb.network_key " +
+                             "WHERE n.network_id = ? AND nb.block_type = 'NETWORK_CABLE'")) {
 
             stmt.setString(1, networkId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -184,8 +185,8 @@ public class CableManager {
     private void markLocationAsCustomCable(Location location) throws SQLException {
         plugin.getDatabaseManager().executeTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT OR REPLACE INTO custom_block_markers (world_name, x, y, z, block_type) VALUES (?, ?, ?, ?, ?)")) {
-                stmt.setString(1, location.getWorld().getName());
+                    "INSERT OR REPLACE INTO custom_block_markers (world_id, x, y, z, block_type) VALUES (?, ?, ?, ?, ?)")) {
+                stmt.setInt(1, plugin.getDatabaseManager().getOrCreateWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(2, location.getBlockX());
                 stmt.setInt(3, location.getBlockY());
                 stmt.setInt(4, location.getBlockZ());
@@ -300,9 +301,9 @@ public class CableManager {
     private boolean isMarkedAsCustomBlock(Location location) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
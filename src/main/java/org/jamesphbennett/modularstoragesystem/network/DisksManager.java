@@ -26,9 +26,9 @@ public class DisksManager {
 
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
+                     "SELECT disk_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -69,8 +69,8 @@ public class DisksManager {
 
                 // Remove from drive bay slots (but keep disk data in storage_disks and storage_items)
                 try (PreparedStatement deleteStmt = conn.prepareStatement(
-                        "DELETE FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id = ?")) {
-                    deleteStmt.setString(1, location.getWorld().getName());
+                        "DELETE FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND disk_id = ?")) {
+                    deleteStmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                     deleteStmt.setInt(2, location.getBlockX());
                     deleteStmt.setInt(3, location.getBlockY());
                     deleteStmt.setInt(4, location.getBlockZ());
@@ -97,9 +97,9 @@ public class DisksManager {
     public void dropDriveBayContentsWithoutNetwork(Location location) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
+                     "SELECT disk_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -140,8 +140,8 @@ public class DisksManager {
 
                 // Remove from drive bay slots
                 try (PreparedStatement deleteStmt = conn.prepareStatement(
-                        "DELETE FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id = ?")) {
-                    deleteStmt.setString(1, location.getWorld().getName());
+                        "DELETE FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND disk_id = ?")) {
+                    deleteStmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                     deleteStmt.setInt(2, location.getBlockX());
                     deleteStmt.setInt(3, location.getBlockY());
                     deleteStmt.setInt(4, location.getBlockZ());
@@ -165,9 +165,9 @@ public class DisksManager {
 
             // First try to find an active network ID
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT DISTINCT network_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND network_id NOT LIKE 'orphaned_%' LIMIT 1")) {
+                    "SELECT DISTINCT network_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id NOT LIKE 'orphaned_%' LIMIT 1")) {
 
-                stmt.setString(1, location.getWorld().getName());
+                stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(2, location.getBlockX());
                 stmt.setInt(3, location.getBlockY());
                 stmt.setInt(4, location.getBlockZ());
@@ -181,9 +181,9 @@ public class DisksManager {
 
             // If no active network found, look for orphaned drive bay slots
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT DISTINCT network_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%' LIMIT 1")) {
+                    "SELECT DISTINCT network_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%' LIMIT 1")) {
 
-                stmt.setString(1, location.getWorld().getName());
+                stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                 stmt.setInt(2, location.getBlockX());
                 stmt.setInt(3, location.getBlockY());
                 stmt.setInt(4, location.getBlockZ());
@@ -214,11 +214,11 @@ public class DisksManager {
                 try (PreparedStatement stmt = conn.prepareStatement(
                         "SELECT COUNT(*) FROM drive_bay_slots dbs " +
                                 "JOIN storage_disks sd ON dbs.disk_id = sd.disk_id " +
-                                "JOIN storage_items si ON sd.disk_id = si.disk_id " +
-                                "WHERE dbs.world_name = ? AND dbs.x = ? AND dbs.y = ? AND dbs.z = ? " +
+                                "JOIN storage_items si ON sd.disk_key = si.disk_key " +
+                                "WHERE dbs.world_id = ? AND dbs.x = ? AND dbs.y = ? AND dbs.z = ? " +
                                 "AND dbs.disk_id IS NOT NULL")) {
 
-                    stmt.setString(1, location.getWorld().getName());
+                    stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
                     stmt.setInt(2, location.getBlockX());
                     stmt.setInt(3, location.getBlockY());
                     stmt.setInt(4, location.getBlockZ());
@@ -215,7 +215,8 @@ public class NetworkConnectivityManager {
     private boolean networkHasStorageServer(String networkId) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM network_blocks WHERE network_id = ? AND block_type = 'STORAGE_SERVER'")) {
+                     "SELECT COUNT(*) FROM network_blocks nb JOIN networks n ON n.network_key = nb.network_key " +
+                             "WHERE n.network_id = ? AND nb.block_type = 'STORAGE_SERVER'")) {
 
             stmt.setString(1, networkId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -276,9 +277,9 @@ public class NetworkConnectivityManager {
     private boolean isMarkedAsCustomBlock(Location location, String blockType) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -4,6 +4,9 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.jfr.NetworkDetectEvent;
+import org.jamesphbennett.modularstoragesystem.jfr.NetworkRegisterEvent;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -11,14 +14,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class NetworkManager {
 
     private final ModularStorageSystem plugin;
 
-    // Network locks for thread safety
-    private final Map<String, ReentrantLock> networkLocks = new ConcurrentHashMap<>();
+    // Striped storage locks per network for thread safety
+    private final Map<String, StorageLocks> storageLocks = new ConcurrentHashMap<>();
 
     // Flag to reduce redundant drive bay restoration logging
     private final Set<String> restorationLoggedNetworks = new HashSet<>();
@@ -41,7 +43,7 @@ public class NetworkManager {
      * Notify all listeners that a network was updated (runs async to avoid blocking main thread)
      */
     private void notifyNetworkUpdated(String networkId) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             for (NetworkUpdateListener listener : updateListeners) {
                 try {
                     listener.onNetworkUpdated(networkId);
@@ -56,7 +58,7 @@ public class NetworkManager {
      * Notify all listeners that a network was removed (runs async to avoid blocking main thread)
      */
     private void notifyNetworkRemoved(String networkId) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        plugin.getDatabaseExecutor().run(() -> {
             for (NetworkUpdateListener listener : updateListeners) {
                 try {
                     listener.onNetworkRemoved(networkId);
@@ -68,32 +70,68 @@ public class NetworkManager {
     }
 
     /**
-     * Get or create a lock for a specific network
+     * Get or create the storage locks for a specific network
      */
-    private ReentrantLock getNetworkLock(String networkId) {
-        return networkLocks.computeIfAbsent(networkId, k -> new ReentrantLock());
+    public StorageLocks getStorageLocks(String networkId) {
+        return storageLocks.computeIfAbsent(networkId, k -> new StorageLocks(new StorageLockMetrics(plugin, k)));
     }
 
     /**
-     * Execute an operation with network locking
+     * Lock statistics of every network that has used its storage locks, busiest first
      */
-    public <T> T withNetworkLock(String networkId, NetworkOperation<T> operation) throws Exception {
-        ReentrantLock lock = getNetworkLock(networkId);
-        lock.lock();
-        try {
-            return operation.execute();
-        } finally {
-            lock.unlock();
+    public List<StorageLockMetrics.Snapshot> getStorageLockSnapshots() {
+        List<StorageLockMetrics.Snapshot> snapshots = new ArrayList<>();
+        for (StorageLocks locks : storageLocks.values()) {
+            snapshots.add(locks.getMetrics().snapshot(locks.getQueueLength()));
+        }
+        snapshots.sort(Comparator.comparingDouble((StorageLockMetrics.Snapshot snapshot) -> snapshot.avgWaitMillis() * snapshot.acquisitions()).reversed());
+        return snapshots;
+    }
+
+    public void resetStorageLockMetrics() {
+        for (StorageLocks locks : storageLocks.values()) {
+            locks.getMetrics().reset();
         }
     }
 
+    /**
+     * Execute a storage write holding the locks of the items it touches
+     * @param allocate Also hold the network's cell allocation lock
+     */
+    public <T> T withItemLocks(String networkId, Collection<String> itemHashes, boolean allocate, NetworkOperation<T> operation) throws Exception {
+        return getStorageLocks(networkId).withItemLocks(itemHashes, allocate, operation);
+    }
+
     /**
      * Detect and validate a network starting from a given block
      */
     public NetworkInfo detectNetwork(Location location) {
+        long timer = plugin.getMetrics().startTimer();
+        NetworkDetectEvent event = new NetworkDetectEvent();
+        event.begin();
+
         Set<Location> visited = new HashSet<>();
         Set<Location> networkBlocks = new HashSet<>();
         Set<Location> networkCables = new HashSet<>();
+        NetworkInfo network = searchNetwork(location, visited, networkBlocks, networkCables);
+
+        if (event.shouldCommit()) {
+            event.networkId = network != null ? network.getNetworkId() : null;
+            event.visited = visited.size();
+            event.blocks = networkBlocks.size();
+            event.cables = networkCables.size();
+            event.valid = network != null;
+            event.commit();
+        }
+        plugin.getMetrics().stopTimer(MetricsRegistry.Subsystem.NETWORK_DETECTION, timer);
+        return network;
+    }
+
+    /**
+     * Flood fill from a block, collecting into the given sets
+     */
+    private NetworkInfo searchNetwork(Location location, Set<Location> visited, Set<Location> networkBlocks,
+                                      Set<Location> networkCables) {
         Queue<Location> toCheck = new LinkedList<>();
 
         toCheck.add(location);
@@ -207,9 +245,9 @@ public class NetworkManager {
     private String getExporterNetworkId(Location location) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT network_id FROM exporters WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                     "SELECT network_id FROM exporters WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -237,9 +275,9 @@ public class NetworkManager {
     private String getSecurityTerminalNetworkId(Location location) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT network_id FROM security_terminals WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                     "SELECT network_id FROM security_terminals WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -282,29 +320,47 @@ public class NetworkManager {
 
     // Network registration
     public void registerNetwork(NetworkInfo network, UUID ownerUUID) throws SQLException {
+        NetworkRegisterEvent event = new NetworkRegisterEvent();
+        event.begin();
+
         plugin.getDatabaseManager().executeTransaction(conn -> {
-            // Insert or update network
-            try (PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT OR REPLACE INTO networks (network_id, owner_uuid, last_accessed) VALUES (?, ?, CURRENT_TIMESTAMP)")) {
+            // Insert or update network - upsert keeps the existing network_key stable
+            String upsertQuery = plugin.getDatabaseManager().isMySql()
+                    ? "INSERT INTO networks (network_id, owner_uuid, last_accessed) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                      "ON DUPLICATE KEY UPDATE owner_uuid = VALUES(owner_uuid), last_accessed = CURRENT_TIMESTAMP"
+                    : "INSERT INTO networks (network_id, owner_uuid, last_accessed) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                      "ON CONFLICT(network_id) DO UPDATE SET owner_uuid = excluded.owner_uuid, last_accessed = CURRENT_TIMESTAMP";
+            try (PreparedStatement stmt = conn.prepareStatement(upsertQuery)) {
                 stmt.setString(1, network.getNetworkId());
                 stmt.setString(2, ownerUUID != null ? ownerUUID.toString() : "00000000-0000-0000-0000-000000000000");
                 stmt.executeUpdate();
             }
 
+            int networkKey = getNetworkKey(conn, network.getNetworkId());
+
+            // Slots can take the network id before its row exists, give them the key the storage path joins on
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE drive_bay_slots SET network_key = ? WHERE network_id = ? AND (network_key IS NULL OR network_key <> ?)")) {
+                stmt.setInt(1, networkKey);
+                stmt.setString(2, network.getNetworkId());
+                stmt.setInt(3, networkKey);
+                stmt.executeUpdate();
+            }
+
             // Clear existing network blocks
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "DELETE FROM network_blocks WHERE network_id = ?")) {
-                stmt.setString(1, network.getNetworkId());
+                    "DELETE FROM network_blocks WHERE network_key = ?")) {
+                stmt.setInt(1, networkKey);
                 stmt.executeUpdate();
             }
 
             // Insert network blocks (including cables)
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "INSERT INTO network_blocks (network_id, world_name, x, y, z, block_type) VALUES (?, ?, ?, ?, ?, ?)")) {
+                    "INSERT INTO network_blocks (network_key, world_id, x, y, z, block_type) VALUES (?, ?, ?, ?, ?, ?)")) {
 
                 for (Location loc : network.getAllBlocks()) {
-                    stmt.setString(1, network.getNetworkId());
-                    stmt.setString(2, loc.getWorld().getName());
+                    stmt.setInt(1, networkKey);
+                    stmt.setInt(2, plugin.getDatabaseManager().getOrCreateWorldId(conn, loc.getWorld().getName()));
                     stmt.setInt(3, loc.getBlockX());
                     stmt.setInt(4, loc.getBlockY());
                     stmt.setInt(5, loc.getBlockZ());
@@ -319,9 +375,9 @@ public class NetworkManager {
                 for (Location securityTerminal : network.getSecurityTerminals()) {
                     // Try to update existing record - ONLY update network_id, preserve existing ownership
                     try (PreparedStatement updateStmt = conn.prepareStatement(
-                            "UPDATE security_terminals SET network_id = ? WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                            "UPDATE security_terminals SET network_id = ? WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
                         updateStmt.setString(1, network.getNetworkId());
-                        updateStmt.setString(2, securityTerminal.getWorld().getName());
+                        updateStmt.setInt(2, plugin.getDatabaseManager().getWorldId(conn, securityTerminal.getWorld().getName()));
                         updateStmt.setInt(3, securityTerminal.getBlockX());
                         updateStmt.setInt(4, securityTerminal.getBlockY());
                         updateStmt.setInt(5, securityTerminal.getBlockZ());
@@ -341,6 +397,14 @@ public class NetworkManager {
             restoreAllDriveBayContents(conn, network.getNetworkId(), network.getDriveBays());
         });
 
+        if (event.shouldCommit()) {
+            event.networkId = network.getNetworkId();
+            event.blocks = network.getAllBlocks().size();
+            event.driveBays = network.getDriveBays().size();
+            event.securityTerminals = network.getSecurityTerminals().size();
+            event.commit();
+        }
+
         // Notify listeners that network was updated
         notifyNetworkUpdated(network.getNetworkId());
     }
@@ -350,7 +414,7 @@ public class NetworkManager {
         plugin.getDatabaseManager().executeTransaction(conn -> {
             // Delete network blocks
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "DELETE FROM network_blocks WHERE network_id = ?")) {
+                    "DELETE FROM network_blocks WHERE network_key = (SELECT network_key FROM networks WHERE network_id = ?)")) {
                 stmt.setString(1, networkId);
                 stmt.executeUpdate();
             }
@@ -358,7 +422,7 @@ public class NetworkManager {
             // Don't delete drive bay slots - preserve them for recovery
             // Instead, mark them as orphaned by setting network_id to a special value
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE drive_bay_slots SET network_id = ? WHERE network_id = ?")) {
+                    "UPDATE drive_bay_slots SET network_id = ?, network_key = NULL WHERE network_id = ?")) {
                 stmt.setString(1, "orphaned_" + networkId);
                 stmt.setString(2, networkId);
                 stmt.executeUpdate();
@@ -389,8 +453,9 @@ public class NetworkManager {
         // Notify GUI manager about network invalidation
         plugin.getGUIManager().handleNetworkInvalidated(networkId);
 
-        // Remove network lock and restoration flag
-        networkLocks.remove(networkId);
+        // Remove storage locks, cached contents and restoration flag
+        storageLocks.remove(networkId);
+        plugin.getStorageManager().invalidateNetworkItems(networkId);
         restorationLoggedNetworks.remove(networkId);
 
         plugin.debugLog("Unregistered network " + networkId + " and preserved drive bay contents");
@@ -416,12 +481,14 @@ public class NetworkManager {
         for (Location driveBayLocation : driveBayLocations) {
             // Restore orphaned slots for this specific drive bay location
             try (PreparedStatement updateStmt = conn.prepareStatement(
-                    "UPDATE drive_bay_slots SET network_id = ? WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%'")) {
+                    "UPDATE drive_bay_slots SET network_id = ?, network_key = (SELECT network_key FROM networks WHERE network_id = ?) " +
+                            "WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id LIKE 'orphaned_%'")) {
                 updateStmt.setString(1, newNetworkId);
-                updateStmt.setString(2, driveBayLocation.getWorld().getName());
-                updateStmt.setInt(3, driveBayLocation.getBlockX());
-                updateStmt.setInt(4, driveBayLocation.getBlockY());
-                updateStmt.setInt(5, driveBayLocation.getBlockZ());
+                updateStmt.setString(2, newNetworkId);
+                updateStmt.setInt(3, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
+                updateStmt.setInt(4, driveBayLocation.getBlockX());
+                updateStmt.setInt(5, driveBayLocation.getBlockY());
+                updateStmt.setInt(6, driveBayLocation.getBlockZ());
 
                 int restoredSlots = updateStmt.executeUpdate();
                 totalRestoredSlots += restoredSlots;
@@ -429,8 +496,8 @@ public class NetworkManager {
 
             // Restore unassigned storage disks for slots in this drive bay
             try (PreparedStatement selectStmt = conn.prepareStatement(
-                    "SELECT disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND network_id = ? AND disk_id IS NOT NULL")) {
-                selectStmt.setString(1, driveBayLocation.getWorld().getName());
+                    "SELECT disk_id FROM drive_bay_slots WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND network_id = ? AND disk_id IS NOT NULL")) {
+                selectStmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, driveBayLocation.getWorld().getName()));
                 selectStmt.setInt(2, driveBayLocation.getBlockX());
                 selectStmt.setInt(3, driveBayLocation.getBlockY());
                 selectStmt.setInt(4, driveBayLocation.getBlockZ());
@@ -463,10 +530,39 @@ public class NetworkManager {
         }
     }
 
+    /**
+     * Resolve the integer surrogate key for a registered network
+     */
+    private int getNetworkKey(Connection conn, String networkId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT network_key FROM networks WHERE network_id = ?")) {
+            stmt.setString(1, networkId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("network_key");
+                }
+            }
+        }
+        throw new SQLException("Network " + networkId + " is not registered");
+    }
+
     /**
      * Check if a network exists and is valid
      */
     public boolean isNetworkValid(String networkId) {
+        try {
+            return isRegisteredNetwork(networkId);
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Error checking network validity: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Whether a network is registered, leaving failures to the caller so an unreachable database is not
+     * mistaken for a dissolved network. Must not be called on the main thread.
+     */
+    public boolean isRegisteredNetwork(String networkId) throws SQLException {
         // Handle special network IDs
         if (networkId != null && (networkId.startsWith("standalone_") || networkId.startsWith("orphaned_"))) {
             return false;
@@ -479,9 +575,6 @@ public class NetworkManager {
             try (ResultSet rs = stmt.executeQuery()) {
                 return rs.next() && rs.getInt(1) > 0;
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Error checking network validity: " + e.getMessage());
-            return false;
         }
     }
 
@@ -538,9 +631,9 @@ public class NetworkManager {
     private boolean isMarkedAsCustomBlock(Location location, String blockType) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -0,0 +1,178 @@
+package org.jamesphbennett.modularstoragesystem.network;
+
+import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
+import org.jamesphbennett.modularstoragesystem.metrics.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wait and hold statistics for the storage locks of one network.
+ * Warns when the server thread waits longer than the configured threshold, at most once per interval.
+ */
+public class StorageLockMetrics {
+
+    private static final long WARN_INTERVAL_MS = 10_000;
+    private static final String PLUGIN_PACKAGE = "org.jamesphbennett.modularstoragesystem";
+    private static final Set<String> LOCK_CLASSES = Set.of(
+            StorageLocks.class.getName(), StorageLockMetrics.class.getName(), NetworkManager.class.getName());
+    private static final Set<String> STORAGE_CLASSES = Set.of(
+            PLUGIN_PACKAGE + ".storage.StorageManager", PLUGIN_PACKAGE + ".database.DatabaseExecutor");
+
+    private final ModularStorageSystem plugin;
+    private final String networkId;
+
+    // One sample per granted request, so the wait count is the number of acquisitions
+    private final Histogram wait = new Histogram();
+    private final Histogram hold = new Histogram();
+    private final LongAdder contended = new LongAdder();
+    private final LongAccumulator maxQueueLength = new LongAccumulator(Long::max, 0);
+    private final LongAdder mainThreadSlowWaits = new LongAdder();
+    private final AtomicLong lastWarning = new AtomicLong();
+
+    // Current holders, by thread. A store takes the allocation lock nested inside its stripes, so holds are counted
+    private final Map<Thread, Owner> owners = new ConcurrentHashMap<>();
+    private volatile String longestHolder = "none";
+    private volatile long collectingSince = System.currentTimeMillis();
+
+    public StorageLockMetrics(ModularStorageSystem plugin, String networkId) {
+        this.plugin = plugin;
+        this.networkId = networkId;
+    }
+
+    public String getNetworkId() {
+        return networkId;
+    }
+
+    public boolean isMainThread() {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    /**
+     * Record a granted lock request, every request is released through {@link #recordReleased}
+     * @param caller Code that requested the lock, see {@link #findCaller()}
+     * @param queueLength Threads that were already waiting when the request was made
+     * @param contended Whether another thread held one of the locks when it was requested
+     */
+    public void recordAcquired(String caller, long waitNanos, int queueLength, boolean contended) {
+        wait.record(waitNanos);
+        maxQueueLength.accumulate(queueLength);
+        if (contended) {
+            this.contended.increment();
+        }
+        owners.compute(Thread.currentThread(), (thread, owner) ->
+                owner == null ? new Owner(caller, 1) : new Owner(owner.caller(), owner.holds() + 1));
+
+        long thresholdMs = plugin.getConfigManager().getMainThreadLockWaitWarnMs();
+        if (thresholdMs > 0 && waitNanos >= TimeUnit.MILLISECONDS.toNanos(thresholdMs) && plugin.getServer().isPrimaryThread()) {
+            mainThreadSlowWaits.increment();
+            long now = System.currentTimeMillis();
+            long last = lastWarning.get();
+            if (now - last >= WARN_INTERVAL_MS && lastWarning.compareAndSet(last, now)) {
+                plugin.getLogger().warning(String.format("Main thread waited %.1fms for a storage lock on network %s (%s, %d queued)",
+                        waitNanos / 1_000_000.0, networkId, caller, queueLength));
+            }
+        }
+    }
+
+    /**
+     * Record the release of a lock granted by {@link #recordAcquired}
+     */
+    public void recordReleased(String caller, long holdNanos) {
+        owners.computeIfPresent(Thread.currentThread(), (thread, owner) ->
+                owner.holds() > 1 ? new Owner(owner.caller(), owner.holds() - 1) : null);
+        if (holdNanos / 1_000_000.0 > hold.getMaxMillis()) {
+            longestHolder = caller;
+        }
+        hold.record(holdNanos);
+    }
+
+    public Snapshot snapshot(int queuedNow) {
+        List<String> currentOwners = new ArrayList<>();
+        for (Map.Entry<Thread, Owner> owner : owners.entrySet()) {
+            currentOwners.add(owner.getValue().caller() + " on " + owner.getKey().getName());
+        }
+        return new Snapshot(networkId, wait.getCount(), contended.sum(),
+                wait.getAverageMillis(), wait.getPercentileMillis(0.99), wait.getMaxMillis(),
+                hold.getAverageMillis(), hold.getPercentileMillis(0.99), hold.getMaxMillis(),
+                queuedNow, maxQueueLength.get(), mainThreadSlowWaits.sum(),
+                currentOwners, longestHolder);
+    }
+
+    public void reset() {
+        wait.reset();
+        hold.reset();
+        contended.reset();
+        maxQueueLength.reset();
+        mainThreadSlowWaits.reset();
+        longestHolder = "none";
+        collectingSince = System.currentTimeMillis();
+    }
+
+    public long getCollectingSince() {
+        return collectingSince;
+    }
+
+    /**
+     * First plugin frame outside the locking and storage internals, falling back to the storage operation itself
+     * when the request came through the async API and the original caller is no longer on the stack
+     */
+    public static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> {
+            StackWalker.StackFrame operation = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(PLUGIN_PACKAGE) || LOCK_CLASSES.contains(className)) {
+                    continue;
+                }
+                if (STORAGE_CLASSES.contains(className)) {
+                    if (operation == null && !frame.getMethodName().startsWith("lambda$")) {
+                        operation = frame;
+                    }
+                    continue;
+                }
+                return formatFrame(frame);
+            }
+            return operation != null ? formatFrame(operation) : "unknown";
+        });
+    }
+
+    private static String formatFrame(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Lock statistics for one network
+     * @param networkId Network the locks belong to
+     * @param acquisitions Granted lock requests
+     * @param contended Requests that found one of their locks held by another thread
+     * @param avgWaitMillis Average wait per request
+     * @param p99WaitMillis 99th percentile wait
+     * @param maxWaitMillis Longest wait
+     * @param avgHoldMillis Average hold per request
+     * @param p99HoldMillis 99th percentile hold
+     * @param maxHoldMillis Longest hold
+     * @param queuedNow Threads waiting right now
+     * @param maxQueueLength Most threads seen waiting at once
+     * @param mainThreadSlowWaits Main thread waits over the warning threshold
+     * @param owners Current holders
+     * @param longestHolder Caller responsible for the longest hold
+     */
+    public record Snapshot(String networkId, long acquisitions, long contended,
+                           double avgWaitMillis, double p99WaitMillis, double maxWaitMillis,
+                           double avgHoldMillis, double p99HoldMillis, double maxHoldMillis, int queuedNow, long maxQueueLength,
+                           long mainThreadSlowWaits, List<String> owners, String longestHolder) {
+    }
+
+    private record Owner(String caller, int holds) {
+    }
+}
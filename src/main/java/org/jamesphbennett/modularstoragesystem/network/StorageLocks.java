@@ -0,0 +1,138 @@
+package org.jamesphbennett.modularstoragesystem.network;
+
+import org.jamesphbennett.modularstoragesystem.jfr.StorageLockEvent;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks guarding the stored items of one network.
+ * Writes lock the stripes of the item hashes they touch, so operations on different items run side by side.
+ * Creating cells draws on disk capacity shared by every item, so stores take the allocation lock for that step only,
+ * always after their stripes.
+ * Reads take no lock, StorageManager serves them from published snapshots.
+ * Waits and holds are recorded to the metrics, if any, and emitted as JFR events.
+ */
+public class StorageLocks {
+
+    private static final int STRIPE_COUNT = 32;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private final StorageLockMetrics metrics;
+
+    /**
+     * Uninstrumented locks, for benchmarks
+     */
+    public StorageLocks() {
+        this(null);
+    }
+
+    public StorageLocks(StorageLockMetrics metrics) {
+        this.metrics = metrics;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run an operation holding the stripes of the given item hashes.
+     * Stripes are taken in index order so overlapping operations can't deadlock.
+     * @param allocate Also hold the allocation lock for the whole operation
+     */
+    public <T> T withItemLocks(Collection<String> itemHashes, boolean allocate, NetworkManager.NetworkOperation<T> operation) throws Exception {
+        return withLocks(itemHashes.stream().mapToInt(StorageLocks::stripeFor).distinct().sorted().toArray(), allocate, operation);
+    }
+
+    /**
+     * Run an operation holding the allocation lock, callers already holding stripes may nest this inside withItemLocks
+     */
+    public <T> T withAllocationLock(NetworkManager.NetworkOperation<T> operation) throws Exception {
+        return withLocks(new int[0], true, operation);
+    }
+
+    private <T> T withLocks(int[] indexes, boolean allocate, NetworkManager.NetworkOperation<T> operation) throws Exception {
+        int locked = 0;
+        boolean allocationLocked = false;
+
+        StorageLockEvent event = new StorageLockEvent();
+        String caller = metrics != null || event.isEnabled() ? StorageLockMetrics.findCaller() : null;
+        int queueLength = 0;
+        for (int index : indexes) {
+            queueLength += stripes[index].getQueueLength();
+        }
+        if (allocate) {
+            queueLength += allocationLock.getQueueLength();
+        }
+
+        event.begin();
+        long requested = System.nanoTime();
+        long acquired = requested;
+        boolean contended = false;
+
+        try {
+            // A failed tryLock means another thread holds the lock, even when nobody is queued behind it yet
+            for (int index : indexes) {
+                if (!stripes[index].tryLock()) {
+                    contended = true;
+                    stripes[index].lock();
+                }
+                locked++;
+            }
+            if (allocate) {
+                if (!allocationLock.tryLock()) {
+                    contended = true;
+                    allocationLock.lock();
+                }
+                allocationLocked = true;
+            }
+
+            acquired = System.nanoTime();
+            if (metrics != null) {
+                metrics.recordAcquired(caller, acquired - requested, queueLength, contended);
+            }
+            return operation.execute();
+        } finally {
+            if (allocationLocked) {
+                allocationLock.unlock();
+            }
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+
+            if (metrics != null && locked == indexes.length) {
+                metrics.recordReleased(caller, System.nanoTime() - acquired);
+            }
+            if (event.shouldCommit()) {
+                event.networkId = metrics != null ? metrics.getNetworkId() : null;
+                event.caller = caller;
+                event.stripes = indexes.length;
+                event.allocation = allocate;
+                event.contended = contended;
+                event.waitTime = acquired - requested;
+                event.queueLength = queueLength;
+                event.mainThread = metrics != null && metrics.isMainThread();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Threads currently waiting on any of these locks
+     */
+    public int getQueueLength() {
+        int queued = allocationLock.getQueueLength();
+        for (ReentrantLock stripe : stripes) {
+            queued += stripe.getQueueLength();
+        }
+        return queued;
+    }
+
+    public StorageLockMetrics getMetrics() {
+        return metrics;
+    }
+
+    private static int stripeFor(String itemHash) {
+        return Math.floorMod(itemHash.hashCode(), STRIPE_COUNT);
+    }
+}
@@ -0,0 +1,54 @@
+package org.jamesphbennett.modularstoragesystem.storage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What terminals need to sort, search and retrieve an item type without materializing its ItemStack
+ * @param material Item type
+ * @param maxStackSize Max stack size, including any item component override
+ * @param displayName Lowercase legacy display name, empty if none
+ * @param searchText Lowercase lore lines and enchantment names, empty if none
+ */
+public record ItemSummary(Material material, int maxStackSize, String displayName, String searchText) {
+
+    public static ItemSummary of(ItemStack item) {
+        String displayName = "";
+        StringBuilder searchText = new StringBuilder();
+
+        if (item.hasItemMeta()) {
+            ItemMeta meta = item.getItemMeta();
+            Component displayNameComponent = meta.hasDisplayName() ? meta.displayName() : null;
+            if (displayNameComponent != null) {
+                displayName = LegacyComponentSerializer.legacySection().serialize(displayNameComponent).toLowerCase();
+            }
+
+            List<Component> lore = meta.lore();
+            if (lore != null) {
+                for (Component line : lore) {
+                    searchText.append(PlainTextComponentSerializer.plainText().serialize(line).toLowerCase()).append('\n');
+                }
+            }
+
+            Set<Enchantment> enchantments = new HashSet<>(meta.getEnchants().keySet());
+            if (meta instanceof EnchantmentStorageMeta storageMeta) {
+                enchantments.addAll(storageMeta.getStoredEnchants().keySet());
+            }
+            for (Enchantment enchantment : enchantments) {
+                searchText.append(enchantment.getKey().getKey().replace("_", " ")).append('\n');
+            }
+        }
+
+        return new ItemSummary(item.getType(), item.getMaxStackSize(), displayName, searchText.toString());
+    }
+}
@@ -1,27 +1,95 @@
 package org.jamesphbennett.modularstoragesystem.storage;
 
-import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 import org.jamesphbennett.modularstoragesystem.ModularStorageSystem;
 import org.jamesphbennett.modularstoragesystem.database.DatabaseManager;
+import org.jamesphbennett.modularstoragesystem.database.StatementCache;
+import org.jamesphbennett.modularstoragesystem.database.StorageQuery;
+import org.jamesphbennett.modularstoragesystem.jfr.NetworkItemsEvent;
+import org.jamesphbennett.modularstoragesystem.jfr.StorageRetrieveEvent;
+import org.jamesphbennett.modularstoragesystem.jfr.StorageStoreEvent;
 import org.jamesphbennett.modularstoragesystem.managers.ItemManager;
-import org.jamesphbennett.modularstoragesystem.network.NetworkInfo;
+import org.jamesphbennett.modularstoragesystem.metrics.MetricsRegistry;
+import org.jamesphbennett.modularstoragesystem.network.StorageLocks;
 import org.jetbrains.annotations.NotNull;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 public class StorageManager {
 
     private final ModularStorageSystem plugin;
     private final ItemManager itemManager;
+    private final DatabaseManager database;
+    private final MetricsRegistry metrics;
+    private final Function<String, StorageLocks> storageLocks;
+
+    // Published network contents, replaced whole so readers never lock or see a partial update
+    private final Map<String, NetworkItemsSnapshot> publishedItems = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> contentVersions = new ConcurrentHashMap<>();
+    // Recent item changes per network, so open terminals can patch their contents instead of reloading
+    private final Map<String, ChangeLog> changeLogs = new ConcurrentHashMap<>();
+
+    // Summaries of item types seen in loads, by hash. A hash always describes the same item, so entries never go stale
+    private final Map<String, ItemSummary> itemSummaries = new ConcurrentHashMap<>();
+
+    private static final int CHANGE_LOG_SIZE = 512;
+    private static final int ITEM_SUMMARY_CACHE_SIZE = 65536;
+
+    /**
+     * Immutable network contents as of a content version
+     */
+    private record NetworkItemsSnapshot(long version, List<StoredItem> items) {
+    }
+
+    /**
+     * Item changes made by one write
+     * @param version Content version the write produced
+     * @param changes New network totals of the changed items, a quantity of 0 means the item is gone
+     */
+    private record VersionedChanges(long version, List<StoredItem> changes) {
+    }
+
+    /**
+     * Bounded log of the most recent writes of one network, versions are assigned under its lock so they are recorded in order
+     */
+    private static class ChangeLog {
+        private final ArrayDeque<VersionedChanges> entries = new ArrayDeque<>();
+    }
 
     public StorageManager(ModularStorageSystem plugin) {
+        this(plugin, plugin.getDatabaseManager(), plugin.getMetrics(), plugin.getNetworkManager()::getStorageLocks);
+    }
+
+    /**
+     * Storage on a scratch database, for benchmarks. It keeps its own caches, metrics and uninstrumented locks,
+     * so nothing it does reaches the live database or the plugin's statistics.
+     */
+    public StorageManager(ModularStorageSystem plugin, DatabaseManager database) {
+        this(plugin, database, new MetricsRegistry(plugin), scratchLocks());
+    }
+
+    private StorageManager(ModularStorageSystem plugin, DatabaseManager database, MetricsRegistry metrics,
+                           Function<String, StorageLocks> storageLocks) {
         this.plugin = plugin;
         this.itemManager = plugin.getItemManager();
+        this.database = database;
+        this.metrics = metrics;
+        this.storageLocks = storageLocks;
+    }
+
+    private static Function<String, StorageLocks> scratchLocks() {
+        Map<String, StorageLocks> locks = new ConcurrentHashMap<>();
+        return networkId -> locks.computeIfAbsent(networkId, k -> new StorageLocks());
     }
 
     /**
@@ -31,69 +99,173 @@ public class StorageManager {
      * @return Items that couldn't be stored (remainder)
      */
     public List<ItemStack> storeItems(String networkId, List<ItemStack> items) throws Exception {
-        return plugin.getNetworkManager().withNetworkLock(networkId, () -> {
-            List<ItemStack> remainders = new ArrayList<>();
+        StorageStoreEvent event = new StorageStoreEvent();
+        event.begin();
+        int[] diskCount = {0};
+        int[] rowsWritten = {0};
+
+        // Hashes are needed up front to pick the item locks
+        List<String> itemHashes = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            itemHashes.add(itemManager.generateItemHash(item));
+        }
+
+        // Filling the partial cells of an item only needs its stripe. New cells draw on capacity shared by every item, so
+        // whatever is left goes through a second transaction under the allocation lock, started after taking it: its
+        // capacity reads see the cells of earlier stores, including on MySQL where the first read fixes the REPEATABLE
+        // READ snapshot, and no store waits for the lock while holding row locks
+        StorageLocks locks = storageLocks.apply(networkId);
 
+        List<ItemStack> stored = locks.withItemLocks(itemHashes, false, () -> {
             plugin.debugLog("Starting storage operation for " + items.size() + " item stacks in network " + networkId);
 
-            try {
-                DatabaseManager.DatabaseTransaction transaction = (Connection conn) -> {
-                    // Get all storage disks in the network
-                    List<String> diskIds = getNetworkDiskIds(conn, networkId);
+            List<ItemStack> remainders = new ArrayList<>();
+            List<ItemStack> leftovers = new ArrayList<>();
+            for (ItemStack leftover : storePass(networkId, items, itemHashes, false, diskCount, rowsWritten)) {
+                if (itemManager.isItemBlacklisted(leftover)) {
+                    remainders.add(leftover);
+                } else {
+                    leftovers.add(leftover);
+                }
+            }
 
-                    plugin.debugLog("Found " + diskIds.size() + " storage disks in network " + networkId);
+            if (!leftovers.isEmpty()) {
+                List<String> leftoverHashes = new ArrayList<>(leftovers.size());
+                for (ItemStack leftover : leftovers) {
+                    leftoverHashes.add(itemManager.generateItemHash(leftover));
+                }
 
-                    if (diskIds.isEmpty()) {
-                        plugin.debugLog("debug.storage.no-disks", "network", networkId);
-                        remainders.addAll(items);
-                        return;
-                    }
+                try {
+                    remainders.addAll(locks.withAllocationLock(() ->
+                            storePass(networkId, leftovers, leftoverHashes, true, diskCount, rowsWritten)));
+                } catch (Exception e) {
+                    // The filled cells are already committed, only what is left goes back to the caller
+                    plugin.getLogger().severe("Creating storage cells in network " + networkId + " failed: " + e.getMessage());
+                    remainders.addAll(leftovers);
+                }
+            }
 
-                    // Log disk capacities
-                    for (String diskId : diskIds) {
-                        int availableCells = getAvailableCells(conn, diskId);
-                        int maxCells = getMaxCells(conn, diskId);
-                        plugin.debugLog("Disk " + diskId + ": " + availableCells + "/" + maxCells + " cells available");
-                    }
+            plugin.debugLog("Storage operation complete. " + remainders.size() + " item stacks could not be stored");
+            return remainders;
+        });
 
-                    for (ItemStack item : items) {
-                        if (itemManager.isItemBlacklisted(item)) {
-                            plugin.debugLog("debug.storage.item-blacklisted", "item", item.getType());
-                            remainders.add(item);
-                            continue;
-                        }
+        int offered = items.stream().mapToInt(ItemStack::getAmount).sum();
+        int remainder = stored.stream().mapToInt(ItemStack::getAmount).sum();
+        metrics.counter("items_stored").add(offered - remainder);
+
+        if (event.shouldCommit()) {
+            event.networkId = networkId;
+            event.stacks = items.size();
+            event.amount = offered;
+            event.remainder = remainder;
+            event.disks = diskCount[0];
+            event.rowsWritten = rowsWritten[0];
+            event.commit();
+        }
+        return stored;
+    }
 
-                        plugin.debugLog("debug.storage.processing", "amount", item.getAmount(), "item", item.getType());
-                        ItemStack remainder = storeItemInNetwork(conn, networkId, diskIds, item);
-                        if (remainder != null && remainder.getAmount() > 0) {
-                            plugin.debugLog("debug.storage.operation-complete", "remaining", remainder.getAmount() + " " + remainder.getType() + " could not be stored");
-                            remainders.add(remainder);
-                        }
-                    }
+    /**
+     * Run one store transaction and publish its changes, the caller holds the locks it needs
+     * @return Items that couldn't be stored
+     */
+    private List<ItemStack> storePass(String networkId, List<ItemStack> items, List<String> itemHashes, boolean createCells,
+                                      int[] diskCount, int[] rowsWritten) {
+        List<ItemStack> remainders = new ArrayList<>();
+        List<StoredItem> changes = new ArrayList<>();
 
-                    // Update disk cell counts
-                    updateDiskCellCounts(conn, diskIds);
+        try {
+            DatabaseManager.DatabaseTransaction transaction = (Connection conn) -> {
+                try (StatementCache statements = new StatementCache(conn)) {
+                    remainders.addAll(storeInTransaction(statements, networkId, items, itemHashes, createCells, diskCount, rowsWritten, changes));
+                }
+            };
 
-                    // Log final disk states
-                    for (String diskId : diskIds) {
-                        int availableCells = getAvailableCells(conn, diskId);
-                        int maxCells = getMaxCells(conn, diskId);
-                        plugin.debugLog("Final disk " + diskId + ": " + availableCells + "/" + maxCells + " cells available");
-                    }
-                };
+            database.executeTransaction(transaction);
+            plugin.debugLog("Storage transaction completed successfully");
 
-                plugin.getDatabaseManager().executeTransaction(transaction);
-                plugin.debugLog("Storage transaction completed successfully");
+            // Still holding the item locks, so changes to one item are published in commit order
+            publishChanges(networkId, changes);
 
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Storage transaction failed: " + e.getMessage());
-                plugin.getLogger().severe("Stack trace: " + java.util.Arrays.toString(e.getStackTrace()));
-                throw new RuntimeException("Storage operation failed: " + e.getMessage(), e);
-            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Storage transaction failed: " + e.getMessage());
+            plugin.getLogger().severe("Stack trace: " + java.util.Arrays.toString(e.getStackTrace()));
+            throw new RuntimeException("Storage operation failed: " + e.getMessage(), e);
+        }
 
-            plugin.debugLog("Storage operation complete. " + remainders.size() + " item stacks could not be stored");
+        return remainders;
+    }
+
+    /**
+     * Store items within an open transaction, without locking.
+     * Shared by storeItems and the storage benchmark.
+     * @param createCells Also create new cells, which needs the allocation lock. Otherwise only partial cells of the
+     *                    items are filled and the rest is returned
+     * @param diskCount Receives the number of disks in the network
+     * @param rowsWritten Accumulates the storage cells written
+     * @param changes Receives the new network total of every item that was stored
+     * @return Items that couldn't be stored
+     */
+    List<ItemStack> storeInTransaction(StatementCache statements, String networkId, List<ItemStack> items, List<String> itemHashes,
+                                       boolean createCells, int[] diskCount, int[] rowsWritten, List<StoredItem> changes) throws SQLException {
+        List<ItemStack> remainders = new ArrayList<>();
+
+        // Get all storage disks in the network
+        List<Integer> diskKeys = getNetworkDiskKeys(statements, networkId);
+        diskCount[0] = diskKeys.size();
+
+        plugin.debugLog("Found " + diskKeys.size() + " storage disks in network " + networkId);
+
+        if (diskKeys.isEmpty()) {
+            plugin.debugLog("debug.storage.no-disks", "network", networkId);
+            remainders.addAll(items);
             return remainders;
-        });
+        }
+
+        // Log disk capacities
+        for (int diskKey : diskKeys) {
+            int availableCells = getAvailableCells(statements, diskKey);
+            int maxCells = getMaxCells(statements, diskKey);
+            plugin.debugLog("Disk " + diskKey + ": " + availableCells + "/" + maxCells + " cells available");
+        }
+
+        Map<String, ItemStack> storedTypes = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack item = items.get(i);
+            if (itemManager.isItemBlacklisted(item)) {
+                plugin.debugLog("debug.storage.item-blacklisted", "item", item.getType());
+                remainders.add(item);
+                continue;
+            }
+
+            plugin.debugLog("debug.storage.processing", "amount", item.getAmount(), "item", item.getType());
+            ItemStack remainder = storeItemInNetwork(statements, networkId, diskKeys, item, itemHashes.get(i), createCells, rowsWritten);
+            if (remainder != null && remainder.getAmount() > 0) {
+                plugin.debugLog("debug.storage.operation-complete", "remaining", remainder.getAmount() + " " + remainder.getType() + " could not be stored");
+                remainders.add(remainder);
+            }
+            if (remainder == null || remainder.getAmount() < item.getAmount()) {
+                storedTypes.putIfAbsent(itemHashes.get(i), item);
+            }
+        }
+
+        for (Map.Entry<String, ItemStack> entry : storedTypes.entrySet()) {
+            changes.add(new StoredItem(entry.getKey(), entry.getValue(), getItemTotal(statements, networkId, entry.getKey())));
+        }
+
+        // Filling partial cells never changes how many cells a disk uses
+        if (createCells) {
+            updateDiskCellCounts(statements, diskKeys);
+        }
+
+        // Log final disk states
+        for (int diskKey : diskKeys) {
+            int availableCells = getAvailableCells(statements, diskKey);
+            int maxCells = getMaxCells(statements, diskKey);
+            plugin.debugLog("Final disk " + diskKey + ": " + availableCells + "/" + maxCells + " cells available");
+        }
+
+        return remainders;
     }
 
     /**
@@ -104,150 +276,367 @@ public class StorageManager {
      * @return The retrieved items, or null if not available
      */
     public ItemStack retrieveItems(String networkId, String itemHash, int amount) throws Exception {
-        return plugin.getNetworkManager().withNetworkLock(networkId, () -> {
+        StorageRetrieveEvent event = new StorageRetrieveEvent();
+        event.begin();
+        int[] diskCount = {0};
+        int[] rowsWritten = {0};
+
+        // Retrieval only frees cells, it never needs the allocation lock
+        ItemStack retrieved = storageLocks.apply(networkId).withItemLocks(List.of(itemHash), false, () -> {
             ItemStack[] result = new ItemStack[1];
+            List<StoredItem> changes = new ArrayList<>();
 
             try {
                 DatabaseManager.DatabaseTransaction transaction = (Connection conn) -> {
-                    // Find the item in storage - ONLY from disks currently in drive bays
-                    // ORDER BY quantity ASC to take from less full cells first
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT si.id, si.disk_id, si.item_data, si.quantity, si.max_stack_size " +
-                                    "FROM storage_items si " +
-                                    "JOIN storage_disks sd ON si.disk_id = sd.disk_id " +
-                                    "JOIN drive_bay_slots dbs ON sd.disk_id = dbs.disk_id " +
-                                    "WHERE dbs.network_id = ? AND si.item_hash = ? AND si.quantity > 0 AND dbs.disk_id IS NOT NULL " +
-                                    "ORDER BY si.quantity ASC")) { // CHANGED: Take from less full cells first
-
-                        stmt.setString(1, networkId);
-                        stmt.setString(2, itemHash);
-
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            int remainingToRetrieve = amount;
-                            List<ItemStack> retrievedItems = new ArrayList<>();
-
-                            while (rs.next() && remainingToRetrieve > 0) {
-                                int cellId = rs.getInt("id");
-                                String diskId = rs.getString("disk_id");
-                                String itemData = rs.getString("item_data");
-                                int currentQuantity = rs.getInt("quantity");
-
-                                int toRetrieve = Math.min(remainingToRetrieve, currentQuantity);
-                                int newQuantity = currentQuantity - toRetrieve;
-
-                                plugin.debugLog("Retrieving " + toRetrieve + " from cell " + cellId + " in disk " + diskId +
-                                        " (cell had " + currentQuantity + ", will have " + newQuantity + ")");
-
-                                // Update this specific cell
-                                try (PreparedStatement updateStmt = conn.prepareStatement(
-                                        "UPDATE storage_items SET quantity = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?")) {
-                                    updateStmt.setInt(1, newQuantity);
-                                    updateStmt.setInt(2, cellId);
-                                    updateStmt.executeUpdate();
-                                }
-
-                                // If quantity reaches 0, remove the cell entry
-                                if (newQuantity == 0) {
-                                    try (PreparedStatement deleteStmt = conn.prepareStatement(
-                                            "DELETE FROM storage_items WHERE id = ?")) {
-                                        deleteStmt.setInt(1, cellId);
-                                        deleteStmt.executeUpdate();
-                                    }
-                                    plugin.debugLog("Removed empty cell " + cellId + " from disk " + diskId);
-                                }
-
-                                // Deserialize item and set amount
-                                ItemStack item = deserializeItemStack(itemData);
-                                if (item != null) {
-                                    item.setAmount(toRetrieve);
-                                    retrievedItems.add(item);
-                                    remainingToRetrieve -= toRetrieve;
-                                }
-                            }
-
-                            // Combine all retrieved items into one stack
-                            if (!retrievedItems.isEmpty()) {
-                                ItemStack combinedItem = retrievedItems.getFirst().clone();
-                                int totalAmount = retrievedItems.stream().mapToInt(ItemStack::getAmount).sum();
-                                combinedItem.setAmount(totalAmount);
-                                result[0] = combinedItem;
-                                plugin.debugLog("Successfully combined " + retrievedItems.size() + " retrievals into " + totalAmount + " items");
-                            }
-                        }
+                    try (StatementCache statements = new StatementCache(conn)) {
+                        result[0] = retrieveInTransaction(statements, networkId, itemHash, amount, diskCount, rowsWritten, changes);
                     }
-
-                    // Update disk cell counts for disks that are currently in drive bays
-                    List<String> diskIds = getNetworkDiskIds(conn, networkId);
-                    updateDiskCellCounts(conn, diskIds);
                 };
 
-                plugin.getDatabaseManager().executeTransaction(transaction);
+                database.executeTransaction(transaction);
+                publishChanges(networkId, changes);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
 
             return result[0];
         });
+
+        if (retrieved != null) {
+            metrics.counter("items_retrieved").add(retrieved.getAmount());
+        }
+
+        if (event.shouldCommit()) {
+            event.networkId = networkId;
+            event.itemHash = itemHash;
+            event.requested = amount;
+            event.retrieved = retrieved != null ? retrieved.getAmount() : 0;
+            event.disks = diskCount[0];
+            event.rowsWritten = rowsWritten[0];
+            event.commit();
+        }
+        return retrieved;
+    }
+
+    /**
+     * Retrieve items within an open transaction, without locking.
+     * Shared by retrieveItems and the storage benchmark.
+     * @param diskCount Receives the number of disks in the network
+     * @param rowsWritten Receives the storage cells updated or deleted
+     * @param changes Receives the new network total of the item if any was retrieved
+     * @return The retrieved items, or null if not available
+     */
+    ItemStack retrieveInTransaction(StatementCache statements, String networkId, String itemHash, int amount,
+                                    int[] diskCount, int[] rowsWritten, List<StoredItem> changes) throws SQLException {
+        ItemStack result = null;
+
+        // Cell changes are batched and flushed once the ResultSet has been consumed
+        PreparedStatement updateStmt = statements.prepare(StorageQuery.SET_CELL_QUANTITY);
+        PreparedStatement deleteStmt = statements.prepare(StorageQuery.DELETE_CELL);
+        int pendingUpdates = 0;
+        int pendingDeletes = 0;
+
+        // Find the item in storage - ONLY from disks currently in drive bays
+        // ORDER BY quantity ASC to take from less full cells first
+        PreparedStatement stmt = statements.prepare(StorageQuery.RETRIEVE_CELLS);
+        stmt.setString(1, networkId);
+        stmt.setString(2, itemHash);
+
+        try (ResultSet rs = stmt.executeQuery()) {
+            int remainingToRetrieve = amount;
+            List<ItemStack> retrievedItems = new ArrayList<>();
+
+            while (rs.next() && remainingToRetrieve > 0) {
+                int cellId = rs.getInt("id");
+                int diskKey = rs.getInt("disk_key");
+                String itemData = rs.getString("item_data");
+                int currentQuantity = rs.getInt("quantity");
+
+                int toRetrieve = Math.min(remainingToRetrieve, currentQuantity);
+                int newQuantity = currentQuantity - toRetrieve;
+
+                plugin.debugLog("Retrieving " + toRetrieve + " from cell " + cellId + " in disk " + diskKey +
+                        " (cell had " + currentQuantity + ", will have " + newQuantity + ")");
+
+                if (newQuantity == 0) {
+                    // If quantity reaches 0, remove the cell entry
+                    deleteStmt.setInt(1, cellId);
+                    deleteStmt.addBatch();
+                    pendingDeletes++;
+                    plugin.debugLog("Removed empty cell " + cellId + " from disk " + diskKey);
+                } else {
+                    // Update this specific cell
+                    updateStmt.setInt(1, newQuantity);
+                    updateStmt.setInt(2, cellId);
+                    updateStmt.addBatch();
+                    pendingUpdates++;
+                }
+
+                // Deserialize item and set amount
+                ItemStack item = deserializeItemStack(itemData);
+                if (item != null) {
+                    item.setAmount(toRetrieve);
+                    retrievedItems.add(item);
+                    remainingToRetrieve -= toRetrieve;
+                }
+            }
+
+            // Combine all retrieved items into one stack
+            if (!retrievedItems.isEmpty()) {
+                ItemStack combinedItem = retrievedItems.getFirst().clone();
+                int totalAmount = retrievedItems.stream().mapToInt(ItemStack::getAmount).sum();
+                combinedItem.setAmount(totalAmount);
+                result = combinedItem;
+                plugin.debugLog("Successfully combined " + retrievedItems.size() + " retrievals into " + totalAmount + " items");
+            }
+        }
+
+        if (pendingUpdates > 0) {
+            updateStmt.executeBatch();
+        }
+        if (pendingDeletes > 0) {
+            deleteStmt.executeBatch();
+        }
+        rowsWritten[0] = pendingUpdates + pendingDeletes;
+
+        // Update disk cell counts for disks that are currently in drive bays
+        List<Integer> diskKeys = getNetworkDiskKeys(statements, networkId);
+        diskCount[0] = diskKeys.size();
+        updateDiskCellCounts(statements, diskKeys);
+
+        if (result != null) {
+            changes.add(new StoredItem(itemHash, result, getItemTotal(statements, networkId, itemHash)));
+        }
+
+        return result;
     }
 
     /**
      * Get all stored items in a network for display in terminal
-     * Consolidate same item types from multiple disks into single display slot
+     * Consolidate same item types from multiple disks into single display slot.
+     * Takes no lock, the published snapshot is returned while no write has happened since it was loaded.
+     * @return A fresh list the caller may sort or filter
      */
     public List<StoredItem> getNetworkItems(String networkId) throws Exception {
-        return plugin.getNetworkManager().withNetworkLock(networkId, () -> {
-            List<StoredItem> items = new ArrayList<>();
+        NetworkItemsEvent event = new NetworkItemsEvent();
+        event.begin();
+
+        long version = getContentVersion(networkId).get();
+        NetworkItemsSnapshot snapshot = publishedItems.get(networkId);
+        if (snapshot != null && snapshot.version() == version) {
+            metrics.recordCacheHit("network_items");
+            if (event.shouldCommit()) {
+                event.networkId = networkId;
+                event.itemTypes = snapshot.items().size();
+                event.cached = true;
+                event.commit();
+            }
+            return new ArrayList<>(snapshot.items());
+        }
 
-            try {
-                // Get currently connected drive bays for this network (real-time detection)
-                Set<String> connectedDiskIds = getConnectedDiskIdsForNetwork(networkId);
-                
-                if (connectedDiskIds.isEmpty()) {
-                    plugin.debugLog("No connected drive bays found for network " + networkId);
-                    return items;
+        metrics.recordCacheMiss("network_items");
+        int[] diskCount = {0};
+        List<StoredItem> items = loadNetworkItems(networkId, diskCount);
+
+        // Publish unless a write landed while loading, or a newer load already published
+        publishedItems.compute(networkId, (id, current) ->
+                getContentVersion(networkId).get() != version || (current != null && current.version() >= version)
+                        ? current
+                        : new NetworkItemsSnapshot(version, List.copyOf(items)));
+
+        if (event.shouldCommit()) {
+            event.networkId = networkId;
+            event.itemTypes = items.size();
+            event.disks = diskCount[0];
+            event.commit();
+        }
+        return items;
+    }
+
+    /**
+     * Drop the published contents of a network, the next read loads them again.
+     * Called whenever the network's disks or topology change, writes publish their item changes instead.
+     */
+    public void invalidateNetworkItems(String networkId) {
+        getContentVersion(networkId).incrementAndGet();
+        publishedItems.remove(networkId);
+    }
+
+    private AtomicLong getContentVersion(String networkId) {
+        return contentVersions.computeIfAbsent(networkId, k -> new AtomicLong());
+    }
+
+    /**
+     * Current content version of a network, raised by every write and invalidation
+     */
+    public long getNetworkVersion(String networkId) {
+        return getContentVersion(networkId).get();
+    }
+
+    /**
+     * Item changes made since a content version, as new network totals in write order.
+     * Applying them again is harmless since they carry totals rather than differences.
+     * @return The changes, empty if nothing changed, or null if the contents must be reloaded because
+     * the network was invalidated or the changes are no longer kept
+     */
+    public List<StoredItem> getChangesSince(String networkId, long version) {
+        long current = getContentVersion(networkId).get();
+        if (version == current) {
+            return List.of();
+        }
+
+        ChangeLog log = changeLogs.get(networkId);
+        if (log == null) {
+            return null;
+        }
+
+        List<StoredItem> changes = new ArrayList<>();
+        long expected = version + 1;
+        synchronized (log) {
+            for (VersionedChanges entry : log.entries) {
+                if (entry.version() <= version) {
+                    continue;
+                }
+                if (entry.version() != expected) {
+                    return null;
                 }
+                changes.addAll(entry.changes());
+                expected++;
+            }
+        }
 
-                try (Connection conn = plugin.getDatabaseManager().getConnection()) {
-                    // Build a dynamic query based on actually connected disks
-                    StringBuilder queryBuilder = getStringBuilder(connectedDiskIds);
+        // A gap at the end means an invalidation or a write that has not been recorded yet
+        return expected > current ? changes : null;
+    }
 
-                    try (PreparedStatement stmt = conn.prepareStatement(queryBuilder.toString())) {
-                        int paramIndex = 1;
-                        for (String diskId : connectedDiskIds) {
-                            stmt.setString(paramIndex++, diskId);
-                        }
+    /**
+     * Publish the changes of a committed write under a new content version
+     */
+    private void publishChanges(String networkId, List<StoredItem> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        ChangeLog log = changeLogs.computeIfAbsent(networkId, k -> new ChangeLog());
+        synchronized (log) {
+            long version = getContentVersion(networkId).incrementAndGet();
+            log.entries.addLast(new VersionedChanges(version, List.copyOf(changes)));
+            if (log.entries.size() > CHANGE_LOG_SIZE) {
+                log.entries.removeFirst();
+            }
+        }
+        publishedItems.remove(networkId);
+    }
+
+    /**
+     * @param diskCount Receives the number of connected disks read
+     */
+    private List<StoredItem> loadNetworkItems(String networkId, int[] diskCount) throws Exception {
+        List<StoredItem> items = new ArrayList<>();
+
+        try {
+            // Get the drive bays currently registered to this network
+            Set<String> connectedDiskIds = getConnectedDiskIdsForNetwork(networkId);
+            diskCount[0] = connectedDiskIds.size();
+            
+            if (connectedDiskIds.isEmpty()) {
+                plugin.debugLog("No connected drive bays found for network " + networkId);
+                return items;
+            }
+
+            try (Connection conn = database.getConnection()) {
+                items = loadItemsFromDisks(conn, connectedDiskIds);
+            }
+
+            plugin.debugLog("Found " + items.size() + " consolidated item types from " + connectedDiskIds.size() + " connected disks in network " + networkId);
+
+        } catch (Exception e) {
+            plugin.getLogger().severe("Error getting network items for " + networkId + ": " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+
+        return items;
+    }
+
+    /**
+     * Consolidate the stored items of the given disks, one entry per item type
+     * Shared by getNetworkItems and the storage benchmark.
+     */
+    List<StoredItem> loadItemsFromDisks(Connection conn, Set<String> diskIds) throws SQLException {
+        List<StoredItem> items = new ArrayList<>();
+
+        // Build a dynamic query based on actually connected disks
+        StringBuilder queryBuilder = getStringBuilder(diskIds);
+
+        try (PreparedStatement stmt = conn.prepareStatement(queryBuilder.toString())) {
+            int paramIndex = 1;
+            for (String diskId : diskIds) {
+                stmt.setString(paramIndex++, diskId);
+            }
 
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            while (rs.next()) {
-                                String itemHash = rs.getString("item_hash");
-                                String itemData = rs.getString("item_data");
-                                int quantity = rs.getInt("total_quantity");
-
-                                ItemStack item = deserializeItemStack(itemData);
-                                if (item != null) {
-                                    items.add(new StoredItem(itemHash, item, quantity));
-                                }
-                            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String itemHash = rs.getString("item_hash");
+                    String itemData = rs.getString("item_data");
+                    int quantity = rs.getInt("total_quantity");
+
+                    // Only item types not seen before are deserialized, the stack itself is not kept
+                    ItemSummary summary = itemSummaries.get(itemHash);
+                    if (summary == null) {
+                        ItemStack item = deserializeItemStack(itemData);
+                        if (item == null) {
+                            continue;
+                        }
+                        summary = ItemSummary.of(item);
+                        if (itemSummaries.size() >= ITEM_SUMMARY_CACHE_SIZE) {
+                            itemSummaries.clear();
                         }
+                        itemSummaries.put(itemHash, summary);
                     }
+                    items.add(new StoredItem(itemHash, summary, itemData, quantity));
                 }
+            }
+        }
 
-                plugin.debugLog("Found " + items.size() + " consolidated item types from " + connectedDiskIds.size() + " connected disks in network " + networkId);
+        return items;
+    }
 
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error getting network items for " + networkId + ": " + e.getMessage());
-                throw new RuntimeException(e);
-            }
+    /**
+     * Store items without blocking the main thread
+     * @param networkId The network to store items in
+     * @param items Items to store, copied before the call returns
+     * @return Future completing on the main thread with the items that couldn't be stored
+     */
+    public CompletableFuture<List<ItemStack>> storeItemsAsync(String networkId, List<ItemStack> items) {
+        // Callers keep using their stacks on the main thread, only copies cross over
+        List<ItemStack> snapshot = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            snapshot.add(item.clone());
+        }
+        return plugin.getDatabaseExecutor().supplyToMainThread(() -> storeItems(networkId, snapshot));
+    }
 
-            return items;
-        });
+    /**
+     * Retrieve items without blocking the main thread
+     * @return Future completing on the main thread with the retrieved items, or null if not available
+     */
+    public CompletableFuture<ItemStack> retrieveItemsAsync(String networkId, String itemHash, int amount) {
+        return plugin.getDatabaseExecutor().supplyToMainThread(() -> retrieveItems(networkId, itemHash, amount));
+    }
+
+    /**
+     * Load the consolidated network contents without blocking the main thread
+     * @return Future completing on the main thread with the stored items
+     */
+    public CompletableFuture<List<StoredItem>> getNetworkItemsAsync(String networkId) {
+        return plugin.getDatabaseExecutor().supplyToMainThread(() -> getNetworkItems(networkId));
     }
 
     private static @NotNull StringBuilder getStringBuilder(Set<String> connectedDiskIds) {
         StringBuilder queryBuilder = new StringBuilder(
                 "SELECT si.item_hash, si.item_data, SUM(si.quantity) as total_quantity " +
                 "FROM storage_items si " +
-                "JOIN storage_disks sd ON si.disk_id = sd.disk_id " +
+                "JOIN storage_disks sd ON si.disk_key = sd.disk_key " +
                 "WHERE sd.disk_id IN (");
 
         // Add placeholders for disk IDs
@@ -263,80 +652,33 @@ public class StorageManager {
     }
 
     /**
-     * Get disk IDs that are currently connected to a network by checking actual connectivity
-     * This ensures terminals only show items from drive bays that are currently part of the network
+     * Get disk IDs in the drive bays currently registered to a network.
+     * network_blocks is rewritten from a fresh detection whenever the topology changes, so this reads
+     * the live connectivity without touching the world and is safe on database threads.
      */
     private Set<String> getConnectedDiskIdsForNetwork(String networkId) throws Exception {
         Set<String> connectedDiskIds = new HashSet<>();
-        
-        try {
-            // Get network info to find all currently connected drive bays
-            Set<Location> connectedDriveBays = new HashSet<>();
-            
-            // Find any block in this network to detect the full topology
-            try (Connection conn = plugin.getDatabaseManager().getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(
-                         "SELECT world_name, x, y, z FROM network_blocks WHERE network_id = ? LIMIT 1")) {
-                
-                stmt.setString(1, networkId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        Location testLocation = new Location(
-                                plugin.getServer().getWorld(rs.getString("world_name")),
-                                rs.getInt("x"),
-                                rs.getInt("y"),
-                                rs.getInt("z")
-                        );
-                        
-                        // Detect the current network topology from this location
-                        NetworkInfo currentNetwork = plugin.getNetworkManager().detectNetwork(testLocation);
-                        if (currentNetwork != null && currentNetwork.isValid()) {
-                            connectedDriveBays = currentNetwork.getDriveBays();
-                        }
-                    }
-                }
-            }
-            
-            if (connectedDriveBays.isEmpty()) {
-                plugin.debugLog("No drive bays detected in current network topology for " + networkId);
-                return connectedDiskIds;
-            }
-            
-            // Now get disk IDs from these connected drive bay locations
-            try (Connection conn = plugin.getDatabaseManager().getConnection()) {
-                for (Location driveBayLocation : connectedDriveBays) {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT disk_id FROM drive_bay_slots WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND disk_id IS NOT NULL")) {
-                        
-                        stmt.setString(1, driveBayLocation.getWorld().getName());
-                        stmt.setInt(2, driveBayLocation.getBlockX());
-                        stmt.setInt(3, driveBayLocation.getBlockY());
-                        stmt.setInt(4, driveBayLocation.getBlockZ());
-                        
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            while (rs.next()) {
-                                String diskId = rs.getString("disk_id");
-                                if (diskId != null) {
-                                    connectedDiskIds.add(diskId);
-                                }
-                            }
-                        }
-                    }
+
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(StorageQuery.CONNECTED_DISKS.getSql())) {
+            stmt.setString(1, networkId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    connectedDiskIds.add(rs.getString("disk_id"));
                 }
             }
-            
-            plugin.debugLog("Found " + connectedDiskIds.size() + " disks in " + connectedDriveBays.size() + " connected drive bays for network " + networkId);
-            
+
+            plugin.debugLog("Found " + connectedDiskIds.size() + " disks in connected drive bays for network " + networkId);
         } catch (Exception e) {
             plugin.getLogger().severe("Error detecting connected disks for network " + networkId + ": " + e.getMessage());
             throw e;
         }
-        
+
         return connectedDiskIds;
     }
 
-    private ItemStack storeItemInNetwork(Connection conn, String networkId, List<String> diskIds, ItemStack item) throws SQLException {
-        String itemHash = itemManager.generateItemHash(item);
+    private ItemStack storeItemInNetwork(StatementCache statements, String networkId, List<Integer> diskKeys, ItemStack item,
+                                         String itemHash, boolean createCells, int[] rowsWritten) throws SQLException {
         String itemData = serializeItemStack(item);
         int amountToStore = item.getAmount();
         int maxStackSize = item.getMaxStackSize();
@@ -344,75 +686,95 @@ public class StorageManager {
         plugin.debugLog("Storing " + amountToStore + " " + item.getType() + " (hash: " + itemHash.substring(0, 8) + "...)");
 
         // PHASE 1: Fill existing partial cells first (most space-efficient)
-        for (String diskId : diskIds) {
+        PreparedStatement updateStmt = statements.prepare(StorageQuery.ADD_TO_CELL);
+        for (int diskKey : diskKeys) {
             if (amountToStore <= 0) break;
 
             // Get the maximum items per cell for this specific disk
-            int MAX_ITEMS_PER_CELL = getDiskMaxItemsPerCell(conn, diskId);
-            plugin.debugLog("Disk " + diskId + " has capacity of " + MAX_ITEMS_PER_CELL + " items per cell");
+            int MAX_ITEMS_PER_CELL = getDiskMaxItemsPerCell(statements, diskKey);
+            plugin.debugLog("Disk " + diskKey + " has capacity of " + MAX_ITEMS_PER_CELL + " items per cell");
 
             // Get all partial cells for this item type, ordered by quantity DESC (fill fuller cells first)
-            try (PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT id, quantity FROM storage_items WHERE disk_id = ? AND item_hash = ? AND quantity < ? ORDER BY quantity DESC")) {
-                stmt.setString(1, diskId);
-                stmt.setString(2, itemHash);
-                stmt.setInt(3, MAX_ITEMS_PER_CELL);
-
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next() && amountToStore > 0) {
-                        int cellId = rs.getInt("id");
-                        int currentQuantity = rs.getInt("quantity");
-                        int canAdd = Math.min(amountToStore, MAX_ITEMS_PER_CELL - currentQuantity);
-
-                        if (canAdd > 0) {
-                            // Update this specific cell
-                            try (PreparedStatement updateStmt = conn.prepareStatement(
-                                    "UPDATE storage_items SET quantity = quantity + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?")) {
-                                updateStmt.setInt(1, canAdd);
-                                updateStmt.setInt(2, cellId);
-                                updateStmt.executeUpdate();
-                            }
-
-                            amountToStore -= canAdd;
-                            plugin.debugLog("Added " + canAdd + " items to existing cell " + cellId + " in disk " + diskId +
-                                    " (now " + (currentQuantity + canAdd) + "/" + MAX_ITEMS_PER_CELL + ")");
-                        }
+            PreparedStatement stmt = statements.prepare(StorageQuery.PARTIAL_CELLS);
+            stmt.setInt(1, diskKey);
+            stmt.setString(2, itemHash);
+            stmt.setInt(3, MAX_ITEMS_PER_CELL);
+
+            int pendingUpdates = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next() && amountToStore > 0) {
+                    int cellId = rs.getInt("id");
+                    int currentQuantity = rs.getInt("quantity");
+                    int canAdd = Math.min(amountToStore, MAX_ITEMS_PER_CELL - currentQuantity);
+
+                    if (canAdd > 0) {
+                        // Queue the update for this specific cell
+                        updateStmt.setInt(1, canAdd);
+                        updateStmt.setInt(2, cellId);
+                        updateStmt.addBatch();
+                        pendingUpdates++;
+
+                        amountToStore -= canAdd;
+                        plugin.debugLog("Added " + canAdd + " items to existing cell " + cellId + " in disk " + diskKey +
+                                " (now " + (currentQuantity + canAdd) + "/" + MAX_ITEMS_PER_CELL + ")");
                     }
                 }
             }
+
+            if (pendingUpdates > 0) {
+                updateStmt.executeBatch();
+                rowsWritten[0] += pendingUpdates;
+            }
+        }
+
+        // Left for the allocation pass
+        if (!createCells) {
+            if (amountToStore <= 0) {
+                return null;
+            }
+            ItemStack remainder = item.clone();
+            remainder.setAmount(amountToStore);
+            return remainder;
         }
 
         // PHASE 2: Create new cells for remaining items
-        for (String diskId : diskIds) {
+        PreparedStatement insertStmt = statements.prepare(StorageQuery.INSERT_CELL);
+        for (int diskKey : diskKeys) {
             if (amountToStore <= 0) break;
 
             // Get the maximum items per cell for this specific disk
-            int MAX_ITEMS_PER_CELL = getDiskMaxItemsPerCell(conn, diskId);
+            int MAX_ITEMS_PER_CELL = getDiskMaxItemsPerCell(statements, diskKey);
 
             // Check available cells
-            int availableCells = getAvailableCells(conn, diskId);
-            plugin.debugLog("Disk " + diskId + " has " + availableCells + " available cells (capacity: " + MAX_ITEMS_PER_CELL + " per cell)");
+            int availableCells = getAvailableCells(statements, diskKey);
+            plugin.debugLog("Disk " + diskKey + " has " + availableCells + " available cells (capacity: " + MAX_ITEMS_PER_CELL + " per cell)");
 
+            List<Integer> batchedAmounts = new ArrayList<>();
             while (availableCells > 0 && amountToStore > 0) {
                 int canStore = Math.min(amountToStore, MAX_ITEMS_PER_CELL);
 
-                try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO storage_items (disk_id, item_hash, item_data, quantity, max_stack_size) VALUES (?, ?, ?, ?, ?)")) {
-                    stmt.setString(1, diskId);
-                    stmt.setString(2, itemHash);
-                    stmt.setString(3, itemData);
-                    stmt.setInt(4, canStore);
-                    stmt.setInt(5, maxStackSize);
-
-                    stmt.executeUpdate();
-
-                    amountToStore -= canStore;
-                    availableCells--;
-                    plugin.debugLog("Created new cell in disk " + diskId + " with " + canStore + " items (" + availableCells + " cells remaining)");
+                insertStmt.setInt(1, diskKey);
+                insertStmt.setString(2, itemHash);
+                insertStmt.setString(3, itemData);
+                insertStmt.setInt(4, canStore);
+                insertStmt.setInt(5, maxStackSize);
+                insertStmt.addBatch();
+                batchedAmounts.add(canStore);
+
+                amountToStore -= canStore;
+                availableCells--;
+                plugin.debugLog("Created new cell in disk " + diskKey + " with " + canStore + " items (" + availableCells + " cells remaining)");
+            }
 
-                } catch (SQLException e) {
-                    plugin.getLogger().severe("Error creating new storage cell in disk " + diskId + ": " + e.getMessage());
-                    break; // Stop trying this disk
+            if (!batchedAmounts.isEmpty()) {
+                try {
+                    insertStmt.executeBatch();
+                    rowsWritten[0] += batchedAmounts.size();
+                } catch (BatchUpdateException e) {
+                    // Hand back every cell the driver did not confirm, then stop trying this disk
+                    amountToStore += getFailedBatchAmount(batchedAmounts, e.getUpdateCounts());
+                    insertStmt.clearBatch();
+                    plugin.getLogger().severe("Error creating new storage cell in disk " + diskKey + ": " + e.getMessage());
                 }
             }
         }
@@ -422,14 +784,12 @@ public class StorageManager {
             // Get network location for better error reporting
             String locationInfo = "";
             try {
-                try (PreparedStatement locationStmt = conn.prepareStatement(
-                        "SELECT world_name, x, y, z FROM network_blocks WHERE network_id = ? AND block_type = 'STORAGE_SERVER' LIMIT 1")) {
-                    locationStmt.setString(1, networkId);
-                    try (ResultSet rs = locationStmt.executeQuery()) {
-                        if (rs.next()) {
-                            locationInfo = " at " + rs.getString("world_name") + " " + 
-                                         rs.getInt("x") + "," + rs.getInt("y") + "," + rs.getInt("z");
-                        }
+                PreparedStatement locationStmt = statements.prepare(StorageQuery.NETWORK_SERVER_LOCATION);
+                locationStmt.setString(1, networkId);
+                try (ResultSet rs = locationStmt.executeQuery()) {
+                    if (rs.next()) {
+                        locationInfo = " at " + rs.getString("world_name") + " " + 
+                                     rs.getInt("x") + "," + rs.getInt("y") + "," + rs.getInt("z");
                     }
                 }
             } catch (SQLException e) {
@@ -444,12 +804,12 @@ public class StorageManager {
             }
 
             // Log detailed capacity info for debugging
-            for (String diskId : diskIds) {
+            for (int diskKey : diskKeys) {
                 try {
-                    int availableCells = getAvailableCells(conn, diskId);
-                    int maxCells = getMaxCells(conn, diskId);
-                    int maxItemsPerCell = getDiskMaxItemsPerCell(conn, diskId);
-                    plugin.debugLog("Disk " + diskId + " final state: " + availableCells + "/" + maxCells +
+                    int availableCells = getAvailableCells(statements, diskKey);
+                    int maxCells = getMaxCells(statements, diskKey);
+                    int maxItemsPerCell = getDiskMaxItemsPerCell(statements, diskKey);
+                    plugin.debugLog("Disk " + diskKey + " final state: " + availableCells + "/" + maxCells +
                             " cells available (" + maxItemsPerCell + " items per cell)");
                 } catch (SQLException e) {
                     plugin.getLogger().warning("Error getting final disk state: " + e.getMessage());
@@ -465,14 +825,29 @@ public class StorageManager {
         return null;
     }
 
+    /**
+     * Sum the amounts of batched inserts that were not confirmed by the driver.
+     * Drivers either stop at the first failure (shorter update count array) or continue and mark failures.
+     */
+    private int getFailedBatchAmount(List<Integer> batchedAmounts, int[] updateCounts) {
+        int failedAmount = 0;
+        for (int i = 0; i < batchedAmounts.size(); i++) {
+            boolean executed = updateCounts != null && i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED;
+            if (!executed) {
+                failedAmount += batchedAmounts.get(i);
+            }
+        }
+        return failedAmount;
+    }
+
     // Helper method to get disk-specific capacity
-    private int getDiskMaxItemsPerCell(Connection conn, String diskId) throws SQLException {
+    private int getDiskMaxItemsPerCell(StatementCache statements, int diskKey) throws SQLException {
         try {
             // Get the tier from the database and return tier-specific capacity
-            String tier = getTierFromDatabase(conn, diskId);
+            String tier = getTierFromDatabase(statements, diskKey);
             return plugin.getItemManager().getItemsPerCellForTier(tier);
         } catch (Exception e) {
-            plugin.getLogger().warning("Error getting tier-specific capacity for disk " + diskId + ": " + e.getMessage());
+            plugin.getLogger().warning("Error getting tier-specific capacity for disk " + diskKey + ": " + e.getMessage());
             return 127; // 1k tier default fallback
         }
     }
@@ -480,70 +855,78 @@ public class StorageManager {
     /**
      * Helper method to get tier from database within an existing connection
      */
-    private String getTierFromDatabase(Connection conn, String diskId) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement("SELECT tier FROM storage_disks WHERE disk_id = ?")) {
-            stmt.setString(1, diskId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String tier = rs.getString("tier");
-                    return tier != null ? tier : "1k"; // Default to 1k if null
-                }
+    private String getTierFromDatabase(StatementCache statements, int diskKey) throws SQLException {
+        PreparedStatement stmt = statements.prepare(StorageQuery.DISK_TIER);
+        stmt.setInt(1, diskKey);
+        try (ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                String tier = rs.getString("tier");
+                return tier != null ? tier : "1k"; // Default to 1k if null
             }
         }
         return "1k"; // Default fallback
     }
 
     // Helper method to get available cells (replace the existing hasAvailableCells method)
-    private int getAvailableCells(Connection conn, String diskId) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT (SELECT max_cells FROM storage_disks WHERE disk_id = ?) - COUNT(*) as available_cells FROM storage_items WHERE disk_id = ?")) {
-            stmt.setString(1, diskId);
-            stmt.setString(2, diskId);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("available_cells");
-                }
+    private int getAvailableCells(StatementCache statements, int diskKey) throws SQLException {
+        PreparedStatement stmt = statements.prepare(StorageQuery.AVAILABLE_CELLS);
+        stmt.setInt(1, diskKey);
+        stmt.setInt(2, diskKey);
+
+        try (ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt("available_cells");
             }
         }
         return 0;
     }
 
-    private List<String> getNetworkDiskIds(Connection conn, String networkId) throws SQLException {
-        List<String> diskIds = new ArrayList<>();
+    /**
+     * Quantity of one item across the disks in the network's drive bays
+     */
+    private int getItemTotal(StatementCache statements, String networkId, String itemHash) throws SQLException {
+        PreparedStatement stmt = statements.prepare(StorageQuery.ITEM_TOTAL);
+        stmt.setString(1, networkId);
+        stmt.setString(2, itemHash);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
 
-        try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT DISTINCT dbs.disk_id FROM drive_bay_slots dbs WHERE dbs.network_id = ? AND dbs.disk_id IS NOT NULL ORDER BY dbs.slot_number")) {
-            stmt.setString(1, networkId);
+    private List<Integer> getNetworkDiskKeys(StatementCache statements, String networkId) throws SQLException {
+        List<Integer> diskKeys = new ArrayList<>();
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    diskIds.add(rs.getString("disk_id"));
-                }
+        PreparedStatement stmt = statements.prepare(StorageQuery.NETWORK_DISK_KEYS);
+        stmt.setString(1, networkId);
+
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                diskKeys.add(rs.getInt("disk_key"));
             }
         }
 
-        return diskIds;
+        return diskKeys;
     }
 
-    private void updateDiskCellCounts(Connection conn, List<String> diskIds) throws SQLException {
-        for (String diskId : diskIds) {
-            try (PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE storage_disks SET used_cells = (SELECT COUNT(*) FROM storage_items WHERE disk_id = ?), updated_at = CURRENT_TIMESTAMP WHERE disk_id = ?")) {
-                stmt.setString(1, diskId);
-                stmt.setString(2, diskId);
-                stmt.executeUpdate();
-            }
+    private void updateDiskCellCounts(StatementCache statements, List<Integer> diskKeys) throws SQLException {
+        if (diskKeys.isEmpty()) {
+            return;
         }
+
+        PreparedStatement stmt = statements.prepare(StorageQuery.UPDATE_USED_CELLS);
+        for (int diskKey : diskKeys) {
+            stmt.setInt(1, diskKey);
+            stmt.setInt(2, diskKey);
+            stmt.addBatch();
+        }
+        stmt.executeBatch();
     }
 
-    private int getMaxCells(Connection conn, String diskId) throws SQLException {
-        try (PreparedStatement stmt = conn.prepareStatement(
-                "SELECT max_cells FROM storage_disks WHERE disk_id = ?")) {
-            stmt.setString(1, diskId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next() ? rs.getInt(1) : 27;
-            }
+    private int getMaxCells(StatementCache statements, int diskKey) throws SQLException {
+        PreparedStatement stmt = statements.prepare(StorageQuery.DISK_MAX_CELLS);
+        stmt.setInt(1, diskKey);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 27;
         }
     }
 
@@ -1,29 +1,85 @@
 package org.jamesphbennett.modularstoragesystem.storage;
 
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
-public record StoredItem(String itemHash, ItemStack itemStack, int quantity) {
+import java.util.Base64;
+
+/**
+ * One item type stored in a network with its total quantity.
+ * Items loaded from the database keep only their serialized form and summary, the ItemStack is
+ * materialized when a terminal shows or retrieves it, so huge networks don't hold a stack per type.
+ */
+public final class StoredItem {
+
+    private final String itemHash;
+    private final ItemSummary summary;
+    private final int quantity;
+    // Exactly one of these is set
+    private final ItemStack template;
+    private final String itemData;
 
     public StoredItem(String itemHash, ItemStack itemStack, int quantity) {
+        this(itemHash, ItemSummary.of(itemStack), quantity, itemStack.clone(), null);
+    }
+
+    /**
+     * @param itemData Base64 item data as stored in storage_items
+     */
+    public StoredItem(String itemHash, ItemSummary summary, String itemData, int quantity) {
+        this(itemHash, summary, quantity, null, itemData);
+    }
+
+    private StoredItem(String itemHash, ItemSummary summary, int quantity, ItemStack template, String itemData) {
         this.itemHash = itemHash;
-        this.itemStack = itemStack.clone();
+        this.summary = summary;
         this.quantity = quantity;
+        this.template = template;
+        this.itemData = itemData;
     }
 
-    @Override
+    public String itemHash() {
+        return itemHash;
+    }
+
+    public int quantity() {
+        return quantity;
+    }
+
+    public ItemSummary summary() {
+        return summary;
+    }
+
+    /**
+     * Item type without materializing the stack, for sorting and filtering
+     */
+    public Material getType() {
+        return summary.material();
+    }
+
+    public int getMaxStackSize() {
+        return summary.maxStackSize();
+    }
+
+    /**
+     * A new copy of the item, deserialized if it was loaded from the database
+     */
     public ItemStack itemStack() {
-        return itemStack.clone();
+        if (template != null) {
+            return template.clone();
+        }
+        return ItemStack.deserializeBytes(Base64.getDecoder().decode(itemData));
     }
 
     public ItemStack getDisplayStack() {
-        ItemStack display = itemStack.clone();
-        display.setAmount(Math.min(quantity, itemStack.getMaxStackSize()));
+        ItemStack display = itemStack();
+        display.setAmount(Math.min(quantity, summary.maxStackSize()));
         return display;
     }
 
     @Override
     public String toString() {
         return String.format("StoredItem{hash='%s', item=%s, quantity=%d}",
-                itemHash, itemStack.getType(), quantity);
+                itemHash, summary.material(), quantity);
     }
-}
\ No newline at end of file
+}
@@ -46,9 +46,11 @@ public class BlockMarkerCache {
         if (expiry != null && System.currentTimeMillis() < expiry) {
             Boolean cached = blockMarkerCache.get(cacheKey);
             if (cached != null) {
+                plugin.getMetrics().recordCacheHit("block_markers");
                 return cached;
             }
         }
+        plugin.getMetrics().recordCacheMiss("block_markers");
 
         // Cache miss - query database
         boolean result = queryDatabase(location, blockType);
@@ -79,9 +81,11 @@ public class BlockMarkerCache {
         if (expiry != null && System.currentTimeMillis() < expiry) {
             Boolean cached = blockMarkerCache.get(cacheKey);
             if (cached != null) {
+                plugin.getMetrics().recordCacheHit("block_markers");
                 return cached;
             }
         }
+        plugin.getMetrics().recordCacheMiss("block_markers");
 
         // Cache miss - query database (no block_type filter)
         boolean result = queryDatabaseAny(location);
@@ -123,9 +127,9 @@ public class BlockMarkerCache {
     private boolean queryDatabase(Location location, String blockType) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ? AND block_type = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
@@ -146,9 +150,9 @@ public class BlockMarkerCache {
     private boolean queryDatabaseAny(Location location) {
         try (Connection conn = plugin.getDatabaseManager().getConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_name = ? AND x = ? AND y = ? AND z = ?")) {
+                     "SELECT COUNT(*) FROM custom_block_markers WHERE world_id = ? AND x = ? AND y = ? AND z = ?")) {
 
-            stmt.setString(1, location.getWorld().getName());
+            stmt.setInt(1, plugin.getDatabaseManager().getWorldId(conn, location.getWorld().getName()));
             stmt.setInt(2, location.getBlockX());
             stmt.setInt(3, location.getBlockY());
             stmt.setInt(4, location.getBlockZ());
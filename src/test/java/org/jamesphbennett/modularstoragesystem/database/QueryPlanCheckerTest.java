@@ -0,0 +1,62 @@
+package org.jamesphbennett.modularstoragesystem.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plans every hot statement against the current SQLite schema, so an index change that
+ * sends one back to a full table scan fails the build
+ */
+class QueryPlanCheckerTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void createSchema() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        DatabaseManager.createSQLiteSchema(conn);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return QueryPlanChecker.HOT_QUERIES.stream().map(query -> Arguments.of(query.name(), query));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String name, QueryPlanChecker.HotQuery query) throws SQLException {
+        QueryPlanChecker.PlanResult result = QueryPlanChecker.explainSQLite(conn, query);
+        assertFalse(result.fullScan(), () -> name + " scans a full table: " + result.plan());
+    }
+
+    @Test
+    void driveBayLocationLookupsUseSlotConstraint() throws SQLException {
+        // The UNIQUE(world_id, x, y, z, slot_number) constraint serves every per-location lookup
+        for (QueryPlanChecker.HotQuery query : QueryPlanChecker.HOT_QUERIES) {
+            if (!query.name().startsWith("drive-bay.")) {
+                continue;
+            }
+
+            List<String> plan = QueryPlanChecker.explainSQLite(conn, query).plan();
+            assertTrue(plan.stream().anyMatch(line -> line.contains("sqlite_autoindex_drive_bay_slots_1")),
+                    () -> query.name() + " does not use the slot constraint: " + plan);
+        }
+    }
+}